@@ -1,10 +1,18 @@
 package com.mryoda.diagnostics.api.builders;
 
 import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSender;
 import io.restassured.specification.RequestSpecification;
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.metrics.CallLatency;
+import com.mryoda.diagnostics.api.metrics.HttpClientMetrics;
+import com.mryoda.diagnostics.api.metrics.RequestTimeline;
 import com.mryoda.diagnostics.api.utils.LogManager;
+import com.mryoda.diagnostics.api.validation.SchemaRegistry;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -14,6 +22,12 @@ import java.util.Map;
  * - Backward compatible (newRequest(), given())
  * - Centralized handling of headers, query params, body
  * - Optional expectedStatus assertion
+ * - Path parameters: endpoints stay as APIEndpoints templates ({user_id}, {guid})
+ *   so metrics and performance logs aggregate per template, not per user/order
+ * - Response schema check (SchemaRegistry) for 2xx responses: validateSchema()
+ *   per request, or every endpoint with a schema when schema.validation.enabled=true
+ * - quiet(): for load generators - no request/response echo, per-call stats or
+ *   LogManager files; metrics, timeline and the hard SLA check still apply
  */
 public class RequestBuilder {
 
@@ -21,7 +35,10 @@ public class RequestBuilder {
     private Object body;
     private final Map<String, String> headers = new HashMap<>();
     private final Map<String, Object> queryParams = new HashMap<>();
+    private final Map<String, Object> pathParams = new HashMap<>();
     private Integer expectedStatus = null;
+    private boolean validateSchema = false;
+    private boolean quiet = false;
     private final Map<String, Object> bodyParams = new HashMap<>();
 
     public RequestBuilder() {
@@ -80,11 +97,32 @@ public class RequestBuilder {
         return this;
     }
 
+    public RequestBuilder addPathParam(String name, Object value) {
+        this.pathParams.put(name, value);
+        return this;
+    }
+
     public RequestBuilder expectStatus(int status) {
         this.expectedStatus = status;
         return this;
     }
 
+    /**
+     * Validate a 2xx response against the endpoint's schema (must exist).
+     */
+    public RequestBuilder validateSchema() {
+        this.validateSchema = true;
+        return this;
+    }
+
+    /**
+     * Skip console and LogManager output for this request (high-rate load paths).
+     */
+    public RequestBuilder quiet() {
+        this.quiet = true;
+        return this;
+    }
+
     // -----------------------------
     // BACKWARD COMPATIBLE HELPERS
     // -----------------------------
@@ -105,10 +143,32 @@ public class RequestBuilder {
     // -----------------------------
     // INTERNAL PREPARATION
     // -----------------------------
+    /**
+     * log().all() prints byte[] bodies as number arrays; log pre-rendered
+     * PayloadTemplate bodies as text instead.
+     */
+    private static final Filter RAW_BODY_LOGGER = (requestSpec, responseSpec, ctx) -> {
+        Object raw = requestSpec.getBody();
+        System.out.println("Request method:\t" + requestSpec.getMethod());
+        System.out.println("Request URI:\t" + requestSpec.getURI());
+        System.out.println("Headers:\t\t" + requestSpec.getHeaders().toString().replace("\n", "\n\t\t\t\t"));
+        System.out.println("Body:");
+        System.out.println(raw instanceof byte[] ? new String((byte[]) raw, StandardCharsets.UTF_8) : raw);
+        return ctx.next(requestSpec, responseSpec);
+    };
+
     private RequestSpecification prepare() {
         RequestSpecification req = RestAssured.given()
-                .relaxedHTTPSValidation()
-                .log().all(); // 🔍 DEBUG: Log all request details
+                .relaxedHTTPSValidation();
+
+        // 🔍 DEBUG: Log all request details
+        if (!quiet) {
+            if (body instanceof byte[] && bodyParams.isEmpty()) {
+                req.filter(RAW_BODY_LOGGER);
+            } else {
+                req.log().all();
+            }
+        }
 
         if (!headers.isEmpty()) {
             req.headers(headers);
@@ -118,6 +178,10 @@ public class RequestBuilder {
         if (!bodyParams.isEmpty()) {
             req.contentType("application/json");
             req.body(bodyParams);
+        } else if (body instanceof byte[]) {
+            // Pre-rendered PayloadTemplate bytes - sent as-is (body(Object) would JSON-encode them)
+            req.contentType("application/json");
+            req.body((byte[]) body);
         } else if (body != null) {
             req.contentType("application/json");
             req.body(body);
@@ -127,6 +191,10 @@ public class RequestBuilder {
             req.queryParams(queryParams);
         }
 
+        if (!pathParams.isEmpty()) {
+            req.pathParams(pathParams);
+        }
+
         return req;
     }
 
@@ -134,68 +202,156 @@ public class RequestBuilder {
     // HTTP VERBS
     // -----------------------------
     public Response post() {
-        Response r = prepare().when().post(endpoint).then().extract().response();
+        Response r = send("POST");
         logPerformance(r, "POST");
         assertExpectedStatus(r);
+        assertSchema(r);
         return r;
     }
 
     public Response postWithoutStatusCheck() {
-        Response r = prepare().when().post(endpoint).then().extract().response();
+        Response r = send("POST");
         logPerformance(r, "POST");
+        assertSchema(r);
         return r;
     }
 
     public Response get() {
-        Response r = prepare().when().get(endpoint).then().extract().response();
+        Response r = send("GET");
         logPerformance(r, "GET");
         assertExpectedStatus(r);
+        assertSchema(r);
         return r;
     }
 
     public Response put() {
-        Response r = prepare().when().put(endpoint).then().extract().response();
+        Response r = send("PUT");
         logPerformance(r, "PUT");
         assertExpectedStatus(r);
+        assertSchema(r);
         return r;
     }
 
     public Response delete() {
-        Response r = prepare().when().delete(endpoint).then().extract().response();
+        Response r = send("DELETE");
         logPerformance(r, "DELETE");
         assertExpectedStatus(r);
+        assertSchema(r);
         return r;
     }
 
+    /**
+     * Executes the request and records HTTP client metrics (in-flight, status,
+     * latency) and the request timeline used by the Allure charts.
+     */
+    private Response send(String method) {
+        HttpClientMetrics.requestStarted();
+        CallLatency.begin();
+        long startMs = System.currentTimeMillis();
+        try {
+            RequestSender sender = prepare().when();
+            Response r;
+            switch (method) {
+                case "POST":
+                    r = sender.post(endpoint);
+                    break;
+                case "PUT":
+                    r = sender.put(endpoint);
+                    break;
+                case "DELETE":
+                    r = sender.delete(endpoint);
+                    break;
+                case "GET":
+                default:
+                    r = sender.get(endpoint);
+                    break;
+            }
+            r = r.then().extract().response();
+            CallLatency.end(r.getTime());
+            HttpClientMetrics.recordResponse(method, metricKey(), r.getStatusCode(), r.getTime());
+            HttpClientMetrics.recordScheduled(method, metricKey(), startMs, r.getTime());
+            RequestTimeline.record(method, metricKey(), startMs, r.getTime(), r.getStatusCode());
+            return r;
+        } catch (RuntimeException e) {
+            CallLatency.end(System.currentTimeMillis() - startMs);
+            HttpClientMetrics.recordFailure(method, metricKey(), e);
+            HttpClientMetrics.recordScheduled(method, metricKey(), startMs, System.currentTimeMillis() - startMs);
+            RequestTimeline.record(method, metricKey(), startMs, System.currentTimeMillis() - startMs, -1);
+            throw e;
+        } finally {
+            HttpClientMetrics.requestFinished();
+        }
+    }
+
+    /**
+     * Bounded aggregation key: the endpoint template without scheme/host, so
+     * "https://host/order_tracking/getOrderTrackingStatus/{guid}" and
+     * "/order_tracking/getOrderTrackingStatus/{guid}" land in the same series.
+     */
+    private String metricKey() {
+        String key = endpoint == null ? "" : endpoint;
+        int schemeEnd = key.indexOf("://");
+        if (schemeEnd >= 0) {
+            int pathStart = key.indexOf('/', schemeEnd + 3);
+            key = pathStart >= 0 ? key.substring(pathStart) : "/";
+        }
+        int queryStart = key.indexOf('?');
+        if (queryStart >= 0) {
+            key = key.substring(0, queryStart);
+        }
+        return key.startsWith("/") ? key : "/" + key;
+    }
+
+    /**
+     * Concrete URL for traceability logs (template with path params filled in).
+     */
+    private String resolvedEndpoint() {
+        String resolved = endpoint;
+        for (Map.Entry<String, Object> param : pathParams.entrySet()) {
+            resolved = resolved.replace("{" + param.getKey() + "}", String.valueOf(param.getValue()));
+        }
+        return resolved;
+    }
+
     // -----------------------------
     // PERFORMANCE & STATUS LOGGING
     // -----------------------------
     private void logPerformance(Response r, String method) {
         long time = r.getTime();
+        if (quiet) {
+            long hardLimit = ConfigLoader.getConfig().slaHardLimitMs();
+            if (time > hardLimit) {
+                throw new AssertionError("❌ Performance SLA Violation: " + method + " " + resolvedEndpoint() +
+                        " took " + time + "ms, which exceeds the strict " + hardLimit + "ms limit.");
+            }
+            return;
+        }
         String emoji = time < 1000 ? "⚡" : (time < 2000 ? "🐢" : "🐌");
 
         System.out.println("\n--- 📈 PERFORMANCE STATS ---");
         System.out.println("   Method  : " + method);
-        System.out.println("   Endpoint: " + endpoint);
+        System.out.println("   Endpoint: " + resolvedEndpoint());
         System.out.println("   Time    : " + emoji + " " + time + " ms");
 
-        // Strict 10-second SLA Enforcement (Increased from 3s for Dev Env stability)
-        if (time > 10000) {
-            System.out.println("   ❌ PERFORMANCE SLA VIOLATION! (Max allowed: 10000ms)");
+        // Hard per-call SLA (sla.hard.limit.ms) - aborts on a hung call; distribution
+        // budgets (p95/p99 per endpoint) are enforced at suite end by PerformanceGate
+        long hardLimit = ConfigLoader.getConfig().slaHardLimitMs();
+        if (time > hardLimit) {
+            System.out.println("   ❌ PERFORMANCE SLA VIOLATION! (Max allowed: " + hardLimit + "ms)");
 
             // Log to file before throwing error
-            LogManager.logPerformance(method, endpoint, time);
-            LogManager.logAPIDetail(method, endpoint, r);
+            LogManager.logPerformance(method, metricKey(), time);
+            LogManager.logAPIDetail(method, resolvedEndpoint(), r);
 
-            throw new AssertionError("❌ Performance SLA Violation: " + method + " " + endpoint +
-                    " took " + time + "ms, which exceeds the strict 10000ms limit.");
-        } else if (time > 5000) {
+            throw new AssertionError("❌ Performance SLA Violation: " + method + " " + resolvedEndpoint() +
+                    " took " + time + "ms, which exceeds the strict " + hardLimit + "ms limit.");
+        } else if (time > ConfigLoader.getConfig().slaWarnMs()) {
             System.out.println("   ⚠️  WARNING: Response is becoming slow (" + time + "ms)");
         }
 
-        // Always log to file for traceability
-        LogManager.logPerformance(method, endpoint, time);
-        LogManager.logAPIDetail(method, endpoint, r);
+        // Always log to file for traceability (performance keyed by template, details by concrete URL)
+        LogManager.logPerformance(method, metricKey(), time);
+        LogManager.logAPIDetail(method, resolvedEndpoint(), r);
 
         System.out.println("----------------------------\n");
     }
@@ -205,8 +361,23 @@ public class RequestBuilder {
             throw new AssertionError(
                     "Expected HTTP " + expectedStatus +
                             " but got " + r.getStatusCode() +
-                            " | Endpoint: " + endpoint +
+                            " | Endpoint: " + resolvedEndpoint() +
                             "\nBody:\n" + r.getBody().asString());
         }
     }
+
+    private void assertSchema(Response r) {
+        if (r.getStatusCode() < 200 || r.getStatusCode() >= 300) {
+            return;
+        }
+        if (validateSchema) {
+            if (!SchemaRegistry.hasSchema(endpoint)) {
+                throw new IllegalStateException("No response schema for " + endpoint + " (expected schemas/"
+                        + SchemaRegistry.schemaName(endpoint) + ".json)");
+            }
+            SchemaRegistry.assertValid(endpoint, r);
+        } else if (ConfigLoader.getConfig().schemaValidationEnabled() && SchemaRegistry.hasSchema(endpoint)) {
+            SchemaRegistry.assertValid(endpoint, r);
+        }
+    }
 }
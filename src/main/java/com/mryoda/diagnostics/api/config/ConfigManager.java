@@ -1,5 +1,6 @@
 package com.mryoda.diagnostics.api.config;
 
+import org.aeonbits.owner.Accessible;
 import org.aeonbits.owner.Config;
 
 /**
@@ -7,7 +8,7 @@ import org.aeonbits.owner.Config;
  * config.properties file
  */
 @Config.Sources({ "classpath:config.properties" })
-public interface ConfigManager extends Config {
+public interface ConfigManager extends Config, Accessible {
 
     @Key("base.url")
     String baseUrl();
@@ -31,6 +32,27 @@ public interface ConfigManager extends Config {
     @DefaultValue("988")
     String newUserMobilePrefix();
 
+    @Key("mobile.allocator.state.dir")
+    @DefaultValue("test-data")
+    String mobileAllocatorStateDir();
+
+    // Synthetic data (soak runs); seed 0 = new seed per run
+    @Key("synthetic.data.seed")
+    @DefaultValue("0")
+    long syntheticDataSeed();
+
+    @Key("synthetic.data.user.batch.size")
+    @DefaultValue("500")
+    int syntheticDataUserBatchSize();
+
+    @Key("synthetic.data.address.jitter.meters")
+    @DefaultValue("2000")
+    double syntheticDataJitterMeters();
+
+    @Key("synthetic.data.addresses.per.location")
+    @DefaultValue("200")
+    int syntheticDataAddressesPerLocation();
+
     @Key("report.path")
     @DefaultValue("test-output/reports/")
     String reportPath();
@@ -45,8 +67,260 @@ public interface ConfigManager extends Config {
     @Key("razorpay.secret")
     String razorpaySecret();
 
+    // Webhook signing secret; falls back to razorpay.secret when unset
+    @Key("razorpay.webhook.secret")
+    String razorpayWebhookSecret();
+
     @Key("default.location.name")
     @DefaultValue("Madhapur")
     String defaultLocationName();
 
+    // ========== METRICS (Prometheus) ==========
+    @Key("metrics.enabled")
+    @DefaultValue("false")
+    boolean metricsEnabled();
+
+    @Key("metrics.port")
+    @DefaultValue("9464")
+    int metricsPort();
+
+    @Key("metrics.dump.file")
+    @DefaultValue("logs/metrics.prom")
+    String metricsDumpFile();
+
+    @Key("metrics.dump.interval.seconds")
+    @DefaultValue("15")
+    int metricsDumpIntervalSeconds();
+
+    // ========== LATENCY BUDGETS & REGRESSION GATE ==========
+    @Key("sla.hard.limit.ms")
+    @DefaultValue("10000")
+    long slaHardLimitMs();
+
+    @Key("sla.warn.ms")
+    @DefaultValue("5000")
+    long slaWarnMs();
+
+    @Key("latency.budget.default.p95")
+    @DefaultValue("3000")
+    long defaultP95BudgetMs();
+
+    @Key("latency.budget.default.p99")
+    @DefaultValue("10000")
+    long defaultP99BudgetMs();
+
+    @Key("perf.gate.enabled")
+    @DefaultValue("false")
+    boolean perfGateEnabled();
+
+    @Key("perf.gate.min.samples")
+    @DefaultValue("5")
+    int perfGateMinSamples();
+
+    // A quantile is only gated once it is more than the slowest call
+    @Key("perf.gate.min.samples.p95")
+    @DefaultValue("20")
+    int perfGateMinSamplesP95();
+
+    @Key("perf.gate.min.samples.p99")
+    @DefaultValue("100")
+    int perfGateMinSamplesP99();
+
+    @Key("perf.baseline.dir")
+    @DefaultValue("perf-baseline")
+    String perfBaselineDir();
+
+    @Key("perf.baseline.update")
+    @DefaultValue("false")
+    boolean perfBaselineUpdate();
+
+    @Key("perf.regression.alpha")
+    @DefaultValue("0.01")
+    double perfRegressionAlpha();
+
+    @Key("perf.regression.min.ratio")
+    @DefaultValue("1.2")
+    double perfRegressionMinRatio();
+
+    @Key("perf.history.file")
+    @DefaultValue("perf-history/history.bin")
+    String perfHistoryFile();
+
+    // New-user pool (pre-registered NEW_USER accounts for load runs)
+    @Key("new.user.pool.enabled")
+    @DefaultValue("false")
+    boolean newUserPoolEnabled();
+
+    @Key("new.user.pool.size")
+    @DefaultValue("20")
+    int newUserPoolSize();
+
+    @Key("new.user.pool.low.watermark")
+    @DefaultValue("5")
+    int newUserPoolLowWatermark();
+
+    @Key("new.user.pool.provisioner.threads")
+    @DefaultValue("2")
+    int newUserPoolProvisionerThreads();
+
+    @Key("new.user.pool.file")
+    @DefaultValue("test-data/new-user-pool.json")
+    String newUserPoolFile();
+
+    @Key("new.user.pool.recycle")
+    @DefaultValue("false")
+    boolean newUserPoolRecycle();
+
+    @Key("new.user.pool.token.ttl.minutes")
+    @DefaultValue("720")
+    int newUserPoolTokenTtlMinutes();
+
+    @Key("new.user.pool.lease.timeout.seconds")
+    @DefaultValue("30")
+    int newUserPoolLeaseTimeoutSeconds();
+
+    // Payment verification pipeline (CREATE_ORDER load runs)
+    @Key("payment.pipeline.batch.size")
+    @DefaultValue("50")
+    int paymentPipelineBatchSize();
+
+    @Key("payment.pipeline.batch.wait.ms")
+    @DefaultValue("20")
+    long paymentPipelineBatchWaitMs();
+
+    @Key("payment.pipeline.workers")
+    @DefaultValue("2")
+    int paymentPipelineWorkers();
+
+    @Key("payment.pipeline.max.in.flight")
+    @DefaultValue("16")
+    int paymentPipelineMaxInFlight();
+
+    // Webhook replay (/gateway/razorpay/webhook throughput)
+    @Key("webhook.replay.rate")
+    @DefaultValue("20")
+    double webhookReplayRate();
+
+    @Key("webhook.replay.duration.seconds")
+    @DefaultValue("60")
+    int webhookReplayDurationSeconds();
+
+    @Key("webhook.replay.burst.every.seconds")
+    @DefaultValue("15")
+    int webhookReplayBurstEverySeconds();
+
+    @Key("webhook.replay.burst.size")
+    @DefaultValue("200")
+    int webhookReplayBurstSize();
+
+    @Key("webhook.replay.concurrency")
+    @DefaultValue("32")
+    int webhookReplayConcurrency();
+
+    @Key("webhook.replay.mix")
+    @DefaultValue("payment.captured:70,payment.failed:20,order.paid:10")
+    String webhookReplayMix();
+
+    // Order-tracking simulator (phlebo side load)
+    @Key("order.tracking.sim.phlebo.credentials")
+    @DefaultValue("9360651932:12345678")
+    String orderTrackingSimPhleboCredentials();
+
+    @Key("order.tracking.sim.phlebos")
+    @DefaultValue("4")
+    int orderTrackingSimPhlebos();
+
+    @Key("order.tracking.sim.think.time.min.ms")
+    @DefaultValue("500")
+    long orderTrackingSimThinkTimeMinMs();
+
+    @Key("order.tracking.sim.think.time.max.ms")
+    @DefaultValue("2000")
+    long orderTrackingSimThinkTimeMaxMs();
+
+    @Key("order.tracking.sim.status.timeout.ms")
+    @DefaultValue("10000")
+    long orderTrackingSimStatusTimeoutMs();
+
+    // Eventual-consistency waits (OrderStatusAwaiter)
+    @Key("status.await.initial.ms")
+    @DefaultValue("100")
+    long statusAwaitInitialMs();
+
+    @Key("status.await.max.interval.ms")
+    @DefaultValue("2000")
+    long statusAwaitMaxIntervalMs();
+
+    @Key("status.await.multiplier")
+    @DefaultValue("2.0")
+    double statusAwaitMultiplier();
+
+    @Key("status.await.timeout.ms")
+    @DefaultValue("15000")
+    long statusAwaitTimeoutMs();
+
+    // Non-strict checks that only warn on a mismatch
+    @Key("status.await.soft.timeout.ms")
+    @DefaultValue("3000")
+    long statusAwaitSoftTimeoutMs();
+
+    // DAG flow scheduler (ParallelFlowTest): threads running independent steps
+    @Key("flow.parallelism")
+    @DefaultValue("4")
+    int flowParallelism();
+
+    // Allure results compaction (CompactingResultsWriter)
+    @Key("allure.compact.enabled")
+    @DefaultValue("false")
+    boolean allureCompactEnabled();
+
+    @Key("allure.compact.mode")
+    @DefaultValue("files")
+    String allureCompactMode();
+
+    @Key("allure.compact.skip.pattern")
+    @DefaultValue("(?i).*(request|response).*")
+    String allureCompactSkipPattern();
+
+    // Validation findings, JSON lines (ValidationEventSink)
+    @Key("validation.events.file")
+    @DefaultValue("validation_errors.jsonl")
+    String validationEventsFile();
+
+    // Response schema validation (SchemaRegistry) for every endpoint with a schema
+    @Key("schema.validation.enabled")
+    @DefaultValue("false")
+    boolean schemaValidationEnabled();
+
+    // Distributed runner (DistributedRunner): forked worker JVMs on one host
+    @Key("distributed.workers")
+    @DefaultValue("0")
+    int distributedWorkers();
+
+    @Key("distributed.worker.jvm.args")
+    @DefaultValue("-Xmx512m")
+    String distributedWorkerJvmArgs();
+
+    @Key("distributed.output.dir")
+    @DefaultValue("target/distributed")
+    String distributedOutputDir();
+
+    // Open-loop load generator (OpenLoopScheduler)
+    @Key("load.rate.per.second")
+    @DefaultValue("5")
+    double loadRatePerSecond();
+
+    @Key("load.duration.seconds")
+    @DefaultValue("60")
+    int loadDurationSeconds();
+
+    @Key("load.max.in.flight")
+    @DefaultValue("256")
+    int loadMaxInFlight();
+
+    // Virtual users on Java 21 virtual threads (platform threads on older JVMs)
+    @Key("virtual.threads.enabled")
+    @DefaultValue("true")
+    boolean virtualThreadsEnabled();
+
 }
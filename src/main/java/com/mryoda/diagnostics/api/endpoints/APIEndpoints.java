@@ -38,7 +38,7 @@ public class APIEndpoints {
     public static final String CREATE_ORDER = "/gateway/v2/CreateOrder";
     public static final String VERIFY_PAYMENT = "/gateway/v2/VerifyPayment";
     public static final String GET_PAYMENT_BY_ID = "/gateway/getPaymentById";
-    public static final String GET_ORDER_BY_ID = "/order/getOrderById/";
+    public static final String GET_ORDER_BY_ID = "/order/getOrderById/{order_id}";
     public static final String PHLEBO_LOGIN = "/phlebo/loginPhlebo";
     public static final String RAZORPAY_WEBHOOK = "/gateway/razorpay/webhook";
 
@@ -0,0 +1,336 @@
+package com.mryoda.diagnostics.api.flow;
+
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+import com.mryoda.diagnostics.api.metrics.RequestTimeline;
+import com.mryoda.diagnostics.api.utils.AssertionUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Declarative flow of test steps, executed as a DAG.
+ *
+ * Nodes are existing test steps; edges are their real data dependencies
+ * (what a step reads from RequestContext that another step writes), not
+ * TestNG priority order. Independent nodes run concurrently on the given
+ * executor, so a flow takes as long as its critical path:
+ *
+ * <pre>
+ * FlowGraph.FlowResult result = new FlowGraph("member")
+ *         .node("login", login::testLoginWithOTP)
+ *         .node("location", location::testGetLocations_ForMember, "login")
+ *         .node("brand", brand::testGetBrands_ForMember)            // runs alongside location
+ *         .node("search", search::testGlobalSearch_ForMember, "location")
+ *         ...
+ *         .execute(executor);
+ * result.assertPassed();
+ * </pre>
+ *
+ * Like dependsOnMethods, a node whose dependency failed is SKIPPED. Steps
+ * running at the same time must not write the same RequestContext entries.
+ * Soft assertions made by steps go to the caller's AssertionUtil scope.
+ */
+public class FlowGraph {
+
+    public static final String NODE_DURATION = "mryoda_flow_node_duration_ms";
+
+    static {
+        MetricsRegistry.describe(NODE_DURATION, MetricsRegistry.HISTOGRAM,
+                "Flow step duration in milliseconds, by flow, node and result.");
+    }
+
+    public enum Status {
+        PASSED, FAILED, SKIPPED
+    }
+
+    /**
+     * A test step; may throw (assertion errors included).
+     */
+    @FunctionalInterface
+    public interface Step {
+        void run() throws Exception;
+    }
+
+    private static class Node {
+        private final String name;
+        private final Step step;
+        private final List<String> dependsOn;
+
+        Node(String name, Step step, List<String> dependsOn) {
+            this.name = name;
+            this.step = step;
+            this.dependsOn = dependsOn;
+        }
+    }
+
+    private final String name;
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    public FlowGraph(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // ============================================================
+    // BUILD
+    // ============================================================
+    public FlowGraph node(String nodeName, Step step, String... dependsOn) {
+        if (nodes.containsKey(nodeName)) {
+            throw new IllegalArgumentException("Duplicate flow node '" + nodeName + "' in flow " + name);
+        }
+        nodes.put(nodeName, new Node(nodeName, step, Arrays.asList(dependsOn)));
+        return this;
+    }
+
+    /**
+     * Nodes in dependency order; fails on unknown dependencies and cycles.
+     */
+    public List<String> topologicalOrder() {
+        Map<String, Integer> inDegree = new LinkedHashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (Node node : nodes.values()) {
+            inDegree.put(node.name, node.dependsOn.size());
+            for (String dep : node.dependsOn) {
+                if (!nodes.containsKey(dep)) {
+                    throw new IllegalStateException("Flow " + name + ": node '" + node.name
+                            + "' depends on unknown node '" + dep + "'");
+                }
+                dependents.computeIfAbsent(dep, k -> new ArrayList<>()).add(node.name);
+            }
+        }
+
+        Deque<String> ready = new ArrayDeque<>();
+        for (Map.Entry<String, Integer> entry : inDegree.entrySet()) {
+            if (entry.getValue() == 0) {
+                ready.add(entry.getKey());
+            }
+        }
+        List<String> order = new ArrayList<>(nodes.size());
+        while (!ready.isEmpty()) {
+            String next = ready.poll();
+            order.add(next);
+            for (String dependent : dependents.getOrDefault(next, Collections.<String>emptyList())) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() != nodes.size()) {
+            List<String> cyclic = new ArrayList<>(nodes.keySet());
+            cyclic.removeAll(order);
+            throw new IllegalStateException("Flow " + name + " has a dependency cycle through " + cyclic);
+        }
+        return order;
+    }
+
+    // ============================================================
+    // EXECUTE
+    // ============================================================
+    /**
+     * Run the flow; returns when every node has passed, failed or been skipped.
+     */
+    public FlowResult execute(Executor executor) {
+        List<String> order = topologicalOrder();
+        Map<String, CompletableFuture<NodeResult>> futures = new HashMap<>();
+        AssertionUtil.SoftScope scope = AssertionUtil.currentScope();
+        long start = System.currentTimeMillis();
+
+        for (String nodeName : order) {
+            Node node = nodes.get(nodeName);
+            List<CompletableFuture<NodeResult>> deps = new ArrayList<>();
+            for (String dep : node.dependsOn) {
+                deps.add(futures.get(dep));
+            }
+            // Dependency futures never complete exceptionally; failures are carried in NodeResult
+            CompletableFuture<NodeResult> future = CompletableFuture
+                    .allOf(deps.toArray(new CompletableFuture<?>[0]))
+                    .thenApplyAsync(ignored -> runNode(node, deps, start, scope), executor);
+            futures.put(nodeName, future);
+        }
+
+        Map<String, NodeResult> results = new LinkedHashMap<>();
+        for (String nodeName : order) {
+            results.put(nodeName, futures.get(nodeName).join());
+        }
+        return new FlowResult(name, results, System.currentTimeMillis() - start, criticalPath(order, results));
+    }
+
+    private NodeResult runNode(Node node, List<CompletableFuture<NodeResult>> deps, long flowStart,
+            AssertionUtil.SoftScope scope) {
+        for (CompletableFuture<NodeResult> dep : deps) {
+            NodeResult depResult = dep.join();
+            if (depResult.status != Status.PASSED) {
+                System.out.println("⏭️ [" + name + "] " + node.name + " skipped - depends on " + depResult.node
+                        + " (" + depResult.status + ")");
+                return new NodeResult(node.name, Status.SKIPPED, 0, 0, null);
+            }
+        }
+
+        long started = System.currentTimeMillis();
+        RequestTimeline.beginStep(name + "." + node.name);
+        AssertionUtil.SoftScope previousScope = AssertionUtil.bindScope(scope);
+        Status status = Status.PASSED;
+        Throwable error = null;
+        try {
+            System.out.println("▶️ [" + name + "] " + node.name + " on " + Thread.currentThread().getName());
+            node.step.run();
+        } catch (Throwable t) {
+            status = Status.FAILED;
+            error = t;
+            System.err.println("❌ [" + name + "] " + node.name + " failed: " + t);
+        } finally {
+            AssertionUtil.bindScope(previousScope);
+            // Node waterfalls are not attached; the flow summary has the timings
+            RequestTimeline.clearStep(RequestTimeline.endStep());
+        }
+        long duration = System.currentTimeMillis() - started;
+        MetricsRegistry.histogram(NODE_DURATION, "flow", name, "node", node.name, "result",
+                status.name().toLowerCase()).record(duration);
+        return new NodeResult(node.name, status, started - flowStart, duration, error);
+    }
+
+    /**
+     * Longest chain of actual durations through the graph.
+     */
+    private List<String> criticalPath(List<String> order, Map<String, NodeResult> results) {
+        Map<String, Long> finish = new HashMap<>();
+        Map<String, String> via = new HashMap<>();
+        String last = null;
+        for (String nodeName : order) {
+            long earliest = 0;
+            for (String dep : nodes.get(nodeName).dependsOn) {
+                if (finish.get(dep) > earliest) {
+                    earliest = finish.get(dep);
+                    via.put(nodeName, dep);
+                }
+            }
+            finish.put(nodeName, earliest + results.get(nodeName).durationMs);
+            if (last == null || finish.get(nodeName) > finish.get(last)) {
+                last = nodeName;
+            }
+        }
+        List<String> path = new ArrayList<>();
+        for (String n = last; n != null; n = via.get(n)) {
+            path.add(0, n);
+        }
+        return path;
+    }
+
+    // ============================================================
+    // RESULTS
+    // ============================================================
+    public static class NodeResult {
+        private final String node;
+        private final Status status;
+        private final long offsetMs;
+        private final long durationMs;
+        private final Throwable error;
+
+        NodeResult(String node, Status status, long offsetMs, long durationMs, Throwable error) {
+            this.node = node;
+            this.status = status;
+            this.offsetMs = offsetMs;
+            this.durationMs = durationMs;
+            this.error = error;
+        }
+
+        public String getNode() {
+            return node;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public long getOffsetMs() {
+            return offsetMs;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+    }
+
+    public static class FlowResult {
+        private final String flow;
+        private final Map<String, NodeResult> nodes;
+        private final long wallMs;
+        private final List<String> criticalPath;
+
+        FlowResult(String flow, Map<String, NodeResult> nodes, long wallMs, List<String> criticalPath) {
+            this.flow = flow;
+            this.nodes = nodes;
+            this.wallMs = wallMs;
+            this.criticalPath = criticalPath;
+        }
+
+        public Map<String, NodeResult> getNodes() {
+            return Collections.unmodifiableMap(nodes);
+        }
+
+        public long getWallMs() {
+            return wallMs;
+        }
+
+        public List<String> getCriticalPath() {
+            return Collections.unmodifiableList(criticalPath);
+        }
+
+        public boolean isPassed() {
+            for (NodeResult result : nodes.values()) {
+                if (result.status != Status.PASSED) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Rethrow the first failure (assertion errors as-is), or fail on skips.
+         */
+        public void assertPassed() {
+            for (NodeResult result : nodes.values()) {
+                if (result.status == Status.FAILED) {
+                    if (result.error instanceof Error) {
+                        throw (Error) result.error;
+                    }
+                    throw new AssertionError("Flow " + flow + " step " + result.node + " failed: " + result.error,
+                            result.error);
+                }
+            }
+            if (!isPassed()) {
+                throw new AssertionError("Flow " + flow + " did not complete - skipped steps");
+            }
+        }
+
+        public void printSummary() {
+            long serial = 0;
+            System.out.println("\n==========================================================");
+            System.out.println("      FLOW " + flow + " (" + wallMs + " ms)");
+            System.out.println("==========================================================");
+            for (NodeResult result : nodes.values()) {
+                serial += result.durationMs;
+                System.out.println(String.format("   %-8s %-14s start=+%-6d took=%d ms", result.status, result.node,
+                        result.offsetMs, result.durationMs));
+            }
+            System.out.println("📊 Critical path: " + String.join(" -> ", criticalPath));
+            System.out.println("📊 Wall " + wallMs + " ms vs serial " + serial + " ms");
+        }
+    }
+}
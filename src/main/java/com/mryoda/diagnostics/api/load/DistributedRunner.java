@@ -0,0 +1,404 @@
+package com.mryoda.diagnostics.api.load;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+import com.mryoda.diagnostics.api.metrics.Histogram;
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+import com.mryoda.diagnostics.api.metrics.PrometheusExporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a workload in N forked worker JVMs on one host and merges their metrics.
+ *
+ * Each worker is a separate JVM (own heap, own GC, own RequestContext) started
+ * with -Dworker.shard=K -Dworker.shards=N, so MobileNumberAllocator hands every
+ * worker a disjoint mobile range and shareOf()/shareOfRate() split counts and
+ * rates between them (WebhookReplayer and OpenLoopScheduler divide theirs, so
+ * "20/s" means 20/s in total). The workload is any class with a main method.
+ *
+ * Workers are started with an explicit classpath: -Dworker.classpath if set,
+ * else the URLs of the loader that loaded this class (under mvn exec:java that
+ * is the project classpath; java.class.path is only Maven's launcher), else
+ * java.class.path. config.properties lives in test resources, so the
+ * classpath must include target/test-classes.
+ *
+ * On exit (including System.exit, e.g. from TestNG) a worker writes a snapshot
+ * of its MetricsRegistry to distributed.output.dir/worker-K.json. The
+ * coordinator waits for all workers, merges counters, gauges and latency
+ * histograms bucket by bucket (quantiles stay exact to the bucket, unlike
+ * averaging per-worker percentiles), prints one report and writes the merged
+ * series to metrics.prom.
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/classes:target/test-classes:$(cat target/classpath.txt) \
+ *     com.mryoda.diagnostics.api.load.DistributedRunner \
+ *     [workers] com.mryoda.diagnostics.api.load.WebhookReplayer 20 60
+ *
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mryoda.diagnostics.api.load.DistributedRunner \
+ *     -Dexec.args="[workers] com.mryoda.diagnostics.api.load.WebhookReplayer 20 60"
+ * </pre>
+ *
+ * Worker output goes to worker-K.log; JVM flags come from distributed.worker.jvm.args.
+ */
+public class DistributedRunner {
+
+    public static final String SHARD_PROPERTY = "worker.shard";
+    public static final String SHARDS_PROPERTY = "worker.shards";
+    public static final String SNAPSHOT_PROPERTY = "worker.snapshot";
+    public static final String CLASSPATH_PROPERTY = "worker.classpath";
+
+    private static final String WORKER_FLAG = "--worker";
+    private static final int LOG_TAIL_LINES = 20;
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final int workers;
+    private final List<String> jvmArgs;
+    private final File outputDir;
+
+    public DistributedRunner(int workers, List<String> jvmArgs, File outputDir) {
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.jvmArgs = new ArrayList<>(jvmArgs);
+        this.outputDir = outputDir;
+    }
+
+    public static DistributedRunner fromConfig(int workers) {
+        ConfigManager config = ConfigLoader.getConfig();
+        String args = config.distributedWorkerJvmArgs().trim();
+        return new DistributedRunner(workers > 0 ? workers : config.distributedWorkers(),
+                args.isEmpty() ? new ArrayList<>() : Arrays.asList(args.split("\\s+")),
+                new File(config.distributedOutputDir()));
+    }
+
+    // ============================================================
+    // SHARD OF THIS JVM
+    // ============================================================
+    public static int shard() {
+        return Integer.getInteger(SHARD_PROPERTY, 0);
+    }
+
+    public static int shards() {
+        return Math.max(1, Integer.getInteger(SHARDS_PROPERTY, 1));
+    }
+
+    /**
+     * This worker's part of total (users, flows, orders); parts differ by at most one.
+     */
+    public static long shareOf(long total) {
+        long k = shard();
+        long n = shards();
+        return total * (k + 1) / n - total * k / n;
+    }
+
+    /**
+     * This worker's part of a rate (operations per second).
+     */
+    public static double shareOfRate(double total) {
+        return total / shards();
+    }
+
+    // ============================================================
+    // COORDINATOR
+    // ============================================================
+    /**
+     * Fork the workers, wait for them and merge their metrics. Returns the
+     * number of workers that failed (non-zero exit or no snapshot).
+     */
+    public int run(String mainClass, List<String> args) throws IOException, InterruptedException {
+        outputDir.mkdirs();
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classpath = workerClasspath();
+        if (DistributedRunner.class.getClassLoader().getResource("config.properties") == null) {
+            System.out.println("⚠️  config.properties is not on the classpath - add target/test-classes"
+                    + " (mvn exec:java: -Dexec.classpathScope=test)");
+        }
+
+        System.out.println("🚀 Starting " + workers + " worker JVM(s) for " + mainClass + " " + args);
+        long start = System.currentTimeMillis();
+        List<Process> processes = new ArrayList<>();
+        for (int k = 0; k < workers; k++) {
+            Files.deleteIfExists(snapshotFile(k).toPath());
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(jvmArgs);
+            command.add("-D" + SHARD_PROPERTY + "=" + k);
+            command.add("-D" + SHARDS_PROPERTY + "=" + workers);
+            command.add("-D" + SNAPSHOT_PROPERTY + "=" + snapshotFile(k).getAbsolutePath());
+            command.add("-cp");
+            command.add(classpath);
+            command.add(DistributedRunner.class.getName());
+            command.add(WORKER_FLAG);
+            command.add(mainClass);
+            command.addAll(args);
+            processes.add(new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile(k))
+                    .start());
+        }
+
+        int failed = 0;
+        for (int k = 0; k < workers; k++) {
+            int exit = processes.get(k).waitFor();
+            File snapshot = snapshotFile(k);
+            if (snapshot.exists()) {
+                merge(snapshot);
+            }
+            boolean ok = exit == 0 && snapshot.exists();
+            System.out.println("   " + (ok ? "✅" : "❌") + " worker " + k + " exited with " + exit
+                    + (snapshot.exists() ? "" : " (no metrics snapshot)") + " - log: " + logFile(k).getPath());
+            if (!ok) {
+                failed++;
+                printTail(logFile(k));
+            }
+        }
+
+        File merged = new File(outputDir, "metrics.prom");
+        Files.write(merged.toPath(), PrometheusExporter.render().getBytes(StandardCharsets.UTF_8));
+        printReport(System.currentTimeMillis() - start);
+        System.out.println("📊 Merged metrics -> " + merged.getPath());
+        return failed;
+    }
+
+    /**
+     * Classpath for the worker JVMs (see class comment).
+     */
+    static String workerClasspath() {
+        String explicit = System.getProperty(CLASSPATH_PROPERTY);
+        if (explicit != null && !explicit.trim().isEmpty()) {
+            return explicit.trim();
+        }
+        List<String> entries = new ArrayList<>();
+        for (ClassLoader loader = DistributedRunner.class.getClassLoader(); loader != null;
+                loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) loader).getURLs()) {
+                    try {
+                        String entry = new File(url.toURI()).getPath();
+                        if (!entries.contains(entry)) {
+                            entries.add(entry);
+                        }
+                    } catch (URISyntaxException | IllegalArgumentException e) {
+                        // not a local file (e.g. jar:...) - cannot be passed on -cp
+                    }
+                }
+            }
+        }
+        return entries.isEmpty() ? System.getProperty("java.class.path")
+                : String.join(File.pathSeparator, entries);
+    }
+
+    private File snapshotFile(int shard) {
+        return new File(outputDir, "worker-" + shard + ".json");
+    }
+
+    private File logFile(int shard) {
+        return new File(outputDir, "worker-" + shard + ".log");
+    }
+
+    private static void printTail(File log) {
+        try {
+            List<String> lines = Files.readAllLines(log.toPath(), StandardCharsets.UTF_8);
+            for (String line : lines.subList(Math.max(0, lines.size() - LOG_TAIL_LINES), lines.size())) {
+                System.out.println("      | " + line);
+            }
+        } catch (IOException e) {
+            System.out.println("      (log unreadable: " + e.getMessage() + ")");
+        }
+    }
+
+    private void printReport(long elapsedMs) {
+        System.out.println("\n========== DISTRIBUTED RUN (" + workers + " workers, " + elapsedMs + " ms) ==========");
+        System.out.println(String.format("%-60s %8s %7s %7s %7s %7s", "series", "count", "p50", "p95", "p99", "max"));
+        for (Map.Entry<String, Map<String, Histogram>> metric : new TreeMap<>(MetricsRegistry.getHistograms())
+                .entrySet()) {
+            for (Map.Entry<String, Histogram> series : new TreeMap<>(metric.getValue()).entrySet()) {
+                Histogram h = series.getValue();
+                String name = metric.getKey() + (series.getKey().isEmpty() ? "" : "{" + series.getKey() + "}");
+                System.out.println(String.format("%-60s %8d %7d %7d %7d %7d", name, h.getCount(),
+                        h.quantile(0.50), h.quantile(0.95), h.quantile(0.99), h.getMax()));
+            }
+        }
+        System.out.println("=================================================================\n");
+    }
+
+    // ============================================================
+    // SNAPSHOTS
+    // ============================================================
+    /**
+     * Write this JVM's metrics as JSON (tmp + rename, so a half-written file is never merged).
+     */
+    static void writeSnapshot(File file) throws IOException {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("shard", shard());
+
+        Map<String, Map<String, String>> descriptions = new LinkedHashMap<>();
+        Map<String, Map<String, Long>> counters = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, LongAdder>> metric : MetricsRegistry.getCounters().entrySet()) {
+            Map<String, Long> series = new LinkedHashMap<>();
+            metric.getValue().forEach((labels, value) -> series.put(labels, value.sum()));
+            counters.put(metric.getKey(), series);
+            describe(descriptions, metric.getKey());
+        }
+        Map<String, Map<String, Long>> gauges = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, AtomicLong>> metric : MetricsRegistry.getGauges().entrySet()) {
+            Map<String, Long> series = new LinkedHashMap<>();
+            metric.getValue().forEach((labels, value) -> series.put(labels, value.get()));
+            gauges.put(metric.getKey(), series);
+            describe(descriptions, metric.getKey());
+        }
+        Map<String, Map<String, HistogramSnapshot>> histograms = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, Histogram>> metric : MetricsRegistry.getHistograms().entrySet()) {
+            Map<String, HistogramSnapshot> series = new LinkedHashMap<>();
+            metric.getValue().forEach((labels, h) -> series.put(labels, HistogramSnapshot.of(h)));
+            histograms.put(metric.getKey(), series);
+            describe(descriptions, metric.getKey());
+        }
+        snapshot.put("descriptions", descriptions);
+        snapshot.put("counters", counters);
+        snapshot.put("gauges", gauges);
+        snapshot.put("histograms", histograms);
+
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null) {
+            dir.mkdirs();
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        MAPPER.writeValue(tmp, snapshot);
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void describe(Map<String, Map<String, String>> descriptions, String name) {
+        if (MetricsRegistry.getType(name) != null) {
+            Map<String, String> description = new LinkedHashMap<>();
+            description.put("type", MetricsRegistry.getType(name));
+            description.put("help", MetricsRegistry.getHelp(name));
+            descriptions.put(name, description);
+        }
+    }
+
+    /**
+     * Add a worker snapshot to this JVM's MetricsRegistry.
+     */
+    static void merge(File file) throws IOException {
+        WorkerSnapshot snapshot = MAPPER.readValue(file, WorkerSnapshot.class);
+        snapshot.descriptions.forEach((name, d) -> MetricsRegistry.describe(name, d.get("type"), d.get("help")));
+        snapshot.counters.forEach((name, series) -> series.forEach(
+                (labels, value) -> MetricsRegistry.counter(name, labelPairs(labels)).add(value)));
+        snapshot.gauges.forEach((name, series) -> series.forEach(
+                (labels, value) -> MetricsRegistry.gauge(name, labelPairs(labels)).addAndGet(value)));
+        snapshot.histograms.forEach((name, series) -> series.forEach((labels, h) -> {
+            Histogram target = MetricsRegistry.histogram(name, labelPairs(labels));
+            if (!Arrays.equals(target.getBounds(), h.bounds)) {
+                System.err.println("Skipping " + name + "{" + labels + "} from " + file.getName()
+                        + ": bucket bounds differ");
+                return;
+            }
+            target.merge(h.buckets, h.sum, h.count, h.max);
+        }));
+    }
+
+    private static String[] labelPairs(String rendered) {
+        List<String> pairs = new ArrayList<>();
+        MetricsRegistry.parseLabels(rendered).forEach((key, value) -> {
+            pairs.add(key);
+            pairs.add(value);
+        });
+        return pairs.toArray(new String[0]);
+    }
+
+    public static class HistogramSnapshot {
+        public long[] bounds;
+        public long[] buckets;
+        public long sum;
+        public long count;
+        public long max;
+
+        static HistogramSnapshot of(Histogram h) {
+            HistogramSnapshot s = new HistogramSnapshot();
+            s.bounds = h.getBounds();
+            s.buckets = h.getBucketCounts();
+            s.sum = h.getSum();
+            s.count = h.getCount();
+            s.max = h.getMax();
+            return s;
+        }
+    }
+
+    public static class WorkerSnapshot {
+        public int shard;
+        public Map<String, Map<String, String>> descriptions = new LinkedHashMap<>();
+        public Map<String, Map<String, Long>> counters = new LinkedHashMap<>();
+        public Map<String, Map<String, Long>> gauges = new LinkedHashMap<>();
+        public Map<String, Map<String, HistogramSnapshot>> histograms = new LinkedHashMap<>();
+    }
+
+    // ============================================================
+    // WORKER
+    // ============================================================
+    private static void runWorker(String mainClass, String[] args) throws Exception {
+        String snapshot = System.getProperty(SNAPSHOT_PROPERTY);
+        if (snapshot != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    writeSnapshot(new File(snapshot));
+                } catch (IOException e) {
+                    System.err.println("Failed to write worker metrics snapshot: " + e.getMessage());
+                }
+            }, "worker-snapshot"));
+        }
+        System.out.println("🧩 Worker " + shard() + "/" + shards() + " running " + mainClass);
+        try {
+            Class.forName(mainClass).getMethod("main", String[].class).invoke(null, (Object) args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    // ============================================================
+    // CLI
+    // ============================================================
+    public static void main(String[] args) throws Exception {
+        List<String> argList = new ArrayList<>(Arrays.asList(args));
+        if (!argList.isEmpty() && WORKER_FLAG.equals(argList.get(0))) {
+            runWorker(argList.get(1), argList.subList(2, argList.size()).toArray(new String[0]));
+            System.exit(0);
+        }
+
+        int workers = 0;
+        if (!argList.isEmpty() && argList.get(0).matches("\\d+")) {
+            workers = Integer.parseInt(argList.remove(0));
+        }
+        if (argList.isEmpty()) {
+            System.out.println("Usage: DistributedRunner [workers] <main class> [args...]");
+            return;
+        }
+        String mainClass = argList.remove(0);
+        int failed = fromConfig(workers).run(mainClass, argList);
+        System.exit(failed == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,267 @@
+package com.mryoda.diagnostics.api.load;
+
+import com.mryoda.diagnostics.api.builders.RequestBuilder;
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
+import com.mryoda.diagnostics.api.metrics.Histogram;
+import com.mryoda.diagnostics.api.metrics.HttpClientMetrics;
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+import com.mryoda.diagnostics.api.utils.TokenManager;
+import io.restassured.RestAssured;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Open-loop load generator: operations are issued on a fixed intended
+ * schedule (rate from a RateProfile), not "next request when the previous one
+ * returned".
+ *
+ * A closed loop stops sending while the server stalls, so the stall is only
+ * seen by the few requests in flight and p99 looks healthy (coordinated
+ * omission). Here every operation has an intended send time; if it leaves late
+ * (all load.max.in.flight slots busy) the wait counts as latency. Both views
+ * are recorded, per operation and per endpoint:
+ *
+ * <pre>
+ * mryoda_load_operation_duration_ms{operation}             service time (uncorrected)
+ * mryoda_load_operation_corrected_duration_ms{operation}   from intended send time
+ * mryoda_http_request_duration_ms{method,endpoint}         service time (uncorrected)
+ * mryoda_http_request_corrected_duration_ms{method,endpoint}
+ * </pre>
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mryoda.diagnostics.api.load.OpenLoopScheduler \
+ *     -Dexec.args="[ratePerSecond] [durationSeconds]"
+ * </pre>
+ */
+public class OpenLoopScheduler {
+
+    public static final String OPERATION_DURATION = "mryoda_load_operation_duration_ms";
+    public static final String OPERATION_CORRECTED_DURATION = "mryoda_load_operation_corrected_duration_ms";
+    public static final String OPERATIONS_TOTAL = "mryoda_load_operations_total";
+
+    static {
+        MetricsRegistry.describe(OPERATION_DURATION, MetricsRegistry.HISTOGRAM,
+                "Load operation service time in milliseconds (from actual start), by operation.");
+        MetricsRegistry.describe(OPERATION_CORRECTED_DURATION, MetricsRegistry.HISTOGRAM,
+                "Load operation latency in milliseconds from its intended send time, by operation.");
+        MetricsRegistry.describe(OPERATIONS_TOTAL, MetricsRegistry.COUNTER,
+                "Load operations completed, by operation and result (ok/failed).");
+    }
+
+    /** Idle tick while a profile asks for rate 0 (e.g. a pause phase). */
+    private static final long IDLE_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Target rate (operations per second) at a point of the run.
+     */
+    @FunctionalInterface
+    public interface RateProfile {
+        double ratePerSecond(long elapsedMs);
+
+        static RateProfile constant(double ratePerSecond) {
+            return elapsedMs -> ratePerSecond;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    /**
+     * One unit of scheduled work (a single request or a short sequence of them).
+     */
+    public interface Operation {
+        String name();
+
+        void execute() throws Exception;
+
+        static Operation of(String name, Task task) {
+            return new Operation() {
+                @Override
+                public String name() {
+                    return name;
+                }
+
+                @Override
+                public void execute() throws Exception {
+                    task.run();
+                }
+            };
+        }
+    }
+
+    private final int maxInFlight;
+    private final Semaphore permits;
+    private final ExecutorService workers;
+
+    // Run-local views for the summary: [uncorrected, corrected] per operation
+    private final Map<String, Histogram[]> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong maxSendLagMs = new AtomicLong();
+
+    public OpenLoopScheduler(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.permits = new Semaphore(this.maxInFlight);
+        // One virtual thread per in-flight operation on Java 21+
+        this.workers = VirtualUserExecutor.newExecutor("load-worker");
+    }
+
+    public static OpenLoopScheduler fromConfig() {
+        // Under DistributedRunner each worker takes its share of the in-flight cap
+        return new OpenLoopScheduler((int) DistributedRunner.shareOf(ConfigLoader.getConfig().loadMaxInFlight()));
+    }
+
+    // ============================================================
+    // SCHEDULE
+    // ============================================================
+    /**
+     * Issue operations from next at the profile's rate for durationMs; blocks
+     * until every issued operation has completed.
+     */
+    public void run(RateProfile profile, long durationMs, Supplier<Operation> next) throws InterruptedException {
+        long start = System.nanoTime();
+        long startWallMs = System.currentTimeMillis();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        long due = start;
+
+        while (due < end) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(due - start);
+            double rate = profile.ratePerSecond(elapsedMs);
+            if (rate <= 0) {
+                due += IDLE_TICK_NANOS;
+                continue;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+
+            Operation operation = next.get();
+            permits.acquire();
+            long lagMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - due);
+            maxSendLagMs.accumulateAndGet(lagMs, Math::max);
+            issued.incrementAndGet();
+
+            long dueNanos = due;
+            long intendedMs = startWallMs + elapsedMs;
+            workers.execute(() -> {
+                try {
+                    execute(operation, dueNanos, intendedMs);
+                } finally {
+                    permits.release();
+                }
+            });
+            due += (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        }
+
+        // Drain: every permit back means every issued operation has completed
+        permits.acquire(maxInFlight);
+        permits.release(maxInFlight);
+        printSummary((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private void execute(Operation operation, long dueNanos, long intendedMs) {
+        long startNanos = System.nanoTime();
+        String result = "ok";
+        HttpClientMetrics.beginScheduled(intendedMs);
+        try {
+            operation.execute();
+            succeeded.incrementAndGet();
+        } catch (Exception | AssertionError e) {
+            // RestAssured rethrows checked I/O exceptions (e.g. ConnectException) undeclared
+            result = "failed";
+            failed.incrementAndGet();
+            System.err.println("❌ " + operation.name() + " failed: " + e.getMessage());
+        } finally {
+            HttpClientMetrics.endScheduled();
+            long now = System.nanoTime();
+            long uncorrectedMs = TimeUnit.NANOSECONDS.toMillis(now - startNanos);
+            long correctedMs = TimeUnit.NANOSECONDS.toMillis(now - dueNanos);
+            Histogram[] views = latencies.computeIfAbsent(operation.name(),
+                    k -> new Histogram[] { new Histogram(), new Histogram() });
+            views[0].record(uncorrectedMs);
+            views[1].record(correctedMs);
+            MetricsRegistry.histogram(OPERATION_DURATION, "operation", operation.name()).record(uncorrectedMs);
+            MetricsRegistry.histogram(OPERATION_CORRECTED_DURATION, "operation", operation.name())
+                    .record(correctedMs);
+            MetricsRegistry.counter(OPERATIONS_TOTAL, "operation", operation.name(), "result", result).increment();
+        }
+    }
+
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    // -----------------------------
+    // REPORT
+    // -----------------------------
+    private void printSummary(double seconds) {
+        System.out.println("\n==========================================================");
+        System.out.println("      OPEN-LOOP LOAD (corrected vs uncorrected latency)");
+        System.out.println("==========================================================");
+        System.out.println(String.format("📊 issued=%d ok=%d failed=%d achieved=%.1f/s max send lag=%d ms",
+                issued.get(), succeeded.get(), failed.get(), issued.get() / Math.max(0.001, seconds),
+                maxSendLagMs.get()));
+        for (Map.Entry<String, Histogram[]> entry : new TreeMap<>(latencies).entrySet()) {
+            Histogram uncorrected = entry.getValue()[0];
+            Histogram corrected = entry.getValue()[1];
+            System.out.println(String.format(
+                    "⏱️ %-24s n=%d  service p50=%d p99=%d max=%d ms | corrected p50=%d p99=%d max=%d ms",
+                    entry.getKey(), uncorrected.getCount(), uncorrected.quantile(0.50), uncorrected.quantile(0.99),
+                    uncorrected.getMax(), corrected.quantile(0.50), corrected.quantile(0.99), corrected.getMax()));
+            if (corrected.quantile(0.99) > 2 * Math.max(1, uncorrected.quantile(0.99))) {
+                System.out.println("   ⚠️  corrected p99 is more than 2x service p99 - the schedule fell behind "
+                        + "(server stall or load.max.in.flight too low)");
+            }
+        }
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    // ============================================================
+    // CLI
+    // ============================================================
+    /**
+     * Constant-rate location lookups as the member user.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        ConfigManager config = ConfigLoader.getConfig();
+        RestAssured.baseURI = config.baseUrl();
+        double rate = args.length > 0 ? Double.parseDouble(args[0]) : config.loadRatePerSecond();
+        int duration = args.length > 1 ? Integer.parseInt(args[1]) : config.loadDurationSeconds();
+        // The rate is a total; a DistributedRunner worker issues its share
+        rate = DistributedRunner.shareOfRate(rate);
+
+        String token = TokenManager.getOrGenerateToken(config.memberMobile(), TokenManager.MEMBER);
+        Operation getLocations = Operation.of("getLocations", () -> new RequestBuilder()
+                .setEndpoint(APIEndpoints.GET_LOCATION)
+                .addHeader("Authorization", token)
+                .expectStatus(200)
+                .quiet()
+                .post());
+
+        System.out.println("📈 Open-loop load: " + rate + "/s for " + duration + "s -> " + RestAssured.baseURI
+                + APIEndpoints.GET_LOCATION);
+        OpenLoopScheduler scheduler = fromConfig();
+        try {
+            scheduler.run(RateProfile.constant(rate), TimeUnit.SECONDS.toMillis(duration), () -> getLocations);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.mryoda.diagnostics.api.load;
+
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+import com.mryoda.diagnostics.api.metrics.Histogram;
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+import com.mryoda.diagnostics.api.services.OrderTrackingService;
+import com.mryoda.diagnostics.api.services.OrderTrackingService.PhleboSession;
+import com.mryoda.diagnostics.api.utils.OrderStatusAwaiter;
+import io.restassured.RestAssured;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives many orders through the phlebo order-tracking state machine in parallel.
+ *
+ * Each simulated phlebotomist logs in with its own session and takes orders
+ * from a shared queue, walking every order through:
+ *
+ * <pre>
+ * assign (ASSIGN_ORDER) -> start_trip (UPDATE_ORDER_TRACKING inprogress)
+ *   -> verify_otp (ADMIN_VERIFY_OTP) -> collect_samples (UPDATE_ORDER_TRACKING samples_collected)
+ * </pre>
+ *
+ * with a random think time between steps. A transition's latency runs from
+ * issuing the update to GET_ORDER_TRACKING_STATUS first reporting the new
+ * state: the expected status where it is known, otherwise any change from the
+ * status before the call, polled via OrderStatusAwaiter (status.await.* backoff).
+ * Recorded as mryoda_order_tracking_transition_ms{transition}.
+ *
+ * Settings: order.tracking.sim.* (phlebo count and credentials, think time,
+ * status timeout).
+ */
+public class OrderTrackingSimulator {
+
+    public static final String TRANSITION_LATENCY = "mryoda_order_tracking_transition_ms";
+    public static final String TRANSITIONS_TOTAL = "mryoda_order_tracking_transitions_total";
+
+    static {
+        MetricsRegistry.describe(TRANSITION_LATENCY, MetricsRegistry.HISTOGRAM,
+                "Time from an order-tracking update until getOrderTrackingStatus reflects it, in milliseconds.");
+        MetricsRegistry.describe(TRANSITIONS_TOTAL, MetricsRegistry.COUNTER,
+                "Order-tracking transitions attempted, by transition and result (ok/timeout/error).");
+    }
+
+    private final OrderTrackingService service = new OrderTrackingService();
+    private final List<String[]> credentials; // {mobile, password}
+    private final int phlebos;
+    private final long thinkMinMs;
+    private final long thinkMaxMs;
+    private final OrderStatusAwaiter awaiter;
+
+    private final Map<String, Histogram> runLatency = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> results = new ConcurrentHashMap<>();
+
+    public OrderTrackingSimulator(String credentialSpec, int phlebos, long thinkMinMs, long thinkMaxMs,
+            long statusTimeoutMs) {
+        this.credentials = new ArrayList<>();
+        for (String entry : credentialSpec.split(",")) {
+            String[] parts = entry.trim().split(":", 2);
+            if (parts.length == 2) {
+                credentials.add(new String[] { parts[0].trim(), parts[1].trim() });
+            }
+        }
+        if (credentials.isEmpty()) {
+            throw new IllegalArgumentException("No phlebo credentials (mobile:password) in: " + credentialSpec);
+        }
+        this.phlebos = Math.max(1, phlebos);
+        this.thinkMinMs = Math.max(0, thinkMinMs);
+        this.thinkMaxMs = Math.max(this.thinkMinMs, thinkMaxMs);
+        this.awaiter = OrderStatusAwaiter.fromConfig().withTimeout(statusTimeoutMs);
+    }
+
+    public static OrderTrackingSimulator fromConfig() {
+        ConfigManager config = ConfigLoader.getConfig();
+        return new OrderTrackingSimulator(config.orderTrackingSimPhleboCredentials(),
+                config.orderTrackingSimPhlebos(), config.orderTrackingSimThinkTimeMinMs(),
+                config.orderTrackingSimThinkTimeMaxMs(), config.orderTrackingSimStatusTimeoutMs());
+    }
+
+    /**
+     * An order that has been created and paid, ready for home collection.
+     */
+    public static class TrackedOrder {
+        private final String orderId;
+        private final String lat;
+        private final String lng;
+        private final String addressName;
+
+        public TrackedOrder(String orderId, String lat, String lng, String addressName) {
+            this.orderId = orderId;
+            this.lat = lat;
+            this.lng = lng;
+            this.addressName = addressName;
+        }
+
+        public String getOrderId() {
+            return orderId;
+        }
+    }
+
+    // ============================================================
+    // RUN
+    // ============================================================
+    /**
+     * Run every order through the state machine; blocks until all are done.
+     */
+    public void run(List<TrackedOrder> orders) throws InterruptedException {
+        System.out.println("🚑 Order tracking simulation: " + orders.size() + " orders, " + phlebos
+                + " phlebotomist(s), think " + thinkMinMs + "-" + thinkMaxMs + " ms");
+
+        BlockingQueue<TrackedOrder> queue = new LinkedBlockingQueue<>(orders);
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(phlebos, r -> {
+            Thread t = new Thread(r, "phlebo-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < phlebos; i++) {
+            int slot = i % credentials.size();
+            pool.execute(() -> phleboLoop(slot, queue));
+        }
+        pool.shutdown();
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        printSummary(System.currentTimeMillis() - start);
+    }
+
+    private void phleboLoop(int credentialSlot, BlockingQueue<TrackedOrder> queue) {
+        PhleboSession phlebo;
+        List<String> sampleTypes;
+        try {
+            String[] credential = credentials.get(credentialSlot);
+            phlebo = service.login(Long.parseLong(credential[0]), credential[1]);
+            sampleTypes = service.getSampleTypes(phlebo);
+        } catch (Exception | AssertionError e) {
+            // RestAssured rethrows checked I/O exceptions (e.g. ConnectException) undeclared
+            System.err.println("❌ Phlebo login failed on " + Thread.currentThread().getName() + ": "
+                    + e.getMessage());
+            return;
+        }
+
+        TrackedOrder order;
+        while ((order = queue.poll()) != null) {
+            try {
+                track(phlebo, sampleTypes, order);
+                count("order", "ok");
+            } catch (Exception | AssertionError e) {
+                count("order", "error");
+                System.err.println("❌ Order " + order.getOrderId() + " tracking failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void track(PhleboSession phlebo, List<String> sampleTypes, TrackedOrder order)
+            throws InterruptedException {
+        String[] trackingId = new String[1];
+
+        String status = transition("assign", phlebo, null, OrderTrackingService.STATUS_ASSIGNED,
+                () -> trackingId[0] = service.assignOrder(phlebo, order.orderId), trackingId);
+        think();
+        status = transition("start_trip", phlebo, status, OrderTrackingService.STATUS_IN_PROGRESS,
+                () -> service.startTrip(phlebo, trackingId[0], order.orderId, order.lat, order.lng, order.addressName),
+                trackingId);
+        think();
+        status = transition("verify_otp", phlebo, status, null,
+                () -> service.verifyOtp(phlebo, trackingId[0], order.orderId), trackingId);
+        think();
+        String sampleType = sampleTypes.isEmpty() ? "Blood"
+                : sampleTypes.get(ThreadLocalRandom.current().nextInt(sampleTypes.size()));
+        transition("collect_samples", phlebo, status, null,
+                () -> service.collectSamples(phlebo, trackingId[0], sampleType), trackingId);
+    }
+
+    /**
+     * Issue one update and wait for getOrderTrackingStatus to reflect it.
+     * Returns the status observed afterwards.
+     */
+    private String transition(String name, PhleboSession phlebo, String before, String expected, Runnable update,
+            String[] trackingId) {
+        long start = System.currentTimeMillis();
+        try {
+            update.run();
+        } catch (Exception | AssertionError e) {
+            count(name, "error");
+            throw e;
+        }
+
+        OrderStatusAwaiter.Result result = awaiter.await("order_tracking_" + name,
+                () -> service.getTrackingStatus(phlebo, trackingId[0]),
+                status -> expected != null ? expected.equalsIgnoreCase(status)
+                        : status != null && !status.equalsIgnoreCase(before),
+                OrderTrackingService.TERMINAL_STATES);
+        if (result.isReached()) {
+            long latency = System.currentTimeMillis() - start;
+            MetricsRegistry.histogram(TRANSITION_LATENCY, "transition", name).record(latency);
+            runLatency.computeIfAbsent(name, k -> new Histogram()).record(latency);
+            count(name, "ok");
+        } else {
+            count(name, result.getOutcome());
+            System.out.println("⚠️ " + name + " on " + trackingId[0] + " not visible after " + result.getElapsedMs()
+                    + " ms (" + result.getOutcome() + ", status '" + result.getStatus() + "')");
+        }
+        return result.getStatus();
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMaxMs > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkMinMs, thinkMaxMs + 1));
+        }
+    }
+
+    private void count(String transition, String result) {
+        MetricsRegistry.counter(TRANSITIONS_TOTAL, "transition", transition, "result", result).increment();
+        results.computeIfAbsent(transition + "/" + result, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    // -----------------------------
+    // REPORT
+    // -----------------------------
+    private void printSummary(long elapsedMs) {
+        System.out.println("\n==========================================================");
+        System.out.println("      ORDER TRACKING SIMULATION (" + elapsedMs + " ms)");
+        System.out.println("==========================================================");
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(runLatency).entrySet()) {
+            Histogram h = entry.getValue();
+            System.out.println(String.format("⏱️ %-16s n=%-5d p50=%-6d p95=%-6d p99=%-6d max=%d ms", entry.getKey(),
+                    h.getCount(), h.quantile(0.50), h.quantile(0.95), h.quantile(0.99), h.getMax()));
+        }
+        for (Map.Entry<String, AtomicInteger> entry : new TreeMap<>(results).entrySet()) {
+            System.out.println("   " + entry.getKey() + " = " + entry.getValue().get());
+        }
+    }
+
+    // ============================================================
+    // CLI
+    // ============================================================
+    /**
+     * args[0]: CSV of orders, one "orderId,lat,lng,addressName" per line.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.out.println("Usage: OrderTrackingSimulator <orders.csv>   (orderId,lat,lng,addressName)");
+            return;
+        }
+        RestAssured.baseURI = ConfigLoader.getConfig().baseUrl();
+        List<TrackedOrder> orders = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            String[] parts = line.split(",", 4);
+            if (parts.length == 4 && !line.startsWith("#")) {
+                orders.add(new TrackedOrder(parts[0].trim(), parts[1].trim(), parts[2].trim(), parts[3].trim()));
+            }
+        }
+        fromConfig().run(orders);
+    }
+}
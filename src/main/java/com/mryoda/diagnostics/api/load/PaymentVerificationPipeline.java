@@ -0,0 +1,460 @@
+package com.mryoda.diagnostics.api.load;
+
+import com.mryoda.diagnostics.api.builders.RequestBuilder;
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+import com.mryoda.diagnostics.api.payloads.PayloadTemplate;
+import com.mryoda.diagnostics.api.utils.PaymentSignatureUtil;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pipelined payment verification for CREATE_ORDER load runs.
+ *
+ * The single-order flow does createOrder -> fetch -> verify signature ->
+ * /gateway/v2/VerifyPayment -> /gateway/getPaymentById strictly in sequence.
+ * Here created orders are submitted to a queue and flow through two stages:
+ * - SIGNATURE: a collector drains the queue in batches (payment.pipeline.batch.size,
+ *   or whatever arrived within payment.pipeline.batch.wait.ms) and each batch is
+ *   verified on the worker pool with the cached per-thread HMAC
+ * - BACKEND: orders with a valid signature issue VerifyPayment + getPaymentById
+ *   concurrently, bounded by payment.pipeline.max.in.flight. getPaymentById
+ *   takes the backend payment id from the VerifyPayment response
+ *   (data[0].orderDetails[0].payment_id); the Razorpay pay_ id is only signed
+ *
+ * Every stage records items processed and time spent, so {@link #printSummary()}
+ * reports per-stage throughput and latency.
+ *
+ * <pre>
+ * try (PaymentVerificationPipeline pipeline = PaymentVerificationPipeline.fromConfig()) {
+ *     futures.add(pipeline.submit(new PaymentJob(token, userId, rzpOrderId, paymentId, signature)));
+ *     ...
+ *     pipeline.awaitIdle(60, TimeUnit.SECONDS);
+ *     pipeline.printSummary();
+ * }
+ * </pre>
+ */
+public class PaymentVerificationPipeline implements AutoCloseable {
+
+    public static final String STAGE_ITEMS = "mryoda_payment_pipeline_items_total";
+    public static final String STAGE_DURATION = "mryoda_payment_pipeline_stage_duration_ms";
+    public static final String QUEUE_DEPTH = "mryoda_payment_pipeline_queue_depth";
+    public static final String BACKEND_IN_FLIGHT = "mryoda_payment_pipeline_backend_in_flight";
+
+    public static final String STAGE_SIGNATURE = "signature";
+    public static final String STAGE_BACKEND = "backend";
+
+    static {
+        MetricsRegistry.describe(STAGE_ITEMS, MetricsRegistry.COUNTER,
+                "Payments processed by a verification pipeline stage, by stage and result.");
+        MetricsRegistry.describe(STAGE_DURATION, MetricsRegistry.HISTOGRAM,
+                "Time a payment spent in a verification pipeline stage, in milliseconds.");
+        MetricsRegistry.describe(QUEUE_DEPTH, MetricsRegistry.GAUGE,
+                "Payments waiting for signature verification.");
+        MetricsRegistry.describe(BACKEND_IN_FLIGHT, MetricsRegistry.GAUGE,
+                "Backend payment verification calls currently in flight.");
+    }
+
+    private static final PayloadTemplate VERIFY_PAYMENT_BODY = PayloadTemplate.compile("{\"user_id\":\"${userId}\"}");
+    private static final PayloadTemplate GET_PAYMENT_BODY = PayloadTemplate.compile("{\"id\":\"${paymentId}\"}");
+
+    private final String keySecret;
+    private final int batchSize;
+    private final long batchWaitMs;
+    private final Semaphore backendPermits;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService workers;
+    private final ExecutorService backend;
+    private final Thread collector;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong queueDepth = MetricsRegistry.gauge(QUEUE_DEPTH);
+    private final AtomicLong inFlight = MetricsRegistry.gauge(BACKEND_IN_FLIGHT);
+    private final Map<String, StageStats> stats = new LinkedHashMap<>();
+    private final long startedAt = System.currentTimeMillis();
+
+    private volatile boolean running = true;
+
+    public PaymentVerificationPipeline(String keySecret, int batchSize, long batchWaitMs, int workerThreads,
+            int maxInFlight) {
+        this.keySecret = keySecret;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchWaitMs = Math.max(0, batchWaitMs);
+        this.backendPermits = new Semaphore(Math.max(1, maxInFlight));
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerThreads),
+                daemonThreads("payment-signature-"));
+        this.backend = Executors.newCachedThreadPool(daemonThreads("payment-backend-"));
+        stats.put(STAGE_SIGNATURE, new StageStats());
+        stats.put(STAGE_BACKEND, new StageStats());
+
+        this.collector = new Thread(this::collect, "payment-batch-collector");
+        this.collector.setDaemon(true);
+        this.collector.start();
+    }
+
+    /**
+     * Pipeline configured from payment.pipeline.* keys and the Razorpay secret.
+     */
+    public static PaymentVerificationPipeline fromConfig() {
+        ConfigManager config = ConfigLoader.getConfig();
+        return new PaymentVerificationPipeline(config.razorpaySecret(), config.paymentPipelineBatchSize(),
+                config.paymentPipelineBatchWaitMs(), config.paymentPipelineWorkers(),
+                config.paymentPipelineMaxInFlight());
+    }
+
+    // ============================================================
+    // MODEL
+    // ============================================================
+    /**
+     * A created order awaiting verification.
+     */
+    public static class PaymentJob {
+        private final String token;
+        private final String userId;
+        private final String razorpayOrderId;
+        private final String paymentId;
+        private final String signature;
+
+        public PaymentJob(String token, String userId, String razorpayOrderId, String paymentId, String signature) {
+            this.token = token;
+            this.userId = userId;
+            this.razorpayOrderId = razorpayOrderId;
+            this.paymentId = paymentId;
+            this.signature = signature;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public String getRazorpayOrderId() {
+            return razorpayOrderId;
+        }
+
+        public String getPaymentId() {
+            return paymentId;
+        }
+
+        public String getSignature() {
+            return signature;
+        }
+    }
+
+    public static class VerificationResult {
+        private final PaymentJob job;
+        private final boolean signatureValid;
+        private final int verifyPaymentStatus;
+        private final int getPaymentStatus;
+        private final String backendPaymentId;
+        private final String error;
+        private final long totalMs;
+
+        VerificationResult(PaymentJob job, boolean signatureValid, int verifyPaymentStatus, int getPaymentStatus,
+                String backendPaymentId, String error, long totalMs) {
+            this.job = job;
+            this.signatureValid = signatureValid;
+            this.verifyPaymentStatus = verifyPaymentStatus;
+            this.getPaymentStatus = getPaymentStatus;
+            this.backendPaymentId = backendPaymentId;
+            this.error = error;
+            this.totalMs = totalMs;
+        }
+
+        public PaymentJob getJob() {
+            return job;
+        }
+
+        public boolean isSignatureValid() {
+            return signatureValid;
+        }
+
+        public int getVerifyPaymentStatus() {
+            return verifyPaymentStatus;
+        }
+
+        public int getGetPaymentStatus() {
+            return getPaymentStatus;
+        }
+
+        /**
+         * Payment id issued by VerifyPayment (null if it returned none).
+         */
+        public String getBackendPaymentId() {
+            return backendPaymentId;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public long getTotalMs() {
+            return totalMs;
+        }
+
+        public boolean isSuccess() {
+            return signatureValid && error == null && verifyPaymentStatus == 200 && getPaymentStatus == 200;
+        }
+    }
+
+    private static class Pending {
+        private final PaymentJob job;
+        private final CompletableFuture<VerificationResult> future = new CompletableFuture<>();
+        private final long submittedAt = System.currentTimeMillis();
+
+        Pending(PaymentJob job) {
+            this.job = job;
+        }
+    }
+
+    private static class StageStats {
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong busyMs = new AtomicLong();
+    }
+
+    // ============================================================
+    // SUBMIT
+    // ============================================================
+    public CompletableFuture<VerificationResult> submit(PaymentJob job) {
+        if (!running) {
+            throw new IllegalStateException("Payment verification pipeline is closed");
+        }
+        Pending pending = new Pending(job);
+        outstanding.incrementAndGet();
+        queue.add(pending);
+        queueDepth.set(queue.size());
+        return pending.future;
+    }
+
+    /**
+     * Wait until every submitted payment has completed both stages.
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (outstanding.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    // ============================================================
+    // STAGE 1: BATCHED SIGNATURE VERIFICATION
+    // ============================================================
+    private void collect() {
+        while (running || !queue.isEmpty()) {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long batchDeadline = System.currentTimeMillis() + batchWaitMs;
+                while (batch.size() < batchSize) {
+                    long remaining = batchDeadline - System.currentTimeMillis();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.MILLISECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failAll(batch, "interrupted");
+                return;
+            }
+            queueDepth.set(queue.size());
+            workers.execute(() -> verifySignatures(batch));
+        }
+    }
+
+    private void verifySignatures(List<Pending> batch) {
+        long start = System.currentTimeMillis();
+        List<Pending> valid = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            PaymentJob job = pending.job;
+            boolean ok = job.getSignature() != null && PaymentSignatureUtil.verifyOrderPayment(keySecret,
+                    job.getRazorpayOrderId(), job.getPaymentId(), job.getSignature());
+            if (ok) {
+                valid.add(pending);
+            } else {
+                complete(pending, new VerificationResult(job, false, -1, -1, null, "invalid signature",
+                        System.currentTimeMillis() - pending.submittedAt));
+            }
+            MetricsRegistry.counter(STAGE_ITEMS, "stage", STAGE_SIGNATURE, "result", ok ? "ok" : "invalid")
+                    .increment();
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        recordStage(STAGE_SIGNATURE, batch.size(), batch.size() - valid.size(), elapsed);
+        for (Pending pending : batch) {
+            MetricsRegistry.histogram(STAGE_DURATION, "stage", STAGE_SIGNATURE)
+                    .record(start + elapsed - pending.submittedAt);
+        }
+
+        for (Pending pending : valid) {
+            dispatchBackend(pending);
+        }
+    }
+
+    // ============================================================
+    // STAGE 2: BOUNDED CONCURRENT BACKEND VERIFICATION
+    // ============================================================
+    private void dispatchBackend(Pending pending) {
+        try {
+            backendPermits.acquire(); // back-pressure: the worker waits, the queue absorbs bursts
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            complete(pending, new VerificationResult(pending.job, true, -1, -1, null, "interrupted",
+                    System.currentTimeMillis() - pending.submittedAt));
+            return;
+        }
+        inFlight.incrementAndGet();
+        backend.execute(() -> {
+            try {
+                verifyWithBackend(pending);
+            } finally {
+                inFlight.decrementAndGet();
+                backendPermits.release();
+            }
+        });
+    }
+
+    private void verifyWithBackend(Pending pending) {
+        PaymentJob job = pending.job;
+        long start = System.currentTimeMillis();
+        int verifyStatus = -1;
+        int getStatus = -1;
+        String backendPaymentId = null;
+        String error = null;
+        try {
+            Response verify = new RequestBuilder()
+                    .setEndpoint(APIEndpoints.VERIFY_PAYMENT)
+                    .addHeader("Authorization", job.getToken())
+                    .setRequestBody(VERIFY_PAYMENT_BODY.render(job.getUserId()))
+                    .quiet()
+                    .post();
+            verifyStatus = verify.getStatusCode();
+            if (verifyStatus == 200) {
+                backendPaymentId = verify.jsonPath().getString("data[0].orderDetails[0].payment_id");
+            }
+
+            if (backendPaymentId == null) {
+                error = "VerifyPayment returned no payment_id (HTTP " + verifyStatus + ")";
+            } else {
+                Response payment = new RequestBuilder()
+                        .setEndpoint(APIEndpoints.DIAGNOSTICS_BASE_URL + APIEndpoints.GET_PAYMENT_BY_ID)
+                        .addHeader("Authorization", job.getToken())
+                        .setRequestBody(GET_PAYMENT_BODY.render(backendPaymentId))
+                        .quiet()
+                        .post();
+                getStatus = payment.getStatusCode();
+            }
+        } catch (Exception | AssertionError e) {
+            // RestAssured rethrows checked I/O exceptions (e.g. ConnectException) undeclared
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        boolean ok = error == null && verifyStatus == 200 && getStatus == 200;
+        recordStage(STAGE_BACKEND, 1, ok ? 0 : 1, elapsed);
+        MetricsRegistry.counter(STAGE_ITEMS, "stage", STAGE_BACKEND, "result", ok ? "ok" : "error").increment();
+        MetricsRegistry.histogram(STAGE_DURATION, "stage", STAGE_BACKEND).record(elapsed);
+        complete(pending, new VerificationResult(job, true, verifyStatus, getStatus, backendPaymentId, error,
+                System.currentTimeMillis() - pending.submittedAt));
+    }
+
+    // -----------------------------
+    // HELPERS
+    // -----------------------------
+    private void complete(Pending pending, VerificationResult result) {
+        pending.future.complete(result);
+        outstanding.decrementAndGet();
+    }
+
+    private void failAll(List<Pending> batch, String reason) {
+        for (Pending pending : batch) {
+            complete(pending, new VerificationResult(pending.job, false, -1, -1, null, reason,
+                    System.currentTimeMillis() - pending.submittedAt));
+        }
+    }
+
+    private void recordStage(String stage, int processed, int failed, long busyMs) {
+        StageStats s = stats.get(stage);
+        s.processed.addAndGet(processed);
+        s.failed.addAndGet(failed);
+        s.busyMs.addAndGet(busyMs);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // ============================================================
+    // REPORT
+    // ============================================================
+    public void printSummary() {
+        double wallSeconds = Math.max(1, System.currentTimeMillis() - startedAt) / 1000.0;
+        System.out.println("\n==========================================================");
+        System.out.println("      PAYMENT VERIFICATION PIPELINE");
+        System.out.println("==========================================================");
+        for (Map.Entry<String, StageStats> entry : stats.entrySet()) {
+            StageStats s = entry.getValue();
+            long processed = s.processed.get();
+            System.out.println(String.format("📊 %-10s processed=%d failed=%d throughput=%.1f/s avg=%.1f ms",
+                    entry.getKey(), processed, s.failed.get(), processed / wallSeconds,
+                    processed == 0 ? 0.0 : (double) s.busyMs.get() / processed));
+        }
+        System.out.println("   queued=" + queue.size() + " backendInFlight=" + inFlight.get()
+                + " outstanding=" + outstanding.get());
+    }
+
+    public long getProcessed(String stage) {
+        return stats.get(stage).processed.get();
+    }
+
+    public long getFailed(String stage) {
+        return stats.get(stage).failed.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            collector.join(TimeUnit.SECONDS.toMillis(5));
+            workers.shutdown();
+            // Signature workers hand off to the backend pool, so drain them first
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        backend.shutdown();
+    }
+}
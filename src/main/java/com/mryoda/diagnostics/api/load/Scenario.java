@@ -0,0 +1,363 @@
+package com.mryoda.diagnostics.api.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixed-workload load profile: which user types arrive, how often, and what
+ * they do once they are there.
+ *
+ * <pre>
+ * Scenario&lt;ShopperSession&gt; mix = Scenario.&lt;ShopperSession&gt;named("production-mix")
+ *         .userType("MEMBER", 60).userType("NON_MEMBER", 30).userType("NEW_USER", 10)
+ *         .setup(userType -> loadCatalog(userType))
+ *         .session(userType -> ShopperSession.open(userType))
+ *         .step("search", 50, ShopperSession::search)
+ *         .step("getCart", 35, ShopperSession::getCart)
+ *         .step("createOrder", 3, ShopperSession::createOrder)
+ *         .stepsPerSession(2, 6)
+ *         .thinkTime(500, 3000)
+ *         .rampUp(60, 10)      // 0 -> 10 sessions/s over 60s
+ *         .steady(300, 10)
+ *         .rampDown(30)        // 10 -> 0 sessions/s
+ *         .build();
+ *
+ * new ScenarioDriver(OpenLoopScheduler.fromConfig()).run(mix);
+ * </pre>
+ *
+ * A session is one arriving user: its type is drawn by ratio, the session
+ * factory opens its own state (user, token, cart - never shared with other
+ * sessions), then it runs stepsPerSession weighted steps against that state
+ * with a random think time between them. State that is AutoCloseable is
+ * closed when the session ends (e.g. to release a leased user).
+ * Phases set the session arrival rate, interpolated linearly within a phase;
+ * arrivals are open-loop (OpenLoopScheduler), so a slow backend does not
+ * thin out the traffic.
+ */
+public class Scenario<S> {
+
+    /**
+     * Per-user-type setup, run once before load starts.
+     */
+    @FunctionalInterface
+    public interface UserTask {
+        void run(String userType) throws Exception;
+    }
+
+    /**
+     * Opens the state of one session for its drawn user type.
+     */
+    @FunctionalInterface
+    public interface SessionFactory<S> {
+        S open(String userType) throws Exception;
+    }
+
+    /**
+     * One step, run against the state of the session it belongs to.
+     */
+    @FunctionalInterface
+    public interface SessionTask<S> {
+        void run(S session) throws Exception;
+    }
+
+    public static final class Step<S> {
+        private final String name;
+        private final int weight;
+        private final SessionTask<S> task;
+
+        Step(String name, int weight, SessionTask<S> task) {
+            this.name = name;
+            this.weight = weight;
+            this.task = task;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public SessionTask<S> getTask() {
+            return task;
+        }
+    }
+
+    public static final class Phase {
+        private final String name;
+        private final long durationMs;
+        private final double fromRate;
+        private final double toRate;
+
+        Phase(String name, long durationMs, double fromRate, double toRate) {
+            this.name = name;
+            this.durationMs = durationMs;
+            this.fromRate = fromRate;
+            this.toRate = toRate;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        double rateAt(long elapsedInPhaseMs) {
+            return fromRate + (toRate - fromRate) * elapsedInPhaseMs / Math.max(1, durationMs);
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + durationMs / 1000 + "s " + fromRate + "->" + toRate + "/s";
+        }
+    }
+
+    private final String name;
+    private final Map<String, Integer> userTypes;
+    private final UserTask setup;
+    private final SessionFactory<S> sessionFactory;
+    private final List<Step<S>> steps;
+    private final List<Phase> phases;
+    private final int minSteps;
+    private final int maxSteps;
+    private final long minThinkMs;
+    private final long maxThinkMs;
+
+    private Scenario(Builder<S> builder) {
+        this.name = builder.name;
+        this.userTypes = Collections.unmodifiableMap(new LinkedHashMap<>(builder.userTypes));
+        this.setup = builder.setup;
+        this.sessionFactory = builder.sessionFactory;
+        this.steps = Collections.unmodifiableList(new ArrayList<>(builder.steps));
+        this.phases = Collections.unmodifiableList(new ArrayList<>(builder.phases));
+        this.minSteps = builder.minSteps;
+        this.maxSteps = builder.maxSteps;
+        this.minThinkMs = builder.minThinkMs;
+        this.maxThinkMs = builder.maxThinkMs;
+    }
+
+    public static <S> Builder<S> named(String name) {
+        return new Builder<>(name);
+    }
+
+    // ============================================================
+    // ACCESSORS
+    // ============================================================
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Integer> getUserTypes() {
+        return userTypes;
+    }
+
+    /** Per-user-type setup run once before load starts (null when none). */
+    public UserTask getSetup() {
+        return setup;
+    }
+
+    public SessionFactory<S> getSessionFactory() {
+        return sessionFactory;
+    }
+
+    public List<Step<S>> getSteps() {
+        return steps;
+    }
+
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    public long getDurationMs() {
+        long total = 0;
+        for (Phase phase : phases) {
+            total += phase.durationMs;
+        }
+        return total;
+    }
+
+    /**
+     * Session arrival rate across all phases.
+     */
+    public OpenLoopScheduler.RateProfile rateProfile() {
+        return elapsedMs -> {
+            long offset = elapsedMs;
+            for (Phase phase : phases) {
+                if (offset < phase.durationMs) {
+                    return phase.rateAt(offset);
+                }
+                offset -= phase.durationMs;
+            }
+            return 0;
+        };
+    }
+
+    // ============================================================
+    // SAMPLING
+    // ============================================================
+    public String pickUserType() {
+        return pick(userTypes, ThreadLocalRandom.current());
+    }
+
+    public Step<S> pickStep() {
+        int total = 0;
+        for (Step<S> step : steps) {
+            total += step.weight;
+        }
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Step<S> step : steps) {
+            roll -= step.weight;
+            if (roll < 0) {
+                return step;
+            }
+        }
+        return steps.get(steps.size() - 1);
+    }
+
+    public int pickSessionLength() {
+        return ThreadLocalRandom.current().nextInt(minSteps, maxSteps + 1);
+    }
+
+    public long pickThinkTimeMs() {
+        return maxThinkMs <= minThinkMs ? minThinkMs : ThreadLocalRandom.current().nextLong(minThinkMs, maxThinkMs + 1);
+    }
+
+    private static String pick(Map<String, Integer> weights, ThreadLocalRandom random) {
+        int total = 0;
+        for (int weight : weights.values()) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        String last = null;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            last = entry.getKey();
+            if (roll < 0) {
+                return last;
+            }
+        }
+        return last;
+    }
+
+    @Override
+    public String toString() {
+        return name + " users=" + userTypes + " steps=" + steps.size() + " phases=" + phases;
+    }
+
+    // ============================================================
+    // BUILDER
+    // ============================================================
+    public static final class Builder<S> {
+        private final String name;
+        private final Map<String, Integer> userTypes = new LinkedHashMap<>();
+        private UserTask setup;
+        private SessionFactory<S> sessionFactory;
+        private final List<Step<S>> steps = new ArrayList<>();
+        private final List<Phase> phases = new ArrayList<>();
+        private int minSteps = 1;
+        private int maxSteps = 1;
+        private long minThinkMs;
+        private long maxThinkMs;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder<S> userType(String userType, int ratio) {
+            if (ratio < 0) {
+                throw new IllegalArgumentException("Ratio must be >= 0 for " + userType);
+            }
+            if (ratio > 0) {
+                userTypes.put(userType, ratio);
+            }
+            return this;
+        }
+
+        public Builder<S> setup(UserTask setup) {
+            this.setup = setup;
+            return this;
+        }
+
+        public Builder<S> session(SessionFactory<S> sessionFactory) {
+            this.sessionFactory = sessionFactory;
+            return this;
+        }
+
+        public Builder<S> step(String stepName, int weight, SessionTask<S> task) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Weight must be > 0 for step " + stepName);
+            }
+            steps.add(new Step<>(stepName, weight, task));
+            return this;
+        }
+
+        public Builder<S> stepsPerSession(int min, int max) {
+            if (min < 1 || max < min) {
+                throw new IllegalArgumentException("Invalid steps per session: " + min + ".." + max);
+            }
+            this.minSteps = min;
+            this.maxSteps = max;
+            return this;
+        }
+
+        public Builder<S> thinkTime(long minMs, long maxMs) {
+            if (minMs < 0 || maxMs < minMs) {
+                throw new IllegalArgumentException("Invalid think time: " + minMs + ".." + maxMs + " ms");
+            }
+            this.minThinkMs = minMs;
+            this.maxThinkMs = maxMs;
+            return this;
+        }
+
+        /** Ramp linearly from the previous phase's rate (0 at start) to sessionsPerSecond. */
+        public Builder<S> rampUp(int seconds, double sessionsPerSecond) {
+            return phase("ramp-up", seconds, lastRate(), sessionsPerSecond);
+        }
+
+        public Builder<S> steady(int seconds, double sessionsPerSecond) {
+            return phase("steady", seconds, sessionsPerSecond, sessionsPerSecond);
+        }
+
+        /** Ramp linearly from the previous phase's rate down to 0. */
+        public Builder<S> rampDown(int seconds) {
+            return phase("ramp-down", seconds, lastRate(), 0);
+        }
+
+        private Builder<S> phase(String phaseName, int seconds, double from, double to) {
+            if (seconds <= 0 || from < 0 || to < 0) {
+                throw new IllegalArgumentException("Invalid " + phaseName + " phase: " + seconds + "s " + from
+                        + "->" + to + "/s");
+            }
+            phases.add(new Phase(phaseName, TimeUnit.SECONDS.toMillis(seconds), from, to));
+            return this;
+        }
+
+        private double lastRate() {
+            return phases.isEmpty() ? 0 : phases.get(phases.size() - 1).toRate;
+        }
+
+        public Scenario<S> build() {
+            if (userTypes.isEmpty()) {
+                throw new IllegalStateException("Scenario " + name + " has no user types");
+            }
+            if (sessionFactory == null) {
+                throw new IllegalStateException("Scenario " + name + " has no session factory");
+            }
+            if (steps.isEmpty()) {
+                throw new IllegalStateException("Scenario " + name + " has no steps");
+            }
+            if (phases.isEmpty()) {
+                throw new IllegalStateException("Scenario " + name + " has no load phases");
+            }
+            return new Scenario<>(this);
+        }
+    }
+}
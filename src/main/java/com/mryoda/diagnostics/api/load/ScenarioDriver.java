@@ -0,0 +1,112 @@
+package com.mryoda.diagnostics.api.load;
+
+import com.mryoda.diagnostics.api.metrics.Histogram;
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes a Scenario: runs the per-user-type setup once, then lets
+ * OpenLoopScheduler start sessions at the scenario's phase rates.
+ *
+ * Each session is an OpenLoopScheduler operation named after its user type,
+ * so session latency is reported corrected and uncorrected (it includes think
+ * time and opening the session state). Every session works on its own state
+ * from the scenario's SessionFactory; it is closed when the session ends if it
+ * is AutoCloseable. Step latency excludes think time:
+ * mryoda_scenario_step_duration_ms{scenario,step,user_type}. A failed step
+ * ends its session.
+ */
+public class ScenarioDriver {
+
+    public static final String STEP_DURATION = "mryoda_scenario_step_duration_ms";
+    public static final String STEPS_TOTAL = "mryoda_scenario_steps_total";
+
+    static {
+        MetricsRegistry.describe(STEP_DURATION, MetricsRegistry.HISTOGRAM,
+                "Scenario step duration in milliseconds (think time excluded), by scenario, step and user type.");
+        MetricsRegistry.describe(STEPS_TOTAL, MetricsRegistry.COUNTER,
+                "Scenario steps executed, by scenario, step, user type and result (ok/failed).");
+    }
+
+    private final OpenLoopScheduler scheduler;
+
+    // Run-local step latency for the summary, by "step / userType"
+    private final Map<String, Histogram> stepLatency = new ConcurrentHashMap<>();
+    private final AtomicLong sessions = new AtomicLong();
+
+    public ScenarioDriver(OpenLoopScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public <S> void run(Scenario<S> scenario) throws Exception {
+        System.out.println("🎬 Scenario " + scenario);
+        if (scenario.getSetup() != null) {
+            for (String userType : scenario.getUserTypes().keySet()) {
+                System.out.println("   🔧 Setup for " + userType);
+                scenario.getSetup().run(userType);
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        scheduler.run(scenario.rateProfile(), scenario.getDurationMs(), () -> session(scenario));
+        printSummary(scenario, System.currentTimeMillis() - start);
+    }
+
+    private <S> OpenLoopScheduler.Operation session(Scenario<S> scenario) {
+        String userType = scenario.pickUserType();
+        return OpenLoopScheduler.Operation.of("session_" + userType, () -> {
+            sessions.incrementAndGet();
+            S session = scenario.getSessionFactory().open(userType);
+            try {
+                int length = scenario.pickSessionLength();
+                for (int i = 0; i < length; i++) {
+                    if (i > 0) {
+                        TimeUnit.MILLISECONDS.sleep(scenario.pickThinkTimeMs());
+                    }
+                    runStep(scenario, scenario.pickStep(), userType, session);
+                }
+            } finally {
+                if (session instanceof AutoCloseable) {
+                    ((AutoCloseable) session).close();
+                }
+            }
+        });
+    }
+
+    private <S> void runStep(Scenario<S> scenario, Scenario.Step<S> step, String userType, S session)
+            throws Exception {
+        long start = System.currentTimeMillis();
+        String result = "failed";
+        try {
+            step.getTask().run(session);
+            result = "ok";
+        } finally {
+            long elapsed = System.currentTimeMillis() - start;
+            stepLatency.computeIfAbsent(step.getName() + " / " + userType, k -> new Histogram()).record(elapsed);
+            MetricsRegistry.histogram(STEP_DURATION, "scenario", scenario.getName(), "step", step.getName(),
+                    "user_type", userType).record(elapsed);
+            MetricsRegistry.counter(STEPS_TOTAL, "scenario", scenario.getName(), "step", step.getName(),
+                    "user_type", userType, "result", result).increment();
+        }
+    }
+
+    // -----------------------------
+    // REPORT
+    // -----------------------------
+    private void printSummary(Scenario<?> scenario, long elapsedMs) {
+        System.out.println("\n==========================================================");
+        System.out.println("      SCENARIO " + scenario.getName() + " (" + sessions.get() + " sessions, "
+                + elapsedMs / 1000 + "s)");
+        System.out.println("==========================================================");
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(stepLatency).entrySet()) {
+            Histogram h = entry.getValue();
+            System.out.println(String.format("🧪 %-36s n=%d p50=%d p95=%d p99=%d max=%d ms", entry.getKey(),
+                    h.getCount(), h.quantile(0.50), h.quantile(0.95), h.quantile(0.99), h.getMax()));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.mryoda.diagnostics.api.load;
+
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executors for virtual users: one Java 21 virtual thread per task when the
+ * runtime has them, platform threads otherwise.
+ *
+ * A virtual user spends almost all of its time blocked in RestAssured socket
+ * I/O or think time; as a virtual thread that costs a few KB of heap instead
+ * of a platform thread stack, so 10k+ concurrent users fit in a modest heap.
+ *
+ * The build still targets Java 11 by default (the jdk21 profile raises it), so
+ * the Java 21 API is looked up reflectively. virtual.threads.enabled=false
+ * forces platform threads, e.g. to compare the two.
+ */
+public class VirtualUserExecutor {
+
+    private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+    private static final Method BUILDER_NAME = lookup(builderClass(), "name", String.class, long.class);
+    private static final Method BUILDER_FACTORY = lookup(builderClass(), "factory");
+    private static final Method THREAD_PER_TASK = lookup(Executors.class, "newThreadPerTaskExecutor",
+            ThreadFactory.class);
+
+    private static volatile boolean fallbackReported;
+
+    private VirtualUserExecutor() {
+        // Private constructor
+    }
+
+    /**
+     * Whether virtual threads are available on this JVM and enabled in config.
+     */
+    public static boolean isEnabled() {
+        return OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null && THREAD_PER_TASK != null
+                && ConfigLoader.getConfig().virtualThreadsEnabled();
+    }
+
+    /**
+     * Virtual-thread-per-task executor (threads named prefix-N), or an
+     * unbounded pool of daemon platform threads.
+     */
+    public static ExecutorService newExecutor(String namePrefix) {
+        return newExecutor(namePrefix, () -> {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, namePrefix + "-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        });
+    }
+
+    /**
+     * Virtual-thread-per-task executor, or the given platform executor.
+     */
+    public static ExecutorService newExecutor(String namePrefix, Supplier<ExecutorService> platformFallback) {
+        if (!isEnabled()) {
+            reportFallback();
+            return platformFallback.get();
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, namePrefix + "-", 1L);
+            ThreadFactory factory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            return (ExecutorService) THREAD_PER_TASK.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            System.err.println("Virtual threads unavailable (" + e + ") - using platform threads");
+            return platformFallback.get();
+        }
+    }
+
+    // -----------------------------
+    // REFLECTION
+    // -----------------------------
+    private static void reportFallback() {
+        if (!fallbackReported) {
+            fallbackReported = true;
+            System.out.println("ℹ️ Virtual users on platform threads (Java " + System.getProperty("java.version")
+                    + (OF_VIRTUAL == null ? ", virtual threads need 21+)" : ", virtual.threads.enabled=false)"));
+        }
+    }
+
+    private static Class<?> builderClass() {
+        try {
+            return Class.forName("java.lang.Thread$Builder");
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method lookup(Class<?> owner, String name, Class<?>... parameterTypes) {
+        if (owner == null) {
+            return null;
+        }
+        try {
+            return owner.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.mryoda.diagnostics.api.load;
+
+import com.mryoda.diagnostics.api.builders.RequestBuilder;
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
+import com.mryoda.diagnostics.api.metrics.Histogram;
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+import com.mryoda.diagnostics.api.payloads.PayloadTemplate;
+import com.mryoda.diagnostics.api.utils.PaymentSignatureUtil;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays signed Razorpay webhook events at /gateway/razorpay/webhook.
+ *
+ * Events (payment.captured, payment.failed, order.paid) are rendered from
+ * pre-compiled templates and signed the way Razorpay does it:
+ * X-Razorpay-Signature = hex(HMAC-SHA256(webhook secret, raw body)). The
+ * secret is razorpay.webhook.secret, falling back to razorpay.secret.
+ *
+ * Load shape: a steady webhook.replay.rate events/s for
+ * webhook.replay.duration.seconds, plus a burst of webhook.replay.burst.size
+ * events every webhook.replay.burst.every.seconds (0 = no bursts), with at most
+ * webhook.replay.concurrency requests in flight.
+ *
+ * Ack latency is measured from the event's scheduled send time, so it includes
+ * any time spent waiting for a free connection during a burst:
+ * mryoda_webhook_ack_latency_ms{event}.
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mryoda.diagnostics.api.load.WebhookReplayer \
+ *     -Dexec.args="[ratePerSecond] [durationSeconds] [burstEverySeconds] [burstSize]"
+ * </pre>
+ */
+public class WebhookReplayer {
+
+    public static final String ACK_LATENCY = "mryoda_webhook_ack_latency_ms";
+    public static final String EVENTS_TOTAL = "mryoda_webhook_events_total";
+
+    public static final String PAYMENT_CAPTURED = "payment.captured";
+    public static final String PAYMENT_FAILED = "payment.failed";
+    public static final String ORDER_PAID = "order.paid";
+
+    static {
+        MetricsRegistry.describe(ACK_LATENCY, MetricsRegistry.HISTOGRAM,
+                "Webhook ack latency from scheduled send time to response, in milliseconds, by event.");
+        MetricsRegistry.describe(EVENTS_TOTAL, MetricsRegistry.COUNTER,
+                "Webhook events replayed, by event and ack status.");
+    }
+
+    // ============================================================
+    // EVENT TEMPLATES
+    // ============================================================
+    private static final PayloadTemplate PAYMENT_CAPTURED_EVENT = paymentEvent(PAYMENT_CAPTURED,
+            paymentEntity("captured", true, "null", "null"), "");
+
+    private static final PayloadTemplate PAYMENT_FAILED_EVENT = paymentEvent(PAYMENT_FAILED,
+            paymentEntity("failed", false, "\"BAD_REQUEST_ERROR\"", "\"Payment was declined by the bank\""), "");
+
+    private static final PayloadTemplate ORDER_PAID_EVENT = paymentEvent(ORDER_PAID,
+            paymentEntity("captured", true, "null", "null"),
+            ",\"order\":{\"entity\":{\"id\":\"${orderId2}\",\"entity\":\"order\",\"amount\":${amount2},"
+                    + "\"amount_paid\":${amountPaid},\"amount_due\":0,\"currency\":\"INR\","
+                    + "\"receipt\":\"${receipt}\",\"status\":\"paid\",\"attempts\":1,"
+                    + "\"created_at\":${orderCreatedAt}}}");
+
+    private static String paymentEntity(String status, boolean captured, String errorCode, String errorDescription) {
+        return "{\"id\":\"${paymentId}\",\"entity\":\"payment\",\"amount\":${amount},\"currency\":\"INR\","
+                + "\"status\":\"" + status + "\",\"order_id\":\"${orderId}\",\"invoice_id\":null,"
+                + "\"international\":false,\"method\":\"upi\",\"amount_refunded\":0,\"refund_status\":null,"
+                + "\"captured\":" + captured + ",\"description\":\"MrYoda Diagnostics\",\"email\":\"${email}\","
+                + "\"contact\":\"+91${mobile}\",\"error_code\":" + errorCode + ",\"error_description\":"
+                + errorDescription + ",\"notes\":{\"user_id\":\"${userId}\"},\"created_at\":${createdAt}}";
+    }
+
+    private static PayloadTemplate paymentEvent(String event, String paymentEntity, String extraEntities) {
+        String contains = extraEntities.isEmpty() ? "[\"payment\"]" : "[\"payment\",\"order\"]";
+        return PayloadTemplate.compile("{\"entity\":\"event\",\"account_id\":\"${accountId}\",\"event\":\""
+                + event + "\",\"contains\":" + contains + ",\"payload\":{\"payment\":{\"entity\":"
+                + paymentEntity + "}" + extraEntities + "},\"created_at\":${eventCreatedAt}}");
+    }
+
+    private final String secret;
+    private final String accountId;
+    private final int concurrency;
+    private final Semaphore permits;
+    private final ExecutorService senders;
+    private final Map<String, Integer> mix;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong acked = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Histogram runLatency = new Histogram();
+
+    public WebhookReplayer(String secret, int concurrency, Map<String, Integer> mix) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("Webhook secret is not configured (razorpay.webhook.secret)");
+        }
+        this.secret = secret;
+        this.accountId = "acc_" + Long.toHexString(secret.hashCode() & 0xffffffffL);
+        this.concurrency = Math.max(1, concurrency);
+        this.permits = new Semaphore(this.concurrency);
+        AtomicInteger count = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "webhook-sender-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.mix = new LinkedHashMap<>(mix);
+    }
+
+    public static WebhookReplayer fromConfig() {
+        ConfigManager config = ConfigLoader.getConfig();
+        String secret = config.razorpayWebhookSecret();
+        if (secret == null || secret.trim().isEmpty()) {
+            secret = config.razorpaySecret();
+        }
+        // Under DistributedRunner each worker takes its share of the in-flight cap
+        return new WebhookReplayer(secret, (int) DistributedRunner.shareOf(config.webhookReplayConcurrency()),
+                parseMix(config.webhookReplayMix()));
+    }
+
+    // ============================================================
+    // EVENT GENERATION
+    // ============================================================
+    /**
+     * A rendered, signed webhook ready to send.
+     */
+    public static class SignedEvent {
+        private final String event;
+        private final String eventId;
+        private final byte[] body;
+        private final String signature;
+
+        SignedEvent(String event, String eventId, byte[] body, String signature) {
+            this.event = event;
+            this.eventId = eventId;
+            this.body = body;
+            this.signature = signature;
+        }
+
+        public String getEvent() {
+            return event;
+        }
+
+        public String getEventId() {
+            return eventId;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getSignature() {
+            return signature;
+        }
+    }
+
+    public SignedEvent generate(String event) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis() / 1000;
+        String paymentId = "pay_" + randomId(14);
+        String orderId = "order_" + randomId(14);
+        long amount = 100L * (199 + random.nextInt(4800));
+        String mobile = String.valueOf(6_000_000_000L + random.nextLong(4_000_000_000L));
+        String userId = UUID.randomUUID().toString();
+        String email = "auto_" + mobile + "@test.com";
+
+        byte[] body;
+        switch (event) {
+            case PAYMENT_CAPTURED:
+                body = PAYMENT_CAPTURED_EVENT.render(accountId, paymentId, amount, orderId, email, mobile, userId,
+                        now - 2, now);
+                break;
+            case PAYMENT_FAILED:
+                body = PAYMENT_FAILED_EVENT.render(accountId, paymentId, amount, orderId, email, mobile, userId,
+                        now - 2, now);
+                break;
+            case ORDER_PAID:
+                body = ORDER_PAID_EVENT.render(accountId, paymentId, amount, orderId, email, mobile, userId, now - 2,
+                        orderId, amount, amount, "rcpt_" + randomId(8), now - 60, now);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported webhook event: " + event);
+        }
+        return new SignedEvent(event, "evt_" + randomId(14), body, PaymentSignatureUtil.toHex(PaymentSignatureUtil.hmac(secret, body)));
+    }
+
+    private static String randomId(int length) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+
+    private String pickEvent() {
+        int total = 0;
+        for (int weight : mix.values()) {
+            total += weight;
+        }
+        int roll = ThreadLocalRandom.current().nextInt(Math.max(1, total));
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return PAYMENT_CAPTURED;
+    }
+
+    // ============================================================
+    // REPLAY
+    // ============================================================
+    /**
+     * Fire events at a steady rate with periodic bursts; blocks until every
+     * event has been acked or failed.
+     */
+    public void replay(double ratePerSecond, int durationSeconds, int burstEverySeconds, int burstSize)
+            throws InterruptedException {
+        System.out.println("📨 Webhook replay: " + ratePerSecond + "/s for " + durationSeconds + "s, burst "
+                + burstSize + " every " + burstEverySeconds + "s -> " + RestAssured.baseURI
+                + APIEndpoints.RAZORPAY_WEBHOOK);
+
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long intervalNanos = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : Long.MAX_VALUE;
+        long burstNanos = burstEverySeconds > 0 ? TimeUnit.SECONDS.toNanos(burstEverySeconds) : Long.MAX_VALUE;
+        long nextSteady = start;
+        long nextBurst = burstEverySeconds > 0 ? start + burstNanos : Long.MAX_VALUE;
+        List<SignedEvent> burst = new ArrayList<>();
+
+        while (true) {
+            long due = Math.min(nextSteady, nextBurst);
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            if (due == nextBurst) {
+                // Pre-render the whole burst so it leaves as one spike
+                burst.clear();
+                for (int i = 0; i < burstSize; i++) {
+                    burst.add(generate(pickEvent()));
+                }
+                for (SignedEvent event : burst) {
+                    dispatch(event, due);
+                }
+                nextBurst += burstNanos;
+            } else {
+                dispatch(generate(pickEvent()), due);
+                nextSteady += intervalNanos;
+            }
+        }
+
+        // Drain: every permit back means every in-flight event has completed
+        permits.acquire(concurrency);
+        permits.release(concurrency);
+        printSummary((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private void dispatch(SignedEvent event, long scheduledNanos) throws InterruptedException {
+        permits.acquire();
+        sent.incrementAndGet();
+        senders.execute(() -> {
+            try {
+                send(event, scheduledNanos);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Send one signed event and record its ack latency.
+     */
+    public Response send(SignedEvent event, long scheduledNanos) {
+        String status = "exception";
+        try {
+            Response response = new RequestBuilder()
+                    .setEndpoint(APIEndpoints.RAZORPAY_WEBHOOK)
+                    .addHeader("X-Razorpay-Signature", event.getSignature())
+                    .addHeader("X-Razorpay-Event-Id", event.getEventId())
+                    .setRequestBody(event.getBody())
+                    .quiet()
+                    .post();
+            status = String.valueOf(response.getStatusCode());
+            if (response.getStatusCode() < 300) {
+                acked.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+            return response;
+        } catch (Exception | AssertionError e) {
+            // RestAssured rethrows checked I/O exceptions (e.g. ConnectException) undeclared
+            failed.incrementAndGet();
+            System.err.println("❌ Webhook " + event.getEvent() + " failed: " + e.getMessage());
+            return null;
+        } finally {
+            long latencyMs = (System.nanoTime() - scheduledNanos) / 1_000_000;
+            runLatency.record(latencyMs);
+            MetricsRegistry.histogram(ACK_LATENCY, "event", event.getEvent()).record(latencyMs);
+            MetricsRegistry.counter(EVENTS_TOTAL, "event", event.getEvent(), "status", status).increment();
+        }
+    }
+
+    public void shutdown() {
+        senders.shutdown();
+    }
+
+    // -----------------------------
+    // REPORT
+    // -----------------------------
+    private void printSummary(double seconds) {
+        System.out.println("\n==========================================================");
+        System.out.println("      WEBHOOK REPLAY");
+        System.out.println("==========================================================");
+        System.out.println(String.format("📊 sent=%d acked=%d failed=%d achieved=%.1f/s", sent.get(), acked.get(),
+                failed.get(), sent.get() / Math.max(0.001, seconds)));
+        System.out.println(String.format("⏱️ ack latency p50=%d p95=%d p99=%d max=%d ms", runLatency.quantile(0.50),
+                runLatency.quantile(0.95), runLatency.quantile(0.99), runLatency.getMax()));
+    }
+
+    public long getAcked() {
+        return acked.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * "payment.captured:70,payment.failed:20,order.paid:10" -> weights.
+     */
+    static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length == 2) {
+                weights.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+            }
+        }
+        if (weights.isEmpty()) {
+            weights.put(PAYMENT_CAPTURED, 1);
+        }
+        return weights;
+    }
+
+    // ============================================================
+    // CLI
+    // ============================================================
+    public static void main(String[] args) throws InterruptedException {
+        ConfigManager config = ConfigLoader.getConfig();
+        RestAssured.baseURI = config.baseUrl();
+        double rate = args.length > 0 ? Double.parseDouble(args[0]) : config.webhookReplayRate();
+        int duration = args.length > 1 ? Integer.parseInt(args[1]) : config.webhookReplayDurationSeconds();
+        int burstEvery = args.length > 2 ? Integer.parseInt(args[2]) : config.webhookReplayBurstEverySeconds();
+        int burstSize = args.length > 3 ? Integer.parseInt(args[3]) : config.webhookReplayBurstSize();
+
+        // Rate and burst size are totals; a DistributedRunner worker sends its share
+        rate = DistributedRunner.shareOfRate(rate);
+        burstSize = (int) DistributedRunner.shareOf(burstSize);
+
+        WebhookReplayer replayer = fromConfig();
+        try {
+            replayer.replay(rate, duration, burstEvery, burstSize);
+        } finally {
+            replayer.shutdown();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.testng.IExecutionListener;
+
+/**
+ * Routes Allure output through CompactingResultsWriter (allure.compact.enabled,
+ * off by default; -Dallure.compact.enabled=true turns it on for a run).
+ *
+ * AllureTestNg captures Allure.getLifecycle() when TestNG creates it, so the
+ * lifecycle has to be swapped before that: this listener is registered in
+ * META-INF/services/org.testng.ITestNGListener on the test classpath, which
+ * TestNG loads ahead of the allure-testng jar's own entry.
+ */
+public class AllureCompactionListener implements IExecutionListener {
+
+    private static CompactingResultsWriter writer;
+
+    public AllureCompactionListener() {
+        install();
+    }
+
+    private static synchronized void install() {
+        if (writer != null || !isEnabled()) {
+            return;
+        }
+        writer = CompactingResultsWriter.fromConfig();
+        Allure.setLifecycle(new AllureLifecycle(writer));
+        System.out.println("🗜️ Allure results compaction on (mode " + ConfigLoader.getConfig().allureCompactMode()
+                + ")");
+    }
+
+    public static boolean isEnabled() {
+        String override = System.getProperty("allure.compact.enabled");
+        return override != null ? Boolean.parseBoolean(override) : ConfigLoader.getConfig().allureCompactEnabled();
+    }
+
+    @Override
+    public void onExecutionFinish() {
+        synchronized (AllureCompactionListener.class) {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
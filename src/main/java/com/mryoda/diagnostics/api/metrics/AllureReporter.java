@@ -0,0 +1,166 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.ResultsUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes performance data into the Allure report:
+ * - per test method: request waterfall (SVG)
+ * - per suite: latency distribution + throughput charts (SVG) and an
+ *   endpoint latency table (CSV), in a result of their own
+ * - environment.properties in the Allure results directory
+ */
+public class AllureReporter {
+
+    private static final String SVG = "image/svg+xml";
+
+    private AllureReporter() {
+        // Private constructor
+    }
+
+    // ============================================================
+    // PER STEP
+    // ============================================================
+    public static void attachStepWaterfall(String step) {
+        List<RequestTimeline.Entry> entries = RequestTimeline.getEntries(step);
+        if (entries.isEmpty()) {
+            return;
+        }
+        Allure.addAttachment("HTTP waterfall - " + step, SVG, SvgCharts.waterfall(step, entries), ".svg");
+    }
+
+    // ============================================================
+    // PER SUITE
+    // ============================================================
+    /**
+     * Write the suite charts as their own "Suite performance charts" result.
+     *
+     * Called from @AfterSuite, where there is no test (and often no step) on
+     * the thread for Allure.addAttachment to attach to, so the attachments and
+     * the result holding them are written directly through the lifecycle.
+     */
+    public static void writeSuiteCharts(String suiteName) {
+        Map<String, Histogram> series = MetricsRegistry.getHistograms().get(HttpClientMetrics.DURATION);
+        if (series == null || series.isEmpty()) {
+            return;
+        }
+
+        long[] bounds = Histogram.DEFAULT_BOUNDS_MS;
+        long[] merged = new long[bounds.length + 1];
+        StringBuilder csv = new StringBuilder("method,endpoint,count,mean_ms,p50_ms,p95_ms,p99_ms,max_ms\n");
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(series).entrySet()) {
+            Histogram h = entry.getValue();
+            long[] counts = h.getBucketCounts();
+            for (int i = 0; i < merged.length && i < counts.length; i++) {
+                merged[i] += counts[i];
+            }
+            Map<String, String> labels = MetricsRegistry.parseLabels(entry.getKey());
+            csv.append(labels.get("method")).append(',').append(labels.get("endpoint")).append(',')
+                    .append(h.getCount()).append(',').append(Math.round(h.getMean())).append(',')
+                    .append(h.quantile(0.50)).append(',').append(h.quantile(0.95)).append(',')
+                    .append(h.quantile(0.99)).append(',').append(h.getMax()).append('\n');
+        }
+
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        List<Attachment> attachments = new ArrayList<>();
+        attachments.add(writeAttachment(lifecycle, "Latency distribution - " + suiteName, SVG,
+                SvgCharts.latencyDistribution("Latency distribution (ms) - " + suiteName, bounds, merged), ".svg"));
+        attachments.add(writeAttachment(lifecycle, "Throughput - " + suiteName, SVG,
+                SvgCharts.throughput("Throughput - " + suiteName, RequestTimeline.getCompletionsPerSecond()), ".svg"));
+        attachments.add(writeAttachment(lifecycle, "Endpoint latency - " + suiteName, "text/csv",
+                csv.toString(), ".csv"));
+
+        String uuid = UUID.randomUUID().toString();
+        TestResult result = new TestResult()
+                .setUuid(uuid)
+                .setHistoryId("suite-performance-charts:" + suiteName)
+                .setName("Suite performance charts - " + suiteName)
+                .setFullName(AllureReporter.class.getName() + ".suiteCharts." + suiteName)
+                .setLabels(new ArrayList<>(Arrays.asList(
+                        ResultsUtils.createSuiteLabel(suiteName),
+                        ResultsUtils.createFeatureLabel("Performance"),
+                        ResultsUtils.createHostLabel())))
+                .setAttachments(attachments);
+        lifecycle.scheduleTestCase(result);
+        long now = System.currentTimeMillis();
+        result.setStatus(Status.PASSED).setStage(Stage.FINISHED).setStart(now).setStop(now);
+        lifecycle.writeTestCase(uuid);
+        if (RequestTimeline.getDropped() > 0) {
+            System.out.println("⚠️ Request timeline full - " + RequestTimeline.getDropped()
+                    + " requests not charted");
+        }
+    }
+
+    private static Attachment writeAttachment(AllureLifecycle lifecycle, String name, String type,
+            String content, String extension) {
+        String source = UUID.randomUUID() + "-attachment" + extension;
+        lifecycle.writeAttachment(source, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        return new Attachment().setName(name).setType(type).setSource(source);
+    }
+
+    // ============================================================
+    // ENVIRONMENT
+    // ============================================================
+    /**
+     * Write allure-results/environment.properties (shown on the report overview).
+     */
+    public static void writeEnvironment(String suiteName) {
+        ConfigManager config = ConfigLoader.getConfig();
+        Map<String, String> env = new TreeMap<>();
+        env.put("Base.URL", String.valueOf(config.baseUrl()));
+        env.put("Environment", String.valueOf(config.environment()));
+        env.put("Git.SHA", PerformanceHistory.resolveGitSha());
+        env.put("Java", System.getProperty("java.version"));
+        env.put("Suite", suiteName);
+
+        Map<String, Map<String, LongAdder>> counters = MetricsRegistry.getCounters();
+        env.put("HTTP.Requests", String.valueOf(sum(counters.get(HttpClientMetrics.REQUESTS_TOTAL))));
+        env.put("HTTP.Errors", String.valueOf(sum(counters.get(HttpClientMetrics.ERRORS_TOTAL))));
+        env.put("SLA.HardLimitMs", String.valueOf(config.slaHardLimitMs()));
+        env.put("Latency.Budget.Default.p95", String.valueOf(config.defaultP95BudgetMs()));
+
+        File dir = new File(System.getProperty("allure.results.directory", "allure-results"));
+        dir.mkdirs();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(new File(dir, "environment.properties")),
+                StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> e : env.entrySet()) {
+                writer.write(e.getKey() + "=" + e.getValue().replace("\\", "\\\\") + "\n");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write Allure environment.properties: " + e.getMessage());
+        }
+    }
+
+    private static long sum(Map<String, ?> series) {
+        long total = 0;
+        if (series == null) {
+            return total;
+        }
+        for (Object value : series.values()) {
+            total += ((Number) value).longValue();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,48 @@
+package com.mryoda.diagnostics.api.metrics;
+
+/**
+ * Latency of the HTTP call a thread is making (or made last), so output
+ * produced around a call can be tied to that call's latency.
+ *
+ * RequestBuilder opens a call before sending and closes it with the measured
+ * latency. Attachments written while the call is open (RestAssured filters)
+ * and right after it (test code) see the same Call; its latency is -1 until
+ * the call finishes.
+ */
+public class CallLatency {
+
+    private static final ThreadLocal<Call> current = new ThreadLocal<>();
+
+    private CallLatency() {
+        // Private constructor
+    }
+
+    public static class Call {
+        private volatile long latencyMs = -1;
+
+        /**
+         * Measured latency, or -1 while the call is still in flight.
+         */
+        public long getLatencyMs() {
+            return latencyMs;
+        }
+    }
+
+    public static void begin() {
+        current.set(new Call());
+    }
+
+    public static void end(long latencyMs) {
+        Call call = current.get();
+        if (call != null) {
+            call.latencyMs = latencyMs;
+        }
+    }
+
+    /**
+     * The calling thread's open or last finished call (null before its first call).
+     */
+    public static Call current() {
+        return current.get();
+    }
+}
@@ -0,0 +1,293 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+import com.mryoda.diagnostics.api.utils.PaymentSignatureUtil;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.ExecutableItem;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Allure results writer that keeps allure-results small.
+ *
+ * Allure hands over attachment bodies before the test result that references
+ * them, so bodies are held until the result arrives and then:
+ * - dropped, when the test passed, the attachment name matches
+ *   allure.compact.skip.pattern (request/response dumps by default) and the
+ *   HTTP call it was written during (or right after, see CallLatency) took at
+ *   most sla.warn.ms; a slow call keeps its evidence however short the test,
+ *   and fast calls lose theirs however long the flow
+ * - stored once per content, as &lt;sha256&gt;-attachment.&lt;ext&gt;, with the
+ *   result re-pointed at that file; identical bodies share one file
+ *
+ * allure.compact.mode=files writes those files next to the results (the report
+ * opens as-is). allure.compact.mode=archive puts them into a single
+ * attachments-&lt;run&gt;.zip per run for cheap CI upload; unpack before
+ * generating the report:
+ *
+ * <pre>
+ * java ... CompactingResultsWriter unpack allure-results
+ * </pre>
+ *
+ * Results and containers themselves are written by the stock
+ * FileSystemResultsWriter. Installed by AllureCompactionListener.
+ */
+public class CompactingResultsWriter implements AllureResultsWriter, AutoCloseable {
+
+    public static final String MODE_FILES = "files";
+    public static final String MODE_ARCHIVE = "archive";
+
+    private static final String ATTACHMENT_SUFFIX = "-attachment";
+    private static final String ARCHIVE_PREFIX = "attachments-";
+
+    private final Path directory;
+    private final FileSystemResultsWriter delegate;
+    private final long slaMs;
+    private final Pattern skipPattern;
+    private final boolean archive;
+
+    // Attachment bodies waiting for the result that references them, by source
+    private final Map<String, PendingBody> pending = new ConcurrentHashMap<>();
+    private final Set<String> stored = ConcurrentHashMap.newKeySet();
+
+    private final Object archiveLock = new Object();
+    private ZipOutputStream zip;
+    private volatile boolean closed;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public CompactingResultsWriter(Path directory, long slaMs, String skipPattern, String mode) {
+        this.directory = directory;
+        this.delegate = new FileSystemResultsWriter(directory);
+        this.slaMs = slaMs;
+        this.skipPattern = Pattern.compile(skipPattern);
+        this.archive = MODE_ARCHIVE.equalsIgnoreCase(mode);
+    }
+
+    public static CompactingResultsWriter fromConfig() {
+        ConfigManager config = ConfigLoader.getConfig();
+        return new CompactingResultsWriter(Paths.get(System.getProperty("allure.results.directory", "allure-results")),
+                config.slaWarnMs(), config.allureCompactSkipPattern(), config.allureCompactMode());
+    }
+
+    private static class PendingBody {
+        private final byte[] body;
+        private final CallLatency.Call call;
+
+        PendingBody(byte[] body, CallLatency.Call call) {
+            this.body = body;
+            this.call = call;
+        }
+
+        /**
+         * The call finished within the SLA (unknown or in-flight calls are not).
+         */
+        boolean withinSla(long slaMs) {
+            long latency = call == null ? -1 : call.getLatencyMs();
+            return latency >= 0 && latency <= slaMs;
+        }
+    }
+
+    // ============================================================
+    // ALLURE WRITER
+    // ============================================================
+    @Override
+    public void write(String source, InputStream attachment) {
+        try (InputStream in = attachment) {
+            // Written on the thread making the call, so the call is known here
+            pending.put(source, new PendingBody(in.readAllBytes(), CallLatency.current()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read Allure attachment " + source, e);
+        }
+    }
+
+    @Override
+    public void write(TestResult result) {
+        compact(result, result.getStatus() == Status.PASSED);
+        delegate.write(result);
+    }
+
+    @Override
+    public void write(TestResultContainer container) {
+        // Fixture attachments (setup/teardown evidence) are always kept
+        for (FixtureResult fixture : container.getBefores()) {
+            compact(fixture, false);
+        }
+        for (FixtureResult fixture : container.getAfters()) {
+            compact(fixture, false);
+        }
+        delegate.write(container);
+    }
+
+    private void compact(ExecutableItem item, boolean passed) {
+        Iterator<Attachment> it = item.getAttachments().iterator();
+        while (it.hasNext()) {
+            Attachment attachment = it.next();
+            PendingBody pendingBody = attachment.getSource() == null ? null : pending.remove(attachment.getSource());
+            if (pendingBody == null) {
+                continue;
+            }
+            if (passed && pendingBody.withinSla(slaMs) && attachment.getName() != null
+                    && skipPattern.matcher(attachment.getName()).matches()) {
+                it.remove();
+                skipped.incrementAndGet();
+                bytesSaved.addAndGet(pendingBody.body.length);
+                continue;
+            }
+            attachment.setSource(store(pendingBody.body, extension(attachment.getSource())));
+        }
+        List<StepResult> steps = item.getSteps();
+        for (StepResult step : steps) {
+            compact(step, passed);
+        }
+    }
+
+    // -----------------------------
+    // CONTENT-ADDRESSED STORE
+    // -----------------------------
+    private String store(byte[] body, String extension) {
+        String name = sha256(body) + ATTACHMENT_SUFFIX + extension;
+        if (!stored.add(name) || Files.exists(directory.resolve(name))) {
+            deduplicated.incrementAndGet();
+            bytesSaved.addAndGet(body.length);
+            return name;
+        }
+        writeBody(name, body);
+        written.incrementAndGet();
+        return name;
+    }
+
+    private void writeBody(String name, byte[] body) {
+        try {
+            synchronized (archiveLock) {
+                if (archive && !closed) {
+                    if (zip == null) {
+                        Files.createDirectories(directory);
+                        zip = new ZipOutputStream(Files.newOutputStream(
+                                directory.resolve(ARCHIVE_PREFIX + System.currentTimeMillis() + ".zip")));
+                    }
+                    zip.putNextEntry(new ZipEntry(name));
+                    zip.write(body);
+                    zip.closeEntry();
+                    return;
+                }
+            }
+            Files.createDirectories(directory);
+            Files.write(directory.resolve(name), body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write Allure attachment " + name, e);
+        }
+    }
+
+    /**
+     * Write attachments no result claimed under their original names, finish
+     * the archive and print what was saved.
+     */
+    @Override
+    public void close() {
+        for (String source : pending.keySet()) {
+            PendingBody pendingBody = pending.remove(source);
+            if (pendingBody != null) {
+                writeBody(source, pendingBody.body);
+                written.incrementAndGet();
+            }
+        }
+        synchronized (archiveLock) {
+            closed = true;
+            if (zip != null) {
+                try {
+                    zip.close();
+                } catch (IOException e) {
+                    System.err.println("Failed to close Allure attachment archive: " + e.getMessage());
+                }
+                zip = null;
+            }
+        }
+        System.out.println("🗜️ Allure attachments: " + written.get() + " written, " + deduplicated.get()
+                + " deduplicated, " + skipped.get() + " skipped (calls within " + slaMs + " ms), "
+                + bytesSaved.get() / 1024 + " KB saved" + (archive ? " - archived, unpack before report" : ""));
+    }
+
+    // ============================================================
+    // UNPACK
+    // ============================================================
+    /**
+     * Extract every attachments-*.zip in the results directory so the Allure
+     * report can resolve them. Returns the number of files extracted.
+     */
+    public static int unpack(Path directory) throws IOException {
+        int extracted = 0;
+        try (DirectoryStream<Path> archives = Files.newDirectoryStream(directory, ARCHIVE_PREFIX + "*.zip")) {
+            for (Path archivePath : archives) {
+                try (ZipInputStream in = new ZipInputStream(Files.newInputStream(archivePath))) {
+                    ZipEntry entry;
+                    while ((entry = in.getNextEntry()) != null) {
+                        Path target = directory.resolve(new File(entry.getName()).getName());
+                        if (!Files.exists(target)) {
+                            try (OutputStream out = Files.newOutputStream(target)) {
+                                in.transferTo(out);
+                            }
+                            extracted++;
+                        }
+                    }
+                }
+            }
+        }
+        return extracted;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || !"unpack".equals(args[0])) {
+            System.out.println("Usage: CompactingResultsWriter unpack <allure-results-dir>");
+            return;
+        }
+        System.out.println("🗜️ Extracted " + unpack(Paths.get(args[1])) + " attachment(s) into " + args[1]);
+    }
+
+    // -----------------------------
+    // HELPERS
+    // -----------------------------
+    private static String extension(String source) {
+        int idx = source.lastIndexOf(ATTACHMENT_SUFFIX);
+        return idx < 0 ? "" : source.substring(idx + ATTACHMENT_SUFFIX.length());
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return PaymentSignatureUtil.toHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram (milliseconds).
+ * - Lock-free recording (one atomic increment per sample)
+ * - Bucket bounds double as Prometheus "le" labels
+ * - Quantiles are estimated by linear interpolation inside a bucket
+ */
+public class Histogram {
+
+    /** Default latency buckets in ms, tuned for the dev backend (fast reads up to slow order calls). */
+    public static final long[] DEFAULT_BOUNDS_MS = { 5, 10, 25, 50, 75, 100, 150, 200, 300, 400, 500, 750, 1000,
+            1500, 2000, 2500, 3000, 4000, 5000, 7500, 10000, 15000, 20000, 30000, 60000 };
+
+    private final long[] bounds;
+    // One slot per bound plus the +Inf overflow bucket
+    private final AtomicLongArray counts;
+    private final LongAdder sum = new LongAdder();
+    private final LongAdder count = new LongAdder();
+    private volatile long max;
+
+    public Histogram() {
+        this(DEFAULT_BOUNDS_MS);
+    }
+
+    public Histogram(long[] bounds) {
+        this.bounds = bounds.clone();
+        this.counts = new AtomicLongArray(bounds.length + 1);
+    }
+
+    public void record(long valueMs) {
+        long v = Math.max(0, valueMs);
+        counts.incrementAndGet(bucketIndex(v));
+        sum.add(v);
+        count.increment();
+        if (v > max) {
+            synchronized (this) {
+                if (v > max) {
+                    max = v;
+                }
+            }
+        }
+    }
+
+    /**
+     * Add samples recorded elsewhere (e.g. by a worker JVM) with the same bounds.
+     */
+    public void merge(long[] bucketCounts, long sampleSum, long sampleCount, long sampleMax) {
+        if (bucketCounts.length != counts.length()) {
+            throw new IllegalArgumentException("Bucket layout mismatch: " + bucketCounts.length + " buckets, expected "
+                    + counts.length());
+        }
+        for (int i = 0; i < bucketCounts.length; i++) {
+            counts.addAndGet(i, bucketCounts[i]);
+        }
+        sum.add(sampleSum);
+        count.add(sampleCount);
+        synchronized (this) {
+            if (sampleMax > max) {
+                max = sampleMax;
+            }
+        }
+    }
+
+    private int bucketIndex(long v) {
+        int lo = 0;
+        int hi = bounds.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (bounds[mid] < v) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        long c = getCount();
+        return c == 0 ? 0.0 : (double) getSum() / c;
+    }
+
+    public long[] getBounds() {
+        return bounds.clone();
+    }
+
+    /**
+     * Per-bucket (non-cumulative) counts; the last slot is the +Inf bucket.
+     */
+    public long[] getBucketCounts() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Estimate a quantile (0.0 - 1.0) in ms.
+     */
+    public long quantile(double q) {
+        long[] snapshot = getBucketCounts();
+        long total = 0;
+        for (long c : snapshot) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        double rank = q * total;
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i] == 0) {
+                continue;
+            }
+            if (seen + snapshot[i] >= rank) {
+                long lower = i == 0 ? 0 : bounds[i - 1];
+                long upper = i < bounds.length ? bounds[i] : Math.max(max, lower);
+                double fraction = (rank - seen) / snapshot[i];
+                return Math.min(max, lower + Math.round((upper - lower) * fraction));
+            }
+            seen += snapshot[i];
+        }
+        return max;
+    }
+}
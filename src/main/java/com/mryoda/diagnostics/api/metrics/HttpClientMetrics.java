@@ -0,0 +1,100 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP client metrics recorded by RequestBuilder for every call.
+ *
+ * Under a load schedule (OpenLoopScheduler) the thread also carries the
+ * operation's intended send time; response times are then additionally
+ * recorded from that time (CORRECTED_DURATION), so a server stall that delays
+ * sending shows up as latency instead of being omitted.
+ */
+public class HttpClientMetrics {
+
+    public static final String REQUESTS_TOTAL = "mryoda_http_requests_total";
+    public static final String ERRORS_TOTAL = "mryoda_http_errors_total";
+    public static final String IN_FLIGHT = "mryoda_http_requests_in_flight";
+    public static final String DURATION = "mryoda_http_request_duration_ms";
+    public static final String CORRECTED_DURATION = "mryoda_http_request_corrected_duration_ms";
+
+    static {
+        MetricsRegistry.describe(REQUESTS_TOTAL, MetricsRegistry.COUNTER,
+                "HTTP requests sent, by method, endpoint and status code.");
+        MetricsRegistry.describe(ERRORS_TOTAL, MetricsRegistry.COUNTER,
+                "HTTP requests that returned a status >= 400 or failed with an exception.");
+        MetricsRegistry.describe(IN_FLIGHT, MetricsRegistry.GAUGE,
+                "HTTP requests currently waiting for a response.");
+        MetricsRegistry.describe(DURATION, MetricsRegistry.HISTOGRAM,
+                "HTTP response time in milliseconds, by method and endpoint.");
+        MetricsRegistry.describe(CORRECTED_DURATION, MetricsRegistry.HISTOGRAM,
+                "HTTP response time in milliseconds from the scheduled send time (load runs only), "
+                        + "by method and endpoint.");
+    }
+
+    private static final AtomicLong inFlight = MetricsRegistry.gauge(IN_FLIGHT);
+
+    // Intended send time (epoch ms) of the current scheduled operation; NONE once its first request used it
+    private static final long NONE = -1;
+    private static final ThreadLocal<long[]> scheduled = new ThreadLocal<>();
+
+    private HttpClientMetrics() {
+        // Private constructor
+    }
+
+    public static void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public static void requestFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    public static void recordResponse(String method, String endpoint, int statusCode, long timeInMs) {
+        String status = String.valueOf(statusCode);
+        MetricsRegistry.counter(REQUESTS_TOTAL, "method", method, "endpoint", endpoint, "status", status).increment();
+        MetricsRegistry.histogram(DURATION, "method", method, "endpoint", endpoint).record(timeInMs);
+        if (statusCode >= 400) {
+            MetricsRegistry.counter(ERRORS_TOTAL, "method", method, "endpoint", endpoint, "status", status)
+                    .increment();
+        }
+    }
+
+    public static void recordFailure(String method, String endpoint, Throwable error) {
+        MetricsRegistry.counter(REQUESTS_TOTAL, "method", method, "endpoint", endpoint, "status", "exception")
+                .increment();
+        MetricsRegistry.counter(ERRORS_TOTAL, "method", method, "endpoint", endpoint, "status",
+                error.getClass().getSimpleName()).increment();
+    }
+
+    // -----------------------------
+    // SCHEDULED (LOAD) REQUESTS
+    // -----------------------------
+    /**
+     * Requests on this thread belong to an operation scheduled for intendedStartMs.
+     */
+    public static void beginScheduled(long intendedStartMs) {
+        scheduled.set(new long[] { intendedStartMs });
+    }
+
+    public static void endScheduled() {
+        scheduled.remove();
+    }
+
+    /**
+     * Record the corrected response time of a request started at startMs. The
+     * first request of an operation is measured from the intended send time;
+     * later ones start when their predecessor finished, so they are measured
+     * from startMs.
+     */
+    public static void recordScheduled(String method, String endpoint, long startMs, long timeInMs) {
+        long[] slot = scheduled.get();
+        if (slot == null) {
+            return;
+        }
+        long intended = slot[0] == NONE ? startMs : Math.min(slot[0], startMs);
+        slot[0] = NONE;
+        MetricsRegistry.histogram(CORRECTED_DURATION, "method", method, "endpoint", endpoint)
+                .record(startMs - intended + timeInMs);
+    }
+}
@@ -0,0 +1,112 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-endpoint p95/p99 latency budgets declared in config.properties:
+ *
+ * <pre>
+ * latency.budget.default.p95=3000
+ * latency.budget./gateway/v2/CreateOrder.p95=5000
+ * latency.budget./carts/v2/getCartById/{user_id}.p99=4000
+ * </pre>
+ *
+ * Endpoints are the templated keys used by RequestBuilder metrics; anything
+ * without an explicit entry falls back to the default budget.
+ */
+public class LatencyBudgets {
+
+    private static final String PREFIX = "latency.budget.";
+    private static final String P95 = ".p95";
+    private static final String P99 = ".p99";
+
+    private static volatile Map<String, Budget> budgets;
+
+    private LatencyBudgets() {
+        // Private constructor
+    }
+
+    public static class Budget {
+        private final long p95Ms;
+        private final long p99Ms;
+
+        public Budget(long p95Ms, long p99Ms) {
+            this.p95Ms = p95Ms;
+            this.p99Ms = p99Ms;
+        }
+
+        public long getP95Ms() {
+            return p95Ms;
+        }
+
+        public long getP99Ms() {
+            return p99Ms;
+        }
+    }
+
+    public static Budget forEndpoint(String endpoint) {
+        Budget budget = getBudgets().get(endpoint);
+        if (budget != null) {
+            return budget;
+        }
+        ConfigManager config = ConfigLoader.getConfig();
+        return new Budget(config.defaultP95BudgetMs(), config.defaultP99BudgetMs());
+    }
+
+    public static Map<String, Budget> getBudgets() {
+        if (budgets == null) {
+            budgets = load();
+        }
+        return budgets;
+    }
+
+    /**
+     * Re-read budgets (e.g. after ConfigLoader.reloadConfig()).
+     */
+    public static void reload() {
+        budgets = load();
+    }
+
+    private static Map<String, Budget> load() {
+        ConfigManager config = ConfigLoader.getConfig();
+        Map<String, Long> p95 = new HashMap<>();
+        Map<String, Long> p99 = new HashMap<>();
+
+        for (String key : config.propertyNames()) {
+            if (!key.startsWith(PREFIX) || key.startsWith(PREFIX + "default.")) {
+                continue;
+            }
+            String value = config.getProperty(key).trim();
+            try {
+                if (key.endsWith(P95)) {
+                    p95.put(key.substring(PREFIX.length(), key.length() - P95.length()), Long.parseLong(value));
+                } else if (key.endsWith(P99)) {
+                    p99.put(key.substring(PREFIX.length(), key.length() - P99.length()), Long.parseLong(value));
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("⚠️ Ignoring invalid latency budget " + key + "=" + value);
+            }
+        }
+
+        Map<String, Budget> loaded = new HashMap<>();
+        for (String endpoint : union(p95, p99)) {
+            loaded.put(endpoint, new Budget(
+                    p95.getOrDefault(endpoint, config.defaultP95BudgetMs()),
+                    p99.getOrDefault(endpoint, config.defaultP99BudgetMs())));
+        }
+        return Collections.unmodifiableMap(loaded);
+    }
+
+    private static Set<String> union(Map<String, Long> a, Map<String, Long> b) {
+        Set<String> keys = new HashSet<>(a.keySet());
+        keys.addAll(b.keySet());
+        return keys;
+    }
+}
@@ -0,0 +1,144 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of counters, gauges and histograms.
+ * Series are keyed by metric name and a rendered label set
+ * (e.g. method="GET",endpoint="/tests/getlocations").
+ */
+public class MetricsRegistry {
+
+    public static final String COUNTER = "counter";
+    public static final String GAUGE = "gauge";
+    public static final String HISTOGRAM = "histogram";
+
+    private static final Map<String, String> types = new ConcurrentHashMap<>();
+    private static final Map<String, String> help = new ConcurrentHashMap<>();
+
+    private static final Map<String, Map<String, LongAdder>> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, AtomicLong>> gauges = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, Histogram>> histograms = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+        // Private constructor
+    }
+
+    // ============================================================
+    // REGISTRATION
+    // ============================================================
+    public static void describe(String name, String type, String description) {
+        types.put(name, type);
+        help.put(name, description);
+    }
+
+    public static String getType(String name) {
+        return types.get(name);
+    }
+
+    public static String getHelp(String name) {
+        return help.get(name);
+    }
+
+    // ============================================================
+    // SERIES LOOKUP (label pairs: key1, value1, key2, value2 ...)
+    // ============================================================
+    public static LongAdder counter(String name, String... labelPairs) {
+        return counters.computeIfAbsent(name, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(labels(labelPairs), k -> new LongAdder());
+    }
+
+    public static AtomicLong gauge(String name, String... labelPairs) {
+        return gauges.computeIfAbsent(name, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(labels(labelPairs), k -> new AtomicLong());
+    }
+
+    public static Histogram histogram(String name, String... labelPairs) {
+        return histograms.computeIfAbsent(name, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(labels(labelPairs), k -> new Histogram());
+    }
+
+    public static Map<String, Map<String, LongAdder>> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    public static Map<String, Map<String, AtomicLong>> getGauges() {
+        return Collections.unmodifiableMap(gauges);
+    }
+
+    public static Map<String, Map<String, Histogram>> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Drop all recorded series (descriptions are kept).
+     */
+    public static void reset() {
+        counters.clear();
+        gauges.clear();
+        histograms.clear();
+    }
+
+    // ============================================================
+    // LABEL RENDERING
+    // ============================================================
+    static String labels(String... labelPairs) {
+        if (labelPairs == null || labelPairs.length == 0) {
+            return "";
+        }
+        if (labelPairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Label pairs must be key/value pairs: " + labelPairs.length);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < labelPairs.length; i += 2) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(labelPairs[i]).append("=\"").append(escape(labelPairs[i + 1])).append('"');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Parse a rendered label set back into key/value pairs.
+     */
+    public static Map<String, String> parseLabels(String rendered) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        int i = 0;
+        while (i < rendered.length()) {
+            int eq = rendered.indexOf("=\"", i);
+            if (eq < 0) {
+                break;
+            }
+            String key = rendered.substring(i, eq);
+            StringBuilder value = new StringBuilder();
+            int j = eq + 2;
+            while (j < rendered.length() && rendered.charAt(j) != '"') {
+                char c = rendered.charAt(j);
+                if (c == '\\' && j + 1 < rendered.length()) {
+                    char next = rendered.charAt(++j);
+                    value.append(next == 'n' ? '\n' : next);
+                } else {
+                    value.append(c);
+                }
+                j++;
+            }
+            parsed.put(key, value.toString());
+            i = j + 2; // skip closing quote and comma
+        }
+        return parsed;
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,280 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Suite-end latency gate.
+ * 1. Checks each endpoint's p95/p99 (from the run histogram) against its
+ *    {@link LatencyBudgets} budget.
+ * 2. Compares the run against a stored baseline with a one-sided Mann-Whitney U
+ *    test over histogram buckets, and flags a regression only when it is both
+ *    statistically significant (p < perf.regression.alpha) and material
+ *    (p95 grew by perf.regression.min.ratio).
+ * Endpoints with fewer than perf.gate.min.samples samples are reported but
+ * never fail the gate, so a single slow call cannot break the build. Each
+ * quantile also needs its own sample count (perf.gate.min.samples.p95 /
+ * .p99): below it the quantile is just the slowest call, so it is marked
+ * "insufficient samples" instead of checked. The regression check needs
+ * enough samples for p95.
+ */
+public class PerformanceGate {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private PerformanceGate() {
+        // Private constructor
+    }
+
+    /**
+     * Whether the gate fails the build. Off in config.properties so local runs
+     * only report; CI turns it on with -Dperf.gate.enabled=true.
+     */
+    public static boolean isEnabled() {
+        String override = System.getProperty("perf.gate.enabled");
+        return override != null ? Boolean.parseBoolean(override) : ConfigLoader.getConfig().perfGateEnabled();
+    }
+
+    /**
+     * Evaluate the current run; throws AssertionError when the gate is enabled
+     * and any budget or regression check failed.
+     */
+    public static void enforce(String suiteName) {
+        List<String> violations = evaluate(suiteName);
+
+        if (violations.isEmpty()) {
+            System.out.println("✅ PERFORMANCE GATE PASSED (" + suiteName + ")");
+            return;
+        }
+
+        System.out.println("\n❌ PERFORMANCE GATE VIOLATIONS (" + suiteName + "):");
+        for (String v : violations) {
+            System.out.println("   - " + v);
+        }
+
+        if (isEnabled()) {
+            throw new AssertionError("❌ Performance gate failed for " + suiteName + ":\n - "
+                    + String.join("\n - ", violations));
+        }
+        System.out.println("   ℹ️  perf gate disabled - reporting only (enable with -Dperf.gate.enabled=true)");
+    }
+
+    public static List<String> evaluate(String suiteName) {
+        ConfigManager config = ConfigLoader.getConfig();
+        int minSamples = config.perfGateMinSamples();
+        int minP95Samples = Math.max(minSamples, config.perfGateMinSamplesP95());
+        int minP99Samples = Math.max(minSamples, config.perfGateMinSamplesP99());
+        List<String> violations = new ArrayList<>();
+
+        Map<String, Histogram> series = new TreeMap<>(
+                MetricsRegistry.getHistograms().getOrDefault(HttpClientMetrics.DURATION, new TreeMap<>()));
+
+        File baselineFile = baselineFile(suiteName);
+        Map<String, Map<String, Object>> baseline = loadBaseline(baselineFile);
+
+        System.out.println("\n--- 📏 LATENCY BUDGETS (" + suiteName + ") ---");
+        for (Map.Entry<String, Histogram> entry : series.entrySet()) {
+            Map<String, String> labels = MetricsRegistry.parseLabels(entry.getKey());
+            String endpoint = labels.get("endpoint");
+            String seriesName = labels.get("method") + " " + endpoint;
+            Histogram h = entry.getValue();
+            LatencyBudgets.Budget budget = LatencyBudgets.forEndpoint(endpoint);
+
+            long p95 = h.quantile(0.95);
+            long p99 = h.quantile(0.99);
+            boolean gateP95 = h.getCount() >= minP95Samples;
+            boolean gateP99 = h.getCount() >= minP99Samples;
+
+            System.out.println(String.format("   %-70s n=%-5d p95=%6d/%-6d p99=%6d/%-6d%s", seriesName,
+                    h.getCount(), p95, budget.getP95Ms(), p99, budget.getP99Ms(), gateNote(gateP95, gateP99)));
+
+            if (gateP95 && p95 > budget.getP95Ms()) {
+                violations.add(seriesName + " p95 " + p95 + "ms exceeds budget " + budget.getP95Ms() + "ms");
+            }
+            if (gateP99 && p99 > budget.getP99Ms()) {
+                violations.add(seriesName + " p99 " + p99 + "ms exceeds budget " + budget.getP99Ms() + "ms");
+            }
+            if (!gateP95) {
+                continue;
+            }
+
+            Map<String, Object> base = baseline.get(seriesName);
+            if (base != null) {
+                String regression = checkRegression(seriesName, base, h, minSamples, config);
+                if (regression != null) {
+                    violations.add(regression);
+                }
+            }
+        }
+        System.out.println("----------------------------\n");
+
+        // Seed only for gated runs, so report-only local runs leave the working tree alone
+        if (config.perfBaselineUpdate() || (!baselineFile.exists() && isEnabled())) {
+            saveBaseline(baselineFile, series);
+        }
+        return violations;
+    }
+
+    private static String gateNote(boolean gateP95, boolean gateP99) {
+        if (!gateP95) {
+            return "  (p95/p99 insufficient samples - not gated)";
+        }
+        return gateP99 ? "" : "  (p99 insufficient samples - not gated)";
+    }
+
+    // -----------------------------
+    // REGRESSION CHECK
+    // -----------------------------
+    private static String checkRegression(String seriesName, Map<String, Object> base, Histogram current,
+            int minSamples, ConfigManager config) {
+        long[] baseBounds = toLongArray(base.get("bounds"));
+        long[] baseCounts = toLongArray(base.get("buckets"));
+        if (!Arrays.equals(baseBounds, current.getBounds())) {
+            System.out.println("   ⚠️  Baseline buckets differ for " + seriesName + " - regression check skipped");
+            return null;
+        }
+
+        long baseN = 0;
+        for (long c : baseCounts) {
+            baseN += c;
+        }
+        if (baseN < minSamples) {
+            return null;
+        }
+
+        double pValue = mannWhitneyGreater(baseCounts, current.getBucketCounts());
+        long baseP95 = ((Number) base.get("p95")).longValue();
+        long currentP95 = current.quantile(0.95);
+        double ratio = baseP95 == 0 ? 0 : (double) currentP95 / baseP95;
+
+        if (pValue < config.perfRegressionAlpha() && ratio >= config.perfRegressionMinRatio()) {
+            return String.format("%s regressed vs baseline: p95 %dms -> %dms (x%.2f, p=%.4f)", seriesName,
+                    baseP95, currentP95, ratio, pValue);
+        }
+        return null;
+    }
+
+    /**
+     * One-sided Mann-Whitney U over binned samples: p-value for "current is
+     * stochastically greater than baseline". Buckets act as tied ranks, with
+     * the usual tie correction on the variance.
+     */
+    static double mannWhitneyGreater(long[] baseline, long[] current) {
+        double n1 = 0;
+        double n2 = 0;
+        for (int i = 0; i < baseline.length; i++) {
+            n1 += baseline[i];
+            n2 += current[i];
+        }
+        double n = n1 + n2;
+        if (n1 == 0 || n2 == 0) {
+            return 1.0;
+        }
+
+        double rankSumCurrent = 0;
+        double tieTerm = 0;
+        double seen = 0;
+        for (int i = 0; i < baseline.length; i++) {
+            double t = baseline[i] + current[i];
+            if (t == 0) {
+                continue;
+            }
+            double midRank = seen + (t + 1) / 2.0;
+            rankSumCurrent += current[i] * midRank;
+            tieTerm += t * t * t - t;
+            seen += t;
+        }
+
+        double u = rankSumCurrent - n2 * (n2 + 1) / 2.0;
+        double mean = n1 * n2 / 2.0;
+        double variance = n1 * n2 / 12.0 * ((n + 1) - tieTerm / (n * (n - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1.0 - normalCdf(z);
+    }
+
+    private static double normalCdf(double z) {
+        // Abramowitz & Stegun 7.1.26
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1.0 / (1.0 + 0.3275911 * x);
+        double erf = 1 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t
+                + 0.254829592) * t * Math.exp(-x * x);
+        return z >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+    }
+
+    // -----------------------------
+    // BASELINE STORAGE
+    // -----------------------------
+    private static File baselineFile(String suiteName) {
+        ConfigManager config = ConfigLoader.getConfig();
+        String name = (config.environment() + "_" + suiteName).replaceAll("[^A-Za-z0-9._-]", "_");
+        return new File(config.perfBaselineDir(), name + ".json");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> loadBaseline(File file) {
+        if (!file.exists()) {
+            System.out.println("ℹ️  No latency baseline at " + file.getPath() + " - this run will seed it");
+            return new LinkedHashMap<>();
+        }
+        try {
+            Map<String, Object> root = MAPPER.readValue(file, Map.class);
+            return (Map<String, Map<String, Object>>) root.getOrDefault("series", new LinkedHashMap<>());
+        } catch (IOException e) {
+            System.err.println("⚠️ Failed to read latency baseline " + file.getPath() + ": " + e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    private static void saveBaseline(File file, Map<String, Histogram> series) {
+        Map<String, Object> seriesJson = new TreeMap<>();
+        for (Map.Entry<String, Histogram> entry : series.entrySet()) {
+            Map<String, String> labels = MetricsRegistry.parseLabels(entry.getKey());
+            Histogram h = entry.getValue();
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("count", h.getCount());
+            s.put("p50", h.quantile(0.50));
+            s.put("p95", h.quantile(0.95));
+            s.put("p99", h.quantile(0.99));
+            s.put("bounds", h.getBounds());
+            s.put("buckets", h.getBucketCounts());
+            seriesJson.put(labels.get("method") + " " + labels.get("endpoint"), s);
+        }
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("environment", ConfigLoader.getConfig().environment());
+        root.put("createdAt", Instant.now().toString());
+        root.put("series", seriesJson);
+
+        try {
+            file.getAbsoluteFile().getParentFile().mkdirs();
+            MAPPER.writeValue(file, root);
+            System.out.println("💾 Latency baseline written: " + file.getPath());
+        } catch (IOException e) {
+            System.err.println("⚠️ Failed to write latency baseline " + file.getPath() + ": " + e.getMessage());
+        }
+    }
+
+    private static long[] toLongArray(Object value) {
+        List<?> list = (List<?>) value;
+        long[] result = new long[list == null ? 0 : list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((Number) list.get(i)).longValue();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,300 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Append-only binary store of per-run latency summaries.
+ *
+ * File layout: a sequence of frames [int length][payload], where payload is
+ * one run: magic, version, timestamp, git SHA, environment, suite, and per
+ * endpoint (METHOD + template): count, mean, p50, p95, p99, max.
+ * A torn or corrupt frame (crash mid-write) ends the readable history, so
+ * append truncates the file back to the last valid frame before writing.
+ */
+public class PerformanceHistory {
+
+    private static final int MAGIC = 0x4D595048; // "MYPH"
+    private static final byte VERSION = 1;
+
+    private PerformanceHistory() {
+        // Private constructor
+    }
+
+    // ============================================================
+    // MODEL
+    // ============================================================
+    public static class EndpointSummary {
+        private final long count;
+        private final long meanMs;
+        private final long p50Ms;
+        private final long p95Ms;
+        private final long p99Ms;
+        private final long maxMs;
+
+        public EndpointSummary(long count, long meanMs, long p50Ms, long p95Ms, long p99Ms, long maxMs) {
+            this.count = count;
+            this.meanMs = meanMs;
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMeanMs() {
+            return meanMs;
+        }
+
+        public long getP50Ms() {
+            return p50Ms;
+        }
+
+        public long getP95Ms() {
+            return p95Ms;
+        }
+
+        public long getP99Ms() {
+            return p99Ms;
+        }
+
+        public long getMaxMs() {
+            return maxMs;
+        }
+    }
+
+    public static class RunRecord {
+        private final long timestamp;
+        private final String gitSha;
+        private final String environment;
+        private final String suite;
+        private final Map<String, EndpointSummary> endpoints;
+
+        public RunRecord(long timestamp, String gitSha, String environment, String suite,
+                Map<String, EndpointSummary> endpoints) {
+            this.timestamp = timestamp;
+            this.gitSha = gitSha;
+            this.environment = environment;
+            this.suite = suite;
+            this.endpoints = endpoints;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public String getGitSha() {
+            return gitSha;
+        }
+
+        public String getEnvironment() {
+            return environment;
+        }
+
+        public String getSuite() {
+            return suite;
+        }
+
+        public Map<String, EndpointSummary> getEndpoints() {
+            return endpoints;
+        }
+    }
+
+    // ============================================================
+    // WRITE
+    // ============================================================
+    /**
+     * Summarise the current run's HTTP histograms and append them to the store.
+     */
+    public static void record(String suiteName) {
+        Map<String, EndpointSummary> endpoints = new TreeMap<>();
+        Map<String, Histogram> series = MetricsRegistry.getHistograms().get(HttpClientMetrics.DURATION);
+        if (series == null || series.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, Histogram> entry : series.entrySet()) {
+            Map<String, String> labels = MetricsRegistry.parseLabels(entry.getKey());
+            Histogram h = entry.getValue();
+            endpoints.put(labels.get("method") + " " + labels.get("endpoint"), new EndpointSummary(h.getCount(),
+                    Math.round(h.getMean()), h.quantile(0.50), h.quantile(0.95), h.quantile(0.99), h.getMax()));
+        }
+
+        String environment = ConfigLoader.getConfig().environment();
+        RunRecord run = new RunRecord(System.currentTimeMillis(), resolveGitSha(),
+                environment == null ? "unknown" : environment, suiteName, endpoints);
+        File file = new File(System.getProperty("perf.history.file", ConfigLoader.getConfig().perfHistoryFile()));
+        try {
+            append(file, run);
+            System.out.println("🗄️ Performance history appended: " + file.getPath() + " (" + run.getGitSha() + ")");
+        } catch (IOException e) {
+            System.err.println("Failed to append performance history: " + file.getPath() + " | Error: "
+                    + e.getMessage());
+        }
+    }
+
+    public static synchronized void append(File file, RunRecord run) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(run.getTimestamp());
+            out.writeUTF(run.getGitSha());
+            out.writeUTF(run.getEnvironment());
+            out.writeUTF(run.getSuite());
+            out.writeInt(run.getEndpoints().size());
+            for (Map.Entry<String, EndpointSummary> e : run.getEndpoints().entrySet()) {
+                EndpointSummary s = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(s.getCount());
+                out.writeLong(s.getMeanMs());
+                out.writeLong(s.getP50Ms());
+                out.writeLong(s.getP95Ms());
+                out.writeLong(s.getP99Ms());
+                out.writeLong(s.getMaxMs());
+            }
+        }
+
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists()) {
+            dir.mkdirs();
+        }
+        byte[] payload = buffer.toByteArray();
+        long validEnd = scan(file, null);
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            if (out.length() > validEnd) {
+                System.out.println("⚠️ Performance history: dropping " + (out.length() - validEnd)
+                        + " bytes of torn/corrupt tail in " + file.getPath());
+                out.setLength(validEnd);
+            }
+            out.seek(validEnd);
+            out.writeInt(payload.length);
+            out.write(payload);
+        }
+    }
+
+    // ============================================================
+    // READ
+    // ============================================================
+    public static List<RunRecord> readAll(File file) throws IOException {
+        if (!file.exists()) {
+            return Collections.emptyList();
+        }
+
+        List<RunRecord> runs = new ArrayList<>();
+        scan(file, runs);
+        return runs;
+    }
+
+    /**
+     * Walk the frames, adding decodable runs to runs (when not null); returns
+     * the offset just past the last valid frame.
+     */
+    private static long scan(File file, List<RunRecord> runs) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+        long validEnd = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            long remaining = file.length();
+            while (remaining >= 4) {
+                int length = in.readInt();
+                if (length < 5 || length > remaining - 4) {
+                    break; // torn or corrupt frame
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (readInt(payload) != MAGIC) {
+                    break; // corrupt frame
+                }
+                remaining -= 4 + length;
+                validEnd += 4 + length;
+                if (runs != null) {
+                    RunRecord run = decode(payload);
+                    if (run != null) {
+                        runs.add(run);
+                    }
+                }
+            }
+        } catch (EOFException e) {
+            // file shrank while reading - keep what was valid
+        }
+        return validEnd;
+    }
+
+    private static int readInt(byte[] b) {
+        return ((b[0] & 0xFF) << 24) | ((b[1] & 0xFF) << 16) | ((b[2] & 0xFF) << 8) | (b[3] & 0xFF);
+    }
+
+    private static RunRecord decode(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                return null; // other format version - skipped, not corrupt
+            }
+            long timestamp = in.readLong();
+            String sha = in.readUTF();
+            String env = in.readUTF();
+            String suite = in.readUTF();
+            int count = in.readInt();
+            Map<String, EndpointSummary> endpoints = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                endpoints.put(key, new EndpointSummary(in.readLong(), in.readLong(), in.readLong(), in.readLong(),
+                        in.readLong(), in.readLong()));
+            }
+            return new RunRecord(timestamp, sha, env, suite, endpoints);
+        }
+    }
+
+    // ============================================================
+    // GIT SHA
+    // ============================================================
+    /**
+     * CI-provided SHA first (GIT_COMMIT / GITHUB_SHA), then `git rev-parse`.
+     */
+    static String resolveGitSha() {
+        for (String env : new String[] { "GIT_COMMIT", "GITHUB_SHA" }) {
+            String value = System.getenv(env);
+            if (value != null && !value.isEmpty()) {
+                return value.length() > 12 ? value.substring(0, 12) : value;
+            }
+        }
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short=12", "HEAD")
+                    .redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line = reader.readLine();
+                if (process.waitFor() == 0 && line != null && !line.trim().isEmpty()) {
+                    return line.trim();
+                }
+            }
+        } catch (IOException e) {
+            // git not available - fall through
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "unknown";
+    }
+}
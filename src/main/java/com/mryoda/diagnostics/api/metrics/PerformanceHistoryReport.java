@@ -0,0 +1,195 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Command-line view over {@link PerformanceHistory}.
+ *
+ * <pre>
+ * mvn -q exec:java -Dexec.mainClass=com.mryoda.diagnostics.api.metrics.PerformanceHistoryReport \
+ *     -Dexec.args="list [env]"
+ *     -Dexec.args="trend &lt;endpoint-filter&gt; [env] [lastN]"
+ *     -Dexec.args="diff &lt;runA&gt; &lt;runB&gt;"      (run index from 'list' or git SHA prefix)
+ * </pre>
+ *
+ * The history file defaults to perf.history.file; override with -Dperf.history.file=...
+ */
+public class PerformanceHistoryReport {
+
+    private static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+
+    private PerformanceHistoryReport() {
+        // Private constructor
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+
+        String path = System.getProperty("perf.history.file", ConfigLoader.getConfig().perfHistoryFile());
+        List<PerformanceHistory.RunRecord> runs = PerformanceHistory.readAll(new File(path));
+        if (runs.isEmpty()) {
+            System.out.println("No performance history found at " + path);
+            return;
+        }
+
+        switch (args[0]) {
+            case "list":
+                list(runs, arg(args, 1, null));
+                break;
+            case "trend":
+                if (args.length < 2) {
+                    usage();
+                    return;
+                }
+                trend(runs, args[1], arg(args, 2, null), Integer.parseInt(arg(args, 3, "20")));
+                break;
+            case "diff":
+                if (args.length < 3) {
+                    usage();
+                    return;
+                }
+                diff(find(runs, args[1]), find(runs, args[2]));
+                break;
+            default:
+                usage();
+        }
+    }
+
+    // -----------------------------
+    // LIST
+    // -----------------------------
+    private static void list(List<PerformanceHistory.RunRecord> runs, String env) {
+        System.out.println(String.format("%-5s %-16s %-12s %-8s %-30s %s", "#", "TIME", "SHA", "ENV", "SUITE",
+                "ENDPOINTS"));
+        for (int i = 0; i < runs.size(); i++) {
+            PerformanceHistory.RunRecord run = runs.get(i);
+            if (env != null && !env.equals(run.getEnvironment())) {
+                continue;
+            }
+            System.out.println(String.format("%-5d %-16s %-12s %-8s %-30s %d", i, format(run.getTimestamp()),
+                    run.getGitSha(), run.getEnvironment(), run.getSuite(), run.getEndpoints().size()));
+        }
+    }
+
+    // -----------------------------
+    // TREND
+    // -----------------------------
+    private static void trend(List<PerformanceHistory.RunRecord> runs, String filter, String env, int lastN) {
+        TreeSet<String> endpoints = new TreeSet<>();
+        for (PerformanceHistory.RunRecord run : runs) {
+            for (String key : run.getEndpoints().keySet()) {
+                if (key.contains(filter)) {
+                    endpoints.add(key);
+                }
+            }
+        }
+
+        for (String endpoint : endpoints) {
+            List<PerformanceHistory.RunRecord> matching = new ArrayList<>();
+            for (PerformanceHistory.RunRecord run : runs) {
+                if (run.getEndpoints().containsKey(endpoint) && (env == null || env.equals(run.getEnvironment()))) {
+                    matching.add(run);
+                }
+            }
+            List<PerformanceHistory.RunRecord> window = matching.subList(Math.max(0, matching.size() - lastN),
+                    matching.size());
+
+            System.out.println("\n📈 " + endpoint);
+            System.out.println(String.format("   %-16s %-12s %-8s %6s %7s %7s %7s %7s", "TIME", "SHA", "ENV", "N",
+                    "P50", "P95", "P99", "MAX"));
+            for (PerformanceHistory.RunRecord run : window) {
+                PerformanceHistory.EndpointSummary s = run.getEndpoints().get(endpoint);
+                System.out.println(String.format("   %-16s %-12s %-8s %6d %7d %7d %7d %7d", format(run.getTimestamp()),
+                        run.getGitSha(), run.getEnvironment(), s.getCount(), s.getP50Ms(), s.getP95Ms(),
+                        s.getP99Ms(), s.getMaxMs()));
+            }
+            if (window.size() > 1) {
+                long first = window.get(0).getEndpoints().get(endpoint).getP95Ms();
+                long last = window.get(window.size() - 1).getEndpoints().get(endpoint).getP95Ms();
+                System.out.println("   p95 trend: " + first + "ms -> " + last + "ms (" + percent(first, last) + ")");
+            }
+        }
+    }
+
+    // -----------------------------
+    // DIFF
+    // -----------------------------
+    private static void diff(PerformanceHistory.RunRecord a, PerformanceHistory.RunRecord b) {
+        if (a == null || b == null) {
+            System.out.println("Run not found - use an index from 'list' or a git SHA prefix");
+            return;
+        }
+
+        System.out.println("A: " + a.getGitSha() + " " + a.getEnvironment() + " " + a.getSuite() + " @ "
+                + format(a.getTimestamp()));
+        System.out.println("B: " + b.getGitSha() + " " + b.getEnvironment() + " " + b.getSuite() + " @ "
+                + format(b.getTimestamp()));
+        System.out.println(String.format("\n%-70s %8s %8s %9s %8s %8s %9s", "ENDPOINT", "A p50", "B p50", "Δ p50",
+                "A p95", "B p95", "Δ p95"));
+
+        TreeSet<String> endpoints = new TreeSet<>(a.getEndpoints().keySet());
+        endpoints.addAll(b.getEndpoints().keySet());
+        for (String endpoint : endpoints) {
+            PerformanceHistory.EndpointSummary sa = a.getEndpoints().get(endpoint);
+            PerformanceHistory.EndpointSummary sb = b.getEndpoints().get(endpoint);
+            if (sa == null || sb == null) {
+                System.out.println(String.format("%-70s %s", endpoint, sa == null ? "(only in B)" : "(only in A)"));
+                continue;
+            }
+            System.out.println(String.format("%-70s %8d %8d %9s %8d %8d %9s", endpoint, sa.getP50Ms(), sb.getP50Ms(),
+                    percent(sa.getP50Ms(), sb.getP50Ms()), sa.getP95Ms(), sb.getP95Ms(),
+                    percent(sa.getP95Ms(), sb.getP95Ms())));
+        }
+    }
+
+    private static PerformanceHistory.RunRecord find(List<PerformanceHistory.RunRecord> runs, String ref) {
+        if (ref.matches("\\d{1,6}")) {
+            int index = Integer.parseInt(ref);
+            if (index < runs.size()) {
+                return runs.get(index);
+            }
+        }
+        // Latest run for the SHA prefix
+        for (int i = runs.size() - 1; i >= 0; i--) {
+            if (runs.get(i).getGitSha().startsWith(ref)) {
+                return runs.get(i);
+            }
+        }
+        return null;
+    }
+
+    // -----------------------------
+    // HELPERS
+    // -----------------------------
+    private static String percent(long from, long to) {
+        if (from == 0) {
+            return "n/a";
+        }
+        return String.format("%+.1f%%", (to - from) * 100.0 / from);
+    }
+
+    private static String format(long timestamp) {
+        return TIME_FORMAT.format(new Date(timestamp));
+    }
+
+    private static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+
+    private static void usage() {
+        System.out.println("Usage: PerformanceHistoryReport list [env]");
+        System.out.println("       PerformanceHistoryReport trend <endpoint-filter> [env] [lastN]");
+        System.out.println("       PerformanceHistoryReport diff <runA> <runB>");
+    }
+}
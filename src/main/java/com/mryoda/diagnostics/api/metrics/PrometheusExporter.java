@@ -0,0 +1,198 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes {@link MetricsRegistry} in Prometheus text exposition format.
+ * - Embedded HTTP endpoint (GET /metrics) when metrics.port > 0
+ * - Periodic text-file dump (node_exporter textfile style) when metrics.dump.file is set
+ */
+public class PrometheusExporter {
+
+    private static HttpServer server;
+    private static ScheduledExecutorService dumper;
+    private static boolean started = false;
+
+    private PrometheusExporter() {
+        // Private constructor
+    }
+
+    /**
+     * Start the exporter once per JVM if metrics.enabled=true.
+     */
+    public static synchronized void startIfEnabled() {
+        ConfigManager config = ConfigLoader.getConfig();
+        if (started || !config.metricsEnabled()) {
+            return;
+        }
+        started = true;
+
+        if (config.metricsPort() > 0) {
+            startHttpServer(config.metricsPort());
+        }
+
+        String dumpFile = config.metricsDumpFile();
+        if (dumpFile != null && !dumpFile.trim().isEmpty()) {
+            startFileDump(dumpFile, config.metricsDumpIntervalSeconds());
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(PrometheusExporter::stop, "metrics-exporter-shutdown"));
+    }
+
+    public static synchronized void stop() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+            String dumpFile = ConfigLoader.getConfig().metricsDumpFile();
+            if (dumpFile != null && !dumpFile.trim().isEmpty()) {
+                writeDump(dumpFile); // final snapshot at the end of the run
+            }
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        started = false;
+    }
+
+    private static void startHttpServer(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(port), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = render().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            });
+            server.setExecutor(Executors.newSingleThreadExecutor(daemon("metrics-http")));
+            server.start();
+            System.out.println("📊 Prometheus metrics exposed at http://localhost:" + port + "/metrics");
+        } catch (IOException e) {
+            System.err.println("❌ Failed to start metrics endpoint on port " + port + ": " + e.getMessage());
+        }
+    }
+
+    private static void startFileDump(String dumpFile, int intervalSeconds) {
+        dumper = Executors.newSingleThreadScheduledExecutor(daemon("metrics-dump"));
+        long interval = Math.max(1, intervalSeconds);
+        dumper.scheduleAtFixedRate(() -> writeDump(dumpFile), interval, interval, TimeUnit.SECONDS);
+        System.out.println("📊 Prometheus metrics dumped every " + interval + "s to " + dumpFile);
+    }
+
+    /**
+     * Write atomically (tmp + rename) so a scraper never reads a half-written file.
+     */
+    private static void writeDump(String dumpFile) {
+        try {
+            File target = new File(dumpFile);
+            File dir = target.getAbsoluteFile().getParentFile();
+            if (dir != null && !dir.exists()) {
+                dir.mkdirs();
+            }
+            File tmp = new File(target.getPath() + ".tmp");
+            Files.write(tmp.toPath(), render().getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to write metrics dump: " + dumpFile + " | Error: " + e.getMessage());
+        }
+    }
+
+    // -----------------------------
+    // EXPOSITION FORMAT
+    // -----------------------------
+    public static String render() {
+        StringBuilder sb = new StringBuilder(4096);
+
+        for (Map.Entry<String, Map<String, LongAdder>> metric : new TreeMap<>(MetricsRegistry.getCounters())
+                .entrySet()) {
+            header(sb, metric.getKey(), MetricsRegistry.COUNTER);
+            for (Map.Entry<String, LongAdder> series : new TreeMap<>(metric.getValue()).entrySet()) {
+                sample(sb, metric.getKey(), series.getKey(), Long.toString(series.getValue().sum()));
+            }
+        }
+
+        for (Map.Entry<String, Map<String, AtomicLong>> metric : new TreeMap<>(MetricsRegistry.getGauges())
+                .entrySet()) {
+            header(sb, metric.getKey(), MetricsRegistry.GAUGE);
+            for (Map.Entry<String, AtomicLong> series : new TreeMap<>(metric.getValue()).entrySet()) {
+                sample(sb, metric.getKey(), series.getKey(), Long.toString(series.getValue().get()));
+            }
+        }
+
+        for (Map.Entry<String, Map<String, Histogram>> metric : new TreeMap<>(MetricsRegistry.getHistograms())
+                .entrySet()) {
+            String name = metric.getKey();
+            header(sb, name, MetricsRegistry.HISTOGRAM);
+            for (Map.Entry<String, Histogram> series : new TreeMap<>(metric.getValue()).entrySet()) {
+                String labels = series.getKey();
+                Histogram h = series.getValue();
+                long[] bounds = h.getBounds();
+                long[] counts = h.getBucketCounts();
+
+                long cumulative = 0;
+                for (int i = 0; i < bounds.length; i++) {
+                    cumulative += counts[i];
+                    sample(sb, name + "_bucket", withLabel(labels, "le", Long.toString(bounds[i])),
+                            Long.toString(cumulative));
+                }
+                cumulative += counts[bounds.length];
+                sample(sb, name + "_bucket", withLabel(labels, "le", "+Inf"), Long.toString(cumulative));
+                sample(sb, name + "_sum", labels, Long.toString(h.getSum()));
+                sample(sb, name + "_count", labels, Long.toString(cumulative));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static void header(StringBuilder sb, String name, String defaultType) {
+        String description = MetricsRegistry.getHelp(name);
+        if (description != null) {
+            sb.append("# HELP ").append(name).append(' ').append(description).append('\n');
+        }
+        String type = MetricsRegistry.getType(name);
+        sb.append("# TYPE ").append(name).append(' ').append(type != null ? type : defaultType).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, String labels, String value) {
+        sb.append(name);
+        if (!labels.isEmpty()) {
+            sb.append('{').append(labels).append('}');
+        }
+        sb.append(' ').append(value).append('\n');
+    }
+
+    private static String withLabel(String labels, String key, String value) {
+        String extra = key + "=\"" + value + "\"";
+        return labels.isEmpty() ? extra : labels + "," + extra;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
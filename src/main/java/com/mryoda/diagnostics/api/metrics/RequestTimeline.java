@@ -0,0 +1,171 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-request timeline (start, duration, endpoint, test step) recorded by
+ * RequestBuilder; feeds the Allure waterfall and throughput charts.
+ *
+ * Entries are kept only while their step is open: the owner clears them
+ * with clearStep once the waterfall is attached, so repeated invocations of
+ * a method (data providers, retries) each get their own chart. The suite
+ * throughput chart uses per-second completion counts, which are never
+ * cleared. MAX_ENTRIES still bounds steps that are never cleared.
+ */
+public class RequestTimeline {
+
+    private static final int MAX_ENTRIES = 100_000;
+
+    private static final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger size = new AtomicInteger();
+    private static final AtomicInteger dropped = new AtomicInteger();
+    private static final ThreadLocal<String> currentStep = new ThreadLocal<>();
+    // Completion second -> [ok, failed]
+    private static final Map<Long, AtomicLongArray> completions = new ConcurrentHashMap<>();
+
+    private RequestTimeline() {
+        // Private constructor
+    }
+
+    public static class Entry {
+        private final String step;
+        private final String method;
+        private final String endpoint;
+        private final long startMs;
+        private final long durationMs;
+        private final int statusCode;
+
+        public Entry(String step, String method, String endpoint, long startMs, long durationMs, int statusCode) {
+            this.step = step;
+            this.method = method;
+            this.endpoint = endpoint;
+            this.startMs = startMs;
+            this.durationMs = durationMs;
+            this.statusCode = statusCode;
+        }
+
+        public String getStep() {
+            return step;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getStartMs() {
+            return startMs;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        /**
+         * HTTP status, or -1 when the call failed with an exception.
+         */
+        public int getStatusCode() {
+            return statusCode;
+        }
+    }
+
+    // ============================================================
+    // STEPS (one per test method, per thread)
+    // ============================================================
+    public static void beginStep(String step) {
+        currentStep.set(step);
+    }
+
+    /**
+     * Clear the calling thread's step and return its name.
+     */
+    public static String endStep() {
+        String step = currentStep.get();
+        currentStep.remove();
+        return step;
+    }
+
+    // ============================================================
+    // RECORDING
+    // ============================================================
+    public static void record(String method, String endpoint, long startMs, long durationMs, int statusCode) {
+        boolean failed = statusCode < 0 || statusCode >= 400;
+        completions.computeIfAbsent((startMs + durationMs) / 1000, k -> new AtomicLongArray(2))
+                .incrementAndGet(failed ? 1 : 0);
+
+        String step = currentStep.get();
+        if (step == null) {
+            return; // no waterfall outside a test step (e.g. load runs)
+        }
+        if (size.incrementAndGet() > MAX_ENTRIES) {
+            size.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        entries.add(new Entry(step, method, endpoint, startMs, durationMs, statusCode));
+    }
+
+    public static List<Entry> getEntries(String step) {
+        List<Entry> result = new ArrayList<>();
+        if (step == null) {
+            return result;
+        }
+        for (Entry e : entries) {
+            if (step.equals(e.getStep())) {
+                result.add(e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drop a finished step's entries (after its waterfall was attached).
+     */
+    public static void clearStep(String step) {
+        if (step == null) {
+            return;
+        }
+        Iterator<Entry> it = entries.iterator();
+        while (it.hasNext()) {
+            if (step.equals(it.next().getStep())) {
+                it.remove();
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Requests completed per epoch second: [ok, failed] (failed = exception or 4xx/5xx).
+     */
+    public static SortedMap<Long, long[]> getCompletionsPerSecond() {
+        SortedMap<Long, long[]> result = new TreeMap<>();
+        for (Map.Entry<Long, AtomicLongArray> e : completions.entrySet()) {
+            result.put(e.getKey(), new long[] { e.getValue().get(0), e.getValue().get(1) });
+        }
+        return result;
+    }
+
+    public static int getDropped() {
+        return dropped.get();
+    }
+
+    public static void reset() {
+        entries.clear();
+        completions.clear();
+        size.set(0);
+        dropped.set(0);
+    }
+}
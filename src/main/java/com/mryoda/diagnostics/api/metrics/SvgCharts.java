@@ -0,0 +1,202 @@
+package com.mryoda.diagnostics.api.metrics;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Minimal self-contained SVG charts for Allure attachments (no JS, no
+ * external assets, so they render inline in the report).
+ */
+public class SvgCharts {
+
+    private static final int WIDTH = 900;
+    private static final int PLOT_LEFT = 60;
+    private static final int PLOT_TOP = 40;
+    private static final int PLOT_HEIGHT = 260;
+    private static final int ROW_HEIGHT = 18;
+    private static final int LABEL_WIDTH = 330;
+
+    private SvgCharts() {
+        // Private constructor
+    }
+
+    // ============================================================
+    // LATENCY DISTRIBUTION (histogram buckets)
+    // ============================================================
+    public static String latencyDistribution(String title, long[] bounds, long[] counts) {
+        int bars = counts.length;
+        int plotWidth = WIDTH - PLOT_LEFT - 20;
+        double barWidth = (double) plotWidth / bars;
+        long maxCount = 1;
+        for (long c : counts) {
+            maxCount = Math.max(maxCount, c);
+        }
+
+        StringBuilder svg = open(WIDTH, PLOT_TOP + PLOT_HEIGHT + 60, title);
+        axis(svg, plotWidth, maxCount, "requests");
+        for (int i = 0; i < bars; i++) {
+            double h = (double) counts[i] / maxCount * PLOT_HEIGHT;
+            double x = PLOT_LEFT + i * barWidth;
+            double y = PLOT_TOP + PLOT_HEIGHT - h;
+            svg.append(String.format(Locale.ROOT,
+                    "<rect x=\"%.1f\" y=\"%.1f\" width=\"%.1f\" height=\"%.1f\" fill=\"#4e79a7\"><title>%s ms: %d</title></rect>%n",
+                    x + 1, y, Math.max(1, barWidth - 2), h, bucketLabel(bounds, i), counts[i]));
+            svg.append(String.format(Locale.ROOT,
+                    "<text x=\"%.1f\" y=\"%d\" font-size=\"9\" text-anchor=\"end\" transform=\"rotate(-45 %.1f %d)\">%s</text>%n",
+                    x + barWidth / 2, PLOT_TOP + PLOT_HEIGHT + 12, x + barWidth / 2, PLOT_TOP + PLOT_HEIGHT + 12,
+                    bucketLabel(bounds, i)));
+        }
+        return close(svg);
+    }
+
+    // ============================================================
+    // THROUGHPUT OVER TIME
+    // ============================================================
+    /**
+     * Completions over time from RequestTimeline.getCompletionsPerSecond().
+     */
+    public static String throughput(String title, SortedMap<Long, long[]> perSecond) {
+        if (perSecond.isEmpty()) {
+            return empty(title);
+        }
+        long first = perSecond.firstKey();
+
+        // 1s buckets, widened so the chart never has more than 120 bars
+        long spanSeconds = perSecond.lastKey() - first + 1;
+        long bucketSeconds = Math.max(1, (spanSeconds + 119) / 120);
+        int bars = (int) ((spanSeconds + bucketSeconds - 1) / bucketSeconds);
+        long[] ok = new long[bars];
+        long[] failed = new long[bars];
+        for (Map.Entry<Long, long[]> e : perSecond.entrySet()) {
+            int bucket = (int) Math.min(bars - 1, (e.getKey() - first) / bucketSeconds);
+            ok[bucket] += e.getValue()[0];
+            failed[bucket] += e.getValue()[1];
+        }
+        long maxCount = 1;
+        for (int i = 0; i < bars; i++) {
+            maxCount = Math.max(maxCount, ok[i] + failed[i]);
+        }
+
+        int plotWidth = WIDTH - PLOT_LEFT - 20;
+        double barWidth = (double) plotWidth / bars;
+        StringBuilder svg = open(WIDTH, PLOT_TOP + PLOT_HEIGHT + 50,
+                title + " (completions per " + bucketSeconds + "s)");
+        axis(svg, plotWidth, maxCount, "req/" + bucketSeconds + "s");
+        for (int i = 0; i < bars; i++) {
+            double x = PLOT_LEFT + i * barWidth;
+            double okHeight = (double) ok[i] / maxCount * PLOT_HEIGHT;
+            double failedHeight = (double) failed[i] / maxCount * PLOT_HEIGHT;
+            double base = PLOT_TOP + PLOT_HEIGHT;
+            svg.append(String.format(Locale.ROOT,
+                    "<rect x=\"%.1f\" y=\"%.1f\" width=\"%.1f\" height=\"%.1f\" fill=\"#59a14f\"><title>t+%ds: %d ok</title></rect>%n",
+                    x, base - okHeight, Math.max(1, barWidth - 1), okHeight, i * bucketSeconds, ok[i]));
+            if (failed[i] > 0) {
+                svg.append(String.format(Locale.ROOT,
+                        "<rect x=\"%.1f\" y=\"%.1f\" width=\"%.1f\" height=\"%.1f\" fill=\"#e15759\"><title>t+%ds: %d failed</title></rect>%n",
+                        x, base - okHeight - failedHeight, Math.max(1, barWidth - 1), failedHeight,
+                        i * bucketSeconds, failed[i]));
+            }
+        }
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" font-size=\"10\">0s</text>%n", PLOT_LEFT,
+                PLOT_TOP + PLOT_HEIGHT + 14));
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" font-size=\"10\" text-anchor=\"end\">%ds</text>%n",
+                PLOT_LEFT + plotWidth, PLOT_TOP + PLOT_HEIGHT + 14, spanSeconds));
+        return close(svg);
+    }
+
+    // ============================================================
+    // PER-STEP WATERFALL
+    // ============================================================
+    public static String waterfall(String title, List<RequestTimeline.Entry> entries) {
+        if (entries.isEmpty()) {
+            return empty(title);
+        }
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (RequestTimeline.Entry e : entries) {
+            first = Math.min(first, e.getStartMs());
+            last = Math.max(last, e.getStartMs() + e.getDurationMs());
+        }
+        long span = Math.max(1, last - first);
+        int plotLeft = LABEL_WIDTH + 10;
+        int plotWidth = WIDTH - plotLeft - 70;
+
+        StringBuilder svg = open(WIDTH, PLOT_TOP + entries.size() * ROW_HEIGHT + 30,
+                title + " (" + span + " ms)");
+        for (int i = 0; i < entries.size(); i++) {
+            RequestTimeline.Entry e = entries.get(i);
+            double x = plotLeft + (double) (e.getStartMs() - first) / span * plotWidth;
+            double w = Math.max(2, (double) e.getDurationMs() / span * plotWidth);
+            int y = PLOT_TOP + i * ROW_HEIGHT;
+            boolean failed = e.getStatusCode() < 0 || e.getStatusCode() >= 400;
+            String label = truncate(e.getMethod() + " " + e.getEndpoint(), 52);
+
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" font-size=\"10\">%s</text>%n", 4,
+                    y + 12, escape(label)));
+            svg.append(String.format(Locale.ROOT,
+                    "<rect x=\"%.1f\" y=\"%d\" width=\"%.1f\" height=\"%d\" fill=\"%s\"><title>%s %s: %d ms (HTTP %d)</title></rect>%n",
+                    x, y + 3, w, ROW_HEIGHT - 6, failed ? "#e15759" : "#4e79a7", escape(e.getMethod()),
+                    escape(e.getEndpoint()), e.getDurationMs(), e.getStatusCode()));
+            svg.append(String.format(Locale.ROOT, "<text x=\"%.1f\" y=\"%d\" font-size=\"10\">%d ms</text>%n",
+                    x + w + 4, y + 12, e.getDurationMs()));
+        }
+        return close(svg);
+    }
+
+    // -----------------------------
+    // SVG HELPERS
+    // -----------------------------
+    private static StringBuilder open(int width, int height, String title) {
+        StringBuilder svg = new StringBuilder(4096);
+        svg.append(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" font-family=\"sans-serif\">%n",
+                width, height));
+        svg.append("<rect width=\"100%\" height=\"100%\" fill=\"#ffffff\"/>\n");
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"20\" font-size=\"14\" font-weight=\"bold\">%s</text>%n",
+                10, escape(title)));
+        return svg;
+    }
+
+    private static String close(StringBuilder svg) {
+        return svg.append("</svg>\n").toString();
+    }
+
+    private static void axis(StringBuilder svg, int plotWidth, long maxCount, String unit) {
+        int bottom = PLOT_TOP + PLOT_HEIGHT;
+        svg.append(String.format(Locale.ROOT,
+                "<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"#333\"/>%n", PLOT_LEFT, bottom,
+                PLOT_LEFT + plotWidth, bottom));
+        svg.append(String.format(Locale.ROOT,
+                "<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"#333\"/>%n", PLOT_LEFT, PLOT_TOP, PLOT_LEFT,
+                bottom));
+        svg.append(String.format(Locale.ROOT,
+                "<text x=\"%d\" y=\"%d\" font-size=\"10\" text-anchor=\"end\">%d</text>%n", PLOT_LEFT - 4,
+                PLOT_TOP + 4, maxCount));
+        svg.append(String.format(Locale.ROOT,
+                "<text x=\"%d\" y=\"%d\" font-size=\"10\" text-anchor=\"end\">0</text>%n", PLOT_LEFT - 4, bottom));
+        svg.append(String.format(Locale.ROOT,
+                "<text x=\"%d\" y=\"%d\" font-size=\"10\" text-anchor=\"end\">%s</text>%n", PLOT_LEFT - 4,
+                PLOT_TOP + 18, escape(unit)));
+    }
+
+    private static String empty(String title) {
+        return close(open(WIDTH, 60, title + " (no requests)"));
+    }
+
+    private static String bucketLabel(long[] bounds, int i) {
+        return i < bounds.length ? "≤" + bounds[i] : "&gt;" + bounds[bounds.length - 1];
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : "…" + value.substring(value.length() - max + 1);
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -1,10 +1,34 @@
 package com.mryoda.diagnostics.api.payloads;
 
+import java.io.ByteArrayOutputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class OrderPayloadBuilder {
 
+    private static final PayloadTemplate SLOT_COUNT_BY_TIME = PayloadTemplate.compile(
+            "{\"slot_start_time\":\"${date}\",\"limit\":100,\"page\":1,\"type\":\"home\",\"addressguid\":\"${address_guid}\"}");
+    private static final PayloadTemplate CART_PRODUCT = PayloadTemplate.compile(
+            "{\"product_id\":\"${product_id}\",\"quantity\":1,\"type\":\"home\",\"brand_id\":\"${brand_id}\","
+                    + "\"location_id\":\"${location_id}\",\"family_member_id\":[\"${user_id}\"]}");
+    private static final PayloadTemplate ADD_TO_CART = PayloadTemplate.compile(
+            "{\"user_id\":\"${user_id}\",\"product_details\":[${product_details}],\"order_type\":\"home\","
+                    + "\"lab_location_id\":\"${lab_location_id}\"}");
+    private static final PayloadTemplate ADD_TO_CART_WITH_SLOT = PayloadTemplate.compile(
+            "{\"user_id\":\"${user_id}\",\"product_details\":[${product_details}],\"slot_guid\":\"${slot_guid}\","
+                    + "\"order_type\":\"home\",\"lab_location_id\":\"${lab_location_id}\"}");
+    private static final PayloadTemplate ONLINE_ORDER = PayloadTemplate.compile(
+            "{\"cart_id\":\"${cart_id}\",\"payment_mode\":\"online\",\"source\":\"android\","
+                    + "\"user_id\":\"${user_id}\",\"address_id\":\"${address_id}\",\"slot_id\":\"${slot_id}\","
+                    + "\"date\":\"${date}\",\"time\":\"${time}\",\"total_amount\":${total_amount},"
+                    + "\"lab_location_id\":\"${lab_location_id}\"}");
+    private static final PayloadTemplate CLEAR_CART = PayloadTemplate.compile(
+            "{\"user_id\":\"${user_id}\",\"product_details\":[],\"order_type\":\"home\","
+                    + "\"lab_location_id\":\"${lab_location_id}\"}");
+    private static final PayloadTemplate CLEAR_CART_NO_LOCATION = PayloadTemplate.compile(
+            "{\"user_id\":\"${user_id}\",\"product_details\":[]}");
+
     /**
      * Builds the payload for adding a new address.
      */
@@ -42,6 +66,59 @@ public class OrderPayloadBuilder {
         return payload;
     }
 
+    /**
+     * Pre-serialized /slot/getSlotCountByTime body (home collection, first 100 slots).
+     */
+    public static byte[] buildSlotCountByTimeBody(String date, String addressGuid) {
+        return SLOT_COUNT_BY_TIME.render(date, addressGuid);
+    }
+
+    /**
+     * Pre-serialized /carts/v2/addCart body: each product once, home
+     * collection, for the user itself (family_member_id = user).
+     */
+    public static byte[] buildAddToCartBody(String userId, List<String> productIds, String brandId,
+            String locationId) {
+        return ADD_TO_CART.render(userId, renderProducts(userId, productIds, brandId, locationId), locationId);
+    }
+
+    /**
+     * Pre-serialized addCart body that also books the collection slot.
+     */
+    public static byte[] buildAddToCartBody(String userId, List<String> productIds, String brandId,
+            String locationId, String slotGuid) {
+        return ADD_TO_CART_WITH_SLOT.render(userId, renderProducts(userId, productIds, brandId, locationId),
+                slotGuid, locationId);
+    }
+
+    private static byte[] renderProducts(String userId, List<String> productIds, String brandId,
+            String locationId) {
+        ByteArrayOutputStream products = new ByteArrayOutputStream(productIds.size() * 160);
+        for (int i = 0; i < productIds.size(); i++) {
+            if (i > 0) {
+                products.write(',');
+            }
+            byte[] product = CART_PRODUCT.render(productIds.get(i), brandId, locationId, userId);
+            products.write(product, 0, product.length);
+        }
+        return products.toByteArray();
+    }
+
+    /**
+     * Pre-serialized addCart body that empties the cart (no location when locationId is null).
+     */
+    public static byte[] buildClearCartBody(String userId, String locationId) {
+        return locationId == null ? CLEAR_CART_NO_LOCATION.render(userId) : CLEAR_CART.render(userId, locationId);
+    }
+
+    /**
+     * Pre-serialized /gateway/v2/CreateOrder body for an online (Razorpay) payment.
+     */
+    public static byte[] buildOnlineOrderBody(String cartId, String userId, String addressId, String slotId,
+            String date, String time, String labLocationId, int totalAmount) {
+        return ONLINE_ORDER.render(cartId, userId, addressId, slotId, date, time, totalAmount, labLocationId);
+    }
+
     /**
      * Builds the payload for VerifyPayment (COD Order Creation).
      */
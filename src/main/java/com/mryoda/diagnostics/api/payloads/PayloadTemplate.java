@@ -0,0 +1,226 @@
+package com.mryoda.diagnostics.api.payloads;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-compiled JSON request body with ${slot} placeholders.
+ *
+ * <pre>
+ * PayloadTemplate OTP = PayloadTemplate.compile("{\"mobile\":\"${mobile}\",\"country_code\":\"${cc}\"}");
+ * byte[] body = OTP.render(mobile, countryCode);   // values in slot order
+ * </pre>
+ *
+ * The literal JSON is split into UTF-8 byte segments once. render() makes one
+ * exactly-sized byte[] per request, with each value JSON-string escaped, and
+ * the bytes go on the wire as-is, with no Map or JSONObject and no
+ * RestAssured/Jackson serialization. Slots inside quotes take non-null string
+ * values; slots outside quotes take numbers/booleans (null renders as JSON
+ * null) or a byte[] of already-rendered JSON, copied verbatim (e.g. a list
+ * of rendered array elements).
+ */
+public class PayloadTemplate {
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[][] segments; // segments.length == slots.length + 1
+    private final String[] slots;
+    private final boolean[] quoted;
+    private final int literalLength;
+
+    private PayloadTemplate(byte[][] segments, String[] slots) {
+        this.segments = segments;
+        this.slots = slots;
+        this.quoted = new boolean[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            byte[] before = segments[i];
+            byte[] after = segments[i + 1];
+            quoted[i] = before.length > 0 && before[before.length - 1] == '"' && after.length > 0 && after[0] == '"';
+        }
+        int length = 0;
+        for (byte[] segment : segments) {
+            length += segment.length;
+        }
+        this.literalLength = length;
+    }
+
+    // ============================================================
+    // COMPILE
+    // ============================================================
+    public static PayloadTemplate compile(String json) {
+        List<byte[]> segments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            int open = json.indexOf("${", pos);
+            if (open < 0) {
+                segments.add(json.substring(pos).getBytes(StandardCharsets.UTF_8));
+                break;
+            }
+            int close = json.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed slot at " + open + " in template: " + json);
+            }
+            segments.add(json.substring(pos, open).getBytes(StandardCharsets.UTF_8));
+            slots.add(json.substring(open + 2, close));
+            pos = close + 1;
+        }
+        return new PayloadTemplate(segments.toArray(new byte[0][]), slots.toArray(new String[0]));
+    }
+
+    public List<String> getSlots() {
+        return Arrays.asList(slots);
+    }
+
+    // ============================================================
+    // RENDER
+    // ============================================================
+    /**
+     * Render with values given in slot order.
+     */
+    public byte[] render(Object... values) {
+        if (values.length != slots.length) {
+            throw new IllegalArgumentException("Template expects " + slots.length + " values " + getSlots()
+                    + " but got " + values.length);
+        }
+
+        // Pass 1: check values, exact output size (no intermediate buffers)
+        int length = literalLength;
+        for (int i = 0; i < slots.length; i++) {
+            Object value = values[i];
+            if (quoted[i] && (value == null || value instanceof byte[])) {
+                throw new IllegalArgumentException("Slot '" + slots[i] + "' is a JSON string and cannot take "
+                        + (value == null ? "null" : "raw JSON bytes"));
+            }
+            if (value == null) {
+                length += NULL.length;
+            } else if (value instanceof byte[]) {
+                length += ((byte[]) value).length;
+            } else {
+                length += escapedLength(value.toString());
+            }
+        }
+
+        // Pass 2: copy literals and values
+        byte[] out = new byte[length];
+        int offset = 0;
+        for (int i = 0; i < slots.length; i++) {
+            System.arraycopy(segments[i], 0, out, offset, segments[i].length);
+            offset += segments[i].length;
+            Object value = values[i];
+            if (value == null || value instanceof byte[]) {
+                byte[] raw = value == null ? NULL : (byte[]) value;
+                System.arraycopy(raw, 0, out, offset, raw.length);
+                offset += raw.length;
+            } else {
+                offset = writeEscaped(value.toString(), out, offset);
+            }
+        }
+        byte[] last = segments[slots.length];
+        System.arraycopy(last, 0, out, offset, last.length);
+        return out;
+    }
+
+    /**
+     * Render with values looked up by slot name.
+     */
+    public byte[] render(Map<String, ?> values) {
+        Object[] ordered = new Object[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            if (!values.containsKey(slots[i])) {
+                throw new IllegalArgumentException("Missing value for slot '" + slots[i] + "'");
+            }
+            ordered[i] = values.get(slots[i]);
+        }
+        return render(ordered);
+    }
+
+    public String renderToString(Object... values) {
+        return new String(render(values), StandardCharsets.UTF_8);
+    }
+
+    // -----------------------------
+    // JSON STRING ESCAPING (UTF-8)
+    // -----------------------------
+    private static int escapedLength(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c == '\n' || c == '\r' || c == '\t') {
+                length += 2;
+            } else if (c < 0x20) {
+                length += 6;
+            } else if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static int writeEscaped(String value, byte[] out, int offset) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out[offset++] = '\\';
+                    out[offset++] = '"';
+                    continue;
+                case '\\':
+                    out[offset++] = '\\';
+                    out[offset++] = '\\';
+                    continue;
+                case '\n':
+                    out[offset++] = '\\';
+                    out[offset++] = 'n';
+                    continue;
+                case '\r':
+                    out[offset++] = '\\';
+                    out[offset++] = 'r';
+                    continue;
+                case '\t':
+                    out[offset++] = '\\';
+                    out[offset++] = 't';
+                    continue;
+                default:
+                    break;
+            }
+            if (c < 0x20) {
+                out[offset++] = '\\';
+                out[offset++] = 'u';
+                out[offset++] = '0';
+                out[offset++] = '0';
+                out[offset++] = HEX[c >> 4];
+                out[offset++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                out[offset++] = (byte) c;
+            } else if (c < 0x800) {
+                out[offset++] = (byte) (0xC0 | (c >> 6));
+                out[offset++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                out[offset++] = (byte) (0xF0 | (cp >> 18));
+                out[offset++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                out[offset++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                out[offset++] = (byte) (0x80 | (cp & 0x3F));
+            } else {
+                out[offset++] = (byte) (0xE0 | (c >> 12));
+                out[offset++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[offset++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,318 @@
+package com.mryoda.diagnostics.api.payloads;
+
+import com.github.javafaker.Faker;
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+import com.mryoda.diagnostics.api.utils.MobileNumberAllocator;
+import com.mryoda.diagnostics.api.utils.RequestContext;
+import org.json.JSONObject;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bulk synthetic data for soak runs.
+ *
+ * Users and addresses are generated up front in batches (javafaker, seeded so
+ * a run is reproducible) and handed out through lock-free cursors:
+ * - users: unique (mobile from MobileNumberAllocator), each handed out once;
+ *   the /users/addUser body is pre-serialized at generation time
+ * - addresses: per location, jittered around the location's RequestContext
+ *   coordinates with its service-center postal code; the batch is cycled,
+ *   since addresses need not be unique across users. Each address is compiled
+ *   into its own PayloadTemplate, so only user id, receiver name and mobile
+ *   are rendered per request. NewUserPool gives every pooled user one.
+ */
+public class SyntheticDataGenerator {
+
+    // Fallback when a location has no coordinates/city in RequestContext (Ameerpet HQ)
+    private static final String DEFAULT_LATITUDE = "17.432464";
+    private static final String DEFAULT_LONGITUDE = "78.4071173";
+    private static final String DEFAULT_CITY = "Hyderabad";
+    private static final String DEFAULT_STATE = "Telangana";
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    // /address/addAddress body; the address fields are baked in per SyntheticAddress
+    private static final PayloadTemplate ADDRESS_BODY = PayloadTemplate.compile("{\"user_id\":\"${user_id}\","
+            + "\"receiver_name\":\"${receiver_name}\",\"recipient_mobile_number\":\"${mobile}\","
+            + "\"address_line1\":\"${address_line1}\",\"name\":\"${name}\",\"type\":\"${type}\","
+            + "\"country\":\"India\",\"state\":\"${state}\",\"city\":\"${city}\","
+            + "\"postal_code\":\"${postal_code}\",\"country_code\":\"${country_code}\","
+            + "\"latitude\":\"${latitude}\",\"longitude\":\"${longitude}\"}");
+
+    private static SyntheticDataGenerator shared;
+
+    private final Random random;
+    private final Faker faker;
+    private final int userBatchSize;
+    private final double jitterMeters;
+
+    // Batch and its cursor are swapped together, so a refill never re-issues a user
+    private volatile UserBatch users = new UserBatch(Collections.<SyntheticUser>emptyList());
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private final Map<String, List<SyntheticAddress>> addresses = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> addressCursors = new ConcurrentHashMap<>();
+
+    public SyntheticDataGenerator(long seed, int userBatchSize, double jitterMeters) {
+        this.random = new Random(seed);
+        this.faker = new Faker(new Locale("en-IND"), random);
+        this.userBatchSize = userBatchSize;
+        this.jitterMeters = jitterMeters;
+    }
+
+    /**
+     * Process-wide generator configured from synthetic.data.* keys.
+     */
+    public static synchronized SyntheticDataGenerator shared() {
+        if (shared == null) {
+            ConfigManager config = ConfigLoader.getConfig();
+            long seed = config.syntheticDataSeed() != 0 ? config.syntheticDataSeed() : System.nanoTime();
+            shared = new SyntheticDataGenerator(seed, config.syntheticDataUserBatchSize(),
+                    config.syntheticDataJitterMeters());
+        }
+        return shared;
+    }
+
+    // ============================================================
+    // MODEL (immutable, safe to share across workers)
+    // ============================================================
+    public static class SyntheticUser {
+        private final String firstName;
+        private final String lastName;
+        private final String mobile;
+        private final String email;
+        private final String payloadJson;
+
+        SyntheticUser(String firstName, String lastName, String mobile, String email, String payloadJson) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.mobile = mobile;
+            this.email = email;
+            this.payloadJson = payloadJson;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getFullName() {
+            return firstName + " " + lastName;
+        }
+
+        public String getMobile() {
+            return mobile;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        /**
+         * Ready-to-send /users/addUser body.
+         */
+        public String getPayloadJson() {
+            return payloadJson;
+        }
+    }
+
+    private static class UserBatch {
+        private final List<SyntheticUser> users;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        UserBatch(List<SyntheticUser> users) {
+            this.users = users;
+        }
+    }
+
+    public static class SyntheticAddress {
+        private final String locationName;
+        private final String postalCode;
+        private final String latitude;
+        private final String longitude;
+        private final PayloadTemplate payload;
+
+        SyntheticAddress(String locationName, String addressLine1, String type, String city, String state,
+                String postalCode, String latitude, String longitude) {
+            this.locationName = locationName;
+            this.postalCode = postalCode;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            // Render the fixed fields once, leaving the per-user slots open
+            this.payload = PayloadTemplate.compile(ADDRESS_BODY.renderToString("${user_id}", "${receiver_name}",
+                    "${mobile}", addressLine1, locationName, type, state, city, postalCode,
+                    ConfigLoader.getConfig().countryCode(), latitude, longitude));
+        }
+
+        public String getLocationName() {
+            return locationName;
+        }
+
+        public String getPostalCode() {
+            return postalCode;
+        }
+
+        public String getLatitude() {
+            return latitude;
+        }
+
+        public String getLongitude() {
+            return longitude;
+        }
+
+        /**
+         * Pre-serialized /address/addAddress body for a concrete user.
+         */
+        public byte[] toPayload(String userId, String receiverName, String mobile) {
+            return payload.render(userId, receiverName, mobile);
+        }
+    }
+
+    // ============================================================
+    // USERS
+    // ============================================================
+    /**
+     * Next unique user; generates a fresh batch when the current one is used up.
+     */
+    public SyntheticUser nextUser() {
+        while (true) {
+            UserBatch batch = users;
+            int index = batch.cursor.getAndIncrement();
+            if (index < batch.users.size()) {
+                return batch.users.get(index);
+            }
+            refillUsers(batch);
+        }
+    }
+
+    // A ReentrantLock rather than synchronized: generating a batch claims mobile
+    // numbers through the allocator's state file, and a virtual thread blocked
+    // in file I/O inside a monitor pins its carrier thread (Java 21)
+    private void refillUsers(UserBatch exhausted) {
+        refillLock.lock();
+        try {
+            if (users != exhausted) {
+                return; // another worker already refilled
+            }
+            users = new UserBatch(generateUsers(Math.max(1, userBatchSize)));
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private List<SyntheticUser> generateUsers(int count) {
+        SimpleDateFormat dob = new SimpleDateFormat("yyyy-MM-dd");
+        String countryCode = ConfigLoader.getConfig().countryCode();
+        List<SyntheticUser> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String firstName = faker.name().firstName();
+            String lastName = faker.name().lastName();
+            String mobile = MobileNumberAllocator.nextMobile();
+            String email = "auto_" + mobile + "@test.com";
+
+            JSONObject body = new JSONObject();
+            body.put("first_name", firstName);
+            body.put("last_name", lastName);
+            body.put("middle_name", String.valueOf((char) ('A' + random.nextInt(26))));
+            body.put("gender", random.nextBoolean() ? "male" : "female");
+            body.put("dob", dob.format(faker.date().birthday(18, 70)));
+            body.put("mobile", mobile);
+            body.put("country_code", countryCode);
+            body.put("email", email);
+            body.put("profile_pic", "https://cdn.test.com/img/" + faker.internet().uuid().substring(0, 6) + ".png");
+            body.put("alt_mobile", (6 + random.nextInt(4)) + faker.number().digits(9));
+
+            batch.add(new SyntheticUser(firstName, lastName, mobile, email, body.toString()));
+        }
+        return Collections.unmodifiableList(batch);
+    }
+
+    // ============================================================
+    // ADDRESSES
+    // ============================================================
+    /**
+     * Pre-compute perLocation addresses for every location stored in
+     * RequestContext (LocationAPITest), or for default.location.name when none
+     * has been loaded yet.
+     */
+    public synchronized void prepareAddresses(int perLocation) {
+        Set<String> locationNames = new LinkedHashSet<>(RequestContext.getAllLocations().keySet());
+        if (locationNames.isEmpty()) {
+            locationNames.add(ConfigLoader.getConfig().defaultLocationName());
+        }
+
+        for (String location : locationNames) {
+            prepareLocation(location, perLocation);
+        }
+        System.out.println("🏭 Synthetic addresses prepared: " + perLocation + " x " + locationNames.size()
+                + " locations");
+    }
+
+    /**
+     * Next address for the location (cycled); a location that was not prepared
+     * gets synthetic.data.addresses.per.location addresses on first use.
+     */
+    public SyntheticAddress nextAddress(String locationName) {
+        List<SyntheticAddress> batch = addresses.get(locationName);
+        if (batch == null) {
+            synchronized (this) {
+                if (!addresses.containsKey(locationName)) {
+                    prepareLocation(locationName, ConfigLoader.getConfig().syntheticDataAddressesPerLocation());
+                }
+            }
+            batch = addresses.get(locationName);
+        }
+        int index = addressCursors.get(locationName).getAndIncrement();
+        return batch.get(Math.floorMod(index, batch.size()));
+    }
+
+    private void prepareLocation(String location, int perLocation) {
+        List<SyntheticAddress> batch = new ArrayList<>(Math.max(1, perLocation));
+        for (int i = 0; i < Math.max(1, perLocation); i++) {
+            batch.add(generateAddress(location));
+        }
+        // Cursor first: nextAddress reads the batch, then its cursor
+        addressCursors.put(location, new AtomicInteger());
+        addresses.put(location, Collections.unmodifiableList(batch));
+    }
+
+    public Set<String> getPreparedLocations() {
+        return Collections.unmodifiableSet(addresses.keySet());
+    }
+
+    private SyntheticAddress generateAddress(String location) {
+        String city = orDefault(RequestContext.getLocationCity(location), DEFAULT_CITY);
+        String state = orDefault(RequestContext.getLocationState(location), DEFAULT_STATE);
+        double lat = Double.parseDouble(orDefault(RequestContext.getLocationLatitude(location), DEFAULT_LATITUDE));
+        double lon = Double.parseDouble(orDefault(RequestContext.getLocationLongitude(location), DEFAULT_LONGITUDE));
+
+        // Uniform point in a disc of jitterMeters around the service center
+        double distance = jitterMeters * Math.sqrt(random.nextDouble());
+        double bearing = 2 * Math.PI * random.nextDouble();
+        double jitteredLat = lat + distance * Math.cos(bearing) / METERS_PER_DEGREE;
+        double jitteredLon = lon + distance * Math.sin(bearing) / (METERS_PER_DEGREE * Math.cos(Math.toRadians(lat)));
+
+        return new SyntheticAddress(location, faker.address().buildingNumber() + ", " + faker.address().streetName(),
+                "home", city, state,
+                RequestContext.getLocationPostalCode(location), String.format(Locale.ROOT, "%.7f", jitteredLat),
+                String.format(Locale.ROOT, "%.7f", jitteredLon));
+    }
+
+    private static String orDefault(String value, String defaultValue) {
+        return value == null || value.trim().isEmpty() ? defaultValue : value;
+    }
+}
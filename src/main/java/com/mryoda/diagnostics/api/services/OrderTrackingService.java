@@ -0,0 +1,214 @@
+package com.mryoda.diagnostics.api.services;
+
+import com.mryoda.diagnostics.api.builders.RequestBuilder;
+import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order tracking (phlebotomist side) calls without test assertions or shared
+ * state: each phlebo session carries its own token, so many sessions can run
+ * concurrently. Failures are raised as IllegalStateException.
+ */
+public class OrderTrackingService {
+
+    public static final String STATUS_ASSIGNED = "Phlebotomist assigned";
+    public static final String STATUS_IN_PROGRESS = "inprogress";
+    public static final String STATUS_SAMPLES_COLLECTED = "samples_collected";
+
+    // Statuses an order never leaves; waiting for anything else is pointless
+    public static final List<String> TERMINAL_STATES = Collections.unmodifiableList(
+            Arrays.asList("cancelled", "canceled", "rejected", "failed"));
+
+    /**
+     * A logged-in phlebotomist.
+     */
+    public static class PhleboSession {
+        private final String guid;
+        private final String token;
+        private final String name;
+
+        public PhleboSession(String guid, String token, String name) {
+            this.guid = guid;
+            this.token = token;
+            this.name = name;
+        }
+
+        public String getGuid() {
+            return guid;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    // ============================================================
+    // PHLEBO LOGIN
+    // ============================================================
+    public PhleboSession login(long mobile, String password) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("mobile", mobile);
+        payload.put("password", password);
+
+        Response response = new RequestBuilder()
+                .setEndpoint(APIEndpoints.DIAGNOSTICS_BASE_URL + APIEndpoints.PHLEBO_LOGIN)
+                .setRequestBody(payload)
+                .post();
+        requireSuccess(response, "Phlebo login");
+
+        String name = response.jsonPath().getString("data.first_name");
+        if (name == null) {
+            name = response.jsonPath().getString("data.name");
+        }
+        return new PhleboSession(response.jsonPath().getString("data.guid"),
+                response.jsonPath().getString("data.token"), name);
+    }
+
+    // ============================================================
+    // STATE TRANSITIONS
+    // ============================================================
+    /**
+     * Assign an order to the phlebo; returns the order tracking id.
+     */
+    public String assignOrder(PhleboSession phlebo, String orderId) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("order_id", Collections.singletonList(orderId));
+        payload.put("phlebo_id", phlebo.getGuid());
+
+        Response response = post(phlebo, APIEndpoints.ASSIGN_ORDER, payload);
+        requireSuccess(response, "Assign order " + orderId);
+
+        String trackingId = response.jsonPath().getString("data.guid");
+        if (trackingId == null) {
+            trackingId = response.jsonPath().getString("data.orderTracking.guid");
+        }
+        if (trackingId == null) {
+            List<Map<String, Object>> dataList = response.jsonPath().getList("data");
+            if (dataList != null && !dataList.isEmpty() && dataList.get(0).get("guid") != null) {
+                trackingId = dataList.get(0).get("guid").toString();
+            }
+        }
+        if (trackingId == null) {
+            throw new IllegalStateException("Assign order " + orderId + " returned no order tracking id");
+        }
+        return trackingId;
+    }
+
+    public void startTrip(PhleboSession phlebo, String trackingId, String orderId, String lat, String lng,
+            String addressName) {
+        Map<String, String> pickup = new HashMap<>();
+        pickup.put("lat", lat);
+        pickup.put("lng", lng);
+        pickup.put("name", addressName);
+        Map<String, String> location = new HashMap<>();
+        location.put("lat", lat);
+        location.put("lng", lng);
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("status", STATUS_IN_PROGRESS);
+        payload.put("order_tracking_id", trackingId);
+        payload.put("order_id", orderId);
+        payload.put("pickup_location", pickup);
+        payload.put("start_location", location);
+        payload.put("current_location", location);
+
+        Response response = post(phlebo, APIEndpoints.UPDATE_ORDER_TRACKING, payload);
+        requireStatus(response, "Update order tracking (inprogress) " + trackingId);
+    }
+
+    public void verifyOtp(PhleboSession phlebo, String trackingId, String orderId) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("ordertrackingId", trackingId);
+        payload.put("verifyOtpRemarks", "Test");
+        payload.put("orderid", orderId);
+
+        Response response = post(phlebo, APIEndpoints.ADMIN_VERIFY_OTP, payload);
+        requireSuccess(response, "Admin verify OTP " + trackingId);
+    }
+
+    public List<String> getSampleTypes(PhleboSession phlebo) {
+        String token = phlebo.getToken().startsWith("Bearer ") ? phlebo.getToken() : "Bearer " + phlebo.getToken();
+        Response response = new RequestBuilder()
+                .setEndpoint(APIEndpoints.DIAGNOSTICS_BASE_URL + APIEndpoints.GET_SAMPLE_TYPE)
+                .addHeader("Authorization", token)
+                .get();
+        requireStatus(response, "Get sample type");
+
+        List<String> names = new ArrayList<>();
+        List<Map<String, Object>> data = response.jsonPath().getList("data");
+        if (data != null) {
+            for (Map<String, Object> entry : data) {
+                if (entry.get("name") != null) {
+                    names.add(entry.get("name").toString());
+                }
+            }
+        }
+        return names;
+    }
+
+    public void collectSamples(PhleboSession phlebo, String trackingId, String sampleType) {
+        Map<String, Object> sample = new HashMap<>();
+        sample.put("sample_type", sampleType);
+        sample.put("quantity", 1);
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("status", STATUS_SAMPLES_COLLECTED);
+        payload.put("order_tracking_id", trackingId);
+        payload.put("samples_collected", Collections.singletonList(sample));
+
+        Response response = post(phlebo, APIEndpoints.UPDATE_ORDER_TRACKING, payload);
+        requireSuccess(response, "Update order tracking (samples_collected) " + trackingId);
+    }
+
+    // ============================================================
+    // STATUS
+    // ============================================================
+    /**
+     * Current order_status from /order_tracking/getOrderTrackingStatus, or null.
+     */
+    public String getTrackingStatus(PhleboSession phlebo, String trackingId) {
+        Response response = new RequestBuilder()
+                .setEndpoint(APIEndpoints.DIAGNOSTICS_BASE_URL + APIEndpoints.GET_ORDER_TRACKING_STATUS)
+                .addPathParam("guid", trackingId)
+                .addHeader("Authorization", phlebo.getToken())
+                .get();
+        requireStatus(response, "Get order tracking status " + trackingId);
+        return response.jsonPath().getString("order_status");
+    }
+
+    // -----------------------------
+    // HELPERS
+    // -----------------------------
+    private Response post(PhleboSession phlebo, String endpoint, Object payload) {
+        return new RequestBuilder()
+                .setEndpoint(APIEndpoints.DIAGNOSTICS_BASE_URL + endpoint)
+                .addHeader("Authorization", phlebo.getToken())
+                .setRequestBody(payload)
+                .post();
+    }
+
+    private static void requireStatus(Response response, String action) {
+        if (response.getStatusCode() != 200) {
+            throw new IllegalStateException(action + " failed with status " + response.getStatusCode() + ": "
+                    + response.getBody().asString());
+        }
+    }
+
+    private static void requireSuccess(Response response, String action) {
+        requireStatus(response, action);
+        if (!Boolean.TRUE.equals(response.jsonPath().get("success"))) {
+            throw new IllegalStateException(action + " failed: " + response.jsonPath().getString("msg"));
+        }
+    }
+}
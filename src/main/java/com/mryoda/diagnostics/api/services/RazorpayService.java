@@ -1,11 +1,12 @@
 package com.mryoda.diagnostics.api.services;
 
 import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.utils.PaymentSignatureUtil;
+import com.mryoda.diagnostics.api.utils.RazorpayClientCache;
 import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
 import com.razorpay.Payment;
-import com.razorpay.Utils;
 import org.json.JSONObject;
 
 /**
@@ -21,7 +22,7 @@ public class RazorpayService {
         try {
             this.keyId = ConfigLoader.getConfig().razorpayKey();
             this.keySecret = ConfigLoader.getConfig().razorpaySecret();
-            this.razorpayClient = new RazorpayClient(keyId, keySecret);
+            this.razorpayClient = RazorpayClientCache.get(keyId, keySecret);
             System.out.println("✅ RazorpayService initialized with credentials");
         } catch (RazorpayException e) {
             System.err.println("❌ Failed to initialize Razorpay client: " + e.getMessage());
@@ -64,41 +65,18 @@ public class RazorpayService {
     }
 
     public boolean verifyPaymentSignature(String orderId, String paymentId, String signature) {
-        try {
-            JSONObject attributes = new JSONObject();
-            attributes.put("razorpay_order_id", orderId);
-            attributes.put("razorpay_payment_id", paymentId);
-            attributes.put("razorpay_signature", signature);
-
-            Utils.verifyPaymentSignature(attributes, keySecret);
+        if (PaymentSignatureUtil.verifyOrderPayment(keySecret, orderId, paymentId, signature)) {
             System.out.println("✅ Signature Verified Successfully!");
             return true;
-        } catch (RazorpayException e) {
-            System.err.println("❌ Signature Verification Failed!");
-            return false;
         }
+        System.err.println("❌ Signature Verification Failed!");
+        return false;
     }
 
     public String generateTestSignature(String orderId, String paymentId) {
         try {
-            String message = orderId + "|" + paymentId;
-
-            javax.crypto.Mac sha256Hmac = javax.crypto.Mac.getInstance("HmacSHA256");
-            javax.crypto.spec.SecretKeySpec secretKey = new javax.crypto.spec.SecretKeySpec(
-                    keySecret.getBytes(java.nio.charset.StandardCharsets.UTF_8),
-                    "HmacSHA256");
-            sha256Hmac.init(secretKey);
-            byte[] hash = sha256Hmac.doFinal(message.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1)
-                    hexString.append('0');
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (Exception e) {
+            return PaymentSignatureUtil.signOrderPayment(keySecret, orderId, paymentId);
+        } catch (RuntimeException e) {
             System.err.println("❌ Error generating test signature: " + e.getMessage());
             return null;
         }
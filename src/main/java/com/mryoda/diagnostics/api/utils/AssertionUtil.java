@@ -2,33 +2,180 @@ package com.mryoda.diagnostics.api.utils;
 
 import io.restassured.response.Response;
 import static org.testng.Assert.*;
-import org.assertj.core.api.SoftAssertions;
 import com.mryoda.diagnostics.api.utils.LoggerUtil;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
 /**
  * Assertion Utility for API Response Validations
+ *
+ * Soft assertions are collected per scope, not globally: initSoftAssertions()
+ * opens a scope for the current thread (inherited by threads it starts), and
+ * FlowGraph binds the flow's scope on its worker threads. Soft checks are
+ * deferred - appended lock-free and evaluated in assertAll().
  */
 public class AssertionUtil {
 
-    private static SoftAssertions softAssert;
+    // Scopes with more deferred checks than this are evaluated in parallel
+    private static final int PARALLEL_EVALUATION_THRESHOLD = 64;
+
+    private static final InheritableThreadLocal<SoftScope> SCOPE = new InheritableThreadLocal<>();
 
     private AssertionUtil() {
         // Private constructor
     }
 
     /**
-     * Initialize soft assertions
+     * A soft check evaluated later; returns false (or throws AssertionError) on failure.
+     */
+    @FunctionalInterface
+    public interface Check {
+        boolean passes();
+    }
+
+    /**
+     * Soft assertions of one test or flow. Safe to append to from many threads.
+     */
+    public static class SoftScope {
+        private final String name;
+        private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+        private final Queue<DeferredCheck> checks = new ConcurrentLinkedQueue<>();
+
+        public SoftScope(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void check(String description, Check check) {
+            checks.add(new DeferredCheck(description, check));
+        }
+
+        public void fail(String message) {
+            failures.add(message);
+        }
+
+        /**
+         * Evaluate deferred checks and throw one AssertionError listing every failure.
+         */
+        public void assertAll() {
+            List<DeferredCheck> pending = new ArrayList<>();
+            DeferredCheck next;
+            while ((next = checks.poll()) != null) {
+                pending.add(next);
+            }
+            List<String> failed = (pending.size() > PARALLEL_EVALUATION_THRESHOLD ? pending.parallelStream()
+                    : pending.stream())
+                    .map(DeferredCheck::evaluate)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            failures.addAll(failed);
+
+            if (!failures.isEmpty()) {
+                List<String> all = new ArrayList<>(failures);
+                failures.clear();
+                StringBuilder message = new StringBuilder();
+                message.append(all.size()).append(" soft assertion(s) failed in ").append(name).append(':');
+                for (int i = 0; i < all.size(); i++) {
+                    message.append("\n").append(i + 1).append(") ").append(all.get(i));
+                }
+                throw new AssertionError(message.toString());
+            }
+        }
+    }
+
+    private static class DeferredCheck {
+        private final String description;
+        private final Check check;
+
+        DeferredCheck(String description, Check check) {
+            this.description = description;
+            this.check = check;
+        }
+
+        /**
+         * Failure message, or null when the check passed.
+         */
+        String evaluate() {
+            try {
+                return check.passes() ? null : description;
+            } catch (AssertionError | RuntimeException e) {
+                return description + " - " + e.getMessage();
+            }
+        }
+    }
+
+    // -----------------------------
+    // SCOPES
+    // -----------------------------
+    /**
+     * Initialize soft assertions (new scope for the current thread)
      */
     public static void initSoftAssertions() {
-        softAssert = new SoftAssertions();
+        SCOPE.set(new SoftScope(Thread.currentThread().getName()));
     }
 
     /**
-     * Assert all soft assertions
+     * Assert all soft assertions of the current scope and close it
      */
     public static void assertAll() {
-        if (softAssert != null) {
-            softAssert.assertAll();
+        SoftScope scope = SCOPE.get();
+        if (scope != null) {
+            SCOPE.remove();
+            scope.assertAll();
+        }
+    }
+
+    public static SoftScope currentScope() {
+        return SCOPE.get();
+    }
+
+    /**
+     * Make scope current on this thread (null clears); returns the previous one
+     * so callers can restore it.
+     */
+    public static SoftScope bindScope(SoftScope scope) {
+        SoftScope previous = SCOPE.get();
+        if (scope == null) {
+            SCOPE.remove();
+        } else {
+            SCOPE.set(scope);
+        }
+        return previous;
+    }
+
+    /**
+     * Deferred soft check in the current scope (no-op without one).
+     */
+    public static void softVerify(String description, BooleanSupplier check) {
+        SoftScope scope = SCOPE.get();
+        if (scope != null) {
+            scope.check(description, check::getAsBoolean);
+        }
+    }
+
+    /**
+     * Deferred soft equality check; actual is only computed in assertAll().
+     */
+    public static void softVerifyEquals(Supplier<Object> actual, Object expected, String fieldName) {
+        SoftScope scope = SCOPE.get();
+        if (scope != null) {
+            scope.check(fieldName + " mismatch - expected: " + expected, () -> {
+                Object value = actual.get();
+                if (!Objects.equals(value, expected)) {
+                    throw new AssertionError("found: " + value);
+                }
+                return true;
+            });
         }
     }
 
@@ -178,11 +325,7 @@ public class AssertionUtil {
      * Soft assertion for status code
      */
     public static void softVerifyStatusCode(Response response, int expectedStatusCode) {
-        if (softAssert != null) {
-            softAssert.assertThat(response.getStatusCode())
-                    .as("Status Code Verification")
-                    .isEqualTo(expectedStatusCode);
-        }
+        softVerifyEquals(response::getStatusCode, expectedStatusCode, "Status Code Verification");
     }
 
     /**
@@ -208,11 +351,8 @@ public class AssertionUtil {
     }
 
     public static void softVerifyJsonFieldValue(Response response, String fieldPath, Object expectedValue) {
-        if (softAssert != null) {
-            Object actualValue = response.jsonPath().get(fieldPath);
-            softAssert.assertThat(actualValue)
-                    .as("Field Value Verification for: " + fieldPath)
-                    .isEqualTo(expectedValue);
-        }
+        // JSON parsing is deferred to assertAll()
+        softVerifyEquals(() -> response.jsonPath().get(fieldPath), expectedValue,
+                "Field Value Verification for: " + fieldPath);
     }
 }
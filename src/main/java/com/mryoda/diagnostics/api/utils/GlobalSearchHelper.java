@@ -2,12 +2,24 @@ package com.mryoda.diagnostics.api.utils;
 
 import com.mryoda.diagnostics.api.builders.RequestBuilder;
 import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
+import com.mryoda.diagnostics.api.payloads.PayloadTemplate;
 import io.restassured.response.Response;
 
 import java.util.*;
 
 public class GlobalSearchHelper {
 
+    // Global search body: first 50 results sorted by type
+    private static final PayloadTemplate GLOBAL_SEARCH_BODY = PayloadTemplate.compile(
+            "{\"page\":1,\"limit\":50,\"search_string\":\"${search_string}\",\"sort_by\":\"Type\",\"location\":\"${location}\"}");
+
+    /**
+     * Global search request body (also used by load scenarios that search without RequestContext)
+     */
+    public static byte[] searchBody(String searchString, String locationId) {
+        return GLOBAL_SEARCH_BODY.render(searchString, locationId);
+    }
+
     /**
      * Helper method to capitalize first letter of each word
      */
@@ -51,19 +63,12 @@ public class GlobalSearchHelper {
             throw new RuntimeException("❌ Token is null! Please login first to generate a token.");
         }
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("page", 1);
-        body.put("limit", 50);
-        body.put("search_string", searchString);
-        body.put("sort_by", "Type");
-        body.put("location", locationId);
-
         System.out.println("\n🔍 SEARCHING TESTS → '" + searchString + "' @ Location: " + locationTitle);
 
         return new RequestBuilder()
                 .setEndpoint(APIEndpoints.GLOBAL_SEARCH)
                 .addHeader("Authorization", "Bearer " + token)
-                .setRequestBody(body)
+                .setRequestBody(searchBody(searchString, locationId))
                 .expectStatus(200)
                 .post();
     }
@@ -307,11 +312,7 @@ public class GlobalSearchHelper {
                 Response response = new RequestBuilder()
                         .setEndpoint(APIEndpoints.GLOBAL_SEARCH)
                         .addHeader("Authorization", "Bearer " + token)
-                        .addBodyParam("page", 1)
-                        .addBodyParam("limit", 50)
-                        .addBodyParam("search_string", searchString)
-                        .addBodyParam("sort_by", "Type")
-                        .addBodyParam("location", locationId)
+                        .setRequestBody(searchBody(searchString, locationId))
                         .expectStatus(200)
                         .post();
 
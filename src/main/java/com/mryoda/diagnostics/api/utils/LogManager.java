@@ -1,15 +1,19 @@
 package com.mryoda.diagnostics.api.utils;
 
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.metrics.LatencyBudgets;
 import io.restassured.response.Response;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class LogManager {
 
     private static final String LOG_DIR = "logs";
+    private static final ReentrantLock FILE_LOCK = new ReentrantLock();
 
     private static String getPerformanceLogPath() {
         return LOG_DIR + "/" + RequestContext.getCurrentFlowName() + "_performance.log";
@@ -28,7 +32,16 @@ public class LogManager {
 
     public static void logPerformance(String method, String endpoint, long timeInMs) {
         String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date());
-        String status = timeInMs < 3000 ? "PASS" : "FAIL (SLA Violation)";
+        // Same thresholds as RequestBuilder: per-endpoint p95 budget, then the hard SLA
+        LatencyBudgets.Budget budget = LatencyBudgets.forEndpoint(endpoint);
+        String status;
+        if (timeInMs > ConfigLoader.getConfig().slaHardLimitMs()) {
+            status = "FAIL (SLA Violation)";
+        } else if (timeInMs > budget.getP95Ms()) {
+            status = "SLOW (> p95 budget " + budget.getP95Ms() + " ms)";
+        } else {
+            status = "PASS";
+        }
         String logEntry = String.format("[%s] %-6s | %-120s | %5d ms | Status: %s\n",
                 timestamp, method, endpoint, timeInMs, status);
 
@@ -50,11 +63,16 @@ public class LogManager {
         appendToFile(getAPIDetailLogPath(), sb.toString());
     }
 
-    private static synchronized void appendToFile(String filePath, String content) {
+    // A ReentrantLock rather than synchronized: a virtual thread blocked in
+    // file I/O inside a monitor pins its carrier thread (Java 21)
+    private static void appendToFile(String filePath, String content) {
+        FILE_LOCK.lock();
         try (FileWriter fw = new FileWriter(filePath, true)) {
             fw.write(content);
         } catch (IOException e) {
             System.err.println("Failed to write to log file: " + filePath + " | Error: " + e.getMessage());
+        } finally {
+            FILE_LOCK.unlock();
         }
     }
 }
@@ -0,0 +1,143 @@
+package com.mryoda.diagnostics.api.utils;
+
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collision-free mobile numbers for new-user registration.
+ *
+ * Numbers are new.user.mobile.prefix + a fixed-width suffix, walked
+ * sequentially from a random starting offset chosen on first use.
+ *
+ * One state file per prefix and environment holds the shared high-water mark.
+ * Every JVM (each worker shard included) claims blocks of BLOCK_SIZE from it
+ * under a file lock (hi/lo), so a shard's range is just the blocks it claimed.
+ * Numbers are therefore never reissued across runs, whatever the shard layout
+ * (worker.shards) of earlier runs. A crash wastes at most one unused block.
+ */
+public class MobileNumberAllocator {
+
+    private static final int MOBILE_LENGTH = 10;
+    private static final int BLOCK_SIZE = 100;
+
+    private static MobileNumberAllocator instance;
+
+    private final String prefix;
+    private final long space;
+    private final File stateFile;
+    private final ReentrantLock allocationLock = new ReentrantLock();
+
+    // Current reserved block [next, blockEnd) as sequence numbers
+    private long next;
+    private long blockEnd;
+    private long origin;
+
+    MobileNumberAllocator(String prefix, File stateFile) {
+        int suffixDigits = MOBILE_LENGTH - prefix.length();
+        if (suffixDigits < 4) {
+            throw new IllegalArgumentException("Mobile prefix too long: " + prefix);
+        }
+        this.prefix = prefix;
+        this.space = (long) Math.pow(10, suffixDigits);
+        this.stateFile = stateFile;
+    }
+
+    /**
+     * Allocator for this JVM; all JVMs and shards share the prefix's state file.
+     */
+    public static synchronized MobileNumberAllocator getInstance() {
+        if (instance == null) {
+            ConfigManager config = ConfigLoader.getConfig();
+            String env = config.environment() == null ? "default" : config.environment();
+            File state = new File(config.mobileAllocatorStateDir(),
+                    "mobile-allocator-" + env + "-" + config.newUserMobilePrefix() + ".state");
+            instance = new MobileNumberAllocator(config.newUserMobilePrefix(), state);
+        }
+        return instance;
+    }
+
+    /**
+     * Shortcut for getInstance().next().
+     */
+    public static String nextMobile() {
+        return getInstance().next();
+    }
+
+    // A ReentrantLock rather than synchronized: reserveBlock() waits on the
+    // state file's lock and writes it, and a virtual thread blocked in file I/O
+    // inside a monitor pins its carrier thread (Java 21)
+    public String next() {
+        allocationLock.lock();
+        try {
+            if (next >= blockEnd) {
+                reserveBlock();
+            }
+            long sequence = next++;
+            long suffix = Math.floorMod(origin + sequence, space);
+            return prefix + pad(suffix, MOBILE_LENGTH - prefix.length());
+        } finally {
+            allocationLock.unlock();
+        }
+    }
+
+    // -----------------------------
+    // BLOCK RESERVATION (cross-run, cross-JVM)
+    // -----------------------------
+    /**
+     * State file: "origin,highWaterMark". Locked while a block is claimed.
+     */
+    private void reserveBlock() {
+        File dir = stateFile.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists()) {
+            dir.mkdirs();
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(stateFile, "rw");
+                FileChannel channel = raf.getChannel();
+                FileLock lock = channel.lock()) {
+            long fileOrigin;
+            long fileNext;
+            String line = raf.length() == 0 ? null : raf.readLine();
+            if (line == null || line.trim().isEmpty()) {
+                fileOrigin = ThreadLocalRandom.current().nextLong(space);
+                fileNext = 0;
+            } else {
+                String[] parts = line.trim().split(",");
+                fileOrigin = Long.parseLong(parts[0]);
+                fileNext = Long.parseLong(parts[1]);
+            }
+            if (fileNext + BLOCK_SIZE > space) {
+                throw new IllegalStateException("Mobile range exhausted for " + stateFile.getName() + " ("
+                        + fileNext + "/" + space + " issued) - use another prefix");
+            }
+
+            raf.setLength(0);
+            raf.write((fileOrigin + "," + (fileNext + BLOCK_SIZE) + "\n").getBytes(StandardCharsets.US_ASCII));
+            channel.force(true);
+
+            origin = fileOrigin;
+            next = fileNext;
+            blockEnd = fileNext + BLOCK_SIZE;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot reserve mobile numbers via " + stateFile.getPath() + ": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private static String pad(long value, int width) {
+        StringBuilder sb = new StringBuilder(width);
+        String digits = Long.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            sb.append('0');
+        }
+        return sb.append(digits).toString();
+    }
+}
@@ -0,0 +1,401 @@
+package com.mryoda.diagnostics.api.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mryoda.diagnostics.api.builders.RequestBuilder;
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+import com.mryoda.diagnostics.api.payloads.SyntheticDataGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of pre-registered NEW_USER accounts (registered + logged in, with one
+ * synthetic home address at default.location.name) for load runs.
+ *
+ * - A background provisioner keeps new.user.pool.size users ready and tops the
+ *   pool up whenever available + in-flight drops below the low watermark
+ * - Flows lease() a user instead of doing OTP + verify + /users/addUser inline;
+ *   if the pool is empty after the lease timeout the user is registered inline
+ * - release() returns a user to the pool when new.user.pool.recycle=true,
+ *   otherwise the user is retired (its cart/orders are no longer "new").
+ *   TestNG flows lease with leaseForFlow(owner), keyed by the flow's test
+ *   instance; BaseTest releases the instance's lease when the &lt;test&gt; ends
+ * - Ready users are persisted to new.user.pool.file every few seconds (when
+ *   the pool changed) and on stop, so the next run starts warm; leases never
+ *   write the file themselves
+ */
+public class NewUserPool {
+
+    public static final String AVAILABLE = "mryoda_new_user_pool_available";
+    public static final String PROVISIONED = "mryoda_new_user_pool_provisioned_total";
+    public static final String LEASES = "mryoda_new_user_pool_leases_total";
+
+    static {
+        MetricsRegistry.describe(AVAILABLE, MetricsRegistry.GAUGE,
+                "Registered new users ready to be leased.");
+        MetricsRegistry.describe(PROVISIONED, MetricsRegistry.COUNTER,
+                "New users registered by the pool provisioner, by result.");
+        MetricsRegistry.describe(LEASES, MetricsRegistry.COUNTER,
+                "New users handed to flows, by source (pool/inline/recycled).");
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final long PERSIST_INTERVAL_SECONDS = 5;
+
+    private static final BlockingDeque<PooledUser> available = new LinkedBlockingDeque<>();
+    private static final AtomicInteger provisioning = new AtomicInteger();
+    private static final AtomicLong availableGauge = MetricsRegistry.gauge(AVAILABLE);
+    // Flow instance (identity) -> user leased by that flow
+    private static final Map<Object, PooledUser> flowLeases = new ConcurrentHashMap<>();
+    // Pool changed since the last write of new.user.pool.file
+    private static final AtomicBoolean dirty = new AtomicBoolean();
+
+    private static ExecutorService provisioners;
+    private static ScheduledExecutorService persister;
+    private static boolean started = false;
+
+    private NewUserPool() {
+        // Private constructor
+    }
+
+    /**
+     * A registered user, its address and the time its token was issued.
+     */
+    public static class PooledUser {
+        private final TokenManager.AuthSession session;
+        private final String addressId;
+        private final long tokenIssuedAt;
+        private final boolean recycled;
+
+        public PooledUser(TokenManager.AuthSession session, String addressId, long tokenIssuedAt,
+                boolean recycled) {
+            this.session = session;
+            this.addressId = addressId;
+            this.tokenIssuedAt = tokenIssuedAt;
+            this.recycled = recycled;
+        }
+
+        public TokenManager.AuthSession getSession() {
+            return session;
+        }
+
+        public String getMobile() {
+            return session.getMobile();
+        }
+
+        public String getToken() {
+            return session.getToken();
+        }
+
+        public String getUserId() {
+            return session.getUserId();
+        }
+
+        /**
+         * Address added at registration (null for users persisted before addresses were pooled).
+         */
+        public String getAddressId() {
+            return addressId;
+        }
+
+        public long getTokenIssuedAt() {
+            return tokenIssuedAt;
+        }
+
+        public boolean isRecycled() {
+            return recycled;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ConfigLoader.getConfig().newUserPoolEnabled();
+    }
+
+    // ============================================================
+    // LIFECYCLE
+    // ============================================================
+    /**
+     * Load persisted users and start the background provisioner (once per JVM).
+     */
+    public static synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        ConfigManager config = ConfigLoader.getConfig();
+
+        load(new File(config.newUserPoolFile()));
+        int threads = Math.max(1, config.newUserPoolProvisionerThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        provisioners = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "new-user-provisioner-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        persister = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "new-user-pool-persist");
+            t.setDaemon(true);
+            return t;
+        });
+        persister.scheduleWithFixedDelay(NewUserPool::persistIfDirty, PERSIST_INTERVAL_SECONDS,
+                PERSIST_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(NewUserPool::stop, "new-user-pool-shutdown"));
+
+        System.out.println("👥 New-user pool started: " + available.size() + " ready, target "
+                + config.newUserPoolSize() + ", " + threads + " provisioner thread(s)");
+        replenish();
+    }
+
+    public static synchronized void stop() {
+        if (provisioners != null) {
+            provisioners.shutdownNow();
+            provisioners = null;
+        }
+        if (persister != null) {
+            persister.shutdownNow();
+            persister = null;
+        }
+        if (started) {
+            persist();
+        }
+        started = false;
+    }
+
+    // ============================================================
+    // LEASE / RELEASE
+    // ============================================================
+    /**
+     * Take a ready user; waits up to new.user.pool.lease.timeout.seconds for the
+     * provisioner, then falls back to registering one inline.
+     */
+    public static PooledUser lease() {
+        start();
+        ConfigManager config = ConfigLoader.getConfig();
+
+        PooledUser user;
+        try {
+            user = available.pollFirst(config.newUserPoolLeaseTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            user = null;
+        }
+        availableGauge.set(available.size());
+        dirty.set(true); // a leased user must never be handed out again by the next run
+        replenish();
+
+        if (user == null) {
+            System.out.println("⚠️ New-user pool empty - registering inline");
+            MetricsRegistry.counter(LEASES, "source", "inline").increment();
+            return register();
+        }
+
+        MetricsRegistry.counter(LEASES, "source", user.isRecycled() ? "recycled" : "pool").increment();
+        long ttlMs = TimeUnit.MINUTES.toMillis(config.newUserPoolTokenTtlMinutes());
+        if (System.currentTimeMillis() - user.getTokenIssuedAt() > ttlMs) {
+            // Persisted token too old - one OTP round trip instead of a full registration
+            user = new PooledUser(TokenManager.login(user.getMobile()), user.getAddressId(),
+                    System.currentTimeMillis(), user.isRecycled());
+        }
+        return user;
+    }
+
+    /**
+     * Hand a user back. Recycled when new.user.pool.recycle=true, else retired.
+     */
+    public static void release(PooledUser user) {
+        if (user == null) {
+            return;
+        }
+        if (ConfigLoader.getConfig().newUserPoolRecycle()) {
+            available.offerLast(new PooledUser(user.getSession(), user.getAddressId(), user.getTokenIssuedAt(),
+                    true));
+            availableGauge.set(available.size());
+            dirty.set(true);
+        } else {
+            replenish();
+        }
+    }
+
+    /**
+     * Lease a user for a TestNG flow, keyed by the flow's instance (e.g. its
+     * test class instance), so parallel flows never share or release each
+     * other's user. A flow holds at most one lease; release it with
+     * releaseFlowLease(owner) before leasing again.
+     */
+    public static PooledUser leaseForFlow(Object owner) {
+        if (flowLeases.containsKey(owner)) {
+            throw new IllegalStateException("Flow " + owner + " already holds a leased new user");
+        }
+        PooledUser user = lease();
+        if (flowLeases.putIfAbsent(owner, user) != null) {
+            release(user);
+            throw new IllegalStateException("Flow " + owner + " already holds a leased new user");
+        }
+        return user;
+    }
+
+    public static void releaseFlowLease(Object owner) {
+        release(flowLeases.remove(owner));
+    }
+
+    public static int getAvailableCount() {
+        return available.size();
+    }
+
+    // ============================================================
+    // PROVISIONING
+    // ============================================================
+    private static synchronized void replenish() {
+        if (provisioners == null) {
+            return;
+        }
+        ConfigManager config = ConfigLoader.getConfig();
+        int pending = available.size() + provisioning.get();
+        if (pending >= Math.max(1, config.newUserPoolLowWatermark())) {
+            return;
+        }
+
+        int deficit = config.newUserPoolSize() - pending;
+        for (int i = 0; i < deficit; i++) {
+            provisioning.incrementAndGet();
+            provisioners.execute(NewUserPool::provisionOne);
+        }
+    }
+
+    private static void provisionOne() {
+        try {
+            available.offerLast(register());
+            availableGauge.set(available.size());
+            MetricsRegistry.counter(PROVISIONED, "result", "ok").increment();
+            dirty.set(true);
+        } catch (RuntimeException | AssertionError e) {
+            MetricsRegistry.counter(PROVISIONED, "result", "error").increment();
+            System.err.println("❌ New-user provisioning failed: " + e.getMessage());
+        } finally {
+            provisioning.decrementAndGet();
+        }
+    }
+
+    /**
+     * Register a fresh user (/users/addUser), log it in and add a synthetic
+     * address, without touching RequestContext.
+     */
+    private static PooledUser register() {
+        // Pre-generated, pre-serialized bodies with a collision-free mobile
+        SyntheticDataGenerator generator = SyntheticDataGenerator.shared();
+        SyntheticDataGenerator.SyntheticUser user = generator.nextUser();
+
+        new RequestBuilder()
+                .setEndpoint(APIEndpoints.USER_CREATE)
+                .setRequestBody(user.getPayloadJson())
+                .expectStatus(201)
+                .post();
+
+        TokenManager.AuthSession session = TokenManager.login(user.getMobile());
+        SyntheticDataGenerator.SyntheticAddress address = generator
+                .nextAddress(ConfigLoader.getConfig().defaultLocationName());
+        String addressId = new RequestBuilder()
+                .setEndpoint(APIEndpoints.ADD_ADDRESS)
+                .addHeader("Authorization", session.getToken())
+                .setRequestBody(address.toPayload(session.getUserId(), user.getFullName(), user.getMobile()))
+                .expectStatus(201)
+                .post()
+                .jsonPath().getString("data._id");
+
+        return new PooledUser(session, addressId, System.currentTimeMillis(), false);
+    }
+
+    // ============================================================
+    // PERSISTENCE
+    // ============================================================
+    private static void persistIfDirty() {
+        if (dirty.getAndSet(false)) {
+            persist();
+        }
+    }
+
+    private static synchronized void persist() {
+        dirty.set(false);
+        List<Map<String, Object>> users = new ArrayList<>();
+        for (PooledUser user : available) {
+            TokenManager.AuthSession s = user.getSession();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("mobile", s.getMobile());
+            entry.put("userId", s.getUserId());
+            entry.put("firstName", s.getFirstName());
+            entry.put("lastName", s.getLastName());
+            entry.put("token", s.getToken());
+            entry.put("addressId", user.getAddressId());
+            entry.put("tokenIssuedAt", user.getTokenIssuedAt());
+            entry.put("recycled", user.isRecycled());
+            users.add(entry);
+        }
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("environment", ConfigLoader.getConfig().environment());
+        root.put("users", users);
+
+        // Atomic replace so a crash never leaves a truncated pool file
+        File target = new File(ConfigLoader.getConfig().newUserPoolFile());
+        try {
+            File dir = target.getAbsoluteFile().getParentFile();
+            if (dir != null && !dir.exists()) {
+                dir.mkdirs();
+            }
+            File tmp = new File(target.getPath() + ".tmp");
+            MAPPER.writeValue(tmp, root);
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to persist new-user pool: " + target.getPath() + " | Error: "
+                    + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void load(File file) {
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            Map<String, Object> root = MAPPER.readValue(file, Map.class);
+            String environment = ConfigLoader.getConfig().environment();
+            if (environment != null && !environment.equals(root.get("environment"))) {
+                System.out.println("ℹ️  New-user pool file is for environment " + root.get("environment")
+                        + " - ignored");
+                return;
+            }
+            for (Map<String, Object> entry : (List<Map<String, Object>>) root.get("users")) {
+                TokenManager.AuthSession session = new TokenManager.AuthSession((String) entry.get("token"),
+                        (String) entry.get("firstName"), (String) entry.get("lastName"),
+                        (String) entry.get("mobile"), (String) entry.get("userId"));
+                available.offerLast(new PooledUser(session, (String) entry.get("addressId"),
+                        ((Number) entry.get("tokenIssuedAt")).longValue(),
+                        Boolean.TRUE.equals(entry.get("recycled"))));
+            }
+            availableGauge.set(available.size());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠️ Failed to load new-user pool " + file.getPath() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.mryoda.diagnostics.api.utils;
+
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.config.ConfigManager;
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Waits for an eventually-consistent order / tracking status.
+ *
+ * Polls a status probe with exponential backoff and jitter (status.await.initial.ms,
+ * doubling by status.await.multiplier up to status.await.max.interval.ms) until
+ * the status matches, a terminal status shows up, or status.await.timeout.ms
+ * passes. Sleeps never overshoot the deadline. A probe returns PROBE_ERROR when
+ * its request failed; that ends the wait with outcome error, not retried.
+ *
+ * Time-to-consistency is recorded as mryoda_status_time_to_consistency_ms{probe,result},
+ * where result is reached, terminal, timeout or error.
+ *
+ * <pre>
+ * OrderStatusAwaiter.Result r = OrderStatusAwaiter.fromConfig()
+ *         .awaitStatus("tracking", () -> fetchStatus(trackingId), "inprogress", "cancelled");
+ * </pre>
+ */
+public class OrderStatusAwaiter {
+
+    public static final String TIME_TO_CONSISTENCY = "mryoda_status_time_to_consistency_ms";
+    public static final String POLLS = "mryoda_status_polls_total";
+
+    public static final String REACHED = "reached";
+    public static final String TERMINAL = "terminal";
+    public static final String TIMEOUT = "timeout";
+    public static final String ERROR = "error";
+
+    /** Probe return value for a failed poll (e.g. non-200). */
+    public static final String PROBE_ERROR = "__probe_error__";
+
+    static {
+        MetricsRegistry.describe(TIME_TO_CONSISTENCY, MetricsRegistry.HISTOGRAM,
+                "Time until a polled order/tracking status matched (or gave up), in milliseconds, by probe and result.");
+        MetricsRegistry.describe(POLLS, MetricsRegistry.COUNTER,
+                "Status polls issued while awaiting consistency, by probe.");
+    }
+
+    private final long initialIntervalMs;
+    private final long maxIntervalMs;
+    private final double multiplier;
+    private final long timeoutMs;
+
+    public OrderStatusAwaiter(long initialIntervalMs, long maxIntervalMs, double multiplier, long timeoutMs) {
+        this.initialIntervalMs = Math.max(1, initialIntervalMs);
+        this.maxIntervalMs = Math.max(this.initialIntervalMs, maxIntervalMs);
+        this.multiplier = Math.max(1.0, multiplier);
+        this.timeoutMs = Math.max(0, timeoutMs);
+    }
+
+    public static OrderStatusAwaiter fromConfig() {
+        ConfigManager config = ConfigLoader.getConfig();
+        return new OrderStatusAwaiter(config.statusAwaitInitialMs(), config.statusAwaitMaxIntervalMs(),
+                config.statusAwaitMultiplier(), config.statusAwaitTimeoutMs());
+    }
+
+    public OrderStatusAwaiter withTimeout(long timeoutMs) {
+        return new OrderStatusAwaiter(initialIntervalMs, maxIntervalMs, multiplier, timeoutMs);
+    }
+
+    // ============================================================
+    // RESULT
+    // ============================================================
+    public static class Result {
+        private final String outcome;
+        private final String status;
+        private final long elapsedMs;
+        private final int polls;
+
+        Result(String outcome, String status, long elapsedMs, int polls) {
+            this.outcome = outcome;
+            this.status = status;
+            this.elapsedMs = elapsedMs;
+            this.polls = polls;
+        }
+
+        public boolean isReached() {
+            return REACHED.equals(outcome);
+        }
+
+        /**
+         * reached, terminal, timeout or error.
+         */
+        public String getOutcome() {
+            return outcome;
+        }
+
+        /**
+         * Last status seen (may be null if the probe never returned one).
+         */
+        public String getStatus() {
+            return status;
+        }
+
+        public long getElapsedMs() {
+            return elapsedMs;
+        }
+
+        public int getPolls() {
+            return polls;
+        }
+    }
+
+    // ============================================================
+    // AWAIT
+    // ============================================================
+    /**
+     * Wait until the probe returns expected (case-insensitive). Any of
+     * terminalStates ends the wait early.
+     */
+    public Result awaitStatus(String probeName, Supplier<String> probe, String expected, String... terminalStates) {
+        return await(probeName, probe, status -> expected.equalsIgnoreCase(status), Arrays.asList(terminalStates));
+    }
+
+    public Result await(String probeName, Supplier<String> probe, Predicate<String> done,
+            Collection<String> terminalStates) {
+        Set<String> terminal = lowerCase(terminalStates);
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMs;
+        long interval = initialIntervalMs;
+        int polls = 0;
+        String status;
+
+        while (true) {
+            status = probe.get();
+            polls++;
+            MetricsRegistry.counter(POLLS, "probe", probeName).increment();
+
+            if (PROBE_ERROR.equals(status)) {
+                return finish(probeName, ERROR, null, start, polls);
+            }
+            if (done.test(status)) {
+                return finish(probeName, REACHED, status, start, polls);
+            }
+            if (status != null && terminal.contains(status.toLowerCase())) {
+                return finish(probeName, TERMINAL, status, start, polls);
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return finish(probeName, TIMEOUT, status, start, polls);
+            }
+
+            // Equal jitter: half fixed, half random, so parallel waiters spread out
+            long sleep = interval / 2 + ThreadLocalRandom.current().nextLong(interval / 2 + 1);
+            try {
+                TimeUnit.MILLISECONDS.sleep(Math.min(sleep, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return finish(probeName, TIMEOUT, status, start, polls);
+            }
+            interval = Math.min(maxIntervalMs, (long) (interval * multiplier));
+        }
+    }
+
+    // -----------------------------
+    // HELPERS
+    // -----------------------------
+    private static Result finish(String probeName, String outcome, String status, long start, int polls) {
+        long elapsed = System.currentTimeMillis() - start;
+        MetricsRegistry.histogram(TIME_TO_CONSISTENCY, "probe", probeName, "result", outcome).record(elapsed);
+        return new Result(outcome, status, elapsed, polls);
+    }
+
+    private static Set<String> lowerCase(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> lower = new HashSet<>();
+        for (String value : values) {
+            lower.add(value.toLowerCase());
+        }
+        return lower;
+    }
+}
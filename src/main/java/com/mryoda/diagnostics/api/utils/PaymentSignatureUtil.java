@@ -0,0 +1,114 @@
+package com.mryoda.diagnostics.api.utils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HMAC-SHA256 signatures for Razorpay payments and webhooks.
+ *
+ * - One initialised Mac per thread per secret (Mac.getInstance + init happen
+ *   once; doFinal() resets the Mac for the next message)
+ * - Table-based lowercase hex encoding
+ * - Constant-time verification (MessageDigest.isEqual on the raw digest)
+ */
+public class PaymentSignatureUtil {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<Map<String, Mac>> MACS = ThreadLocal.withInitial(HashMap::new);
+
+    private PaymentSignatureUtil() {
+        // Private constructor
+    }
+
+    // ============================================================
+    // SIGN
+    // ============================================================
+    public static byte[] hmac(String secret, byte[] message) {
+        return mac(secret).doFinal(message);
+    }
+
+    public static String sign(String secret, String message) {
+        return toHex(hmac(secret, message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Checkout signature: HMAC(order_id + "|" + payment_id).
+     */
+    public static String signOrderPayment(String secret, String orderId, String paymentId) {
+        return sign(secret, orderId + "|" + paymentId);
+    }
+
+    // ============================================================
+    // VERIFY
+    // ============================================================
+    public static boolean verify(String secret, String message, String signatureHex) {
+        return verify(secret, message.getBytes(StandardCharsets.UTF_8), signatureHex);
+    }
+
+    public static boolean verify(String secret, byte[] message, String signatureHex) {
+        byte[] expected = hmac(secret, message);
+        byte[] actual = fromHex(signatureHex);
+        return actual != null && MessageDigest.isEqual(expected, actual);
+    }
+
+    public static boolean verifyOrderPayment(String secret, String orderId, String paymentId, String signatureHex) {
+        return verify(secret, orderId + "|" + paymentId, signatureHex);
+    }
+
+    // -----------------------------
+    // HEX
+    // -----------------------------
+    public static String toHex(byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xFF;
+            out[i * 2] = HEX[v >>> 4];
+            out[i * 2 + 1] = HEX[v & 0x0F];
+        }
+        return new String(out);
+    }
+
+    /**
+     * Decode hex (either case); null when the input is not valid hex.
+     */
+    static byte[] fromHex(String hex) {
+        if (hex == null || (hex.length() & 1) != 0) {
+            return null;
+        }
+        byte[] out = new byte[hex.length() / 2];
+        for (int i = 0; i < out.length; i++) {
+            int hi = Character.digit(hex.charAt(i * 2), 16);
+            int lo = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (hi < 0 || lo < 0) {
+                return null;
+            }
+            out[i] = (byte) ((hi << 4) | lo);
+        }
+        return out;
+    }
+
+    // -----------------------------
+    // PER-THREAD MAC
+    // -----------------------------
+    private static Mac mac(String secret) {
+        if (secret == null) {
+            throw new IllegalArgumentException("Razorpay secret is not configured");
+        }
+        return MACS.get().computeIfAbsent(secret, s -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(new SecretKeySpec(s.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialise " + ALGORITHM + ": " + e.getMessage(), e);
+            }
+        });
+    }
+}
@@ -2,26 +2,31 @@ package com.mryoda.diagnostics.api.utils;
 
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class RandomDataUtil {
-    private static final Random rand = new Random();
+
+    // Per-thread generator: parallel workers no longer contend on one shared Random
+    private static Random rand() {
+        return ThreadLocalRandom.current();
+    }
 
     public static String getRandomFirstName() {
         String[] names = { "John", "Alex", "Chris", "Sam", "David", "Arjun", "Rahul", "Michael" };
-        return names[rand.nextInt(names.length)];
+        return names[rand().nextInt(names.length)];
     }
 
     public static String getRandomLastName() {
         String[] names = { "Doe", "Smith", "Sharma", "Patel", "Singh", "Khan", "Brown", "Wilson" };
-        return names[rand.nextInt(names.length)];
+        return names[rand().nextInt(names.length)];
     }
 
     public static String getRandomMiddleName() {
-        return String.valueOf((char) ('A' + rand.nextInt(26)));
+        return String.valueOf((char) ('A' + rand().nextInt(26)));
     }
 
     public static String getRandomGender() {
-        return rand.nextBoolean() ? "male" : "female";
+        return rand().nextBoolean() ? "male" : "female";
     }
 
     public static String getRandomDOB() {
@@ -31,11 +36,11 @@ public class RandomDataUtil {
     }
 
     private static int getRandomNumber(int min, int max) {
-        return rand.nextInt((max - min) + 1) + min;
+        return rand().nextInt((max - min) + 1) + min;
     }
 
     public static String getRandomMobile() {
-        return (6 + rand.nextInt(4)) + String.format("%09d", rand.nextInt(1_000_000_000));
+        return (6 + rand().nextInt(4)) + String.format("%09d", rand().nextInt(1_000_000_000));
     }
 
     public static String getRandomEmail() {
@@ -0,0 +1,44 @@
+package com.mryoda.diagnostics.api.utils;
+
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One RazorpayClient per credential pair, shared across threads.
+ * Every new RazorpayClient builds ~25 API wrappers and re-creates the SDK's
+ * shared OkHttp client, which throws away its pooled connections.
+ */
+public class RazorpayClientCache {
+
+    private static final Map<String, RazorpayClient> clients = new ConcurrentHashMap<>();
+
+    private RazorpayClientCache() {
+        // Private constructor
+    }
+
+    public static RazorpayClient get(String keyId, String keySecret) throws RazorpayException {
+        if (keyId == null || keySecret == null) {
+            throw new IllegalArgumentException("Razorpay credentials are not configured");
+        }
+        String cacheKey = keyId + '\u0000' + keySecret;
+        RazorpayClient client = clients.get(cacheKey);
+        if (client != null) {
+            return client;
+        }
+        synchronized (clients) {
+            client = clients.get(cacheKey);
+            if (client == null) {
+                client = new RazorpayClient(keyId, keySecret);
+                clients.put(cacheKey, client);
+            }
+            return client;
+        }
+    }
+
+    public static void clear() {
+        clients.clear();
+    }
+}
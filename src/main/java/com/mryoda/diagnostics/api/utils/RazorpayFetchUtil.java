@@ -75,14 +75,10 @@ public class RazorpayFetchUtil {
             throw new IllegalArgumentException("Invalid payment ID format. Must start with 'pay_'");
         }
 
-        if (keyId == null || keySecret == null) {
-            throw new IllegalArgumentException("Razorpay credentials are not configured");
-        }
-
         System.out.println("🔄 Fetching payment from Razorpay API...");
         System.out.println("   Payment ID: " + paymentId);
 
-        RazorpayClient razorpayClient = new RazorpayClient(keyId, keySecret);
+        RazorpayClient razorpayClient = RazorpayClientCache.get(keyId, keySecret);
         Payment payment = razorpayClient.payments.fetch(paymentId);
 
         System.out.println("✅ Payment fetched successfully!");
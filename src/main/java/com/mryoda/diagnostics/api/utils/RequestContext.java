@@ -1,5 +1,6 @@
 package com.mryoda.diagnostics.api.utils;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
@@ -105,9 +106,35 @@ public class RequestContext {
         return selectedLocationId;
     }
 
+    // ============================================================
+    // LOCATION POSTAL CODES (valid for service centers only)
+    // ============================================================
+    public static final String DEFAULT_POSTAL_CODE = "500033"; // Madhapur
+
+    private static final Map<String, String> LOCATION_POSTAL_CODES = new HashMap<>();
+    static {
+        LOCATION_POSTAL_CODES.put("Madhapur", "500033"); // Hyderabad - Madhapur
+        LOCATION_POSTAL_CODES.put("Ameerpet (HQ)", "500016"); // Hyderabad - Ameerpet
+        LOCATION_POSTAL_CODES.put("Guntur", "522001"); // Guntur
+        LOCATION_POSTAL_CODES.put("Khammam", "507001"); // Khammam
+        LOCATION_POSTAL_CODES.put("Visakhapatnam", "530002"); // Visakhapatnam
+        LOCATION_POSTAL_CODES.put("Tirupati", "517501"); // Tirupati
+    }
+
+    public static String getLocationPostalCode(String title) {
+        return LOCATION_POSTAL_CODES.getOrDefault(title, DEFAULT_POSTAL_CODE);
+    }
+
+    public static Map<String, String> getAllLocationPostalCodes() {
+        return Collections.unmodifiableMap(LOCATION_POSTAL_CODES);
+    }
+
     // ============================================================
     // BRAND STORAGE
     // ============================================================
+    // Known "Diagnostics" brand, used when /brand/getAllBrands is unavailable
+    public static final String DIAGNOSTICS_BRAND_FALLBACK_ID = "efb159ac-db7c-4b06-a79b-021a8b6d67e8";
+
     private static final Map<String, String> brands = new HashMap<>();
     private static String selectedBrandId;
 
@@ -3,8 +3,12 @@ package com.mryoda.diagnostics.api.utils;
 import com.mryoda.diagnostics.api.builders.RequestBuilder;
 import com.mryoda.diagnostics.api.config.ConfigLoader;
 import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+import com.mryoda.diagnostics.api.payloads.PayloadTemplate;
 import io.restassured.response.Response;
-import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TokenManager {
 
@@ -17,6 +21,92 @@ public class TokenManager {
     @Deprecated
     public static final String EXISTING_MEMBER = "EXISTING_MEMBER";
 
+    // Metrics
+    public static final String TOKEN_CACHE_REQUESTS = "mryoda_token_cache_requests_total";
+    public static final String TOKEN_GENERATIONS = "mryoda_token_generations_total";
+
+    static {
+        MetricsRegistry.describe(TOKEN_CACHE_REQUESTS, MetricsRegistry.COUNTER,
+                "Token cache lookups, by user type and result (hit/miss).");
+        MetricsRegistry.describe(TOKEN_GENERATIONS, MetricsRegistry.COUNTER,
+                "OTP request + verify round trips performed to obtain a token, by user type.");
+    }
+
+    /**
+     * Session details returned by OTP verification.
+     */
+    public static class AuthSession {
+        private final String token;
+        private final String firstName;
+        private final String lastName;
+        private final String mobile;
+        private final String userId;
+
+        public AuthSession(String token, String firstName, String lastName, String mobile, String userId) {
+            this.token = token;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.mobile = mobile;
+            this.userId = userId;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getMobile() {
+            return mobile;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+    }
+
+    // Pre-compiled OTP bodies (rendered straight to bytes per login)
+    private static final PayloadTemplate OTP_REQUEST_BODY = PayloadTemplate
+            .compile("{\"mobile\":\"${mobile}\",\"country_code\":\"${country_code}\"}");
+    private static final PayloadTemplate OTP_VERIFY_BODY = PayloadTemplate
+            .compile("{\"mobile\":\"${mobile}\",\"country_code\":\"${country_code}\",\"otp\":\"${otp}\"}");
+
+    // Cached sessions keyed by userType + mobile
+    private static final Map<String, AuthSession> tokenCache = new ConcurrentHashMap<>();
+
+    /**
+     * Return a cached token for this mobile/userType, generating one only on a
+     * cache miss. RequestContext is populated either way.
+     */
+    public static String getOrGenerateToken(String mobile, String userType) {
+        AuthSession cached = tokenCache.get(cacheKey(mobile, userType));
+        if (cached != null) {
+            MetricsRegistry.counter(TOKEN_CACHE_REQUESTS, "user_type", userType, "result", "hit").increment();
+            storeInContext(cached, userType);
+            System.out.println("♻️ Reusing cached token for " + userType + ": " + cached.getToken());
+            return cached.getToken();
+        }
+        MetricsRegistry.counter(TOKEN_CACHE_REQUESTS, "user_type", userType, "result", "miss").increment();
+        return generateToken(mobile, userType);
+    }
+
+    /**
+     * Forget cached sessions (e.g. after a token expired).
+     */
+    public static void clearTokenCache() {
+        tokenCache.clear();
+    }
+
+    private static String cacheKey(String mobile, String userType) {
+        return userType + ":" + mobile;
+    }
+
     /**
      * Generate token with user type - stores all fields in appropriate
      * RequestContext fields
@@ -27,29 +117,36 @@ public class TokenManager {
         System.out.println("========== TOKEN GENERATION START (" + userType + ") ==========");
         System.out.println("==================================================");
 
+        AuthSession session = login(mobile);
+        MetricsRegistry.counter(TOKEN_GENERATIONS, "user_type", userType).increment();
+
+        // SAVE INTO CACHE + REQUEST CONTEXT BASED ON USER TYPE
+        useSession(mobile, userType, session);
+
+        System.out.println("Token generated for " + userType + ": " + session.getToken());
+        return session.getToken();
+    }
+
+    /**
+     * OTP request + verify only; does not touch the cache or RequestContext.
+     * Used by background work (e.g. NewUserPool) that must not overwrite the
+     * running flow's context.
+     */
+    public static AuthSession login(String mobile) {
         String countryCode = ConfigLoader.getConfig().countryCode();
         String otp = ConfigLoader.getConfig().staticOtp();
 
         // STEP 1: REQUEST OTP
-        JSONObject otpReq = new JSONObject();
-        otpReq.put("mobile", mobile);
-        otpReq.put("country_code", countryCode);
-
         new RequestBuilder()
                 .setEndpoint(APIEndpoints.OTP_REQUEST)
-                .setRequestBody(otpReq.toString())
+                .setRequestBody(OTP_REQUEST_BODY.render(mobile, countryCode))
                 .expectStatus(200)
                 .post();
 
         // STEP 2: VERIFY OTP
-        JSONObject verifyReq = new JSONObject();
-        verifyReq.put("mobile", mobile);
-        verifyReq.put("country_code", countryCode);
-        verifyReq.put("otp", otp);
-
         Response verifyResponse = new RequestBuilder()
                 .setEndpoint(APIEndpoints.OTP_VERIFY)
-                .setRequestBody(verifyReq.toString())
+                .setRequestBody(OTP_VERIFY_BODY.render(mobile, countryCode, otp))
                 .expectStatus(200)
                 .post();
 
@@ -60,45 +157,53 @@ public class TokenManager {
         String userId = verifyResponse.jsonPath().getString("data.guid");
 
         AssertionUtil.verifyNotNull(token, "Token must not be null");
+        return new AuthSession(token, firstName, lastName, actualMobile, userId);
+    }
 
-        // SAVE INTO REQUEST CONTEXT BASED ON USER TYPE
+    /**
+     * Adopt an existing session (e.g. leased from NewUserPool): cache it and
+     * store it in RequestContext for the given user type.
+     */
+    public static void useSession(String mobile, String userType, AuthSession session) {
+        tokenCache.put(cacheKey(mobile, userType), session);
+        storeInContext(session, userType);
+    }
+
+    public static String generateToken(String mobile) {
+        return generateToken(mobile, GENERIC);
+    }
+
+    private static void storeInContext(AuthSession session, String userType) {
         switch (userType) {
             case MEMBER:
-                RequestContext.setMemberToken(token);
-                RequestContext.setMemberFirstName(firstName);
-                RequestContext.setMemberLastName(lastName);
-                RequestContext.setMemberUserId(userId);
+                RequestContext.setMemberToken(session.getToken());
+                RequestContext.setMemberFirstName(session.getFirstName());
+                RequestContext.setMemberLastName(session.getLastName());
+                RequestContext.setMemberUserId(session.getUserId());
                 break;
 
             case NON_MEMBER:
             case EXISTING_MEMBER:
-                RequestContext.setNonMemberToken(token);
-                RequestContext.setNonMemberFirstName(firstName);
-                RequestContext.setNonMemberLastName(lastName);
-                RequestContext.setNonMemberUserId(userId);
+                RequestContext.setNonMemberToken(session.getToken());
+                RequestContext.setNonMemberFirstName(session.getFirstName());
+                RequestContext.setNonMemberLastName(session.getLastName());
+                RequestContext.setNonMemberUserId(session.getUserId());
                 break;
 
             case NEW_USER:
-                RequestContext.setNewUserToken(token);
-                RequestContext.setNewUserFirstName(firstName);
-                RequestContext.setNewUserLastName(lastName);
-                RequestContext.setNewUserUserId(userId);
+                RequestContext.setNewUserToken(session.getToken());
+                RequestContext.setNewUserFirstName(session.getFirstName());
+                RequestContext.setNewUserLastName(session.getLastName());
+                RequestContext.setNewUserUserId(session.getUserId());
                 break;
 
             case GENERIC:
             default:
-                RequestContext.setToken(token);
-                RequestContext.setFirstName(firstName);
-                RequestContext.setLastName(lastName);
-                RequestContext.setUserId(userId);
+                RequestContext.setToken(session.getToken());
+                RequestContext.setFirstName(session.getFirstName());
+                RequestContext.setLastName(session.getLastName());
+                RequestContext.setUserId(session.getUserId());
                 break;
         }
-
-        System.out.println("Token generated for " + userType + ": " + token);
-        return token;
-    }
-
-    public static String generateToken(String mobile) {
-        return generateToken(mobile, GENERIC);
     }
 }
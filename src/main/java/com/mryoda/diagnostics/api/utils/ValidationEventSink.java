@@ -0,0 +1,163 @@
+package com.mryoda.diagnostics.api.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared sink for validation findings (wrong prices, missing fields, ...).
+ *
+ * Events are written as JSON lines to validation.events.file, one object per
+ * finding:
+ *
+ * <pre>
+ * {"ts":"2025-12-30T23:05:02.117+05:30","test":"testGetCartById_MEMBER","flow":"member_flow",
+ *  "thread":"main","message":"..."}
+ * </pre>
+ *
+ * Callers only serialize and enqueue; a single background writer owns the file
+ * (truncated once per run) and flushes whenever the queue runs dry, so parallel
+ * flows neither interleave lines nor wait on disk I/O.
+ */
+public class ValidationEventSink {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+    private static final Object drained = new Object();
+    private static volatile Thread writerThread;
+    private static final AtomicLong enqueued = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+
+    private ValidationEventSink() {
+        // Private constructor
+    }
+
+    // ============================================================
+    // RECORD
+    // ============================================================
+    public static void record(String testName, String message) {
+        record(testName, message, Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Record one finding; details (expected/actual values, ids) are added as extra fields.
+     */
+    public static void record(String testName, String message, Map<String, Object> details) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("ts", ZonedDateTime.now().format(TIMESTAMP));
+        event.put("test", testName);
+        event.put("flow", RequestContext.getCurrentFlowName());
+        event.put("thread", Thread.currentThread().getName());
+        event.put("message", message);
+        event.putAll(details);
+
+        String line;
+        try {
+            line = MAPPER.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            System.err.println("Failed to serialize validation event: " + e.getMessage());
+            return;
+        }
+        if (writerThread == null) {
+            start();
+        }
+        enqueued.incrementAndGet();
+        queue.add(line);
+    }
+
+    /**
+     * Block until every event recorded so far is on disk (or the timeout passes).
+     */
+    public static boolean flush(long timeoutMs) throws InterruptedException {
+        long target = enqueued.get();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        synchronized (drained) {
+            while (written.get() < target) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                drained.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    // ============================================================
+    // WRITER
+    // ============================================================
+    private static synchronized void start() {
+        if (writerThread != null) {
+            return;
+        }
+        File file = workerFile(ConfigLoader.getConfig().validationEventsFile());
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        writerThread = new Thread(() -> writeLoop(file), "validation-event-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                flush(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "validation-event-sink-shutdown"));
+        System.out.println("📝 Validation events -> " + file.getPath());
+    }
+
+    /**
+     * Under a distributed run each worker JVM gets its own file (events-worker2.jsonl).
+     */
+    private static File workerFile(String path) {
+        if (Integer.getInteger("worker.shards", 1) <= 1) {
+            return new File(path);
+        }
+        String suffix = "-worker" + Integer.getInteger("worker.shard", 0);
+        int dot = path.lastIndexOf('.');
+        return new File(dot > path.lastIndexOf(File.separatorChar) ? path.substring(0, dot) + suffix
+                + path.substring(dot) : path + suffix);
+    }
+
+    private static void writeLoop(File file) {
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (true) {
+                String line = queue.take();
+                int batch = 0;
+                do {
+                    out.write(line);
+                    out.write('\n');
+                    batch++;
+                } while ((line = queue.poll()) != null);
+                out.flush();
+                written.addAndGet(batch);
+                synchronized (drained) {
+                    drained.notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Validation event writer stopped: " + e.getMessage());
+        }
+    }
+}
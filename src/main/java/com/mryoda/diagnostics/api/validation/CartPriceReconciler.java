@@ -0,0 +1,544 @@
+package com.mryoda.diagnostics.api.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recomputes a cart's totals from its lines and reconciles them with what the
+ * backend reported (membership pricing, home collection fee, totalPrice).
+ *
+ * <pre>
+ * ProductIndex catalog = ProductIndex.of(RequestContext.getAllTests());
+ * JsonNode cart = CartPriceReconciler.cartNode(response);
+ * Result result = new CartPriceReconciler(catalog, PricingStrategy.forUser(userType, hasMembership(cart)))
+ *         .tolerate("TESTING15")
+ *         .reconcile(cart, locationId);
+ * </pre>
+ *
+ * Stored tests are indexed by product id once (instead of scanning every
+ * stored test per cart line), the cart is read into columnar long arrays of
+ * paise, and every line is priced and checked in a single pass. Rupee amounts
+ * with decimals are exact in paise; ABSENT marks fields missing from the
+ * response so "null" and "zero" stay distinguishable.
+ */
+public class CartPriceReconciler {
+
+    public static final String RECONCILIATIONS = "mryoda_cart_reconciliations_total";
+
+    static {
+        MetricsRegistry.describe(RECONCILIATIONS, MetricsRegistry.COUNTER,
+                "Cart price reconciliations, by pricing strategy and result (match/mismatch).");
+    }
+
+    /** Marker for a numeric field missing from the response. */
+    public static final long ABSENT = -1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ProductIndex index;
+    private final PricingStrategy strategy;
+    private final Set<String> tolerated = new HashSet<>();
+
+    public CartPriceReconciler(ProductIndex index, PricingStrategy strategy) {
+        this.index = index;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Products with known bad catalog data: missing prices are reported as
+     * notices instead of violations.
+     */
+    public CartPriceReconciler tolerate(String... productNames) {
+        tolerated.addAll(Arrays.asList(productNames));
+        return this;
+    }
+
+    // ============================================================
+    // CART NODE
+    // ============================================================
+    /**
+     * The cart object of a GetCartById response ("data" or "data[0]").
+     */
+    public static JsonNode cartNode(Response response) {
+        try {
+            JsonNode data = MAPPER.readTree(response.getBody().asByteArray()).path("data");
+            return data.isArray() ? data.path(0) : data;
+        } catch (IOException e) {
+            throw new UncheckedIOException("GetCartById response is not valid JSON", e);
+        }
+    }
+
+    public static boolean hasMembership(JsonNode cart) {
+        JsonNode membershipId = cart.path("membership_id");
+        return !membershipId.isMissingNode() && !membershipId.isNull() && !"null".equals(membershipId.asText());
+    }
+
+    // ============================================================
+    // RECONCILE
+    // ============================================================
+    public Result reconcile(JsonNode cartData, String locationId) {
+        Cart cart = Cart.read(cartData, index, locationId);
+        String orderType = cartData.path("order_type").asText("");
+        String paymentMode = cartData.path("payment_mode").asText("cash");
+        if (paymentMode.isEmpty() || "null".equals(paymentMode)) {
+            paymentMode = "cash";
+        }
+        boolean homeOrder = "home".equalsIgnoreCase(orderType);
+
+        Result result = new Result(strategy, cart, paymentMode, orderType);
+        for (int i = 0; i < cart.size; i++) {
+            String item = cart.label(i);
+            boolean known = tolerated.contains(cart.name[i]);
+            long price = cart.price[i];
+            long original = cart.originalPrice[i];
+
+            if (!cart.availableAtLocation[i] && (price > 0 || original > 0)) {
+                result.violations.add("Item '" + item + "' is in cart with price but is NOT available for location "
+                        + locationId);
+            }
+            if (price <= 0 && original <= 0 && (!cart.availableAtLocation[i] || !cart.homeCollection[i])) {
+                result.unavailable++;
+                continue;
+            }
+            if (cart.quantity[i] == 0) {
+                result.skipped++;
+                continue;
+            }
+
+            if (cart.quantity[i] == ABSENT) {
+                result.violations.add("quantity is NULL for item '" + item + "'");
+            }
+            String expected = cart.storedPrice[i] > 0 ? rupees(cart.storedPrice[i]) : "positive amount";
+            checkPresent(result, known, "price", price, item, expected);
+            checkPresent(result, known, "original_price", original, item, expected);
+            if (strategy.requiresMembershipPrice()) {
+                checkPresent(result, known, "membershipPrice", cart.membershipPrice[i], item,
+                        "90% of " + rupees(Math.max(original, 0)));
+            }
+            if (cart.quantity[i] == ABSENT) {
+                result.skipped++;
+                continue;
+            }
+            if (cart.unavailable[i]) {
+                result.unavailable++;
+                continue;
+            }
+            if (homeOrder && !cart.homeCollection[i]) {
+                result.noHomeCollection++;
+                continue;
+            }
+
+            long unit = strategy.unitPrice(cart, i);
+            result.unitPrice[i] = unit;
+            if (unit > 0) {
+                result.subtotal += unit * cart.quantity[i];
+                result.priced++;
+            }
+            if (strategy.requiresMembershipPrice() && cart.discountRate[i] > 0
+                    && cart.membershipPrice[i] != cart.discountRate[i]) {
+                result.notices.add("BACKEND BUG: membershipPrice (" + rupees(Math.max(cart.membershipPrice[i], 0))
+                        + ") does NOT match discount_rate (" + rupees(cart.discountRate[i]) + ") for item '" + item
+                        + "' - using " + rupees(unit));
+            }
+        }
+
+        // -----------------------------
+        // CART TOTALS
+        // -----------------------------
+        result.expectedFee = strategy.collectionFee(result.subtotal, paymentMode);
+        long fee = paise(cartData.path("delivery_fee"));
+        if (fee == ABSENT) {
+            fee = paise(cartData.path("actual_delivery_fee"));
+        }
+        result.actualFee = Math.max(fee, 0);
+        if (result.actualFee != result.expectedFee) {
+            result.violations.add("Home Collection Charge Mismatch! Expected: " + rupees(result.expectedFee)
+                    + " but got: " + rupees(result.actualFee));
+        }
+
+        if (homeOrder) {
+            result.expectedTotal = result.subtotal + result.actualFee;
+        } else if ("lab".equalsIgnoreCase(orderType)) {
+            result.expectedTotal = result.actualFee;
+        }
+        result.apiTotal = paise(cartData.path("totalPrice"));
+        if (result.apiTotal == ABSENT) {
+            result.apiTotal = paise(cartData.path("total_amount"));
+        }
+
+        if (result.priced > 0 && result.apiTotal == 0) {
+            result.violations.add("API returned totalPrice = ₹0 but cart has " + result.priced
+                    + " items with prices (subtotal: " + rupees(result.subtotal) + ")");
+        } else if (result.apiTotal > 0 && result.expectedTotal > 0 && result.apiTotal != result.expectedTotal) {
+            result.violations.add("Total MUST be exactly " + rupees(result.expectedTotal) + " but got "
+                    + rupees(result.apiTotal) + ". Difference: "
+                    + rupees(Math.abs(result.expectedTotal - result.apiTotal)));
+        } else if (result.apiTotal <= 0 && result.expectedTotal > 0) {
+            result.notices.add("Cannot verify total - API returned " + (result.apiTotal == ABSENT ? "null" : "0")
+                    + " but manual total is " + rupees(result.expectedTotal));
+        }
+
+        MetricsRegistry.counter(RECONCILIATIONS, "strategy", strategy.name(), "result",
+                result.violations.isEmpty() ? "match" : "mismatch").increment();
+        return result;
+    }
+
+    private void checkPresent(Result result, boolean known, String field, long value, String item, String expected) {
+        if (value > 0) {
+            return;
+        }
+        String msg = field + " is " + (value == ABSENT ? "NULL" : "ZERO") + " for " + strategy.name() + " item '"
+                + item + "' | EXPECTED: " + expected + " | ACTUAL: " + (value == ABSENT ? "NULL" : "₹0");
+        if (known) {
+            result.notices.add("KNOWN ISSUE (bad catalog data): " + msg);
+        } else {
+            result.violations.add(msg);
+        }
+    }
+
+    // ============================================================
+    // AMOUNTS
+    // ============================================================
+    /**
+     * Amount in paise, or ABSENT when the field is missing, null or not numeric.
+     */
+    public static long paise(JsonNode value) {
+        if (value == null || value.isMissingNode() || value.isNull()) {
+            return ABSENT;
+        }
+        if (value.isIntegralNumber()) {
+            return value.longValue() * 100;
+        }
+        if (value.isNumber()) {
+            return value.decimalValue().movePointRight(2).longValue();
+        }
+        if (value.isTextual()) {
+            try {
+                return new BigDecimal(value.asText().trim()).movePointRight(2).longValue();
+            } catch (NumberFormatException e) {
+                return ABSENT;
+            }
+        }
+        return ABSENT;
+    }
+
+    public static String rupees(long paise) {
+        long abs = Math.abs(paise);
+        String sign = paise < 0 ? "-" : "";
+        if (abs % 100 == 0) {
+            return sign + "₹" + abs / 100;
+        }
+        return sign + "₹" + abs / 100 + "." + (abs % 100 < 10 ? "0" : "") + abs % 100;
+    }
+
+    private static boolean isHomeCollection(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        String s = value.toString().trim();
+        return "AVAILABLE".equalsIgnoreCase(s) || "TRUE".equalsIgnoreCase(s) || "YES".equalsIgnoreCase(s)
+                || "1".equals(s);
+    }
+
+    // ============================================================
+    // PRODUCT INDEX
+    // ============================================================
+    /**
+     * Stored search results (RequestContext.getAllTests(), keyed by test name)
+     * indexed by product id, with prices in paise.
+     */
+    public static final class ProductIndex {
+
+        private final Map<String, Integer> slots;
+        private final String[] names;
+        private final long[] prices;
+        private final boolean[] homeCollection;
+        private final List<Set<String>> locations;
+
+        private ProductIndex(int size) {
+            slots = new HashMap<>(size * 2);
+            names = new String[size];
+            prices = new long[size];
+            homeCollection = new boolean[size];
+            locations = new ArrayList<>(size);
+        }
+
+        public static ProductIndex of(Map<String, Map<String, Object>> tests) {
+            Map<String, Map<String, Object>> source = tests == null ? Collections.<String, Map<String, Object>>emptyMap() : tests;
+            ProductIndex index = new ProductIndex(source.size());
+            int slot = 0;
+            for (Map.Entry<String, Map<String, Object>> entry : source.entrySet()) {
+                Map<String, Object> test = entry.getValue();
+                index.names[slot] = entry.getKey();
+                index.prices[slot] = test.get("price") instanceof Number
+                        ? Math.round(((Number) test.get("price")).doubleValue() * 100)
+                        : ABSENT;
+                index.homeCollection[slot] = isHomeCollection(test.get("home_collection"));
+                Object locs = test.get("locations");
+                index.locations.add(locs instanceof Collection ? new HashSet<>(asStrings((Collection<?>) locs)) : null);
+                Object id = test.get("_id");
+                if (id != null) {
+                    index.slots.putIfAbsent(id.toString(), slot);
+                }
+                slot++;
+            }
+            return index;
+        }
+
+        private static List<String> asStrings(Collection<?> values) {
+            List<String> strings = new ArrayList<>(values.size());
+            for (Object value : values) {
+                strings.add(String.valueOf(value));
+            }
+            return strings;
+        }
+
+        public int size() {
+            return names.length;
+        }
+
+        /** Slot of a product id, or -1 when it was not stored. */
+        public int slot(String productId) {
+            Integer slot = productId == null ? null : slots.get(productId);
+            return slot == null ? -1 : slot;
+        }
+
+        public String nameOf(String productId) {
+            int slot = slot(productId);
+            return slot < 0 ? null : names[slot];
+        }
+
+        /** Stored search price in paise, or ABSENT. */
+        public long storedPrice(String productId) {
+            int slot = slot(productId);
+            return slot < 0 ? ABSENT : prices[slot];
+        }
+
+        /** Whether the stored test lists the location (true when its locations are unknown). */
+        public boolean availableAt(String productId, String locationId) {
+            int slot = slot(productId);
+            if (slot < 0 || locations.get(slot) == null) {
+                return true;
+            }
+            return locations.get(slot).contains(locationId);
+        }
+
+        public boolean homeCollection(String productId) {
+            int slot = slot(productId);
+            return slot >= 0 && homeCollection[slot];
+        }
+    }
+
+    // ============================================================
+    // COLUMNAR CART
+    // ============================================================
+    /**
+     * Cart lines as parallel arrays; prices in paise, ABSENT when missing.
+     */
+    public static final class Cart {
+
+        public final int size;
+        public final String[] productId;
+        public final String[] name;
+        public final int[] quantity;
+        public final long[] price;
+        public final long[] originalPrice;
+        public final long[] membershipPrice;
+        public final long[] discountRate;
+        public final long[] storedPrice;
+        public final boolean[] homeCollection;
+        public final boolean[] unavailable;
+        public final boolean[] availableAtLocation;
+
+        private Cart(int size) {
+            this.size = size;
+            productId = new String[size];
+            name = new String[size];
+            quantity = new int[size];
+            price = new long[size];
+            originalPrice = new long[size];
+            membershipPrice = new long[size];
+            discountRate = new long[size];
+            storedPrice = new long[size];
+            homeCollection = new boolean[size];
+            unavailable = new boolean[size];
+            availableAtLocation = new boolean[size];
+        }
+
+        static Cart read(JsonNode cartData, ProductIndex index, String locationId) {
+            JsonNode items = cartData.path("cart_items");
+            if (!items.isArray()) {
+                items = cartData.path("product_details");
+            }
+            Set<String> unavailableIds = new HashSet<>();
+            for (JsonNode test : cartData.path("unavailable_test")) {
+                if (test.hasNonNull("product_id")) {
+                    unavailableIds.add(test.get("product_id").asText());
+                }
+            }
+
+            Cart cart = new Cart(items.size());
+            for (int i = 0; i < cart.size; i++) {
+                JsonNode item = items.get(i);
+                String id = item.hasNonNull("product_id") ? item.get("product_id").asText() : null;
+                cart.productId[i] = id;
+                cart.name[i] = item.hasNonNull("test_name") ? item.get("test_name").asText()
+                        : item.hasNonNull("testName") ? item.get("testName").asText() : index.nameOf(id);
+                cart.quantity[i] = item.hasNonNull("quantity") ? item.get("quantity").asInt() : (int) ABSENT;
+                cart.price[i] = paise(item.path("price"));
+                cart.originalPrice[i] = paise(item.path("original_price"));
+                cart.membershipPrice[i] = paise(item.path("membershipPrice"));
+                cart.discountRate[i] = paise(item.path("discount_rate"));
+                cart.storedPrice[i] = index.storedPrice(id);
+                JsonNode home = item.path("home_collection");
+                cart.homeCollection[i] = home.isBoolean() ? home.asBoolean()
+                        : !home.isMissingNode() && !home.isNull() && isHomeCollection(home.asText());
+                cart.unavailable[i] = id != null && unavailableIds.contains(id);
+                cart.availableAtLocation[i] = index.availableAt(id, locationId);
+            }
+            return cart;
+        }
+
+        /** original_price, else price, else the stored search price (0 when none). */
+        public long basePrice(int i) {
+            if (originalPrice[i] > 0) {
+                return originalPrice[i];
+            }
+            if (price[i] > 0) {
+                return price[i];
+            }
+            return Math.max(storedPrice[i], 0);
+        }
+
+        public String label(int i) {
+            return name[i] != null ? name[i] : productId[i] != null ? productId[i] : "Item " + (i + 1);
+        }
+    }
+
+    // ============================================================
+    // RESULT
+    // ============================================================
+    public static final class Result {
+
+        private final PricingStrategy strategy;
+        private final Cart cart;
+        private final String paymentMode;
+        private final String orderType;
+        private final long[] unitPrice;
+
+        private long subtotal;
+        private long expectedFee;
+        private long actualFee;
+        private long expectedTotal;
+        private long apiTotal = ABSENT;
+        private int priced;
+        private int skipped;
+        private int unavailable;
+        private int noHomeCollection;
+
+        private final List<String> violations = new ArrayList<>();
+        private final List<String> notices = new ArrayList<>();
+
+        private Result(PricingStrategy strategy, Cart cart, String paymentMode, String orderType) {
+            this.strategy = strategy;
+            this.cart = cart;
+            this.paymentMode = paymentMode;
+            this.orderType = orderType;
+            this.unitPrice = new long[cart.size];
+        }
+
+        public Cart cart() {
+            return cart;
+        }
+
+        public long unitPrice(int i) {
+            return unitPrice[i];
+        }
+
+        public long subtotal() {
+            return subtotal;
+        }
+
+        public long expectedFee() {
+            return expectedFee;
+        }
+
+        public long actualFee() {
+            return actualFee;
+        }
+
+        public long expectedTotal() {
+            return expectedTotal;
+        }
+
+        /** API totalPrice in paise, or ABSENT. */
+        public long apiTotal() {
+            return apiTotal;
+        }
+
+        public int priced() {
+            return priced;
+        }
+
+        public List<String> violations() {
+            return Collections.unmodifiableList(violations);
+        }
+
+        /** Findings worth recording that do not fail the cart. */
+        public List<String> notices() {
+            return Collections.unmodifiableList(notices);
+        }
+
+        public boolean matches() {
+            return violations.isEmpty();
+        }
+
+        public void printSummary() {
+            System.out.println("\n   💰 CART PRICE RECONCILIATION (" + strategy.name() + ", " + orderType + ", "
+                    + paymentMode.toUpperCase() + ")");
+            for (int i = 0; i < cart.size; i++) {
+                if (unitPrice[i] > 0) {
+                    System.out.println("      ✅ " + cart.label(i) + ": " + cart.quantity[i] + " × "
+                            + rupees(unitPrice[i]) + " = " + rupees(unitPrice[i] * cart.quantity[i]));
+                }
+            }
+            System.out.println("   Total items in cart: " + cart.size);
+            System.out.println("   Items calculated: " + priced);
+            System.out.println("   Items skipped (quantity = 0): " + skipped);
+            System.out.println("   Items skipped (unavailable): " + unavailable);
+            System.out.println("   Items skipped (no home collection): " + noHomeCollection);
+            System.out.println("   Items Subtotal: " + rupees(subtotal));
+            System.out.println("   Home Collection Charge: " + rupees(actualFee) + " (expected "
+                    + rupees(expectedFee) + ")");
+            System.out.println("   Manual Calculated Total: " + rupees(expectedTotal));
+            System.out.println("   API Reported Total (totalPrice): "
+                    + (apiTotal == ABSENT ? "N/A" : rupees(apiTotal)));
+            for (String notice : notices) {
+                System.out.println("   ⚠️  " + notice);
+            }
+            for (String violation : violations) {
+                System.out.println("   ❌ " + violation);
+            }
+            System.out.println(violations.isEmpty() ? "   ✅ TOTAL VERIFICATION PASSED!"
+                    : "   ❌ " + violations.size() + " pricing violation(s)");
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.mryoda.diagnostics.api.validation;
+
+/**
+ * Per-user-type cart pricing rules used by CartPriceReconciler.
+ *
+ * All amounts are in paise. A strategy reads one cart line from the columnar
+ * Cart and returns the unit price the backend should have charged, and the
+ * home collection fee expected for a whole cart.
+ */
+public interface PricingStrategy {
+
+    /** Subtotal (in paise) from which home collection is free for non-members. */
+    long FREE_COLLECTION_THRESHOLD = 999_00L;
+
+    /** Home collection fee (in paise) for cash orders below the threshold. */
+    long CASH_COLLECTION_FEE = 250_00L;
+
+    PricingStrategy MEMBER = new Member();
+    PricingStrategy NON_MEMBER = new NonMember();
+    PricingStrategy NEW_USER = new NewUser();
+
+    String name();
+
+    /** Whether membershipPrice must be present and non-zero on every line. */
+    boolean requiresMembershipPrice();
+
+    /** Unit price of line i, or 0 when no price can be derived. */
+    long unitPrice(CartPriceReconciler.Cart cart, int i);
+
+    /** Expected home collection fee for a cart with this items subtotal. */
+    long collectionFee(long subtotal, String paymentMode);
+
+    /**
+     * Strategy for a flow's user type; a membership on the cart wins over the type.
+     */
+    static PricingStrategy forUser(String userType, boolean hasMembership) {
+        if (hasMembership || "MEMBER".equalsIgnoreCase(userType)) {
+            return MEMBER;
+        }
+        if ("NEW_USER".equalsIgnoreCase(userType)) {
+            return NEW_USER;
+        }
+        return NON_MEMBER;
+    }
+
+    // ============================================================
+    // MEMBER
+    // ============================================================
+    /**
+     * Members pay the lower of discount_rate and membershipPrice, falling back
+     * to 90% of the selling price (floored to the rupee, as the backend does),
+     * and never pay for home collection.
+     */
+    class Member implements PricingStrategy {
+
+        @Override
+        public String name() {
+            return "MEMBER";
+        }
+
+        @Override
+        public boolean requiresMembershipPrice() {
+            return true;
+        }
+
+        @Override
+        public long unitPrice(CartPriceReconciler.Cart cart, int i) {
+            long base = cart.basePrice(i);
+            if (base <= 0) {
+                return 0;
+            }
+            long discountRate = Math.max(cart.discountRate[i], 0);
+            long membershipPrice = Math.max(cart.membershipPrice[i], 0);
+            if (discountRate > 0 && membershipPrice > 0) {
+                return Math.min(discountRate, membershipPrice);
+            }
+            if (discountRate > 0) {
+                return discountRate;
+            }
+            if (membershipPrice > 0) {
+                return membershipPrice;
+            }
+            long selling = cart.price[i] > 0 ? cart.price[i] : base;
+            return selling * 90 / 100 / 100 * 100;
+        }
+
+        @Override
+        public long collectionFee(long subtotal, String paymentMode) {
+            return 0;
+        }
+    }
+
+    // ============================================================
+    // NON-MEMBER
+    // ============================================================
+    /**
+     * Non-members pay the selling price (original_price when price is absent);
+     * home collection is free from ₹999 or for online payment, ₹250 otherwise.
+     */
+    class NonMember implements PricingStrategy {
+
+        @Override
+        public String name() {
+            return "NON_MEMBER";
+        }
+
+        @Override
+        public boolean requiresMembershipPrice() {
+            return false;
+        }
+
+        @Override
+        public long unitPrice(CartPriceReconciler.Cart cart, int i) {
+            long base = cart.basePrice(i);
+            if (base <= 0) {
+                return 0;
+            }
+            return cart.price[i] > 0 ? cart.price[i] : base;
+        }
+
+        @Override
+        public long collectionFee(long subtotal, String paymentMode) {
+            if (subtotal >= FREE_COLLECTION_THRESHOLD) {
+                return 0;
+            }
+            if ("online".equalsIgnoreCase(paymentMode) || "prepaid".equalsIgnoreCase(paymentMode)) {
+                return 0;
+            }
+            return CASH_COLLECTION_FEE;
+        }
+    }
+
+    // ============================================================
+    // NEW USER
+    // ============================================================
+    /**
+     * Freshly registered users have no membership yet and are priced like
+     * non-members; kept separate so first-order offers can be added here.
+     */
+    class NewUser extends NonMember {
+
+        @Override
+        public String name() {
+            return "NEW_USER";
+        }
+    }
+}
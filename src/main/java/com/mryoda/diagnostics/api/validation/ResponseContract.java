@@ -0,0 +1,471 @@
+package com.mryoda.diagnostics.api.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+import com.mryoda.diagnostics.api.utils.ValidationEventSink;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Declarative response rules for one endpoint, replacing hand-written
+ * field-by-field validators.
+ *
+ * <pre>
+ * static final ResponseContract CREATE_ORDER = ResponseContract.forEndpoint(APIEndpoints.CREATE_ORDER)
+ *         .field("success", Rules.equalTo(true))
+ *         .field("data.id", Rules.startsWith("order_"))
+ *         .field("data.notes.user_id", Rules.equalToParam("userId"))
+ *         .each("data.cart_items|data.product_details", item -> item
+ *                 .field("price", Rules.atLeast(0)))
+ *         .build();
+ *
+ * CREATE_ORDER.assertSatisfied("testCreateOrder_MEMBER", response, params);
+ * </pre>
+ *
+ * Paths are dotted with optional [index] and '|' alternatives (first present
+ * wins, e.g. "data[0].guid|data.guid"); they are compiled when the contract is
+ * built. A response is parsed once and every rule resolves its path against
+ * that tree. each() rules run per array item in parallel. Per-call values
+ * (user id, mobile, ...) are passed as params rather than baked into the rules,
+ * so a contract is built once and shared.
+ */
+public class ResponseContract {
+
+    public static final String VIOLATIONS = "mryoda_contract_violations_total";
+
+    static {
+        MetricsRegistry.describe(VIOLATIONS, MetricsRegistry.COUNTER,
+                "Response contract rule violations, by contract.");
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * One check on a resolved value; returns null when satisfied, else the problem.
+     * value is never null (missing fields are reported before rules run).
+     */
+    @FunctionalInterface
+    public interface Rule {
+        String check(JsonNode value, JsonNode root, Map<String, Object> params);
+    }
+
+    private final String name;
+    private final List<FieldRule> fields;
+    private final List<EachRule> eachRules;
+    private final List<RootRule> rootRules;
+
+    private ResponseContract(Builder builder) {
+        this.name = builder.name;
+        this.fields = Collections.unmodifiableList(new ArrayList<>(builder.fields));
+        this.eachRules = Collections.unmodifiableList(new ArrayList<>(builder.eachRules));
+        this.rootRules = Collections.unmodifiableList(new ArrayList<>(builder.rootRules));
+    }
+
+    public static Builder forEndpoint(String endpointTemplate) {
+        return new Builder(endpointTemplate);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // ============================================================
+    // EVALUATE
+    // ============================================================
+    public List<String> evaluate(Response response, Map<String, Object> params) {
+        JsonNode root;
+        try {
+            root = MAPPER.readTree(response.getBody().asByteArray());
+        } catch (IOException e) {
+            return Collections.singletonList("Response is not valid JSON: " + e.getMessage());
+        }
+        return evaluate(root, params);
+    }
+
+    public List<String> evaluate(JsonNode root, Map<String, Object> params) {
+        List<String> violations = new ArrayList<>();
+        evaluate(root, root, "", params, violations);
+        return violations;
+    }
+
+    private void evaluate(JsonNode scope, JsonNode root, String prefix, Map<String, Object> params,
+            List<String> violations) {
+        for (FieldRule field : fields) {
+            JsonNode value = field.path.resolve(scope);
+            if (value == null) {
+                if (!field.optional) {
+                    violations.add(prefix + field.path + ": missing");
+                }
+                continue;
+            }
+            for (Rule rule : field.rules) {
+                String problem = apply(rule, value, root, params);
+                if (problem != null) {
+                    violations.add(prefix + field.path + ": " + problem);
+                }
+            }
+        }
+        for (RootRule rule : rootRules) {
+            String problem = apply(rule.rule, scope, root, params);
+            if (problem != null) {
+                violations.add(prefix + rule.description + ": " + problem);
+            }
+        }
+        for (EachRule each : eachRules) {
+            JsonNode array = each.path.resolve(scope);
+            if (array == null || !array.isArray()) {
+                if (!each.optional) {
+                    violations.add(prefix + each.path + ": missing or not an array");
+                }
+                continue;
+            }
+            // Items are independent - evaluate them in parallel, report in item order
+            String itemPrefix = prefix + each.path.resolvedText(scope);
+            violations.addAll(IntStream.range(0, array.size()).parallel()
+                    .mapToObj(i -> {
+                        List<String> itemViolations = new ArrayList<>();
+                        each.item.evaluate(array.get(i), root, itemPrefix + "[" + i + "].", params,
+                                itemViolations);
+                        return itemViolations;
+                    })
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private static String apply(Rule rule, JsonNode value, JsonNode root, Map<String, Object> params) {
+        try {
+            return rule.check(value, root, params);
+        } catch (RuntimeException e) {
+            return "rule failed - " + e;
+        }
+    }
+
+    /**
+     * Evaluate and fail with every violation listed; violations also go to
+     * ValidationEventSink under testName.
+     */
+    public void assertSatisfied(String testName, Response response, Map<String, Object> params) {
+        List<String> violations = evaluate(response, params);
+        if (violations.isEmpty()) {
+            System.out.println("   ✅ Contract " + name + " satisfied (" + ruleCount() + " rules)");
+            return;
+        }
+        MetricsRegistry.counter(VIOLATIONS, "contract", name).add(violations.size());
+        StringBuilder message = new StringBuilder("❌ Contract " + name + " violated (" + violations.size()
+                + " issue(s)):");
+        for (String violation : violations) {
+            ValidationEventSink.record(testName, "Contract " + name + " - " + violation);
+            message.append("\n   - ").append(violation);
+        }
+        throw new AssertionError(message.toString());
+    }
+
+    private int ruleCount() {
+        int count = rootRules.size();
+        for (FieldRule field : fields) {
+            count += Math.max(1, field.rules.size());
+        }
+        for (EachRule each : eachRules) {
+            count += each.item.ruleCount();
+        }
+        return count;
+    }
+
+    // ============================================================
+    // BUILDER
+    // ============================================================
+    public static class Builder {
+        private final String name;
+        private final List<FieldRule> fields = new ArrayList<>();
+        private final List<EachRule> eachRules = new ArrayList<>();
+        private final List<RootRule> rootRules = new ArrayList<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Field must be present (not null) and satisfy every rule.
+         */
+        public Builder field(String path, Rule... rules) {
+            fields.add(new FieldRule(JsonPath.compile(path), rules, false));
+            return this;
+        }
+
+        /**
+         * Rules apply only when the field is present.
+         */
+        public Builder optionalField(String path, Rule... rules) {
+            fields.add(new FieldRule(JsonPath.compile(path), rules, true));
+            return this;
+        }
+
+        /**
+         * Cross-field rule on the current scope (whole response, or one item inside each()).
+         */
+        public Builder check(String description, Rule rule) {
+            rootRules.add(new RootRule(description, rule));
+            return this;
+        }
+
+        /**
+         * Rules for every element of an array; elements are checked in parallel.
+         */
+        public Builder each(String arrayPath, Consumer<Builder> itemRules) {
+            return each(arrayPath, itemRules, false);
+        }
+
+        public Builder eachOptional(String arrayPath, Consumer<Builder> itemRules) {
+            return each(arrayPath, itemRules, true);
+        }
+
+        private Builder each(String arrayPath, Consumer<Builder> itemRules, boolean optional) {
+            Builder item = new Builder(name);
+            itemRules.accept(item);
+            eachRules.add(new EachRule(JsonPath.compile(arrayPath), item.build(), optional));
+            return this;
+        }
+
+        public ResponseContract build() {
+            return new ResponseContract(this);
+        }
+    }
+
+    private static class FieldRule {
+        private final JsonPath path;
+        private final List<Rule> rules;
+        private final boolean optional;
+
+        FieldRule(JsonPath path, Rule[] rules, boolean optional) {
+            this.path = path;
+            this.rules = Arrays.asList(rules);
+            this.optional = optional;
+        }
+    }
+
+    private static class EachRule {
+        private final JsonPath path;
+        private final ResponseContract item;
+        private final boolean optional;
+
+        EachRule(JsonPath path, ResponseContract item, boolean optional) {
+            this.path = path;
+            this.item = item;
+            this.optional = optional;
+        }
+    }
+
+    private static class RootRule {
+        private final String description;
+        private final Rule rule;
+
+        RootRule(String description, Rule rule) {
+            this.description = description;
+            this.rule = rule;
+        }
+    }
+
+    // ============================================================
+    // PATHS
+    // ============================================================
+    /**
+     * Compiled "a.b[0].c|a.c" path: alternatives of field-name / index steps.
+     */
+    static class JsonPath {
+        private final String text;
+        private final List<String> alternativeTexts;
+        private final List<Object[]> alternatives;
+
+        private JsonPath(String text, List<String> alternativeTexts, List<Object[]> alternatives) {
+            this.text = text;
+            this.alternativeTexts = alternativeTexts;
+            this.alternatives = alternatives;
+        }
+
+        static JsonPath compile(String text) {
+            List<String> alternativeTexts = new ArrayList<>();
+            List<Object[]> alternatives = new ArrayList<>();
+            for (String alternative : text.split("\\|")) {
+                alternativeTexts.add(alternative.trim());
+                List<Object> steps = new ArrayList<>();
+                for (String part : alternative.trim().split("\\.")) {
+                    int bracket = part.indexOf('[');
+                    String field = bracket < 0 ? part : part.substring(0, bracket);
+                    if (!field.isEmpty()) {
+                        steps.add(field);
+                    }
+                    while (bracket >= 0) {
+                        int close = part.indexOf(']', bracket);
+                        if (close < 0) {
+                            throw new IllegalArgumentException("Unclosed [ in contract path: " + text);
+                        }
+                        steps.add(Integer.parseInt(part.substring(bracket + 1, close)));
+                        bracket = part.indexOf('[', close);
+                    }
+                }
+                alternatives.add(steps.toArray());
+            }
+            return new JsonPath(text, alternativeTexts, alternatives);
+        }
+
+        /**
+         * First alternative that resolves to a non-null node, or null.
+         */
+        JsonNode resolve(JsonNode scope) {
+            for (Object[] steps : alternatives) {
+                JsonNode node = walk(scope, steps);
+                if (node != null && !node.isNull()) {
+                    return node;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * The alternative that resolved (for messages), or the whole path.
+         */
+        String resolvedText(JsonNode scope) {
+            int index = resolvedIndex(scope);
+            return index < 0 ? text : alternativeTexts.get(index);
+        }
+
+        private int resolvedIndex(JsonNode scope) {
+            for (int i = 0; i < alternatives.size(); i++) {
+                JsonNode node = walk(scope, alternatives.get(i));
+                if (node != null && !node.isNull()) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static JsonNode walk(JsonNode scope, Object[] steps) {
+            JsonNode node = scope;
+            for (Object step : steps) {
+                node = step instanceof Integer ? node.get((Integer) step) : node.get((String) step);
+                if (node == null) {
+                    return null;
+                }
+            }
+            return node;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    // ============================================================
+    // RULES
+    // ============================================================
+    public static class Rules {
+
+        private Rules() {
+            // Private constructor
+        }
+
+        public static Rule notBlank() {
+            return (value, root, params) -> value.asText().trim().isEmpty() ? "is blank" : null;
+        }
+
+        public static Rule equalTo(Object expected) {
+            return (value, root, params) -> compare(value, expected);
+        }
+
+        /**
+         * Equal to params.get(key); skipped when the param is absent.
+         */
+        public static Rule equalToParam(String key) {
+            return (value, root, params) -> params.get(key) == null ? null : compare(value, params.get(key));
+        }
+
+        /**
+         * Equal to another field of the whole response.
+         */
+        public static Rule sameAs(String otherPath) {
+            JsonPath other = JsonPath.compile(otherPath);
+            return (value, root, params) -> {
+                JsonNode otherValue = other.resolve(root);
+                return otherValue != null && value.asText().equals(otherValue.asText()) ? null
+                        : "expected same as " + otherPath + " (" + otherValue + ") but was " + value;
+            };
+        }
+
+        public static Rule startsWith(String prefix) {
+            return (value, root, params) -> value.asText().startsWith(prefix) ? null
+                    : "expected to start with '" + prefix + "' but was " + value;
+        }
+
+        public static Rule length(int length) {
+            return (value, root, params) -> value.asText().length() == length ? null
+                    : "expected length " + length + " but was " + value.asText().length();
+        }
+
+        /**
+         * Numeric (or numeric string) value &gt;= min.
+         */
+        public static Rule atLeast(double min) {
+            return (value, root, params) -> {
+                Double number = number(value);
+                return number != null && number >= min ? null : "expected >= " + format(min) + " but was " + value;
+            };
+        }
+
+        public static Rule greaterThan(double min) {
+            return (value, root, params) -> {
+                Double number = number(value);
+                return number != null && number > min ? null : "expected > " + format(min) + " but was " + value;
+            };
+        }
+
+        public static Rule satisfies(String description, Predicate<JsonNode> predicate) {
+            return (value, root, params) -> predicate.test(value) ? null : "expected " + description
+                    + " but was " + value;
+        }
+
+        // -----------------------------
+        // HELPERS
+        // -----------------------------
+        private static String compare(JsonNode value, Object expected) {
+            boolean equal;
+            if (expected instanceof Boolean) {
+                equal = value.isBoolean() && value.booleanValue() == (Boolean) expected;
+            } else if (expected instanceof Number) {
+                Double number = number(value);
+                equal = number != null && number == ((Number) expected).doubleValue();
+            } else {
+                equal = Objects.equals(value.asText(), String.valueOf(expected));
+            }
+            return equal ? null : "expected " + expected + " but was " + value;
+        }
+
+        static Double number(JsonNode value) {
+            if (value.isNumber()) {
+                return value.doubleValue();
+            }
+            try {
+                return Double.parseDouble(value.asText());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static String format(double number) {
+            return number == Math.rint(number) ? String.valueOf((long) number) : String.valueOf(number);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.mryoda.diagnostics.api.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.mryoda.diagnostics.api.metrics.MetricsRegistry;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON Schemas for API responses, one per APIEndpoints template.
+ *
+ * The schema for a template lives on the classpath at schemas/&lt;name&gt;.json,
+ * where name is the template path without placeholders, '/' replaced by '_':
+ *
+ * <pre>
+ * /carts/v2/getCartById/{user_id}  ->  schemas/carts_v2_getCartById.json
+ * </pre>
+ *
+ * Each schema is loaded and compiled once (JsonSchema instances are
+ * immutable and thread-safe); a response body is parsed once into a tree and
+ * checked in a single validation pass instead of one jsonPath() evaluation per
+ * field. Templates without a schema file are skipped.
+ *
+ * Every endpoint the suites call has a schema, except RAZORPAY_WEBHOOK (only
+ * the ack status is checked, its body is not a contract) and the unused
+ * USER_PROFILE / UPDATE_PROFILE templates.
+ */
+public class SchemaRegistry {
+
+    public static final String VALIDATIONS = "mryoda_schema_validations_total";
+    public static final String VALIDATION_DURATION = "mryoda_schema_validation_duration_ms";
+
+    static {
+        MetricsRegistry.describe(VALIDATIONS, MetricsRegistry.COUNTER,
+                "Response schema validations, by schema and result (valid/invalid).");
+        MetricsRegistry.describe(VALIDATION_DURATION, MetricsRegistry.HISTOGRAM,
+                "Time to parse and schema-validate a response body, in milliseconds.");
+    }
+
+    private static final String SCHEMA_DIR = "schemas/";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.byDefault();
+
+    private static final Map<String, Optional<JsonSchema>> compiled = new ConcurrentHashMap<>();
+
+    private SchemaRegistry() {
+        // Private constructor
+    }
+
+    // ============================================================
+    // LOOKUP
+    // ============================================================
+    /**
+     * Schema resource name for an endpoint template (host and query are ignored).
+     */
+    public static String schemaName(String endpointTemplate) {
+        String path = endpointTemplate == null ? "" : endpointTemplate;
+        int schemeEnd = path.indexOf("://");
+        if (schemeEnd >= 0) {
+            int pathStart = path.indexOf('/', schemeEnd + 3);
+            path = pathStart >= 0 ? path.substring(pathStart) : "";
+        }
+        int queryStart = path.indexOf('?');
+        if (queryStart >= 0) {
+            path = path.substring(0, queryStart);
+        }
+        StringBuilder name = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || segment.startsWith("{")) {
+                continue;
+            }
+            if (name.length() > 0) {
+                name.append('_');
+            }
+            name.append(segment);
+        }
+        return name.toString();
+    }
+
+    public static boolean hasSchema(String endpointTemplate) {
+        return schemaFor(endpointTemplate).isPresent();
+    }
+
+    private static Optional<JsonSchema> schemaFor(String endpointTemplate) {
+        return compiled.computeIfAbsent(schemaName(endpointTemplate), SchemaRegistry::load);
+    }
+
+    private static Optional<JsonSchema> load(String name) {
+        String resource = SCHEMA_DIR + name + ".json";
+        try (InputStream in = SchemaRegistry.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                return Optional.empty();
+            }
+            return Optional.of(FACTORY.getJsonSchema(MAPPER.readTree(in)));
+        } catch (IOException | ProcessingException e) {
+            throw new IllegalStateException("Invalid JSON schema " + resource + ": " + e.getMessage(), e);
+        }
+    }
+
+    // ============================================================
+    // VALIDATE
+    // ============================================================
+    /**
+     * Schema violations of body (empty when valid or when the template has no schema).
+     */
+    public static List<String> validate(String endpointTemplate, byte[] body) {
+        Optional<JsonSchema> schema = schemaFor(endpointTemplate);
+        if (!schema.isPresent()) {
+            return Collections.emptyList();
+        }
+
+        long start = System.currentTimeMillis();
+        List<String> errors = new ArrayList<>();
+        try {
+            ProcessingReport report = schema.get().validate(MAPPER.readTree(body), true);
+            for (ProcessingMessage message : report) {
+                if (message.getLogLevel().compareTo(LogLevel.ERROR) < 0) {
+                    continue;
+                }
+                JsonNode json = message.asJson();
+                String pointer = json.path("instance").path("pointer").asText();
+                errors.add((pointer.isEmpty() ? "/" : pointer) + ": " + message.getMessage());
+            }
+        } catch (IOException e) {
+            errors.add("Response is not valid JSON: " + e.getMessage());
+        } catch (ProcessingException e) {
+            errors.add("Schema validation failed: " + e.getMessage());
+        }
+
+        String name = schemaName(endpointTemplate);
+        MetricsRegistry.histogram(VALIDATION_DURATION, "schema", name).record(System.currentTimeMillis() - start);
+        MetricsRegistry.counter(VALIDATIONS, "schema", name, "result", errors.isEmpty() ? "valid" : "invalid")
+                .increment();
+        return errors;
+    }
+
+    /**
+     * Fail with every violation listed when the response does not match its schema.
+     */
+    public static void assertValid(String endpointTemplate, Response response) {
+        List<String> errors = validate(endpointTemplate, response.getBody().asByteArray());
+        if (!errors.isEmpty()) {
+            StringBuilder message = new StringBuilder("❌ Response of " + endpointTemplate + " violates schema "
+                    + schemaName(endpointTemplate) + ".json (" + errors.size() + " error(s)):");
+            for (String error : errors) {
+                message.append("\n   - ").append(error);
+            }
+            throw new AssertionError(message.toString());
+        }
+        System.out.println("   ✅ Schema " + schemaName(endpointTemplate) + ".json validated");
+    }
+}
@@ -1,11 +1,24 @@
 package com.mryoda.diagnostics.api.base;
 
 import com.mryoda.diagnostics.api.utils.RequestContext;
+import org.testng.ITestContext;
 import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
 import io.restassured.RestAssured;
 import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.metrics.AllureReporter;
+import com.mryoda.diagnostics.api.metrics.PerformanceGate;
+import com.mryoda.diagnostics.api.metrics.PerformanceHistory;
+import com.mryoda.diagnostics.api.metrics.PrometheusExporter;
+import com.mryoda.diagnostics.api.metrics.RequestTimeline;
 import com.mryoda.diagnostics.api.utils.LoggerUtil;
+import com.mryoda.diagnostics.api.utils.NewUserPool;
+
+import java.lang.reflect.Method;
 
 /**
  * Base Test Class - Parent class for all test classes
@@ -27,6 +40,9 @@ public class BaseTest {
             RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
         }
 
+        // Expose live metrics for soak runs (no-op unless metrics.enabled=true)
+        PrometheusExporter.startIfEnabled();
+
         LoggerUtil.info("====== Test Setup Completed ======");
     }
 
@@ -34,4 +50,42 @@ public class BaseTest {
     public void tearDown() {
         LoggerUtil.info("Environment teardown completed");
     }
+
+    /**
+     * A flow is one &lt;test&gt;: hand the user this instance leased back to the pool.
+     */
+    @AfterTest(alwaysRun = true)
+    public void releaseLeasedUsers() {
+        NewUserPool.releaseFlowLease(this);
+    }
+
+    // -----------------------------
+    // ALLURE PERFORMANCE ATTACHMENTS
+    // -----------------------------
+    @BeforeMethod(alwaysRun = true)
+    public void beginRequestTimeline(Method method) {
+        RequestTimeline.beginStep(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void attachRequestWaterfall() {
+        String step = RequestTimeline.endStep();
+        AllureReporter.attachStepWaterfall(step);
+        RequestTimeline.clearStep(step);
+    }
+
+    /**
+     * Check the run's latency histograms against per-endpoint budgets and the
+     * stored baseline; fails the build when the gate is enabled
+     * (-Dperf.gate.enabled=true in CI).
+     * Charts, Allure environment and the performance history are written
+     * first, so failing runs still show up in the report and in trends.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void enforceLatencyBudgets(ITestContext context) {
+        AllureReporter.writeSuiteCharts(context.getSuite().getName());
+        AllureReporter.writeEnvironment(context.getSuite().getName());
+        PerformanceHistory.record(context.getSuite().getName());
+        PerformanceGate.enforce(context.getSuite().getName());
+    }
 }
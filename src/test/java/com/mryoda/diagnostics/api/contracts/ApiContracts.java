@@ -0,0 +1,44 @@
+package com.mryoda.diagnostics.api.contracts;
+
+import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
+import com.mryoda.diagnostics.api.validation.ResponseContract;
+import com.mryoda.diagnostics.api.validation.ResponseContract.Rules;
+
+/**
+ * Response contracts per endpoint. Built once; per-call expectations are
+ * passed as params (userId, mobile).
+ */
+public class ApiContracts {
+
+    private ApiContracts() {
+        // Private constructor
+    }
+
+    // ========== CART ==========
+    // Simple GET returns data as an array, v2 as an object - paths try both
+    public static final ResponseContract GET_CART_BY_ID = ResponseContract.forEndpoint(APIEndpoints.GET_CART_BY_ID)
+            .field("success", Rules.equalTo(true))
+            .field("data[0].guid|data.guid", Rules.notBlank())
+            .field("data[0].user_id|data.user_id", Rules.equalToParam("userId"))
+            .field("data[0].totalPrice|data.totalPrice|totalPrice|total_amount", Rules.atLeast(0))
+            .each("data[0].cart_items|data.cart_items|data[0].product_details|data.product_details", item -> item
+                    .field("product_id", Rules.notBlank())
+                    .optionalField("price", Rules.atLeast(0))
+                    .optionalField("quantity", Rules.atLeast(0))) // 0 = item removed, still a valid cart
+            .build();
+
+    // ========== ORDER ==========
+    public static final ResponseContract CREATE_ORDER = ResponseContract.forEndpoint(APIEndpoints.CREATE_ORDER)
+            .field("success", Rules.equalTo(true))
+            .field("msg", Rules.equalTo("Order Created Successfully"))
+            .field("data.id", Rules.startsWith("order_"))
+            .field("data.amount", Rules.greaterThan(0))
+            .field("data.amount_due", Rules.sameAs("data.amount"))
+            .field("data.status", Rules.equalTo("created"))
+            .field("data.key_id", Rules.startsWith("rzp_"))
+            .field("data.mobile", Rules.length(10), Rules.equalToParam("mobile"))
+            .field("data.notes.user_id", Rules.notBlank(), Rules.equalToParam("userId"))
+            .field("data.notes.mobile", Rules.sameAs("data.mobile"))
+            .field("data.notes.slot_guid", Rules.notBlank())
+            .build();
+}
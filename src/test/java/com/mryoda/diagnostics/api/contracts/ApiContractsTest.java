@@ -0,0 +1,47 @@
+package com.mryoda.diagnostics.api.contracts;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline checks of the contracts against canned responses (no API calls).
+ *
+ * mvn test -DsuiteXmlFile=testng_contracts.xml
+ */
+public class ApiContractsTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, Object> USER = Collections.singletonMap("userId", "user-1");
+
+    // -----------------------------
+    // GET CART BY ID
+    // -----------------------------
+    @Test
+    public void getCartById_acceptsRemovedItemWithQuantityZero() throws Exception {
+        JsonNode cart = MAPPER.readTree("{\"success\":true,\"data\":[{\"guid\":\"cart-1\",\"user_id\":\"user-1\","
+                + "\"totalPrice\":499,\"cart_items\":["
+                + "{\"product_id\":\"p-1\",\"price\":499,\"quantity\":1},"
+                + "{\"product_id\":\"p-2\",\"price\":299,\"quantity\":0}]}]}");
+
+        List<String> violations = ApiContracts.GET_CART_BY_ID.evaluate(cart, USER);
+
+        Assert.assertTrue(violations.isEmpty(), "Quantity 0 (item removed) should pass: " + violations);
+    }
+
+    @Test
+    public void getCartById_rejectsNegativeQuantity() throws Exception {
+        JsonNode cart = MAPPER.readTree("{\"success\":true,\"data\":[{\"guid\":\"cart-1\",\"user_id\":\"user-1\","
+                + "\"totalPrice\":499,\"cart_items\":[{\"product_id\":\"p-1\",\"price\":499,\"quantity\":-1}]}]}");
+
+        List<String> violations = ApiContracts.GET_CART_BY_ID.evaluate(cart, USER);
+
+        Assert.assertEquals(violations.size(), 1, "Expected one quantity violation: " + violations);
+        Assert.assertTrue(violations.get(0).contains("quantity"), violations.get(0));
+    }
+}
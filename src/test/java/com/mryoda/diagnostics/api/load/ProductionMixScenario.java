@@ -0,0 +1,362 @@
+package com.mryoda.diagnostics.api.load;
+
+import com.mryoda.diagnostics.api.builders.RequestBuilder;
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
+import com.mryoda.diagnostics.api.payloads.OrderPayloadBuilder;
+import com.mryoda.diagnostics.api.payloads.SyntheticDataGenerator;
+import com.mryoda.diagnostics.api.utils.GlobalSearchHelper;
+import com.mryoda.diagnostics.api.utils.NewUserPool;
+import com.mryoda.diagnostics.api.utils.PaymentSignatureUtil;
+import com.mryoda.diagnostics.api.utils.RequestContext;
+import com.mryoda.diagnostics.api.utils.TokenManager;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Production-shaped traffic: mostly search and cart reads, some cart writes,
+ * occasional orders.
+ *
+ * Every session is one shopper with its own state (CheckoutSession): a user
+ * leased from NewUserPool (token, user id, address) and that user's search
+ * results, cart and slot. Steps call the API through RequestBuilder and
+ * OrderPayloadBuilder directly - no TestNG test methods and no RequestContext
+ * statics - so concurrent sessions never share a cart. The member and
+ * non-member accounts from config are single logins and cannot give each
+ * session its own cart, so all sessions are NEW_USER shoppers.
+ *
+ * createOrder hands the Razorpay order to the shared PaymentVerificationPipeline
+ * (VerifyPayment, getPaymentById); the step fails unless the backend verifies
+ * it. No real payment happens in a load run, so the pay_ id and its signature
+ * are a load-only stub: the scenario signs them itself, which keeps the
+ * pipeline's HMAC stage busy but can never fail it.
+ *
+ * Setup (once) resolves the lab location and the Diagnostics brand. Sessions
+ * release their user when they end; set new.user.pool.recycle=true for long
+ * runs so users go back to the pool instead of being registered per session.
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mryoda.diagnostics.api.load.ProductionMixScenario \
+ *     -Dexec.args="[peakSessionsPerSecond] [steadySeconds]"
+ * </pre>
+ */
+public class ProductionMixScenario {
+
+    private static final String[] SEARCH_TERMS = { "Glucose (Urine)", "Diabetes Monitor", "Glucose" };
+    private static final int PRODUCTS_PER_CART = 2;
+    private static final int SLOT_DAYS_TO_CHECK = 7;
+
+    private final PaymentVerificationPipeline payments;
+
+    // Resolved once by setUp, read-only while sessions run
+    private volatile String locationId;
+    private volatile String brandId;
+
+    public ProductionMixScenario(PaymentVerificationPipeline payments) {
+        this.payments = payments;
+    }
+
+    public Scenario<CheckoutSession> build(double peakSessionsPerSecond, int steadySeconds) {
+        int rampSeconds = Math.max(10, steadySeconds / 5);
+        return Scenario.<CheckoutSession>named("production-mix")
+                .userType(TokenManager.NEW_USER, 1)
+                .setup(userType -> setUp())
+                .session(userType -> CheckoutSession.open(payments, locationId, brandId))
+                .step("search", 45, CheckoutSession::search)
+                .step("getCart", 35, CheckoutSession::getCart)
+                .step("addToCart", 15, CheckoutSession::addToCart)
+                .step("createOrder", 5, CheckoutSession::createOrder)
+                .stepsPerSession(2, 6)
+                .thinkTime(500, 3000)
+                .rampUp(rampSeconds, peakSessionsPerSecond)
+                .steady(steadySeconds, peakSessionsPerSecond)
+                .rampDown(rampSeconds)
+                .build();
+    }
+
+    // -----------------------------
+    // SETUP (once, before load)
+    // -----------------------------
+    private void setUp() {
+        String locationName = ConfigLoader.getConfig().defaultLocationName();
+        NewUserPool.PooledUser user = NewUserPool.lease();
+        try {
+            List<Map<String, Object>> locations = new RequestBuilder()
+                    .setEndpoint(APIEndpoints.GET_LOCATION)
+                    .addHeader("Authorization", user.getToken())
+                    .expectStatus(200)
+                    .quiet()
+                    .post() // yes, endpoint is POST
+                    .jsonPath().getList("data");
+            for (Map<String, Object> location : locations) {
+                if (locationName.equalsIgnoreCase(String.valueOf(location.get("title")))) {
+                    locationId = (String) location.get("_id");
+                }
+            }
+            if (locationId == null) {
+                throw new IllegalStateException("Location '" + locationName + "' not found in getlocations");
+            }
+
+            Response brands = new RequestBuilder()
+                    .setEndpoint(APIEndpoints.GET_ALL_BRANDS)
+                    .quiet()
+                    .get();
+            if (brands.getStatusCode() == 200) {
+                for (Map<String, Object> brand : brands.jsonPath().<Map<String, Object>>getList("data")) {
+                    if ("Diagnostics".equalsIgnoreCase(String.valueOf(brand.get("name")))) {
+                        brandId = (String) brand.get("_id");
+                    }
+                }
+            }
+            if (brandId == null) {
+                System.out.println("⚠️ Diagnostics brand not found (HTTP " + brands.getStatusCode()
+                        + ") - using the known brand ID");
+                brandId = RequestContext.DIAGNOSTICS_BRAND_FALLBACK_ID;
+            }
+            System.out.println("   📍 " + locationName + " = " + locationId + ", 🏷️ Diagnostics = " + brandId);
+        } finally {
+            NewUserPool.release(user);
+        }
+    }
+
+    // ============================================================
+    // SESSION STATE (one shopper, never shared between sessions)
+    // ============================================================
+    static final class CheckoutSession implements AutoCloseable {
+        private final PaymentVerificationPipeline payments;
+        private final NewUserPool.PooledUser user;
+        private final String locationId;
+        private final String brandId;
+        private final String addressId;
+
+        private List<String> productIds = Collections.emptyList();
+        private boolean cartFilled;
+
+        private CheckoutSession(PaymentVerificationPipeline payments, NewUserPool.PooledUser user, String addressId,
+                String locationId, String brandId) {
+            this.payments = payments;
+            this.user = user;
+            this.addressId = addressId;
+            this.locationId = locationId;
+            this.brandId = brandId;
+        }
+
+        /**
+         * Lease a user for one session; the user is released again if opening fails.
+         */
+        static CheckoutSession open(PaymentVerificationPipeline payments, String locationId, String brandId) {
+            NewUserPool.PooledUser user = NewUserPool.lease();
+            try {
+                String addressId = user.getAddressId() != null ? user.getAddressId() : addAddress(user);
+                return new CheckoutSession(payments, user, addressId, locationId, brandId);
+            } catch (RuntimeException | AssertionError e) {
+                NewUserPool.release(user);
+                throw e;
+            }
+        }
+
+        // -----------------------------
+        // STEPS
+        // -----------------------------
+        void search() {
+            String term = SEARCH_TERMS[ThreadLocalRandom.current().nextInt(SEARCH_TERMS.length)];
+            List<Map<String, Object>> results = new RequestBuilder()
+                    .setEndpoint(APIEndpoints.GLOBAL_SEARCH)
+                    .addHeader("Authorization", "Bearer " + user.getToken())
+                    .setRequestBody(GlobalSearchHelper.searchBody(term, locationId))
+                    .expectStatus(200)
+                    .quiet()
+                    .post()
+                    .jsonPath().getList("data");
+
+            List<String> found = new ArrayList<>();
+            if (results != null) {
+                for (Map<String, Object> test : results) {
+                    if (found.size() < PRODUCTS_PER_CART && isHomeCollection(test.get("home_collection"))) {
+                        found.add((String) test.get("_id"));
+                    }
+                }
+            }
+            if (!found.isEmpty()) {
+                productIds = found;
+            }
+        }
+
+        Response getCart() {
+            return new RequestBuilder()
+                    .setEndpoint(APIEndpoints.GET_CART_BY_ID)
+                    .addPathParam("user_id", user.getUserId())
+                    .addHeader("Authorization", user.getToken())
+                    .addQueryParam("order_type", "home")
+                    .addQueryParam("location", locationId)
+                    .expectStatus(200)
+                    .quiet()
+                    .get();
+        }
+
+        void addToCart() {
+            if (productIds.isEmpty()) {
+                search();
+            }
+            if (productIds.isEmpty()) {
+                throw new IllegalStateException("No home-collection tests found to add to the cart");
+            }
+            new RequestBuilder()
+                    .setEndpoint(APIEndpoints.ADD_TO_CART)
+                    .addHeader("Authorization", user.getToken())
+                    .setRequestBody(OrderPayloadBuilder.buildAddToCartBody(user.getUserId(), productIds, brandId,
+                            locationId))
+                    .expectStatus(200)
+                    .quiet()
+                    .post();
+            cartFilled = true;
+        }
+
+        /**
+         * Slot + cart update + GetCartById total + CreateOrder (online) + payment
+         * verification; the cart is checked out, so a later order in this
+         * session fills a new one.
+         */
+        void createOrder() {
+            if (!cartFilled) {
+                addToCart();
+            }
+            String[] slot = findSlot(); // { date, guid, time }
+
+            String cartGuid = new RequestBuilder()
+                    .setEndpoint(APIEndpoints.ADD_TO_CART)
+                    .addHeader("Authorization", user.getToken())
+                    .setRequestBody(OrderPayloadBuilder.buildAddToCartBody(user.getUserId(), productIds, brandId,
+                            locationId, slot[1]))
+                    .expectStatus(200)
+                    .quiet()
+                    .post()
+                    .jsonPath().getString("data.guid");
+
+            Response cart = getCart();
+            Object total = cart.jsonPath().get(cart.jsonPath().get("data") instanceof List
+                    ? "data[0].totalPrice" : "data.totalPrice");
+            int totalAmount = total instanceof Number ? ((Number) total).intValue() : 0;
+
+            String razorpayOrderId = new RequestBuilder()
+                    .setEndpoint(APIEndpoints.CREATE_ORDER)
+                    .addHeader("Authorization", user.getToken())
+                    .setRequestBody(OrderPayloadBuilder.buildOnlineOrderBody(cartGuid, user.getUserId(), addressId,
+                            slot[1], slot[0], slot[2], locationId, totalAmount))
+                    .expectStatus(200)
+                    .quiet()
+                    .post()
+                    .jsonPath().getString("data.id");
+            cartFilled = false;
+
+            verifyPayment(razorpayOrderId);
+        }
+
+        // -----------------------------
+        // HELPERS
+        // -----------------------------
+        private void verifyPayment(String razorpayOrderId) {
+            // Load-only stub: self-signed, so the signature stage always passes; only the backend calls can fail
+            String paymentId = "pay_" + UUID.randomUUID().toString().replace("-", "").substring(0, 14);
+            String signature = PaymentSignatureUtil.signOrderPayment(ConfigLoader.getConfig().razorpaySecret(),
+                    razorpayOrderId, paymentId);
+            PaymentVerificationPipeline.VerificationResult result = payments.submit(
+                    new PaymentVerificationPipeline.PaymentJob(user.getToken(), user.getUserId(), razorpayOrderId,
+                            paymentId, signature))
+                    .join();
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("Payment verification failed for " + razorpayOrderId + ": "
+                        + (result.getError() != null ? result.getError()
+                                : "VerifyPayment HTTP " + result.getVerifyPaymentStatus() + ", getPaymentById HTTP "
+                                        + result.getGetPaymentStatus()));
+            }
+        }
+
+        private String[] findSlot() {
+            LocalDate today = LocalDate.now();
+            for (int i = 0; i < SLOT_DAYS_TO_CHECK; i++) {
+                String date = today.plusDays(i).toString();
+                List<Map<String, Object>> slots = new RequestBuilder()
+                        .setEndpoint(APIEndpoints.GET_SLOT_COUNT_BY_TIME)
+                        .addHeader("Authorization", user.getToken())
+                        .setRequestBody(OrderPayloadBuilder.buildSlotCountByTimeBody(date, addressId))
+                        .expectStatus(200)
+                        .quiet()
+                        .post()
+                        .jsonPath().getList("data");
+                if (slots == null) {
+                    continue;
+                }
+                for (Map<String, Object> slot : slots) {
+                    Object count = slot.get("count");
+                    int available = count instanceof Number ? ((Number) count).intValue()
+                            : count != null ? Integer.parseInt(count.toString()) : 0;
+                    if (available > 0) {
+                        return new String[] { date, (String) slot.get("guid"),
+                                slot.get("starttime") + " - " + slot.get("endtime") };
+                    }
+                }
+            }
+            throw new IllegalStateException("No available slots in the next " + SLOT_DAYS_TO_CHECK + " days");
+        }
+
+        private static boolean isHomeCollection(Object value) {
+            if (value == null) {
+                return false;
+            }
+            String s = value.toString().trim();
+            return "true".equalsIgnoreCase(s) || "AVAILABLE".equalsIgnoreCase(s) || "yes".equalsIgnoreCase(s)
+                    || "1".equals(s);
+        }
+
+        /**
+         * Users persisted before the pool added addresses get one on first use.
+         */
+        private static String addAddress(NewUserPool.PooledUser user) {
+            TokenManager.AuthSession session = user.getSession();
+            SyntheticDataGenerator.SyntheticAddress address = SyntheticDataGenerator.shared()
+                    .nextAddress(ConfigLoader.getConfig().defaultLocationName());
+            return new RequestBuilder()
+                    .setEndpoint(APIEndpoints.ADD_ADDRESS)
+                    .addHeader("Authorization", session.getToken())
+                    .setRequestBody(address.toPayload(session.getUserId(),
+                            session.getFirstName() + " " + session.getLastName(), session.getMobile()))
+                    .expectStatus(201)
+                    .quiet()
+                    .post()
+                    .jsonPath().getString("data._id");
+        }
+
+        @Override
+        public void close() {
+            NewUserPool.release(user);
+        }
+    }
+
+    // ============================================================
+    // CLI
+    // ============================================================
+    public static void main(String[] args) throws Exception {
+        RestAssured.baseURI = ConfigLoader.getConfig().baseUrl();
+        double peak = args.length > 0 ? Double.parseDouble(args[0]) : ConfigLoader.getConfig().loadRatePerSecond();
+        int steady = args.length > 1 ? Integer.parseInt(args[1]) : ConfigLoader.getConfig().loadDurationSeconds();
+
+        OpenLoopScheduler scheduler = OpenLoopScheduler.fromConfig();
+        try (PaymentVerificationPipeline payments = PaymentVerificationPipeline.fromConfig()) {
+            new ScenarioDriver(scheduler).run(new ProductionMixScenario(payments).build(peak, steady));
+            payments.printSummary();
+        } finally {
+            scheduler.shutdown();
+        }
+        System.exit(scheduler.getFailed() == 0 ? 0 : 1);
+    }
+}
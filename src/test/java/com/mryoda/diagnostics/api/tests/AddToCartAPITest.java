@@ -2,6 +2,7 @@ package com.mryoda.diagnostics.api.tests;
 
 import com.mryoda.diagnostics.api.base.BaseTest;
 import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
+import com.mryoda.diagnostics.api.payloads.OrderPayloadBuilder;
 import com.mryoda.diagnostics.api.utils.AssertionUtil;
 import com.mryoda.diagnostics.api.utils.RequestContext;
 import com.mryoda.diagnostics.api.builders.RequestBuilder;
@@ -10,7 +11,6 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,7 +22,7 @@ import java.util.Map;
  */
 public class AddToCartAPITest extends BaseTest {
 
-    private Map<String, Object> buildCartPayloadWithAllTests(String userId, String brandName, String locationName) {
+    private byte[] buildCartPayloadWithAllTests(String userId, String brandName, String locationName) {
 
         System.out.println("\n🔍 CUSTOM PAYLOAD BUILDER for " + userId);
 
@@ -47,7 +47,7 @@ public class AddToCartAPITest extends BaseTest {
         }
 
         final int MAX_TESTS_TO_CHECK = 2; // Restore limit
-        List<Map<String, Object>> productDetailsList = new ArrayList<>();
+        List<String> productIds = new ArrayList<>();
         int testsChecked = 0;
 
         for (Map.Entry<String, Map<String, Object>> entry : allTests.entrySet()) {
@@ -74,19 +74,7 @@ public class AddToCartAPITest extends BaseTest {
             String testType = isHome ? "home" : "lab";
 
             if (isHome) {
-                Map<String, Object> productDetail = new HashMap<>();
-                productDetail.put("product_id", testId);
-                productDetail.put("quantity", 1);
-                productDetail.put("type", testType);
-                productDetail.put("brand_id", brandId);
-                productDetail.put("location_id", locationId);
-
-                // Reverting to List<String> as it was working (partially) and allows debugging
-                List<String> familyMemberIds = new ArrayList<>();
-                familyMemberIds.add(userId);
-                productDetail.put("family_member_id", familyMemberIds);
-
-                productDetailsList.add(productDetail);
+                productIds.add(testId);
                 System.out.println("      ✅ Added test to payload: " + entry.getKey() + " (Type: " + testType + ")");
             } else {
                 System.out.println("      ⏭️  Skipped test (No Home Collection): " + entry.getKey());
@@ -94,38 +82,16 @@ public class AddToCartAPITest extends BaseTest {
             testsChecked++;
         }
 
-        if (productDetailsList.isEmpty()) {
+        if (productIds.isEmpty()) {
             System.out.println("   ⚠️  No home collection tests were added to payload.");
             return null;
         }
 
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("user_id", userId);
-        payload.put("product_details", productDetailsList);
-        // Explicitly adding order_type as requested for home sample collection flow
-        payload.put("order_type", "home");
-
-        return payload;
+        // Home sample collection: order_type=home, lab_location_id = the products' location
+        return OrderPayloadBuilder.buildAddToCartBody(userId, productIds, brandId, locationId);
     }
 
-    private Response callAddToCartAPI(String token, Map<String, Object> payload) {
-
-        // Add order_type='home' if home collection tests are present
-        List<Map<String, Object>> products = (List<Map<String, Object>>) payload.get("product_details");
-        boolean hasHome = false;
-        String labLoc = null;
-
-        for (Map<String, Object> p : products) {
-            if ("home".equals(p.get("type")))
-                hasHome = true;
-            if (labLoc == null && p.get("location_id") != null)
-                labLoc = p.get("location_id").toString();
-        }
-
-        if (hasHome && labLoc != null) {
-            payload.put("order_type", "home");
-            payload.put("lab_location_id", labLoc);
-        }
+    private Response callAddToCartAPI(String token, byte[] payload) {
 
         Response response = new RequestBuilder()
                 .setEndpoint(APIEndpoints.ADD_TO_CART)
@@ -145,14 +111,7 @@ public class AddToCartAPITest extends BaseTest {
         System.out.println("\n🧹 CLEARING PREVIOUS CART for User ID: " + userId);
         String locationId = RequestContext.getLocationId(DEFAULT_LOCATION);
 
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("user_id", userId);
-        payload.put("product_details", new ArrayList<>()); // Empty list
-
-        if (locationId != null) {
-            payload.put("lab_location_id", locationId);
-            payload.put("order_type", "home");
-        }
+        byte[] payload = OrderPayloadBuilder.buildClearCartBody(userId, locationId); // Empty product list
 
         Response response = new RequestBuilder()
                 .setEndpoint(APIEndpoints.ADD_TO_CART)
@@ -213,7 +172,7 @@ public class AddToCartAPITest extends BaseTest {
         // 1. Clear existing items first
         clearCart(token, userId);
 
-        Map<String, Object> payload = buildCartPayloadWithAllTests(userId, "Diagnostics", DEFAULT_LOCATION);
+        byte[] payload = buildCartPayloadWithAllTests(userId, "Diagnostics", DEFAULT_LOCATION);
         if (payload != null) {
             Response response = callAddToCartAPI(token, payload);
             validateAddToCartResponse(response, "MEMBER");
@@ -229,7 +188,7 @@ public class AddToCartAPITest extends BaseTest {
         // 1. Clear existing items first
         clearCart(token, userId);
 
-        Map<String, Object> payload = buildCartPayloadWithAllTests(userId, "Diagnostics", DEFAULT_LOCATION);
+        byte[] payload = buildCartPayloadWithAllTests(userId, "Diagnostics", DEFAULT_LOCATION);
         if (payload != null) {
             Response response = callAddToCartAPI(token, payload);
             validateAddToCartResponse(response, "NON_MEMBER");
@@ -245,7 +204,7 @@ public class AddToCartAPITest extends BaseTest {
         // 1. Clear existing items first
         clearCart(token, userId);
 
-        Map<String, Object> payload = buildCartPayloadWithAllTests(userId, "Diagnostics", DEFAULT_LOCATION);
+        byte[] payload = buildCartPayloadWithAllTests(userId, "Diagnostics", DEFAULT_LOCATION);
         if (payload != null) {
             Response response = callAddToCartAPI(token, payload);
             validateAddToCartResponse(response, "NEW_USER");
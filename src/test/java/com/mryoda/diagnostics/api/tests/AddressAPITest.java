@@ -13,17 +13,6 @@ import java.util.Map;
 
 public class AddressAPITest extends BaseTest {
 
-    // Valid postal codes for service centers only
-    private static final Map<String, String> LOCATION_POSTAL_CODES = new HashMap<>();
-    static {
-        LOCATION_POSTAL_CODES.put("Madhapur", "500033"); // Hyderabad - Madhapur
-        LOCATION_POSTAL_CODES.put("Ameerpet (HQ)", "500016"); // Hyderabad - Ameerpet
-        LOCATION_POSTAL_CODES.put("Guntur", "522001"); // Guntur
-        LOCATION_POSTAL_CODES.put("Khammam", "507001"); // Khammam
-        LOCATION_POSTAL_CODES.put("Visakhapatnam", "530002"); // Visakhapatnam
-        LOCATION_POSTAL_CODES.put("Tirupati", "517501"); // Tirupati
-    }
-
     // -------------------------------
     // HELPER: Build Address Payload
     // -------------------------------
@@ -47,7 +36,7 @@ public class AddressAPITest extends BaseTest {
             longitude = "78.4071173";
 
         // Get correct postal code for the location (must match service centers)
-        String postalCode = LOCATION_POSTAL_CODES.getOrDefault(locationName, "500033"); // Default to Madhapur
+        String postalCode = RequestContext.getLocationPostalCode(locationName); // Defaults to Madhapur
 
         // Build payload matching exact backend API structure from sample
         Map<String, Object> payload = new HashMap<>();
@@ -17,7 +17,7 @@ public class BrandAPITest extends BaseTest {
         if (response.getStatusCode() != 200) {
             System.out.println("⚠️ API Failed with status: " + response.getStatusCode());
             System.out.println("⚠️ Using HARDCODED Brand ID for 'Diagnostics'");
-            RequestContext.storeBrand("Diagnostics", "efb159ac-db7c-4b06-a79b-021a8b6d67e8");
+            RequestContext.storeBrand("Diagnostics", RequestContext.DIAGNOSTICS_BRAND_FALLBACK_ID);
             return;
         }
 
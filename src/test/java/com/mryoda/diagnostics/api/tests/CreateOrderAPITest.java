@@ -1,6 +1,7 @@
 package com.mryoda.diagnostics.api.tests;
 
 import com.mryoda.diagnostics.api.base.BaseTest;
+import com.mryoda.diagnostics.api.contracts.ApiContracts;
 import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
 import com.mryoda.diagnostics.api.utils.AssertionUtil;
 import com.mryoda.diagnostics.api.utils.RequestContext;
@@ -76,90 +77,8 @@ public class CreateOrderAPITest extends BaseTest {
         System.out.println("      COMPREHENSIVE CREATE ORDER VALIDATION - " + userType);
         System.out.println("============================================================\n");
 
-        // STEP 1: Basic Response Validation
-        System.out.println("🔹 STEP 1: Validating API Response");
-        int statusCode = response.getStatusCode();
-        AssertionUtil.verifyEquals(statusCode, 200, "HTTP Status Code should be 200");
-        System.out.println("   ✅ HTTP Status: " + statusCode);
-
-        // Extract response data
-        Boolean success = response.jsonPath().getBoolean("success");
-        AssertionUtil.verifyTrue(success, "API success flag should be true");
-        System.out.println("   ✅ Success flag: " + success);
-
-        String message = response.jsonPath().getString("msg");
-        AssertionUtil.verifyEquals(message, "Order Created Successfully",
-                "Message should be 'Order Created Successfully'");
-        System.out.println("   ✅ Response message: " + message);
-
-        // STEP 2: Validate ALL Order Fields
-        System.out.println("\n🔹 STEP 2: Validating ALL Order Fields");
-
-        Map<String, Object> data = response.jsonPath().getMap("data");
-        AssertionUtil.verifyNotNull(data, "Response data should not be null");
-
-        // ===== RAZORPAY ORDER ID VALIDATION =====
-        String orderId = (String) data.get("id");
-        AssertionUtil.verifyNotNull(orderId, "Razorpay order ID should not be null");
-        AssertionUtil.verifyTrue(orderId.startsWith("order_"), "Razorpay order ID should start with 'order_'");
-        System.out.println("   ✅ Razorpay Order ID: " + orderId);
-
-        // ===== AMOUNT VALIDATION =====
-        String amount = String.valueOf(data.get("amount"));
-        AssertionUtil.verifyNotNull(amount, "Amount should not be null");
-        int amountInt = Integer.parseInt(amount);
-        AssertionUtil.verifyTrue(amountInt > 0, "Amount should be greater than 0");
-        System.out.println("   ✅ Amount: ₹" + (amountInt / 100.0) + " (paise: " + amount + ")");
-
-        // ===== AMOUNT_DUE VALIDATION =====
-        String amountDue = String.valueOf(data.get("amount_due"));
-        AssertionUtil.verifyNotNull(amountDue, "Amount due should not be null");
-        AssertionUtil.verifyEquals(amountDue, amount, "Amount due should equal amount");
-        System.out
-                .println("   ✅ Amount Due: ₹" + (Integer.parseInt(amountDue) / 100.0) + " (paise: " + amountDue + ")");
-
-        // ===== STATUS VALIDATION =====
-        String status = (String) data.get("status");
-        AssertionUtil.verifyNotNull(status, "Status should not be null");
-        AssertionUtil.verifyEquals(status, "created", "Status should be 'created'");
-        System.out.println("   ✅ Order Status: " + status);
-
-        // ===== KEY_ID VALIDATION =====
-        String keyId = (String) data.get("key_id");
-        AssertionUtil.verifyNotNull(keyId, "Razorpay key_id should not be null");
-        AssertionUtil.verifyTrue(keyId.startsWith("rzp_"), "Razorpay key_id should start with 'rzp_'");
-        System.out.println("   ✅ Razorpay Key ID: " + keyId);
-
-        // ===== MOBILE VALIDATION =====
-        String mobile = (String) data.get("mobile");
-        AssertionUtil.verifyNotNull(mobile, "Mobile should not be null");
-        AssertionUtil.verifyEquals(mobile.length(), 10, "Mobile should be 10 digits");
-        System.out.println("   ✅ Mobile: " + mobile);
-
-        // STEP 3: Validate NOTES Object
-        System.out.println("\n🔹 STEP 3: Validating Notes Object");
-        @SuppressWarnings("unchecked")
-        Map<String, Object> notes = (Map<String, Object>) data.get("notes");
-        AssertionUtil.verifyNotNull(notes, "Notes object should not be null");
-
-        // ===== NOTES.USER_ID VALIDATION =====
-        String notesUserId = (String) notes.get("user_id");
-        AssertionUtil.verifyNotNull(notesUserId, "Notes user_id should not be null");
-        System.out.println("   ✅ Notes User ID: " + notesUserId);
-
-        // ===== NOTES.MOBILE VALIDATION =====
-        String notesMobile = (String) notes.get("mobile");
-        AssertionUtil.verifyNotNull(notesMobile, "Notes mobile should not be null");
-        AssertionUtil.verifyEquals(notesMobile, mobile, "Notes mobile should match data.mobile");
-        System.out.println("   ✅ Notes Mobile: " + notesMobile);
-
-        // ===== NOTES.SLOT_GUID VALIDATION =====
-        String notesSlotGuid = (String) notes.get("slot_guid");
-        AssertionUtil.verifyNotNull(notesSlotGuid, "Notes slot_guid should not be null");
-        System.out.println("   ✅ Notes Slot GUID: " + notesSlotGuid);
-
-        // STEP 4: Cross-validate with LoginAPI
-        System.out.println("\n🔹 STEP 4: Cross-validating with LoginAPI");
+        // STEPS 1-4: Response fields, notes and LoginAPI cross-check (ApiContracts.CREATE_ORDER)
+        System.out.println("🔹 STEPS 1-4: Validating response against contract");
         String expectedUserId = null;
         String expectedMobile = null;
 
@@ -178,13 +97,15 @@ public class CreateOrderAPITest extends BaseTest {
                 break;
         }
 
-        AssertionUtil.verifyEquals(notesUserId, expectedUserId, "User ID should match LoginAPI");
-        System.out.println("   ✅ User ID matches LoginAPI: " + notesUserId);
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("userId", expectedUserId);
+        expected.put("mobile", expectedMobile);
+        ApiContracts.CREATE_ORDER.assertSatisfied("testCreateOrder_" + userType, response, expected);
 
-        if (expectedMobile != null) {
-            AssertionUtil.verifyEquals(mobile, expectedMobile, "Mobile should match LoginAPI");
-            System.out.println("   ✅ Mobile matches LoginAPI: " + mobile);
-        }
+        String orderId = response.jsonPath().getString("data.id");
+        String notesSlotGuid = response.jsonPath().getString("data.notes.slot_guid");
+        System.out.println("   ✅ Razorpay Order ID: " + orderId);
+        System.out.println("   ✅ Amount (paise): " + response.jsonPath().getString("data.amount"));
 
         // STEP 5: Cross-validate with SlotAPI
         System.out.println("\n🔹 STEP 5: Cross-validating with SlotAPI");
@@ -1,8 +1,11 @@
 package com.mryoda.diagnostics.api.tests;
 
 import com.mryoda.diagnostics.api.base.BaseTest;
+import com.mryoda.diagnostics.api.config.ConfigLoader;
 import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
+import com.mryoda.diagnostics.api.services.OrderTrackingService;
 import com.mryoda.diagnostics.api.utils.AssertionUtil;
+import com.mryoda.diagnostics.api.utils.OrderStatusAwaiter;
 import com.mryoda.diagnostics.api.utils.RequestContext;
 import com.mryoda.diagnostics.api.builders.RequestBuilder;
 import com.mryoda.diagnostics.api.payloads.OrderPayloadBuilder;
@@ -12,6 +15,7 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
@@ -20,17 +24,6 @@ import java.time.format.DateTimeFormatter;
 
 public class CreateOrderCODAPITest extends BaseTest {
 
-    // Valid postal codes for service centers only
-    private static final Map<String, String> LOCATION_POSTAL_CODES = new HashMap<>();
-    static {
-        LOCATION_POSTAL_CODES.put("Madhapur", "500033"); // Hyderabad - Madhapur
-        LOCATION_POSTAL_CODES.put("Ameerpet (HQ)", "500016"); // Hyderabad - Ameerpet
-        LOCATION_POSTAL_CODES.put("Guntur", "522001"); // Guntur
-        LOCATION_POSTAL_CODES.put("Khammam", "507001"); // Khammam
-        LOCATION_POSTAL_CODES.put("Visakhapatnam", "530002"); // Visakhapatnam
-        LOCATION_POSTAL_CODES.put("Tirupati", "517501"); // Tirupati
-    }
-
     // -------------------------------
     // HELPER: Log Failures to File
     // -------------------------------
@@ -61,12 +54,12 @@ public class CreateOrderCODAPITest extends BaseTest {
         System.out.println("      CHECK MEMBERSHIP STATUS (getUser API)");
         System.out.println("==========================================================");
 
-        String endpoint = APIEndpoints.GET_USER.replace("{user_id}", userId);
-        String url = APIEndpoints.DIAGNOSTICS_BASE_URL + endpoint;
-        System.out.println("Target URL: " + url);
+        String url = APIEndpoints.DIAGNOSTICS_BASE_URL + APIEndpoints.GET_USER;
+        System.out.println("Target URL: " + url.replace("{user_id}", userId));
 
         Response response = new RequestBuilder()
                 .setEndpoint(url)
+                .addPathParam("user_id", userId)
                 .addHeader("Authorization", token)
                 .get();
 
@@ -99,13 +92,13 @@ public class CreateOrderCODAPITest extends BaseTest {
         System.out.println("      GET CART API (Check Total for COD)");
         System.out.println("==========================================================");
 
-        String endpoint = APIEndpoints.GET_CART_BY_ID.replace("{user_id}", userId);
         // We need location ID, assuming default location or fetching from context if
         // available
         String locationId = RequestContext.getLocationId(DEFAULT_LOCATION);
 
         Response response = new RequestBuilder()
-                .setEndpoint(endpoint)
+                .setEndpoint(APIEndpoints.GET_CART_BY_ID)
+                .addPathParam("user_id", userId)
                 .addHeader("Authorization", token)
                 .addQueryParam("order_type", "home") // Assuming home order
                 .addQueryParam("location", locationId)
@@ -233,11 +226,12 @@ public class CreateOrderCODAPITest extends BaseTest {
             return null;
         }
 
-        String endpoint = APIEndpoints.GET_ORDER_BY_ID + orderId;
-        System.out.println("Target URL: " + RestAssured.baseURI + endpoint);
+        System.out.println("Target URL: " + RestAssured.baseURI
+                + APIEndpoints.GET_ORDER_BY_ID.replace("{order_id}", orderId));
 
         Response response = new RequestBuilder()
-                .setEndpoint(endpoint)
+                .setEndpoint(APIEndpoints.GET_ORDER_BY_ID)
+                .addPathParam("order_id", orderId)
                 .addHeader("Authorization", token)
                 .get();
 
@@ -702,36 +696,51 @@ public class CreateOrderCODAPITest extends BaseTest {
         System.out.println("      GET ORDER TRACKING STATUS API");
         System.out.println("==========================================================");
 
-        String endpoint = APIEndpoints.GET_ORDER_TRACKING_STATUS.replace("{guid}", orderTrackingId);
-        String url = APIEndpoints.DIAGNOSTICS_BASE_URL + endpoint;
+        String url = APIEndpoints.DIAGNOSTICS_BASE_URL + APIEndpoints.GET_ORDER_TRACKING_STATUS;
 
-        System.out.println("Target URL: " + url);
+        System.out.println("Target URL: " + url.replace("{guid}", orderTrackingId));
         System.out.println("Expected Status: " + expectedStatus);
 
         String phleboToken = System.getProperty("phlebo.token");
-        RequestBuilder builder = new RequestBuilder().setEndpoint(url);
-
-        if (phleboToken != null && !phleboToken.isEmpty()) {
-            builder.addHeader("Authorization", phleboToken);
-        }
-
-        Response response = builder.get();
-
-        System.out.println("Response Status: " + response.getStatusCode());
-        System.out.println("Response Body: " + response.getBody().asString());
-
-        if (response.getStatusCode() == 200) {
-            String status = response.jsonPath().getString("order_status");
-            System.out.println("   Current Status: " + status);
-
-            if (expectedStatus != null && expectedStatus.equalsIgnoreCase(status)) {
+        int[] lastHttpStatus = new int[1];
+
+        // Tracking status is eventually consistent - poll with backoff instead of assuming it is immediate.
+        // A mismatch only warns, so wait status.await.soft.timeout.ms rather than the full timeout
+        OrderStatusAwaiter.Result result = OrderStatusAwaiter.fromConfig()
+                .withTimeout(ConfigLoader.getConfig().statusAwaitSoftTimeoutMs())
+                .await("order_tracking_status",
+                () -> {
+                    RequestBuilder builder = new RequestBuilder()
+                            .setEndpoint(url)
+                            .addPathParam("guid", orderTrackingId);
+                    if (phleboToken != null && !phleboToken.isEmpty()) {
+                        builder.addHeader("Authorization", phleboToken);
+                    }
+                    Response response = builder.get();
+                    lastHttpStatus[0] = response.getStatusCode();
+                    System.out.println("Response Status: " + response.getStatusCode());
+                    System.out.println("Response Body: " + response.getBody().asString());
+                    // An HTTP error ends the wait (outcome error) - it is reported below, not retried
+                    return response.getStatusCode() == 200 ? response.jsonPath().getString("order_status")
+                            : OrderStatusAwaiter.PROBE_ERROR;
+                },
+                status -> expectedStatus == null ? status != null : expectedStatus.equalsIgnoreCase(status),
+                OrderTrackingService.TERMINAL_STATES);
+
+        if (lastHttpStatus[0] == 200) {
+            String status = result.getStatus();
+            System.out.println("   Current Status: " + status + " (" + result.getPolls() + " poll(s), "
+                    + result.getElapsedMs() + " ms)");
+
+            if (result.isReached() && expectedStatus != null && expectedStatus.equalsIgnoreCase(status)) {
                 System.out.println("   ✅ Order Status Verified: " + status);
             } else {
-                System.out.println("   ⚠️ Warning: Expected '" + expectedStatus + "' but got '" + status + "'");
+                System.out.println("   ⚠️ Warning: Expected '" + expectedStatus + "' but got '" + status + "' ("
+                        + result.getOutcome() + ")");
                 // Optional: Fail if strict
             }
         } else {
-            logFailure("❌ Get Order Tracking Status Failed: " + response.getStatusCode());
+            logFailure("❌ Get Order Tracking Status Failed: " + lastHttpStatus[0]);
         }
     }
 
@@ -743,39 +752,60 @@ public class CreateOrderCODAPITest extends BaseTest {
         System.out.println("      VERIFY PHLEBOTOMIST ASSIGNMENT (Get Order By ID)");
         System.out.println("==========================================================");
 
-        Response response = callGetOrderByIdAPI(token, orderId);
-
-        if (response != null && response.getStatusCode() == 200) {
-            String actualPhleboGuid = response.jsonPath().getString("data.phlebo_id");
-            if (actualPhleboGuid != null && actualPhleboGuid.startsWith("[") && actualPhleboGuid.endsWith("]")) {
-                actualPhleboGuid = actualPhleboGuid.substring(1, actualPhleboGuid.length() - 1);
-            }
-            if (actualPhleboGuid == null) {
-                // Try alternate path if not found in data
-                actualPhleboGuid = response.jsonPath().getString("data.phlebotomist.guid");
-            }
-            if (actualPhleboGuid == null) {
-                // Try another
-                actualPhleboGuid = response.jsonPath().getString("data.phlebotomist_id");
-            }
+        if (orderId == null || orderId.isEmpty() || "EMPTY_DATA".equals(orderId)) {
+            System.out.println("⚠️ Skipping phlebotomist check due to invalid orderId.");
+            return;
+        }
 
-            System.out.println("   Expected Phlebo GUID: " + expectedPhleboGuid);
-            System.out.println("   Actual Phlebo GUID: " + actualPhleboGuid);
+        int[] lastHttpStatus = new int[1];
+
+        // Assignment is eventually consistent - poll GetOrderById until the phlebo shows up
+        OrderStatusAwaiter.Result result = OrderStatusAwaiter.fromConfig()
+                .await("order_phlebo_assignment",
+                () -> {
+                    Response response = new RequestBuilder()
+                            .setEndpoint(APIEndpoints.GET_ORDER_BY_ID)
+                            .addPathParam("order_id", orderId)
+                            .addHeader("Authorization", token)
+                            .get();
+                    lastHttpStatus[0] = response.getStatusCode();
+                    System.out.println("Response Status: " + response.getStatusCode());
+                    return response.getStatusCode() == 200 ? extractPhleboGuid(response)
+                            : OrderStatusAwaiter.PROBE_ERROR;
+                },
+                expectedPhleboGuid::equals,
+                Collections.<String>emptyList());
+
+        String actualPhleboGuid = result.getStatus();
+        System.out.println("   Expected Phlebo GUID: " + expectedPhleboGuid);
+        System.out.println("   Actual Phlebo GUID: " + actualPhleboGuid + " (" + result.getPolls() + " poll(s), "
+                + result.getElapsedMs() + " ms)");
+
+        if (lastHttpStatus[0] != 200) {
+            AssertionUtil.verifyEquals(lastHttpStatus[0], 200, "GetOrderById HTTP status should be 200");
+        } else if (result.isReached()) {
+            System.out.println("   ✅ Phlebotomist Assignment Verified Successfully");
+        } else {
+            System.out.println("❌ Phlebotomist Assignment mismatch after " + result.getElapsedMs()
+                    + " ms! Expected: " + expectedPhleboGuid + ", Found: " + actualPhleboGuid);
+            AssertionUtil.verifyEquals(actualPhleboGuid, expectedPhleboGuid,
+                    "Phlebotomist ID in GetOrderById mismatch");
+        }
+    }
 
-            if (expectedPhleboGuid.equals(actualPhleboGuid)) {
-                System.out.println("   ✅ Phlebotomist Assignment Verified Successfully");
-            } else {
-                String msg = "❌ Phlebotomist Assignment mismatch! Expected: " + expectedPhleboGuid + ", Found: "
-                        + actualPhleboGuid;
-                System.out.println(msg);
-                // Not failing the test strictly if null, as sometimes assignment takes time or
-                // structure path varies, but logging warning.
-                // However user asked to verify, so failing is better if strictly needed.
-                // Assuming stricter check:
-                AssertionUtil.verifyEquals(actualPhleboGuid, expectedPhleboGuid,
-                        "Phlebotomist ID in GetOrderById mismatch");
-            }
+    private static String extractPhleboGuid(Response response) {
+        String phleboGuid = response.jsonPath().getString("data.phlebo_id");
+        if (phleboGuid != null && phleboGuid.startsWith("[") && phleboGuid.endsWith("]")) {
+            phleboGuid = phleboGuid.substring(1, phleboGuid.length() - 1);
+        }
+        if (phleboGuid == null) {
+            // Try alternate path if not found in data
+            phleboGuid = response.jsonPath().getString("data.phlebotomist.guid");
+        }
+        if (phleboGuid == null) {
+            phleboGuid = response.jsonPath().getString("data.phlebotomist_id");
         }
+        return phleboGuid;
     }
 
     // -------------------------------
@@ -947,9 +977,9 @@ public class CreateOrderCODAPITest extends BaseTest {
 
         if (response.getStatusCode() == 409) {
             System.out.println("Address already exists (409). Fetching existing address...");
-            String getAddressEndpoint = APIEndpoints.GET_ADDRESS_BY_USER_ID.replace("{user_id}", userId);
             Response getAddressResponse = new RequestBuilder()
-                    .setEndpoint(getAddressEndpoint)
+                    .setEndpoint(APIEndpoints.GET_ADDRESS_BY_USER_ID)
+                    .addPathParam("user_id", userId)
                     .addHeader("Authorization", token)
                     .get();
 
@@ -1050,9 +1080,7 @@ public class CreateOrderCODAPITest extends BaseTest {
             Response response = new RequestBuilder()
                     .setEndpoint("/slot/getSlotCountByTime")
                     .addHeader("Authorization", token)
-                    .setRequestBody(String.format(
-                            "{\"slot_start_time\":\"%s\",\"limit\":100,\"page\":1,\"type\":\"home\",\"addressguid\":\"%s\"}",
-                            dateString, addressGuid))
+                    .setRequestBody(OrderPayloadBuilder.buildSlotCountByTimeBody(dateString, addressGuid))
                     .post();
 
             // Log the full response for debugging
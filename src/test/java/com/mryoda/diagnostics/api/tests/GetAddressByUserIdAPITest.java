@@ -21,10 +21,9 @@ public class GetAddressByUserIdAPITest extends BaseTest {
         System.out.println("\n📦 GET ADDRESS BY USER ID REQUEST:");
         System.out.println("   User ID: " + userId);
 
-        String endpoint = APIEndpoints.GET_ADDRESS_BY_USER_ID.replace("{user_id}", userId);
-
         Response response = new RequestBuilder()
-                .setEndpoint(endpoint)
+                .setEndpoint(APIEndpoints.GET_ADDRESS_BY_USER_ID)
+                .addPathParam("user_id", userId)
                 .addHeader("Authorization", token)
                 .get();
 
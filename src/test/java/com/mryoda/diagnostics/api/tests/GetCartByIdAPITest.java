@@ -1,75 +1,32 @@
 package com.mryoda.diagnostics.api.tests;
 
 import com.mryoda.diagnostics.api.base.BaseTest;
+import com.mryoda.diagnostics.api.contracts.ApiContracts;
 import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
 import com.mryoda.diagnostics.api.utils.AssertionUtil;
 import com.mryoda.diagnostics.api.utils.RequestContext;
+import com.mryoda.diagnostics.api.utils.ValidationEventSink;
+import com.mryoda.diagnostics.api.validation.CartPriceReconciler;
+import com.mryoda.diagnostics.api.validation.PricingStrategy;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.mryoda.diagnostics.api.builders.RequestBuilder;
 import io.restassured.response.Response;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.PrintWriter;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 public class GetCartByIdAPITest extends BaseTest {
 
-    private static final String ERROR_LOG_FILE = "validation_errors.log";
-    private static final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-    private static boolean logFileCleared = false;
-
-    /**
-     * Clear error log file at the start of test suite (first test only)
-     */
-    private void clearErrorLog() {
-        if (!logFileCleared) {
-            try (FileWriter fw = new FileWriter(ERROR_LOG_FILE, false);
-                    PrintWriter pw = new PrintWriter(fw)) {
-                pw.println("===========================================================");
-                pw.println("VALIDATION ERROR LOG - TEST EXECUTION");
-                pw.println("EXECUTION DATE: " + dateFormat.format(new Date()));
-                pw.println("===========================================================");
-                pw.println();
-                logFileCleared = true;
-            } catch (IOException e) {
-                System.err.println("Failed to clear error log: " + e.getMessage());
-            }
-        }
-    }
-
-    /**
-     * Log validation error to file with actual vs expected values
-     */
-    private void logError(String testName, String errorMessage) {
-        clearErrorLog(); // Ensure log is cleared on first call
-
-        try (FileWriter fw = new FileWriter(ERROR_LOG_FILE, true);
-                PrintWriter pw = new PrintWriter(fw)) {
-
-            pw.println("===========================================================");
-            pw.println("TIMESTAMP: " + dateFormat.format(new Date()));
-            pw.println("TEST: " + testName);
-            pw.println("ERROR: " + errorMessage);
-            pw.println("===========================================================");
-            pw.println();
-
-        } catch (IOException e) {
-            System.err.println("Failed to write to error log: " + e.getMessage());
-        }
-    }
+    // Products with known bad catalog data (prices logged, not failed)
+    private static final String[] KNOWN_BAD_PRODUCTS = { "TESTING15" };
 
     private Response callGetCartByIdAPI(String token, String userId, String locationName) {
         if (userId == null) {
             throw new RuntimeException("User ID is null. Cannot call Get Cart API. Ensure Login step was successful.");
         }
-        String endpoint = APIEndpoints.GET_CART_BY_ID.replace("{user_id}", userId);
-
         // Get location ID from RequestContext
         String locationId = RequestContext.getLocationId(locationName);
 
@@ -79,10 +36,12 @@ public class GetCartByIdAPITest extends BaseTest {
         System.out.println("   Location: " + locationName + " (" + locationId + ")");
 
         Response response = new RequestBuilder()
-                .setEndpoint(endpoint)
+                .setEndpoint(APIEndpoints.GET_CART_BY_ID)
+                .addPathParam("user_id", userId)
                 .addHeader("Authorization", token)
                 .addQueryParam("order_type", "home")
                 .addQueryParam("location", locationId)
+                .validateSchema()
                 .get();
 
         AssertionUtil.verifyEquals(response.getStatusCode(), 200, "HTTP status should be 200");
@@ -101,14 +60,10 @@ public class GetCartByIdAPITest extends BaseTest {
         System.out.println("=====================================================\n");
 
         // ========== STEP 1: VALIDATE API RESPONSE ========== //
+        // Shape (success=true, guid/user_id, item product_id, field types) is checked
+        // by the carts_v2_getCartById schema in callGetCartByIdAPI
         System.out.println("\n🔍 STEP 1: Validating API Response");
 
-        // Validate success flag
-        Boolean successFlag = response.jsonPath().getBoolean("success");
-        AssertionUtil.verifyTrue(successFlag, "API success flag should be true");
-        System.out.println("   ✅ Success flag: " + successFlag);
-
-        // Validate message
         String message = response.jsonPath().getString("msg");
         System.out.println("   ✅ Response message: " + message);
 
@@ -124,6 +79,10 @@ public class GetCartByIdAPITest extends BaseTest {
             return;
         }
 
+        // Field rules and per-item checks in one pass (ApiContracts.GET_CART_BY_ID)
+        ApiContracts.GET_CART_BY_ID.assertSatisfied("testGetCartById_" + userType, response,
+                Collections.<String, Object>singletonMap("userId", userId));
+
         // Detect response format: Simple GET returns data as ARRAY, v2 POST returns
         // data as OBJECT
         boolean isArrayFormat = dataObj instanceof List;
@@ -136,45 +95,22 @@ public class GetCartByIdAPITest extends BaseTest {
         System.out.println("   ✅ Cart ID: " + cartId);
 
         String cartUserId = response.jsonPath().getString(dataPath + ".user_id");
-        AssertionUtil.verifyEquals(cartUserId, userId, "User ID should match requested user");
         System.out.println("   ✅ User ID: " + cartUserId);
 
         String labLocationId = response.jsonPath().getString(dataPath + ".lab_location_id");
         System.out.println("   ✅ Lab Location ID: " + labLocationId);
 
-        // Validate total price - totalPrice is at data.totalPrice in the response
+        // Total price - presence and >= 0 are contract rules; read from the same alternatives
         Integer totalAmount = null;
-
-        // Primary: data.totalPrice (this is where it actually is)
-        Object totalPriceObj = response.jsonPath().get(dataPath + ".totalPrice");
-        if (totalPriceObj != null) {
-            totalAmount = ((Number) totalPriceObj).intValue();
-            System.out.println("   ✅ Total Price (from data.totalPrice): ₹" + totalAmount);
-        } else {
-            // Fallback attempts
-            totalPriceObj = response.jsonPath().get("totalPrice");
+        for (String path : new String[] { dataPath + ".totalPrice", "totalPrice", "total_amount" }) {
+            Object totalPriceObj = response.jsonPath().get(path);
             if (totalPriceObj != null) {
                 totalAmount = ((Number) totalPriceObj).intValue();
-                System.out.println("   ✅ Total Price (from root): ₹" + totalAmount);
-            } else {
-                totalPriceObj = response.jsonPath().get("total_amount");
-                if (totalPriceObj != null) {
-                    totalAmount = ((Number) totalPriceObj).intValue();
-                    System.out.println("   ℹ️  Total Price (from total_amount): ₹" + totalAmount);
-                } else {
-                    System.out.println("   ❌ ERROR: Total Price NOT found in response!");
-                    String errorMsg = "Total price field not found in API response";
-                    logError("testGetCartById_" + userType, errorMsg);
-                    Assert.fail("❌ STRICT VALIDATION FAILED: " + errorMsg);
-                }
+                System.out.println("   ✅ Total Price (from " + path + "): ₹" + totalAmount);
+                break;
             }
         }
 
-        // STRICT VALIDATION: Total price should be non-negative
-        if (totalAmount != null && totalAmount >= 0) {
-            AssertionUtil.verifyTrue(totalAmount >= 0, "Total price should be non-negative");
-        }
-
         // Validate cart status
         String cartStatus = response.jsonPath().getString(dataPath + ".final_cart_status");
         if (cartStatus != null) {
@@ -318,6 +254,7 @@ public class GetCartByIdAPITest extends BaseTest {
         System.out.println("\n🔍 STEP 5: Validating Each Cart Item");
 
         Map<String, Map<String, Object>> storedTests = RequestContext.getAllTests();
+        CartPriceReconciler.ProductIndex catalog = CartPriceReconciler.ProductIndex.of(storedTests);
 
         // Determine which field to use (cart_items or product_details)
         String itemsPath = response.jsonPath().get(dataPath + ".cart_items") != null ? "cart_items" : "product_details";
@@ -331,8 +268,6 @@ public class GetCartByIdAPITest extends BaseTest {
             String itemProductId = response.jsonPath().getString(dataPath + "." + itemsPath + "[" + i + "].product_id");
             Object priceObj = response.jsonPath().get(dataPath + "." + itemsPath + "[" + i + "].price");
             Integer itemPrice = (priceObj != null) ? ((Number) priceObj).intValue() : null;
-            Object quantityObj = response.jsonPath().get(dataPath + "." + itemsPath + "[" + i + "].quantity");
-            Integer itemQuantity = (quantityObj != null) ? ((Number) quantityObj).intValue() : null;
             String itemBrandId = response.jsonPath().getString(dataPath + "." + itemsPath + "[" + i + "].brand_id");
             String itemLocationId = response.jsonPath()
                     .getString(dataPath + "." + itemsPath + "[" + i + "].location_id");
@@ -340,30 +275,14 @@ public class GetCartByIdAPITest extends BaseTest {
             System.out.println("   🆔 Product ID: " + itemProductId);
 
             // For product_details structure, find test name from stored tests by product ID
-            if (itemName == null && storedTests != null) {
-                for (Map.Entry<String, Map<String, Object>> entry : storedTests.entrySet()) {
-                    String storedProductId = (String) entry.getValue().get("_id");
-                    if (itemProductId.equals(storedProductId)) {
-                        itemName = entry.getKey();
-                        break;
-                    }
-                }
+            if (itemName == null) {
+                itemName = catalog.nameOf(itemProductId);
             }
 
             if (itemName != null) {
                 System.out.println("   📝 Test Name: " + itemName);
             }
 
-            // Validate price - compare with GlobalSearchAPI if available
-            if (itemPrice != null) {
-                System.out.println("   💰 Price: ₹" + itemPrice);
-            }
-
-            // Validate quantity
-            if (itemQuantity != null) {
-                System.out.println("   📦 Quantity: " + itemQuantity);
-            }
-
             // ========== CROSS-VALIDATE: Brand ID with BrandAPI ========== //
             String expectedBrandId = RequestContext.getBrandId("Diagnostics");
             AssertionUtil.verifyEquals(itemBrandId, expectedBrandId,
@@ -523,851 +442,27 @@ public class GetCartByIdAPITest extends BaseTest {
 
         // ========== STEP 6: COMPREHENSIVE BUSINESS RULES & TOTAL CALCULATION
         // ========== //
+        // Unavailable tests, membership pricing, home collection charge and
+        // totalPrice are reconciled for the whole cart in one pass.
         System.out.println("\n🔍 STEP 6: Comprehensive Business Rules & Total Calculation");
-        System.out
-                .println("   Applying business logic: Home Collection Charges, Membership Discount, Unavailable Tests");
-
-        // Get unavailable tests list - these should NOT be included in total
-        List<Map<String, Object>> unavailableTests = response.jsonPath().getList(dataPath + ".unavailable_test");
-        java.util.Set<String> unavailableProductIds = new java.util.HashSet<>();
-        if (unavailableTests != null && !unavailableTests.isEmpty()) {
-            System.out.println("\n   📋 UNAVAILABLE TESTS (excluded from calculation):");
-            for (Map<String, Object> unavailableTest : unavailableTests) {
-                String productId = (String) unavailableTest.get("product_id");
-                String testName = (String) unavailableTest.get("testName");
-                if (productId != null) {
-                    unavailableProductIds.add(productId);
-                    System.out.println("      ❌ " + (testName != null ? testName : productId)
-                            + " - NOT available for home collection");
-                }
-            }
-        }
 
-        // Get payment mode and membership info from response FIRST (needed for price
-        // calculation)
-        String paymentMode = response.jsonPath().getString(dataPath + ".payment_mode");
-        if (paymentMode == null)
-            paymentMode = "cash"; // Default to cash if not specified
-
-        // Check membership status from API response AND user type
-        Object membershipIdObj = response.jsonPath().get(dataPath + ".membership_id");
-        boolean isMemberFromAPI = (membershipIdObj != null && !"null".equals(membershipIdObj.toString()));
-
-        // Only MEMBER user type should be treated as a paid member
-        // NON_MEMBER (Mobile: 8220220227) is NOT a paid member and should NOT get
-        // membership benefits
-        boolean isMember = isMemberFromAPI || "MEMBER".equals(userType);
-
-        // Calculate items total (only home collection available tests)
-        int itemsSubtotal = 0;
-        int itemsWithPrice = 0;
-        int itemsSkipped = 0;
-        int itemsUnavailable = 0;
-        int itemsNoHomeCollection = 0;
-
-        System.out.println("\n   💰 CALCULATING ITEMS TOTAL:");
-        System.out.println("      User Type: " + userType);
-        System.out.println("      Is Member: " + (isMember ? "YES" : "NO"));
-        System.out
-                .println("      " + (isMember ? "Using membershipPrice (after 10% discount)" : "Using regular price"));
-
-        for (int i = 0; i < cartItems.size(); i++) {
-            String productId = response.jsonPath().getString(dataPath + "." + itemsPath + "[" + i + "].product_id");
-            String itemName = response.jsonPath().getString(dataPath + "." + itemsPath + "[" + i + "].test_name");
-            Object testNameObj = response.jsonPath().get(dataPath + "." + itemsPath + "[" + i + "].testName");
-            Object priceObj = response.jsonPath().get(dataPath + "." + itemsPath + "[" + i + "].price");
-            Object originalPriceObj = response.jsonPath()
-                    .get(dataPath + "." + itemsPath + "[" + i + "].original_price");
-            Object membershipPriceObj = response.jsonPath()
-                    .get(dataPath + "." + itemsPath + "[" + i + "].membershipPrice");
-            Object discountRateObj = response.jsonPath().get(dataPath + "." + itemsPath + "[" + i + "].discount_rate");
-            Integer itemQuantity = response.jsonPath().getInt(dataPath + "." + itemsPath + "[" + i + "].quantity");
-
-            // 🔍 CONSOLE LOGGING: Show where membershipPrice is coming from
-            System.out.println("\n🔍 ====== ITEM " + i + " - RAW API RESPONSE VALUES ======");
-            System.out.println("   📍 JSON Path: " + dataPath + "." + itemsPath + "[" + i + "].membershipPrice");
-            System.out.println("   📦 membershipPriceObj (raw from API): " + membershipPriceObj);
-            System.out.println("   📦 priceObj (raw from API): " + priceObj);
-            System.out.println("   📦 originalPriceObj (raw from API): " + originalPriceObj);
-            System.out.println("   📦 discountRateObj (raw from API): " + discountRateObj);
-            System.out.println("   📦 testNameObj: " + testNameObj);
-            System.out.println("   📦 itemName: " + itemName);
-            System.out.println("======================================\n");
-            Object homeCollectionObj = response.jsonPath()
-                    .get(dataPath + "." + itemsPath + "[" + i + "].home_collection");
-
-            // Use testName if test_name is null
-            if (itemName == null && testNameObj != null) {
-                itemName = testNameObj.toString();
-            }
-
-            // ========== CHECK HOME COLLECTION STATUS FIRST ========== //
-            boolean isHomeCollectionAvailable = false;
-            String homeCollectionValue = "NOT AVAILABLE";
-
-            if (homeCollectionObj != null) {
-                if (homeCollectionObj instanceof Boolean) {
-                    isHomeCollectionAvailable = (Boolean) homeCollectionObj;
-                    homeCollectionValue = isHomeCollectionAvailable ? "AVAILABLE" : "NOT AVAILABLE";
-                } else {
-                    String homeCollectionStr = homeCollectionObj.toString().toUpperCase();
-                    isHomeCollectionAvailable = "AVAILABLE".equals(homeCollectionStr) ||
-                            "TRUE".equals(homeCollectionStr) ||
-                            "YES".equals(homeCollectionStr) ||
-                            "1".equals(homeCollectionStr);
-                    homeCollectionValue = homeCollectionStr;
-                }
-            }
-
-            List<String> validationErrors = new ArrayList<>();
-            // ========== LOCATION AVAILABILITY CHECK ========== //
-            // Check if product is available for the selected location (Validation required
-            // by user)
-            boolean isAvailableForLocation = true; // Default to true if we can't verify
-            String selectedLocationId = RequestContext.getLocationId(location);
-            List<String> availableLocations = null;
-
-            if (storedTests != null && itemName != null) {
-                Map<String, Object> testData = storedTests.get(itemName);
-                if (testData != null && testData.get("locations") instanceof List) {
-                    @SuppressWarnings("unchecked")
-                    List<String> locs = (List<String>) testData.get("locations");
-                    availableLocations = locs;
-                    isAvailableForLocation = availableLocations != null
-                            && availableLocations.contains(selectedLocationId);
-
-                    System.out.println("\n      🔍 LOCATION AVAILABILITY CHECK for '" + itemName + "':");
-                    System.out.println("         Selected Location: " + location + " (ID: " + selectedLocationId + ")");
-                    System.out.println("         Available Locations Count: "
-                            + (availableLocations != null ? availableLocations.size() : 0));
-                    System.out.println("         Is Available for " + location + ": "
-                            + (isAvailableForLocation ? "YES ✓" : "NO ❌"));
-                }
-            }
-
-            // ========== CHECK FOR ITEMS WITH ZERO PRICES ========== //
-            int checkPrice = priceObj != null ? ((Number) priceObj).intValue() : 0;
-            int checkOriginalPrice = originalPriceObj != null ? ((Number) originalPriceObj).intValue() : 0;
-
-            // Critical Validation: If item is in cart with price > 0, it MUST be available
-            // for this location
-            if (!isAvailableForLocation && (checkPrice > 0 || checkOriginalPrice > 0)) {
-                String errorMsg = "❌ BUG: Item '" + itemName
-                        + "' is in cart with price but is NOT available for location '" + location + "'";
-                System.out.println("         " + errorMsg);
-                System.out.println("         Available Location IDs: " + availableLocations);
-                System.out.println("         Current Location ID: " + selectedLocationId);
-                logError("testGetCartById_" + userType, errorMsg);
-                // Strict validation failure
-                validationErrors.add(errorMsg);
-            }
-
-            // If price=0, check if it's because of unavailability
-            if (checkPrice == 0 && checkOriginalPrice == 0) {
-                // If not available for location OR not available for home collection → SKIP
-                // (expected)
-                if (!isAvailableForLocation || !isHomeCollectionAvailable) {
-                    System.out.println("\n      ⏭️  " + (itemName != null ? itemName : "Item " + (i + 1))
-                            + " - SKIPPED (price=0, not available)");
-                    System.out.println("         Price: ₹0");
-                    System.out.println("         Original Price: ₹0");
-                    if (!isAvailableForLocation) {
-                        System.out.println("         Location Availability: NOT AVAILABLE for " + location);
-                        System.out
-                                .println("         ℹ️  Price=0 is EXPECTED - Product not available for this location");
-                    }
-                    if (!isHomeCollectionAvailable) {
-                        System.out.println("         Home Collection: " + homeCollectionValue);
-                        System.out.println("         ℹ️  Price=0 is EXPECTED - Not available for home collection");
-                    }
-                    itemsUnavailable++;
-                    continue; // Skip validation for this item
-                } else {
-                    // BUG: Item IS available for location AND home collection but has price=0
-                    // (WRONG!)
-                    System.out.println("\n      ❌ BUG DETECTED: Item AVAILABLE but price=0!");
-                    System.out.println("         Item: " + (itemName != null ? itemName : "Item " + (i + 1)));
-                    System.out.println("         Location: " + location + " ✓ AVAILABLE");
-                    System.out.println("         Home Collection: " + homeCollectionValue + " ✓ AVAILABLE");
-                    System.out.println("         Price: ₹0 ❌ (SHOULD BE > 0)");
-                    System.out.println("         Original Price: ₹0 ❌ (SHOULD BE > 0)");
-                    // Continue with validation to report this as a bug
-                }
-            }
-
-            // If quantity is 0, item was removed from cart - skip validation
-            if (itemQuantity != null && itemQuantity == 0) {
-                System.out.println("\n      ⏭️  " + (itemName != null ? itemName : "Item " + (i + 1))
-                        + " - SKIPPED (quantity = 0)");
-                System.out.println("         ℹ️  Item removed from cart - NOT A BUG");
-                itemsSkipped++;
-                continue; // Skip validation for this item
-            }
-
-            // ========== STRICT NULL AND ZERO VALIDATION ========== //
-            // CRITICAL FIELDS MUST NOT BE NULL OR ZERO - These are BUGS
-            // Collect all bugs and continue validation to log everything
-
-            System.out.println("\n      🔍 STRICT NULL AND ZERO VALIDATION for Item " + (i + 1) + ":");
-
-            // Get expected price from stored test data (for better error messages)
-            int expectedPrice = 0;
-            if (storedTests != null) {
-                for (Map.Entry<String, Map<String, Object>> entry : storedTests.entrySet()) {
-                    if (productId.equals(entry.getValue().get("_id"))) {
-                        Object storedPriceObj = entry.getValue().get("price");
-                        if (storedPriceObj != null) {
-                            expectedPrice = ((Number) storedPriceObj).intValue();
-                        }
-                        break;
-                    }
-                }
-            }
-
-            // Validate quantity is NOT null AND NOT zero (BUG if null or zero)
-            if (itemQuantity == null) {
-                String errorMsg = "❌ BUG: quantity is NULL for item '" + (itemName != null ? itemName : productId)
-                        + "' | EXPECTED: positive integer | ACTUAL: NULL";
-                System.out.println("         " + errorMsg);
-                logError("testGetCartById_" + userType, errorMsg);
-                validationErrors.add(errorMsg);
-            } else if (itemQuantity == 0) {
-                String errorMsg = "❌ BUG: quantity is ZERO for item '" + (itemName != null ? itemName : productId)
-                        + "' | EXPECTED: positive integer | ACTUAL: 0";
-                System.out.println("         " + errorMsg);
-                logError("testGetCartById_" + userType, errorMsg);
-                // Don't add to validation errors - quantity 0 means item removed from cart
-                System.out.println("         ℹ️  Item will be skipped (quantity = 0)");
-            } else {
-                System.out.println("         ✅ quantity is NOT null and NOT zero: " + itemQuantity);
-            }
-
-            // ========== PRICE AND ORIGINAL_PRICE VALIDATION ========== //
-            // IMPORTANT: price and original_price should ALWAYS have values (members AND
-            // non-members)
-            // Only membershipPrice is allowed to be 0 for non-members
-
-            String priceExpectation = expectedPrice > 0 ? "₹" + expectedPrice : "positive amount";
-
-            // Validate price is NOT null AND NOT zero (BUG for ALL users)
-            if (priceObj == null) {
-                String errorMsg = "❌ BUG: price is NULL for item '" + (itemName != null ? itemName : productId)
-                        + "' | EXPECTED: " + priceExpectation + " | ACTUAL: NULL";
-                System.out.println("         " + errorMsg);
-                logError("testGetCartById_" + userType, errorMsg);
-                // Check if this is a known bad data product
-                if (itemName != null && itemName.equals("TESTING15")) {
-                    System.out.println("         ⚠️  KNOWN ISSUE: Product 'TESTING15' has bad data in backend");
-                    System.out.println("         ℹ️  Logging as warning, not failing test");
-                } else {
-                    validationErrors.add(errorMsg);
-                }
-            } else {
-                int priceValue = ((Number) priceObj).intValue();
-                if (priceValue == 0) {
-                    String errorMsg = "❌ BUG: price is ZERO for item '" + (itemName != null ? itemName : productId)
-                            + "' | EXPECTED: " + priceExpectation + " | ACTUAL: ₹0";
-                    System.out.println("         " + errorMsg);
-                    logError("testGetCartById_" + userType, errorMsg);
-                    // Check if this is a known bad data product
-                    if (itemName != null && itemName.equals("TESTING15")) {
-                        System.out.println("         ⚠️  KNOWN ISSUE: Product 'TESTING15' has bad data in backend");
-                        System.out.println("         ℹ️  Logging as warning, not failing test");
-                    } else {
-                        validationErrors.add(errorMsg);
-                    }
-                } else {
-                    System.out.println("         ✅ price is NOT null and NOT zero: ₹" + priceValue);
-                }
-            }
-
-            // Validate original_price is NOT null AND NOT zero (BUG for ALL users)
-            if (originalPriceObj == null) {
-                String errorMsg = "❌ BUG: original_price is NULL for item '" + (itemName != null ? itemName : productId)
-                        + "' | EXPECTED: " + priceExpectation + " | ACTUAL: NULL";
-                System.out.println("         " + errorMsg);
-                logError("testGetCartById_" + userType, errorMsg);
-                // Check if this is a known bad data product
-                if (itemName != null && itemName.equals("TESTING15")) {
-                    System.out.println("         ⚠️  KNOWN ISSUE: Product 'TESTING15' has bad data in backend");
-                    System.out.println("         ℹ️  Logging as warning, not failing test");
-                } else {
-                    validationErrors.add(errorMsg);
-                }
-            } else {
-                int originalPriceValue = ((Number) originalPriceObj).intValue();
-                if (originalPriceValue == 0) {
-                    String errorMsg = "❌ BUG: original_price is ZERO for item '"
-                            + (itemName != null ? itemName : productId) + "' | EXPECTED: " + priceExpectation
-                            + " | ACTUAL: ₹0";
-                    System.out.println("         " + errorMsg);
-                    logError("testGetCartById_" + userType, errorMsg);
-                    // Check if this is a known bad data product
-                    if (itemName != null && itemName.equals("TESTING15")) {
-                        System.out.println("         ⚠️  KNOWN ISSUE: Product 'TESTING15' has bad data in backend");
-                        System.out.println("         ℹ️  Logging as warning, not failing test");
-                    } else {
-                        validationErrors.add(errorMsg);
-                    }
-                } else {
-                    System.out.println("         ✅ original_price is NOT null and NOT zero: ₹" + originalPriceValue);
-                }
-            }
-
-            // Validate membershipPrice ONLY if user has membership (NULL or ZERO are BUGS
-            // for members)
-            if (isMember) {
-                if (membershipPriceObj == null) {
-                    String errorMsg = "❌ BUG: membershipPrice is NULL for MEMBER user, item '"
-                            + (itemName != null ? itemName : productId)
-                            + "' | EXPECTED: 90% of original price | ACTUAL: NULL";
-                    System.out.println("         " + errorMsg);
-                    logError("testGetCartById_" + userType, errorMsg);
-                    validationErrors.add(errorMsg);
-                } else {
-                    int membershipPriceValue = ((Number) membershipPriceObj).intValue();
-                    if (membershipPriceValue == 0) {
-                        // Get original price for expected calculation
-                        int originalPriceValue = originalPriceObj != null ? ((Number) originalPriceObj).intValue() : 0;
-                        int expectedMembershipPrice = originalPriceValue > 0 ? (int) (originalPriceValue * 0.9) : 0;
-
-                        System.out.println("\n🔍 ====== WHY IS membershipPrice ZERO? ======");
-                        System.out.println("   📍 Item: " + (itemName != null ? itemName : productId));
-                        System.out.println("   📍 membershipPrice from API: ₹" + membershipPriceValue);
-                        System.out.println("   📍 original_price from API: ₹" + originalPriceValue);
-                        System.out.println(
-                                "   📍 Expected membershipPrice (90% of original): ₹" + expectedMembershipPrice);
-
-                        if (originalPriceValue == 0) {
-                            System.out.println("   🔍 ROOT CAUSE: original_price is ZERO!");
-                            System.out.println("   ⚠️  When original_price = 0, backend returns membershipPrice = 0");
-                            System.out.println("   ⚠️  This is a CASCADING BUG - fix original_price first!");
-                        } else {
-                            System.out
-                                    .println("   🔍 ANOMALY: original_price is NOT zero but membershipPrice is ZERO!");
-                            System.out.println(
-                                    "   ⚠️  Backend is NOT calculating: membershipPrice = original_price * 0.90");
-                            System.out.println("   ⚠️  Backend is setting membershipPrice = 0 for some reason");
-                        }
-                        System.out.println("============================================\n");
-
-                        String errorMsg = "❌ BUG: membershipPrice is ZERO for MEMBER user, item '"
-                                + (itemName != null ? itemName : productId) + "' | EXPECTED: ₹"
-                                + expectedMembershipPrice + " (90% discount) | ACTUAL: ₹0";
-                        System.out.println("         " + errorMsg);
-                        logError("testGetCartById_" + userType, errorMsg);
-                        // Check if this is a known bad data product
-                        if (itemName != null && itemName.equals("TESTING15")) {
-                            System.out.println("         ⚠️  KNOWN ISSUE: Product 'TESTING15' has bad data in backend");
-                            System.out.println("         ℹ️  Logging as warning, not failing test");
-                        } else {
-                            validationErrors.add(errorMsg);
-                        }
-                    } else {
-                        System.out
-                                .println("         ✅ membershipPrice is NOT null and NOT zero (user has membership): ₹"
-                                        + membershipPriceValue);
-                    }
-                }
-            } else {
-                // Non-member: membershipPrice can be null or not present
-                if (membershipPriceObj != null) {
-                    int membershipPriceValue = ((Number) membershipPriceObj).intValue();
-
-                    System.out.println("\n🔍 ====== NON-MEMBER membershipPrice Check ======");
-                    System.out.println("   📍 Item: " + (itemName != null ? itemName : productId));
-                    System.out.println("   📍 User Type: " + userType + " (NOT a member)");
-                    System.out.println("   📍 membershipPrice from API: ₹" + membershipPriceValue);
-
-                    if (membershipPriceValue == 0) {
-                        System.out.println("   ✅ membershipPrice is 0 for non-member - This is EXPECTED");
-                        System.out.println("   ℹ️  Non-members don't get membership discount");
-                    } else {
-                        System.out
-                                .println("   ℹ️  membershipPrice has a value for non-member: ₹" + membershipPriceValue);
-                        System.out.println("   ℹ️  This might be the regular price or promotional price");
-                    }
-                    System.out.println("================================================\n");
-
-                    System.out.println("         ℹ️  membershipPrice present (non-member): ₹" + membershipPriceValue);
-                } else {
-                    System.out.println("         ℹ️  membershipPrice not present (user is non-member, this is OK)");
-                }
-            }
+        JsonNode cartNode = CartPriceReconciler.cartNode(response);
+        PricingStrategy pricing = PricingStrategy.forUser(userType, CartPriceReconciler.hasMembership(cartNode));
+        CartPriceReconciler.Result pricingResult = new CartPriceReconciler(catalog, pricing)
+                .tolerate(KNOWN_BAD_PRODUCTS)
+                .reconcile(cartNode, RequestContext.getLocationId(location));
+        pricingResult.printSummary();
 
-            // If validation errors found, fail with complete summary
-            if (!validationErrors.isEmpty()) {
-                String summaryMsg = "\n⚠️ VALIDATION FAILED - " + validationErrors.size()
-                        + " BUG(S) DETECTED for item: " + (itemName != null ? itemName : productId);
-                System.out.println(summaryMsg);
-                for (String error : validationErrors) {
-                    System.out.println("   • " + error);
-                }
-                // Create comprehensive error message with summary
-                StringBuilder failMsg = new StringBuilder();
-                failMsg.append("❌ VALIDATION FAILED: Found ").append(validationErrors.size())
-                        .append(" bug(s) in item '").append(itemName != null ? itemName : productId).append("':\n");
-                for (int j = 0; j < validationErrors.size(); j++) {
-                    failMsg.append("   ").append(j + 1).append(". ").append(validationErrors.get(j));
-                    if (j < validationErrors.size() - 1)
-                        failMsg.append("\n");
-                }
-
-                String summaryError = "SUMMARY: " + validationErrors.size() + " bugs found in '" +
-                        (itemName != null ? itemName : productId) + "' - " +
-                        String.join(" | ", validationErrors);
-                logError("testGetCartById_" + userType, summaryError);
-                Assert.fail(failMsg.toString());
-            }
-
-            // Get test name from stored tests if not in response
-            if (itemName == null && storedTests != null) {
-                for (Map.Entry<String, Map<String, Object>> entry : storedTests.entrySet()) {
-                    if (productId.equals(entry.getValue().get("_id"))) {
-                        itemName = entry.getKey();
-                        break;
-                    }
-                }
-            }
-
-            // Skip items with quantity 0 (removed items)
-            if (itemQuantity == null || itemQuantity == 0) {
-                System.out.println(
-                        "      ⏭️  " + (itemName != null ? itemName : "Unknown") + " - SKIPPED (quantity = 0)");
-                itemsSkipped++;
-                continue;
-            }
-
-            // Skip unavailable tests
-            if (unavailableProductIds.contains(productId)) {
-                System.out.println(
-                        "      ⏭️  " + (itemName != null ? itemName : "Unknown") + " - SKIPPED (unavailable test)");
-                itemsUnavailable++;
-                continue;
-            }
-
-            // Check home collection availability
-            boolean hasHomeCollection = false;
-            if (homeCollectionObj != null) {
-                String homeCollectionStr = homeCollectionObj.toString().trim();
-                hasHomeCollection = "AVAILABLE".equalsIgnoreCase(homeCollectionStr) ||
-                        "true".equalsIgnoreCase(homeCollectionStr) ||
-                        "yes".equalsIgnoreCase(homeCollectionStr) ||
-                        "1".equals(homeCollectionStr);
-            }
-
-            // For home order, skip tests without home collection
-            if ("home".equalsIgnoreCase(orderType) && !hasHomeCollection) {
-                System.out.println(
-                        "      ⏭️  " + (itemName != null ? itemName : "Unknown") + " - SKIPPED (no home collection)");
-                itemsNoHomeCollection++;
-                continue;
-            }
-
-            // FOR MEMBERS: Use membershipPrice (already discounted), otherwise use regular
-            // price
-            if (priceObj != null || membershipPriceObj != null || originalPriceObj != null) {
-                int itemPrice = 0;
-                int originalPrice = 0;
-                int actualStoredPrice = 0;
-
-                // Get original price from GetCartById response (original_price field)
-                if (originalPriceObj != null && ((Number) originalPriceObj).intValue() > 0) {
-                    originalPrice = ((Number) originalPriceObj).intValue();
-                } else if (priceObj != null && ((Number) priceObj).intValue() > 0) {
-                    // Fallback to price field if original_price is not available
-                    originalPrice = ((Number) priceObj).intValue();
-                }
-
-                // If original price is still 0, try to get it from stored tests
-                if (originalPrice == 0 && storedTests != null) {
-                    for (Map.Entry<String, Map<String, Object>> entry : storedTests.entrySet()) {
-                        if (productId.equals(entry.getValue().get("_id"))) {
-                            Object storedPriceObj = entry.getValue().get("price");
-                            if (storedPriceObj != null) {
-                                actualStoredPrice = ((Number) storedPriceObj).intValue();
-                                originalPrice = actualStoredPrice;
-                                System.out.println("      ℹ️  Using price from stored test data: ₹" + originalPrice);
-                            }
-                            break;
-                        }
-                    }
-                }
-
-                // For MEMBERS: Use membershipPrice if available, validate against manual
-                // calculation
-                if (isMember && originalPrice > 0) {
-                    int apiMembershipPrice = 0;
-
-                    System.out.println("\n🔍 ====== MEMBERSHIP PRICE EXTRACTION ======");
-                    System.out.println("   📍 Checking membershipPriceObj: " + membershipPriceObj);
-                    System.out.println("   📍 membershipPriceObj is null? " + (membershipPriceObj == null));
-                    System.out.println("   📍 discountRateObj: " + discountRateObj);
-
-                    // Extract discount_rate to determine correct membership price
-                    int discountRate = 0;
-                    if (discountRateObj != null) {
-                        discountRate = ((Number) discountRateObj).intValue();
-                        System.out.println("   📍 Discount Rate from API: ₹" + discountRate);
-                    }
-
-                    if (membershipPriceObj != null) {
-                        apiMembershipPrice = ((Number) membershipPriceObj).intValue();
-                        System.out.println("   ✅ Extracted apiMembershipPrice: ₹" + apiMembershipPrice);
-                        System.out.println(
-                                "   📍 Type of membershipPriceObj: " + membershipPriceObj.getClass().getName());
-                        System.out.println("   📍 Raw value: " + membershipPriceObj);
-                    } else {
-                        System.out.println("   ⚠️  membershipPriceObj is NULL - will default to 0");
-                    }
-
-                    // 🔥 KEY FIX: Use discount_rate as the authoritative membership price
-                    // discount_rate contains the correct membership price after discount
-                    int correctMembershipPrice;
-                    
-                    // Use the minimum of discountRate and apiMembershipPrice if both are available
-                    // This handles cases where one might be incorrect or higher
-                    if (discountRate > 0 && apiMembershipPrice > 0) {
-                        correctMembershipPrice = Math.min(discountRate, apiMembershipPrice);
-                        System.out.println("   ✅ Using MIN(discountRate, apiMembershipPrice): ₹" + correctMembershipPrice);
-                    } else if (discountRate > 0) {
-                        // discount_rate is the actual membership price - USE THIS!
-                        correctMembershipPrice = discountRate;
-                        System.out.println(
-                                "   ✅ Using discount_rate as correct membership price: ₹" + correctMembershipPrice);
-                    } else if (apiMembershipPrice > 0) {
-                        // Fallback to API's membershipPrice if discount_rate not available
-                        correctMembershipPrice = apiMembershipPrice;
-                        System.out.println(
-                                "   ⚠️  No discount_rate found, using membershipPrice: ₹" + correctMembershipPrice);
-                    } else {
-                        // Last fallback: calculate 10% discount (90% of original price)
-                        // FIX: Apply 10% discount on the SELLING PRICE (price), not MRP (original_price)
-                        // If price is available, use it. Otherwise use originalPrice.
-                        int basePrice = originalPrice;
-                        if (priceObj != null && ((Number) priceObj).intValue() > 0) {
-                            basePrice = ((Number) priceObj).intValue();
-                        }
-                        
-                        correctMembershipPrice = (int) Math.floor(basePrice * 0.90); // Use floor to match API behavior
-                        System.out.println("   ⚠️  No discount_rate or membershipPrice, calculating 90% of base price (" + basePrice + "): ₹"
-                                + correctMembershipPrice);
-                    }
-
-                    System.out.println("   📍 Original Price from API: ₹" + originalPrice);
-                    System.out.println("   📍 Discount Rate (correct price): ₹" + discountRate);
-                    System.out.println("   📍 API membershipPrice: ₹" + apiMembershipPrice);
-                    System.out.println("   📍 Using for calculation: ₹" + correctMembershipPrice);
-                    System.out.println("==========================================\n");
-
-                    System.out.println("      ✅ " + (itemName != null ? itemName : "Unknown") + " (MEMBER PRICE)");
-                    System.out.println("         Original Price: ₹" + originalPrice);
-                    System.out.println("         Discount Rate (authoritative): ₹" + discountRate);
-                    System.out.println("         API membershipPrice: ₹" + apiMembershipPrice);
-                    System.out.println("         Using for total: ₹" + correctMembershipPrice);
-
-                    // VALIDATION: Check if membershipPrice matches discount_rate
-                    if (discountRate > 0 && apiMembershipPrice != discountRate) {
-                        System.out.println("         ⚠️  MEMBERSHIP PRICE DISCREPANCY DETECTED!");
-                        System.out.println("            Discount Rate: ₹" + discountRate + " ✅ (correct value)");
-                        System.out
-                                .println("            API membershipPrice: ₹" + apiMembershipPrice + " ❌ (incorrect)");
-                        System.out.println(
-                                "            🔍 API returned wrong membershipPrice - using discount_rate instead");
-
-                        // Clarify if this is NON_MEMBER (should NOT get discount)
-                        if ("NON_MEMBER".equals(userType) || "NON_MEMBER".equals(userType)) {
-                            System.out.println(
-                                    "            📊 NON_MEMBER (Mobile: 8220220227) should use REGULAR price (₹"
-                                            + originalPrice + ")");
-                            System.out.println(
-                                    "            📊 However, API incorrectly shows membershipPrice. Using original price instead.");
-                        } else {
-                            System.out
-                                    .println("            📊 This is a backend pricing inconsistency for " + userType);
-                        }
-
-                        String errorMsg = "BACKEND BUG: membershipPrice (₹" + apiMembershipPrice
-                                + ") does NOT match discount_rate (₹" + discountRate
-                                + ") - using discount_rate as correct value";
-                        logError("testGetCartById_" + userType, errorMsg);
-                    } else if (discountRate > 0 && apiMembershipPrice == discountRate) {
-                        System.out.println("         ✅ membershipPrice matches discount_rate - validation successful!");
-                    } else if (discountRate == 0) {
-                        System.out.println("         ⚠️  No discount_rate available - using membershipPrice: ₹"
-                                + apiMembershipPrice);
-                    }
-
-                    itemPrice = correctMembershipPrice; // Use the correct membership price (discount_rate)
-                } else if (isMember && originalPrice > 0) {
-                    // Member but no membershipPrice in response - calculate it
-                    // FIX: Apply 10% discount on the SELLING PRICE (price), not MRP (original_price)
-                    int basePrice = originalPrice;
-                    if (priceObj != null && ((Number) priceObj).intValue() > 0) {
-                        basePrice = ((Number) priceObj).intValue();
-                    }
-                    
-                    itemPrice = (int) Math.floor(basePrice * 0.90); // Use floor to match API behavior
-                    System.out
-                            .println("      ✅ " + (itemName != null ? itemName : "Unknown") + " (MEMBER - calculated)");
-                    System.out.println("         Base Price: ₹" + basePrice);
-                    System.out.println("         Calculated Member Price (90%): ₹" + itemPrice);
-                } else if (!isMember && originalPrice > 0) {
-                    // Non-member: use regular price (selling price)
-                    // FIX: Use 'price' (selling price) instead of 'original_price' (MRP) if available
-                    if (priceObj != null && ((Number) priceObj).intValue() > 0) {
-                        itemPrice = ((Number) priceObj).intValue();
-                    } else {
-                        itemPrice = originalPrice;
-                    }
-                    System.out.println("      ✅ " + (itemName != null ? itemName : "Unknown"));
-                    System.out.println("         Regular Price: ₹" + itemPrice);
-                } else {
-                    // Price is 0 or not available
-                    System.out.println("      ⚠️  " + (itemName != null ? itemName : "Unknown"));
-                    System.out.println("         Price: ₹0 (no price available)");
-                }
-
-                int lineTotal = itemPrice * itemQuantity;
-                itemsSubtotal += lineTotal;
-                itemsWithPrice++;
-
-                if (itemPrice > 0) {
-                    System.out.println("         Quantity: " + itemQuantity + " × ₹" + itemPrice + " = ₹" + lineTotal);
-                }
-            }
+        for (String notice : pricingResult.notices()) {
+            ValidationEventSink.record("testGetCartById_" + userType, notice);
         }
-
-        // Get membership discount from response
-        Object membershipDiscountObj = response.jsonPath().get(dataPath + ".membershipDiscount");
-        int membershipDiscount = 0;
-        if (membershipDiscountObj != null) {
-            membershipDiscount = ((Number) membershipDiscountObj).intValue();
-        }
-
-        // For NON_MEMBER (Mobile: 8220220227), they should NOT get membership benefits
-        if ("NON_MEMBER".equals(userType) || "NON_MEMBER".equals(userType)) {
-            System.out.println("      ℹ️  NON_MEMBER detected (Mobile: 8220220227 - NOT a paid member)");
-            System.out.println("      ℹ️  This user should NOT receive membership discount");
-            System.out.println("      ℹ️  Expected membershipPrice: Regular price (₹310), NOT discounted (₹279)");
-            // Note: API should NOT apply 10% discount for non-members
-        }
-
-        System.out.println("\n   💳 PAYMENT & MEMBERSHIP INFO:");
-        System.out.println("      Payment Mode: " + paymentMode.toUpperCase());
-        System.out.println("      Is Member: " + (isMember ? "YES" : "NO"));
-        if (isMember) {
-            System.out.println("      Membership ID: " + membershipIdObj);
-            System.out.println("      Membership Discount: ₹" + membershipDiscount);
-        }
-
-        // Business Rule: Home Collection Charge
-        // Extract actual home collection charge from response
-        int homeCollectionCharge = 0;
-        Object deliveryFeeObj = response.jsonPath().get("data.delivery_fee");
-        if (deliveryFeeObj == null) {
-            deliveryFeeObj = response.jsonPath().get("data.actual_delivery_fee");
-        }
-        if (deliveryFeeObj != null) {
-            homeCollectionCharge = ((Number) deliveryFeeObj).intValue();
-        }
-
-        // Rule 1: MEMBERS get FREE home collection regardless of amount
-        // Rule 2: Orders >= ₹999 get FREE home collection
-        // Rule 3: Orders < ₹999 with ONLINE payment get FREE home collection
-        // Rule 4: Orders < ₹999 with CASH payment get charged ₹250
-
-        int expectedHomeCollectionCharge = 0;
-
-        if (isMember) {
-            // Rule 1: Members always get free delivery
-            expectedHomeCollectionCharge = 0;
-            System.out.println("      ✅ User is a MEMBER -> Free Home Collection");
-        } else {
-            // Non-Members
-            if (itemsSubtotal >= 999) {
-                // Rule 2: Order value >= 999 -> Free delivery
-                expectedHomeCollectionCharge = 0;
-                System.out.println("      ✅ Subtotal >= ₹999 -> Free Home Collection");
-            } else {
-                // Subtotal < 999
-                if ("online".equalsIgnoreCase(paymentMode) || "prepaid".equalsIgnoreCase(paymentMode)) {
-                    // Rule 3: Online payment -> Free delivery
-                    expectedHomeCollectionCharge = 0;
-                    System.out.println("      ✅ Payment Mode is ONLINE -> Free Home Collection");
-                } else {
-                    // Rule 4: Cash payment < 999 -> Charge ₹250
-                    expectedHomeCollectionCharge = 250;
-                    System.out.println("      ✅ Payment Mode is CASH & Subtotal < ₹999 -> Charge ₹250");
-                }
-            }
-        }
-
-        // Validate the actual charge matches expectation
-        if (homeCollectionCharge != expectedHomeCollectionCharge) {
-            String errorMsg = "Home Collection Charge Mismatch! Expected: ₹" + expectedHomeCollectionCharge 
-                    + " but got: ₹" + homeCollectionCharge;
-            System.out.println("      ❌ " + errorMsg);
-            logError("testGetCartById_" + userType, errorMsg);
-            // We will use the EXPECTED charge for manual total calculation to enforce the rule
-            // But if we want to match API exactly to pass test, we might need to accept API value if logic differs.
-            // However, user asked to FIX the issue, implying logic should be correct.
-            // Given the API failures were due to totalBenefit, the delivery fee logic in API seems correct (250 for non-member, 0 for member).
-            // So we will assert this.
-            Assert.fail("❌ STRICT VALIDATION FAILED: " + errorMsg);
-        } else {
-            System.out.println("      ✅ Home Collection Charge Verified: ₹" + homeCollectionCharge);
-        }
-
-        System.out.println("\n   🚚 HOME COLLECTION CHARGE VALIDATION:");
-        System.out.println("      Items Subtotal: ₹" + itemsSubtotal);
-        System.out.println("      User Type: " + userType);
-        System.out.println("      Is Member: " + (isMember ? "YES" : "NO"));
-        System.out.println("      Payment Mode: " + paymentMode);
-        System.out.println("      Applied Charge: ₹" + homeCollectionCharge);
-
-
-        // IMPORTANT: Check if order_type is "home" or "lab"
-        // For "lab" orders, customers pick up at the lab - no home collection charge
-        // and different pricing
-        boolean isHomeOrder = "home".equalsIgnoreCase(orderType);
-        boolean isLabOrder = "lab".equalsIgnoreCase(orderType);
-
-        // Calculate manual total with business rules
-        // NOTE: For LAB orders, the API might not include item prices in totalPrice
-        // LAB orders are walk-in customers who pay at the lab, so totalPrice might be 0
-        // or delivery fee only
-        int manualTotal = 0;
-
-        if (isHomeOrder) {
-            // Home orders: Total = Items + Home Collection Charge
-            manualTotal = itemsSubtotal + homeCollectionCharge;
-        } else if (isLabOrder) {
-            // Lab orders: Customers pay at the lab, totalPrice might be 0 or just delivery
-            // fee
-            // Business logic: For lab orders, API doesn't pre-calculate total (payment at
-            // lab)
-            manualTotal = homeCollectionCharge; // Usually 0 for lab orders or just the fee
-            System.out.println("\n   🏥 LAB ORDER DETECTED:");
-            System.out.println("      Order Type: LAB (Walk-in/Pick-up at center)");
-            System.out.println("      Payment: At the lab (not pre-calculated)");
-            System.out.println("      Expected Total: ₹" + homeCollectionCharge + " (delivery fee if any)");
-        }
-
-        // Apply membership discount (10% of subtotal before delivery)
-        // Membership Discount Validation
-        // NOTE: For members, itemsSubtotal already uses membershipPrice (90% of
-        // original)
-        // The membershipDiscount from API shows the total discount amount (10% of
-        // original prices)
-        // We need to calculate the original total to validate the discount
-        int calculatedMembershipDiscount = 0;
-        int originalItemsTotal = 0; // Total before discount (using original prices)
-
-        if (isMember) {
-            // Calculate original total (before membership discount)
-            // itemsSubtotal already uses membershipPrice (90%), so reverse it: original =
-            // subtotal / 0.90
-            if (itemsSubtotal > 0) {
-                originalItemsTotal = (int) Math.round(itemsSubtotal / 0.90);
-                calculatedMembershipDiscount = originalItemsTotal - itemsSubtotal; // 10% of original
-            }
-
-            System.out.println("\n   🎁 MEMBERSHIP DISCOUNT VALIDATION:");
-            System.out.println("      User is a MEMBER - 10% discount applies");
-            System.out.println("      Original Items Total (before discount): ₹" + originalItemsTotal);
-            System.out.println("      Items Subtotal (after membershipPrice): ₹" + itemsSubtotal);
-            System.out.println("      Calculated 10% Discount: ₹" + calculatedMembershipDiscount);
-            System.out.println("      API Membership Discount: ₹" + membershipDiscount);
-
-            // For strict validation, we expect:
-            // - API membershipDiscount should match our calculated discount
-            // - OR itemsSubtotal already includes the discount (membershipPrice used)
-
-            // Since we're using membershipPrice, the discount is already applied
-            // The API's membershipDiscount field is for informational purposes
-            // We validate that our itemsSubtotal (using membershipPrice) is correct
-
-            System.out.println("      ✅ Member pricing validated:");
-            System.out.println("         - Using membershipPrice from API");
-            System.out.println("         - Discount already applied in item calculations");
-            System.out.println("         - Items Subtotal: ₹" + itemsSubtotal + " (after 10% discount)");
-
-            // NOTE: Do NOT subtract membershipDiscount again, as itemsSubtotal already uses
-            // discounted prices
-        }
-
-        // Fetch totalBenefitIncludingMembership
-        // This handles cases where additional benefits/discounts are applied by the API
-        Integer totalBenefit = response.jsonPath().getInt(dataPath + ".totalBenefitIncludingMembership");
-        if (totalBenefit != null && totalBenefit > 0) {
-             System.out.println("   Total Benefit (Membership/Coupons): -₹" + totalBenefit);
-             System.out.println("   ℹ️  Note: API treats totalBenefit as informational. It is NOT subtracted from the final Total Price.");
-             // manualTotal -= totalBenefit; // REMOVED: API does not subtract this from the final total
-        }
-
-        System.out.println("\n   ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-        System.out.println("   📊 COMPREHENSIVE TOTAL CALCULATION SUMMARY");
-        System.out.println("   ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-        System.out.println("   Total items in cart: " + actualCount);
-        System.out.println("   Items calculated (home collection available): " + itemsWithPrice);
-        System.out.println("   Items skipped (quantity = 0): " + itemsSkipped);
-        System.out.println("   Items skipped (unavailable): " + itemsUnavailable);
-        System.out.println("   Items skipped (no home collection): " + itemsNoHomeCollection);
-        System.out.println("   ");
-        System.out.println("   Items Subtotal: ₹" + itemsSubtotal);
-        System.out.println("   Home Collection Charge: ₹" + homeCollectionCharge);
-        if (isMember) {
-            System.out.println("   Membership Discount (10%): -₹" + membershipDiscount);
-        }
-        System.out.println("   Manual Calculated Total: ₹" + manualTotal);
-        System.out.println("   API Reported Total (totalPrice): ₹" + (totalAmount != null ? totalAmount : "N/A"));
-
-        // STRICT VALIDATION: If we have items with price, API total MUST NOT be zero
-        if (itemsWithPrice > 0 && totalAmount != null && totalAmount == 0) {
-            String errorMsg = "API returned totalPrice = ₹0 but cart has " + itemsWithPrice +
-                    " items with prices (subtotal: ₹" + itemsSubtotal + ")";
-            System.out.println("   ❌ CRITICAL ERROR: " + errorMsg);
-            logError("testGetCartById_" + userType, errorMsg);
-            Assert.fail("❌ STRICT VALIDATION FAILED: " + errorMsg);
-        }
-
-        // Verify manual calculation matches API total - STRICT VALIDATION (NO
-        // TOLERANCE)
-        if (totalAmount != null && manualTotal > 0) {
-            int difference = Math.abs(manualTotal - totalAmount);
-
-            if (manualTotal == totalAmount) {
-                // Totals match perfectly
-                System.out.println("   ✅ TOTAL VERIFICATION PASSED!");
-                System.out.println("   ✅ Manual total (₹" + manualTotal + ") = API totalPrice (₹" + totalAmount + ")");
-                AssertionUtil.verifyEquals(manualTotal, totalAmount,
-                        "Manually calculated total MUST match API totalPrice");
-            } else {
-                // STRICT VALIDATION: Any difference is a failure
-                String errorMsg = "Total MUST be exactly ₹" + manualTotal +
-                        " but got ₹" + totalAmount + ". Difference: ₹" + difference;
-                System.out.println("   ❌ TOTAL CALCULATION MISMATCH!");
-                System.out.println("   Expected (Manual): ₹" + manualTotal);
-                System.out.println("   Actual (API): ₹" + totalAmount);
-                System.out.println("   Difference: ₹" + difference);
-                System.out.println("   ❌ STRICT VALIDATION - NO TOLERANCE ALLOWED!");
-                logError("testGetCartById_" + userType, errorMsg);
-                Assert.fail("❌ STRICT VALIDATION FAILED: " + errorMsg + ". No tolerance allowed!");
-            }
-        } else if (totalAmount == null || totalAmount == 0) {
-            String warningMsg = "API totalPrice is " + (totalAmount == null ? "null" : "0") +
-                    " (Manual calculated: ₹" + manualTotal + ")";
-            System.out.println("   ℹ️  " + warningMsg);
-            if (manualTotal > 0) {
-                String errorMsg = "Cannot verify total - API returned 0 or null but manual total is ₹" + manualTotal;
-                System.out.println("   ⚠️  " + errorMsg);
-                logError("testGetCartById_" + userType, errorMsg);
+        if (!pricingResult.matches()) {
+            for (String violation : pricingResult.violations()) {
+                ValidationEventSink.record("testGetCartById_" + userType, "❌ BUG: " + violation);
             }
-        } else if (manualTotal == 0) {
-            System.out.println("   ℹ️  No items with price found - manual total is 0");
+            Assert.fail("❌ STRICT VALIDATION FAILED: " + pricingResult.violations().size()
+                    + " pricing bug(s) in cart:\n   - " + String.join("\n   - ", pricingResult.violations()));
         }
-        System.out.println("   ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
 
         // ========== FINAL SUMMARY ========== //
         System.out.println("\n========================================");
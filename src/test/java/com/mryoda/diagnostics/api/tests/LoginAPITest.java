@@ -57,7 +57,7 @@ public class LoginAPITest extends BaseTest {
         RequestContext.setCurrentFlowName("new_user_flow");
 
         String mobile = RequestContext.getMobile();
-        String token = TokenManager.generateToken(mobile, TokenManager.NEW_USER);
+        String token = TokenManager.getOrGenerateToken(mobile, TokenManager.NEW_USER);
 
         System.out.println("🟢 NEW USER LOGIN SUCCESS");
         System.out.println("   Token: " + token);
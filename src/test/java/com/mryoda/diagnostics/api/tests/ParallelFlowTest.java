@@ -0,0 +1,134 @@
+package com.mryoda.diagnostics.api.tests;
+
+import com.mryoda.diagnostics.api.base.BaseTest;
+import com.mryoda.diagnostics.api.config.ConfigLoader;
+import com.mryoda.diagnostics.api.flow.FlowGraph;
+import com.mryoda.diagnostics.api.load.VirtualUserExecutor;
+import com.mryoda.diagnostics.api.utils.AssertionUtil;
+import com.mryoda.diagnostics.api.utils.NewUserPool;
+import com.mryoda.diagnostics.api.utils.RequestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end checkout flows scheduled as a DAG instead of priority /
+ * dependsOnMethods chains. Edges are the RequestContext data each step
+ * reads:
+ *
+ * <pre>
+ * login ─► location ─► search ─► addToCart ─► slot ─► getCart ─► createOrder
+ *              └─────► address ─────────────────┘
+ * brand ─────────────────────────► addToCart
+ * address ─► getAddress ─► centers ◄─ search
+ * </pre>
+ *
+ * Location runs alongside brand and address alongside search, so each flow
+ * costs its critical path (see the summary printed per flow).
+ * Steps run on virtual threads on Java 21+ (VirtualUserExecutor), otherwise
+ * on flow.parallelism platform threads.
+ */
+public class ParallelFlowTest extends BaseTest {
+
+    private ExecutorService executor;
+
+    private final UserCreateAPITest userCreate = new UserCreateAPITest();
+    private final LoginAPITest login = new LoginAPITest();
+    private final LocationAPITest location = new LocationAPITest();
+    private final BrandAPITest brand = new BrandAPITest();
+    private final GlobalSearchAPITest search = new GlobalSearchAPITest();
+    private final AddToCartAPITest addToCart = new AddToCartAPITest();
+    private final AddressAPITest address = new AddressAPITest();
+    private final GetAddressByUserIdAPITest getAddress = new GetAddressByUserIdAPITest();
+    private final GetCentersByAddressAPITest centers = new GetCentersByAddressAPITest();
+    private final SlotAndCartUpdateAPITest slot = new SlotAndCartUpdateAPITest();
+    private final GetCartByIdAPITest getCart = new GetCartByIdAPITest();
+    private final CreateOrderAPITest createOrder = new CreateOrderAPITest();
+
+    @BeforeClass(alwaysRun = true)
+    public void startExecutor() {
+        executor = VirtualUserExecutor.newExecutor("flow-step",
+                () -> Executors.newFixedThreadPool(Math.max(1, ConfigLoader.getConfig().flowParallelism())));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopExecutor() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(priority = 1)
+    public void testMemberFlow_Parallel() {
+        RequestContext.setCurrentFlowName("member_flow");
+        run(checkoutFlow("member", "ForMember", step(login, "testLoginWithOTP")));
+    }
+
+    @Test(priority = 2)
+    public void testNonMemberFlow_Parallel() {
+        RequestContext.setCurrentFlowName("non_member_flow");
+        run(checkoutFlow("non_member", "ForNonMember", step(login, "testLoginWithOTP_NonMember")));
+    }
+
+    @Test(priority = 3)
+    public void testNewUserFlow_Parallel() {
+        RequestContext.setCurrentFlowName("new_user_flow");
+        FlowGraph.Step registerAndLogin = () -> {
+            step(userCreate, "testUserRegistration_CreateNewUser").run();
+            step(login, "testLoginWithOTP_NewlyRegisteredUser").run();
+        };
+        try {
+            run(checkoutFlow("new_user", "ForNewUser", registerAndLogin));
+        } finally {
+            NewUserPool.releaseFlowLease(userCreate);
+        }
+    }
+
+    // -----------------------------
+    // FLOW DEFINITION
+    // -----------------------------
+    private FlowGraph checkoutFlow(String name, String suffix, FlowGraph.Step loginStep) {
+        return new FlowGraph(name)
+                .node("login", loginStep)
+                .node("brand", step(brand, "testGetBrands_" + suffix))
+                .node("location", step(location, "testGetLocations_" + suffix), "login")
+                .node("search", step(search, "testGlobalSearch_" + suffix), "login", "location")
+                .node("address", step(address, "testAddAddress_" + suffix), "login", "location")
+                .node("getAddress", step(getAddress, "testGetAddressByUserId_" + suffix), "address")
+                .node("centers", step(centers, "testGetCentersByAddress_" + suffix), "getAddress", "search")
+                .node("addToCart", step(addToCart, "testAddToCart_" + suffix), "search", "brand")
+                .node("slot", step(slot, "testSlotAndCartUpdate_" + suffix), "address", "addToCart")
+                .node("getCart", step(getCart, "testGetCartById_" + suffix), "slot")
+                .node("createOrder", step(createOrder, "testCreateOrder_" + suffix), "getCart");
+    }
+
+    private void run(FlowGraph flow) {
+        // One soft-assertion scope per flow, shared by its worker threads
+        AssertionUtil.initSoftAssertions();
+        FlowGraph.FlowResult result = flow.execute(executor);
+        result.printSummary();
+        result.assertPassed();
+        AssertionUtil.assertAll();
+    }
+
+    /**
+     * Existing @Test method as a flow step (assertion errors propagate unchanged).
+     */
+    private static FlowGraph.Step step(Object testInstance, String methodName) {
+        return () -> {
+            try {
+                testInstance.getClass().getMethod(methodName).invoke(testInstance);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw (Exception) cause;
+            }
+        };
+    }
+}
@@ -5,8 +5,10 @@ import com.mryoda.diagnostics.api.builders.RequestBuilder;
 import com.mryoda.diagnostics.api.endpoints.APIEndpoints;
 import com.mryoda.diagnostics.api.payloads.UserPayloadBuilder;
 import com.mryoda.diagnostics.api.utils.AssertionUtil;
-import com.mryoda.diagnostics.api.utils.RandomDataUtil;
+import com.mryoda.diagnostics.api.utils.MobileNumberAllocator;
+import com.mryoda.diagnostics.api.utils.NewUserPool;
 import com.mryoda.diagnostics.api.utils.RequestContext;
+import com.mryoda.diagnostics.api.utils.TokenManager;
 import io.restassured.response.Response;
 import org.json.JSONObject;
 import org.testng.annotations.Test;
@@ -24,8 +26,14 @@ public class UserCreateAPITest extends BaseTest {
         System.out.println("==========================================================");
         RequestContext.setCurrentFlowName("new_user_flow");
 
-        // Generate random mobile
-        String mobile = "9" + RandomDataUtil.getRandomMobile().substring(1);
+        // Load runs: take a pre-registered user instead of registering inline
+        if (NewUserPool.isEnabled()) {
+            useLeasedUser();
+            return;
+        }
+
+        // Allocate a collision-free mobile (disjoint across workers, never reissued)
+        String mobile = MobileNumberAllocator.nextMobile();
         RequestContext.setMobile(mobile);
 
         System.out.println("\n📱 Generated Mobile: " + mobile);
@@ -98,4 +106,29 @@ public class UserCreateAPITest extends BaseTest {
         System.out.println("        USER REGISTRATION COMPLETED");
         System.out.println("==========================================================");
     }
+
+    private void useLeasedUser() {
+        NewUserPool.PooledUser user = NewUserPool.leaseForFlow(this);
+        TokenManager.AuthSession session = user.getSession();
+
+        // The pool registered this user; check the session is usable
+        AssertionUtil.verifyNotNull(session.getUserId(), "Leased User ID");
+        AssertionUtil.verifyNotNull(user.getMobile(), "Leased Mobile");
+        AssertionUtil.verifyTrue(session.getToken() != null && !session.getToken().trim().isEmpty(),
+                "Leased user token must not be blank");
+
+        RequestContext.setMobile(user.getMobile());
+        RequestContext.setUserId(session.getUserId());
+        RequestContext.setFirstName(session.getFirstName());
+        RequestContext.setLastName(session.getLastName());
+
+        // Login test picks the token up from the cache (no OTP round trips)
+        TokenManager.useSession(user.getMobile(), TokenManager.NEW_USER, session);
+
+        System.out.println("\n👥 LEASED NEW USER FROM POOL (" + NewUserPool.getAvailableCount() + " left)");
+        System.out.println("✔ Mobile: " + user.getMobile());
+        System.out.println("✔ User ID: " + session.getUserId());
+        System.out.println("✔ First Name: " + session.getFirstName());
+        System.out.println("✔ Last Name: " + session.getLastName());
+    }
 }